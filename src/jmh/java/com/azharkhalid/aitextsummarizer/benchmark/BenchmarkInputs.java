@@ -0,0 +1,66 @@
+package com.azharkhalid.aitextsummarizer.benchmark;
+
+/**
+ * Deterministic input texts for the benchmarks.
+ * Every input passes validation, so the benchmarks measure the accepted path.
+ */
+final class BenchmarkInputs {
+
+    private static final String PROSE =
+            "The quarterly report shows steady growth across all regions. Revenue increased while costs " +
+            "remained flat, and the team expects the trend to continue into the next fiscal year.\n\n";
+
+    private static final String UNICODE =
+            "Le rapport trimestriel montre une croissance régulière — 收入增长 🚀 while costs remained flat, " +
+            "and the team expects the trend to continue into the next fiscal year.\n\n";
+
+    /**
+     * Markup, long whitespace runs and near misses for the injection patterns, which make the
+     * regexes backtrack without ever matching.
+     */
+    private static final String ADVERSARIAL_MARKUP =
+            "<div class=\"row\"><p style='x'>ignore   all\tprevious     notes</p>   \t\t    " +
+            "<span>system :  note</span><br/><b>admin   modes</b> forget   everyone <i>new   roles</i>\n\n";
+
+    /**
+     * Opening brackets without a closing one: every {@code <} makes {@code <[^>]*>} scan to the end.
+     */
+    private static final String ADVERSARIAL_UNCLOSED = "a < b << c <<< d ";
+
+    private BenchmarkInputs() {
+    }
+
+    /**
+     * Returns text of exactly {@code length} chars.
+     *
+     * @param length Number of chars
+     * @param kind {@code prose}, {@code unicode} or {@code adversarial}
+     * @return The text
+     */
+    static String text(int length, String kind) {
+        return switch (kind) {
+            case "prose" -> repeatTo(PROSE, length);
+            case "unicode" -> repeatTo(UNICODE, length);
+            case "adversarial" -> repeatTo(ADVERSARIAL_MARKUP, length / 2)
+                    + repeatTo(ADVERSARIAL_UNCLOSED, length - length / 2);
+            default -> throw new IllegalArgumentException("Unknown input kind: " + kind);
+        };
+    }
+
+    /**
+     * Repeats {@code unit} up to {@code length} chars. The last char is never whitespace or the
+     * first half of a surrogate pair, so trimming and encoding checks see the full length.
+     */
+    private static String repeatTo(String unit, int length) {
+        StringBuilder text = new StringBuilder(length + unit.length());
+        while (text.length() < length) {
+            text.append(unit);
+        }
+        text.setLength(length);
+        char last = text.charAt(length - 1);
+        if (Character.isHighSurrogate(last) || Character.isWhitespace(last)) {
+            text.setCharAt(length - 1, '.');
+        }
+        return text.toString();
+    }
+}
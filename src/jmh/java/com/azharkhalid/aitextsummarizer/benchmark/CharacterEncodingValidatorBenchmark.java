@@ -0,0 +1,63 @@
+package com.azharkhalid.aitextsummarizer.benchmark;
+
+import com.azharkhalid.aitextsummarizer.validation.CharacterEncodingValidator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Compares {@link CharacterEncodingValidator#validate} with the previous implementation,
+ * which called {@link CharsetEncoder#canEncode} on a shared encoder and then ran a
+ * control-character regex.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CharacterEncodingValidatorBenchmark {
+
+    private static final Pattern CONTROL_CHARACTER_PATTERN = Pattern.compile(
+            "[\\x00-\\x08\\x0B-\\x0C\\x0E-\\x1F\\x7F]"
+    );
+
+    @Param({"100", "1000", "10000"})
+    public int length;
+
+    @Param({"prose", "unicode", "adversarial"})
+    public String input;
+
+    private final CharacterEncodingValidator validator = new CharacterEncodingValidator();
+    private final CharsetEncoder legacyEncoder = StandardCharsets.UTF_8.newEncoder();
+    private String text;
+
+    @Setup
+    public void setUp() {
+        text = BenchmarkInputs.text(length, input);
+    }
+
+    @Benchmark
+    public String stateless() {
+        validator.validate(text);
+        return text;
+    }
+
+    @Benchmark
+    public boolean legacyCharsetEncoder() {
+        return legacyEncoder.canEncode(text) && !CONTROL_CHARACTER_PATTERN.matcher(text).find();
+    }
+}
@@ -0,0 +1,61 @@
+package com.azharkhalid.aitextsummarizer.benchmark;
+
+import com.azharkhalid.aitextsummarizer.util.InputSanitizer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the regex-based {@link InputSanitizer} utilities.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InputSanitizerBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    public int length;
+
+    @Param({"prose", "adversarial"})
+    public String input;
+
+    private String text;
+
+    @Setup
+    public void setUp() {
+        text = BenchmarkInputs.text(length, input);
+    }
+
+    @Benchmark
+    public String sanitize() {
+        return InputSanitizer.sanitize(text);
+    }
+
+    @Benchmark
+    public String stripHtmlTags() {
+        return InputSanitizer.stripHtmlTags(text);
+    }
+
+    @Benchmark
+    public String normalizeWhitespace() {
+        return InputSanitizer.normalizeWhitespace(text);
+    }
+
+    @Benchmark
+    public String sanitizeComprehensive() {
+        return InputSanitizer.sanitizeComprehensive(text);
+    }
+}
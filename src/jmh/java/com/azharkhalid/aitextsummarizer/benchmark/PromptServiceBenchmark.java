@@ -0,0 +1,48 @@
+package com.azharkhalid.aitextsummarizer.benchmark;
+
+import com.azharkhalid.aitextsummarizer.enums.SummaryStyle;
+import com.azharkhalid.aitextsummarizer.service.PromptService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link PromptService#buildPrompt} for each summary style.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PromptServiceBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    public int length;
+
+    @Param({"CONCISE", "BULLET", "EXECUTIVE"})
+    public SummaryStyle style;
+
+    private final PromptService promptService = new PromptService();
+    private String text;
+
+    @Setup
+    public void setUp() {
+        text = BenchmarkInputs.text(length, "prose");
+    }
+
+    @Benchmark
+    public String buildPrompt() {
+        return promptService.buildPrompt(text, style, 200);
+    }
+}
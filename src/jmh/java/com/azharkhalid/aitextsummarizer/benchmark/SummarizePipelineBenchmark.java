@@ -0,0 +1,118 @@
+package com.azharkhalid.aitextsummarizer.benchmark;
+
+import com.azharkhalid.aitextsummarizer.cache.SummaryCache;
+import com.azharkhalid.aitextsummarizer.config.SummarizeProperties;
+import com.azharkhalid.aitextsummarizer.dto.request.SummarizeRequest;
+import com.azharkhalid.aitextsummarizer.dto.response.SummarizeResponse;
+import com.azharkhalid.aitextsummarizer.enums.SummaryStyle;
+import com.azharkhalid.aitextsummarizer.metrics.SummarizeMetrics;
+import com.azharkhalid.aitextsummarizer.service.LlmBulkhead;
+import com.azharkhalid.aitextsummarizer.service.LlmCircuitBreaker;
+import com.azharkhalid.aitextsummarizer.service.LlmHedger;
+import com.azharkhalid.aitextsummarizer.service.LlmMicroBatcher;
+import com.azharkhalid.aitextsummarizer.service.LlmPacer;
+import com.azharkhalid.aitextsummarizer.service.LlmRetrier;
+import com.azharkhalid.aitextsummarizer.service.PromptService;
+import com.azharkhalid.aitextsummarizer.service.RateLimitingService;
+import com.azharkhalid.aitextsummarizer.service.SummarizeService;
+import com.azharkhalid.aitextsummarizer.service.TokenBudgetLimiter;
+import com.azharkhalid.aitextsummarizer.validation.InputScanner;
+import com.azharkhalid.aitextsummarizer.validation.PromptInjectionDetector;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.ai.chat.client.ChatClient;
+import org.springframework.ai.chat.messages.AssistantMessage;
+import org.springframework.ai.chat.model.ChatModel;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.model.Generation;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures everything {@link SummarizeService#summarize} does around the LLM call: rate limiting,
+ * validation, sanitization, prompt building, the ChatClient round trip and the response.
+ * The model answers immediately with a fixed summary, the LLM executor runs the call on the
+ * calling thread, the cache is disabled and the rate limit is out of reach, so every invocation
+ * runs the whole pipeline.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SummarizePipelineBenchmark {
+
+    private static final String SUMMARY = "Revenue grew steadily while costs stayed flat.";
+
+    @Param({"100", "1000", "10000"})
+    public int length;
+
+    @Param({"prose", "unicode", "adversarial"})
+    public String input;
+
+    private SummarizeService summarizeService;
+    private SummarizeRequest request;
+
+    @Setup
+    public void setUp() {
+        SummarizeProperties properties = new SummarizeProperties();
+        properties.getCache().setEnabled(false);
+        SummarizeProperties.TierConfig unlimited = new SummarizeProperties.TierConfig();
+        unlimited.setLimitForPeriod(Integer.MAX_VALUE);
+        properties.getRateLimit().getTiers().put("default", unlimited);
+        // The stub model reports no usage, so reservations would never be reconciled and the budget would run dry
+        properties.getTokenBudget().setEnabled(false);
+
+        SummarizeMetrics metrics = new SummarizeMetrics(new SimpleMeterRegistry());
+        metrics.init();
+        PromptService promptService = new PromptService();
+
+        ChatModel chatModel = prompt -> new ChatResponse(List.of(new Generation(new AssistantMessage(SUMMARY))));
+
+        summarizeService = new SummarizeService(
+                ChatClient.create(chatModel),
+                promptService,
+                properties,
+                new InputScanner(properties,
+                        new PromptInjectionDetector(properties, new DefaultResourceLoader(), metrics)),
+                new RateLimitingService(properties, metrics),
+                new TokenBudgetLimiter(properties),
+                new LlmPacer(properties, metrics),
+                new LlmBulkhead(properties, metrics),
+                new LlmHedger(properties, metrics),
+                new LlmRetrier(properties, metrics),
+                new LlmCircuitBreaker(properties, metrics),
+                new LlmMicroBatcher(promptService, properties, metrics),
+                metrics,
+                new TaskExecutorAdapter(Runnable::run),
+                new SummaryCache(properties, promptService, metrics));
+
+        request = SummarizeRequest.builder()
+                .text(BenchmarkInputs.text(length, input))
+                .summaryStyle(SummaryStyle.CONCISE)
+                .maxLength(200)
+                .build();
+
+        // Fail here rather than benchmarking the rejection path
+        summarize();
+    }
+
+    @Benchmark
+    public SummarizeResponse summarize() {
+        return summarizeService.summarize(request).join();
+    }
+}
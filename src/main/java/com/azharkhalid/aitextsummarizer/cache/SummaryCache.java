@@ -0,0 +1,134 @@
+package com.azharkhalid.aitextsummarizer.cache;
+
+import com.azharkhalid.aitextsummarizer.config.SummarizeProperties;
+import com.azharkhalid.aitextsummarizer.enums.SummaryStyle;
+import com.azharkhalid.aitextsummarizer.metrics.SummarizeMetrics;
+import com.azharkhalid.aitextsummarizer.service.PromptService;
+import com.azharkhalid.aitextsummarizer.util.HashUtils;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+
+/**
+ * In-memory cache of generated summaries.
+ * Bounded by the approximate bytes held rather than the number of entries, with
+ * frequency-aware (W-TinyLFU) eviction and a time-to-live on every entry.
+ */
+@Slf4j
+@Component
+public class SummaryCache {
+
+    /**
+     * Approximate per-entry overhead: the 64-char hex key, the map node and the String headers.
+     */
+    private static final int ENTRY_OVERHEAD_BYTES = 256;
+
+    private final SummarizeProperties properties;
+    private final PromptService promptService;
+    private final SummarizeMetrics metrics;
+    private final Cache<String, String> cache;
+
+    public SummaryCache(SummarizeProperties properties, PromptService promptService, SummarizeMetrics metrics) {
+        this.properties = properties;
+        this.promptService = promptService;
+        this.metrics = metrics;
+
+        SummarizeProperties.CacheConfig config = properties.getCache();
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(config.getMaxSize().toBytes())
+                .weigher((String key, String summary) -> weigh(summary))
+                .expireAfterWrite(config.getTtl())
+                .removalListener((String key, String summary, RemovalCause cause) -> {
+                    if (cause.wasEvicted()) {
+                        metrics.recordCacheEviction();
+                        updateSizeMetrics();
+                    }
+                })
+                .build();
+
+        log.info("Summary cache initialized: enabled={}, maxSize={}, ttl={}",
+                config.isEnabled(), config.getMaxSize(), config.getTtl());
+    }
+
+    /**
+     * Builds the cache key for a request.
+     * Covers everything that affects the LLM output: the sanitized text, style, length limit,
+     * model and the prompt templates.
+     *
+     * @param sanitizedText The text after sanitization, exactly as sent to the LLM
+     * @param style The summary style
+     * @param maxLength The maximum summary length in words, or null
+     * @return Hex-encoded key
+     */
+    public String keyFor(String sanitizedText, SummaryStyle style, Integer maxLength) {
+        return HashUtils.sha256Hex(
+                sanitizedText,
+                style.name(),
+                maxLength != null ? maxLength.toString() : "",
+                properties.getModel(),
+                promptService.getTemplateFingerprint()
+        );
+    }
+
+    /**
+     * Looks up a cached summary and records the hit or miss.
+     *
+     * @param key The key from {@link #keyFor}
+     * @return The cached summary, or empty if absent, expired or caching is disabled
+     */
+    public Optional<String> get(String key) {
+        if (!properties.getCache().isEnabled()) {
+            return Optional.empty();
+        }
+
+        String summary = cache.getIfPresent(key);
+        if (summary != null) {
+            metrics.recordCacheHit();
+            log.debug("Summary cache hit");
+            return Optional.of(summary);
+        }
+
+        metrics.recordCacheMiss();
+        return Optional.empty();
+    }
+
+    /**
+     * Stores a summary.
+     *
+     * @param key The key from {@link #keyFor}
+     * @param summary The generated summary
+     */
+    public void put(String key, String summary) {
+        if (!properties.getCache().isEnabled()) {
+            return;
+        }
+
+        cache.put(key, summary);
+        updateSizeMetrics();
+    }
+
+    /**
+     * Returns the number of cached summaries.
+     * Performs pending maintenance first so the count reflects evictions.
+     */
+    public long size() {
+        cache.cleanUp();
+        return cache.estimatedSize();
+    }
+
+    private void updateSizeMetrics() {
+        long bytes = cache.policy().eviction()
+                .map(eviction -> eviction.weightedSize().orElse(0L))
+                .orElse(0L);
+        metrics.updateCacheSize(cache.estimatedSize(), bytes);
+    }
+
+    private static int weigh(String summary) {
+        // Java strings take up to two bytes per character
+        return ENTRY_OVERHEAD_BYTES + summary.length() * 2;
+    }
+}
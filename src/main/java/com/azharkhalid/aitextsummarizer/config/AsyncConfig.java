@@ -0,0 +1,74 @@
+package com.azharkhalid.aitextsummarizer.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Configuration for the executors that run outbound LLM calls and asynchronous summarization jobs.
+ * Keeps provider latency off the servlet threads and exposes pool metrics.
+ */
+@Slf4j
+@Configuration
+public class AsyncConfig {
+
+    public static final String LLM_EXECUTOR = "llmExecutor";
+    public static final String JOB_EXECUTOR = "jobExecutor";
+
+    /**
+     * Creates the bounded thread pool used for LLM calls.
+     * Tasks beyond the pool and queue capacity are rejected rather than queued without limit.
+     */
+    @Bean(name = LLM_EXECUTOR)
+    public ThreadPoolTaskExecutor llmExecutor(SummarizeProperties properties, MeterRegistry meterRegistry) {
+        SummarizeProperties.ExecutorConfig config = properties.getExecutor();
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(config.getCorePoolSize());
+        executor.setMaxPoolSize(config.getMaxPoolSize());
+        executor.setQueueCapacity(config.getQueueCapacity());
+        executor.setKeepAliveSeconds((int) config.getKeepAlive().toSeconds());
+        executor.setThreadNamePrefix("llm-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+
+        // Publishes executor.active, executor.queued, executor.pool.size, etc. tagged name=llmExecutor
+        new ExecutorServiceMetrics(executor.getThreadPoolExecutor(), LLM_EXECUTOR, Tags.empty())
+                .bindTo(meterRegistry);
+
+        log.info("LLM executor initialized: corePoolSize={}, maxPoolSize={}, queueCapacity={}",
+                config.getCorePoolSize(), config.getMaxPoolSize(), config.getQueueCapacity());
+
+        return executor;
+    }
+
+    /**
+     * Creates the fixed pool of workers that run asynchronous summarization jobs.
+     * The queue is not bounded here: jobs replayed from the job log after a restart must all be
+     * accepted, so the job service bounds new submissions itself.
+     */
+    @Bean(name = JOB_EXECUTOR)
+    public ThreadPoolTaskExecutor jobExecutor(SummarizeProperties properties, MeterRegistry meterRegistry) {
+        SummarizeProperties.JobsConfig config = properties.getJobs();
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(config.getWorkers());
+        executor.setMaxPoolSize(config.getWorkers());
+        executor.setThreadNamePrefix("job-");
+        // Jobs interrupted by shutdown stay in the job log and run again on the next start
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        executor.initialize();
+
+        new ExecutorServiceMetrics(executor.getThreadPoolExecutor(), JOB_EXECUTOR, Tags.empty())
+                .bindTo(meterRegistry);
+
+        log.info("Job executor initialized: workers={}", config.getWorkers());
+
+        return executor;
+    }
+}
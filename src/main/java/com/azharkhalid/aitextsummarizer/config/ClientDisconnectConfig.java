@@ -0,0 +1,58 @@
+package com.azharkhalid.aitextsummarizer.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.context.request.async.DeferredResultProcessingInterceptor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Configuration for cancelling the work of async requests the client no longer waits for.
+ * Spring does not cancel a returned future when the client disconnects, nor a returned stream until it
+ * next tries to write to it, so the work would otherwise run on for a response nobody reads.
+ */
+@Configuration
+public class ClientDisconnectConfig implements WebMvcConfigurer {
+
+    private static final String CANCEL_ATTRIBUTE = ClientDisconnectConfig.class.getName() + ".cancel";
+
+    /**
+     * Registers an interceptor that runs the request's cancel action once its async processing is over.
+     */
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.registerDeferredResultInterceptors(new ClientDisconnectInterceptor());
+    }
+
+    /**
+     * Sets the action that cancels the current request's work if the client disconnects, or the async
+     * request times out, before the work is done. Must be called on the request thread.
+     * The action also runs after a normal response, so it must do nothing for work that has finished.
+     *
+     * @param cancel Cancels the work started for the request
+     */
+    public static void onDisconnect(Runnable cancel) {
+        RequestContextHolder.currentRequestAttributes()
+                .setAttribute(CANCEL_ATTRIBUTE, cancel, RequestAttributes.SCOPE_REQUEST);
+    }
+
+    /**
+     * Interceptor that runs the cancel action when the async request completes. When the container notices
+     * the connection is gone, or the request times out, it fails the request and then completes it; any work
+     * still running at that point is for a response nobody reads. The error callback itself cannot be used:
+     * Spring stops calling interceptors there once the request's own error handling has run.
+     * Applies to returned futures and streams alike.
+     */
+    private static class ClientDisconnectInterceptor implements DeferredResultProcessingInterceptor {
+
+        @Override
+        public <T> void afterCompletion(NativeWebRequest request, DeferredResult<T> deferredResult) {
+            if (request.getAttribute(CANCEL_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) instanceof Runnable cancel) {
+                cancel.run();
+            }
+        }
+    }
+}
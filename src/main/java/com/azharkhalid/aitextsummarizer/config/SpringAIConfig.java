@@ -1,9 +1,12 @@
 package com.azharkhalid.aitextsummarizer.config;
 
+import com.azharkhalid.aitextsummarizer.service.LlmPacer;
 import org.springframework.ai.chat.client.ChatClient;
 import org.springframework.ai.openai.OpenAiChatModel;
+import org.springframework.boot.web.client.RestClientCustomizer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.ClientHttpResponse;
 
 /**
  * Configuration for Spring AI integration with OpenAI.
@@ -23,4 +26,18 @@ public class SpringAIConfig {
     public ChatClient chatClient(OpenAiChatModel openAiChatModel) {
         return ChatClient.builder(openAiChatModel).build();
     }
+
+    /**
+     * Passes the rate-limit headers of every provider response, including 429 responses, to the
+     * {@link LlmPacer}. The auto-configured OpenAI client is built from the RestClient.Builder
+     * these customizers apply to; Spring AI itself only exposes the headers of successful calls.
+     */
+    @Bean
+    public RestClientCustomizer llmPacerCustomizer(LlmPacer llmPacer) {
+        return builder -> builder.requestInterceptor((request, body, execution) -> {
+            ClientHttpResponse response = execution.execute(request, body);
+            llmPacer.onResponse(response.getStatusCode(), response.getHeaders());
+            return response;
+        });
+    }
 }
@@ -3,8 +3,13 @@ package com.azharkhalid.aitextsummarizer.config;
 import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
 
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
 @Data
 @Configuration
@@ -17,10 +22,247 @@ public class SummarizeProperties {
     private Duration timeout = Duration.ofSeconds(30);
     private int maxInputLength = 10000;
     private RetryConfig retry = new RetryConfig();
+    private ExecutorConfig executor = new ExecutorConfig();
+    private CacheConfig cache = new CacheConfig();
+    private DocumentConfig document = new DocumentConfig();
+    private InjectionConfig injection = new InjectionConfig();
+    private Map<String, PriceConfig> pricing = new LinkedHashMap<>();
+    private RateLimitConfig rateLimit = new RateLimitConfig();
+    private TokenBudgetConfig tokenBudget = new TokenBudgetConfig();
+    private PacerConfig pacer = new PacerConfig();
+    private BulkheadConfig bulkhead = new BulkheadConfig();
+    private HedgeConfig hedge = new HedgeConfig();
+    private CircuitBreakerConfig circuitBreaker = new CircuitBreakerConfig();
+    private JobsConfig jobs = new JobsConfig();
+    private BatchConfig batch = new BatchConfig();
+    private MicroBatchConfig microBatch = new MicroBatchConfig();
 
+    /**
+     * Retries of failed LLM calls: attempts per call including the first, and the backoff before
+     * the first retry, which doubles for each further retry up to {@code maxBackoff}.
+     * Retries are paid for from a budget that earns {@code budgetPercent} percent of a retry per call,
+     * so during an outage retries add at most that share of extra load.
+     * For a request with a deadline, a retry is only sent if {@code minTimeLeft} remains after its backoff.
+     */
     @Data
     public static class RetryConfig {
         private int maxAttempts = 3;
         private Duration backoff = Duration.ofSeconds(2);
+        private Duration maxBackoff = Duration.ofSeconds(10);
+        private double budgetPercent = 10;
+        private Duration minTimeLeft = Duration.ofSeconds(1);
+    }
+
+    /**
+     * Circuit breaker around the LLM provider. Once at least {@code minimumCalls} of the last
+     * {@code slidingWindowSize} calls are recorded, the circuit opens when {@code failureRateThreshold}
+     * percent of them failed, or {@code slowCallRateThreshold} percent took longer than {@code slowCallDuration}.
+     * While open, LLM calls fail at once; after {@code waitInOpenState}, {@code halfOpenCalls} trial
+     * calls decide whether it closes again.
+     */
+    @Data
+    public static class CircuitBreakerConfig {
+        private boolean enabled = true;
+        private float failureRateThreshold = 50;
+        private float slowCallRateThreshold = 50;
+        private Duration slowCallDuration = Duration.ofSeconds(20);
+        private int slidingWindowSize = 20;
+        private int minimumCalls = 10;
+        private Duration waitInOpenState = Duration.ofSeconds(30);
+        private int halfOpenCalls = 3;
+    }
+
+    /**
+     * Sizing of the dedicated thread pool that runs the outbound LLM calls.
+     */
+    @Data
+    public static class ExecutorConfig {
+        private int corePoolSize = 20;
+        private int maxPoolSize = 50;
+        private int queueCapacity = 100;
+        private Duration keepAlive = Duration.ofSeconds(60);
+    }
+
+    /**
+     * Bulkhead around the LLM calls: concurrent calls, calls waiting for a slot, and how long they may wait.
+     * With the adaptive limit enabled, {@code maxConcurrentCalls} is the ceiling the limit may grow to.
+     * Shed requests are told to retry after {@code retryAfter}.
+     */
+    @Data
+    public static class BulkheadConfig {
+        private boolean enabled = true;
+        private int maxConcurrentCalls = 20;
+        private int maxQueuedCalls = 50;
+        private Duration maxQueueWait = Duration.ofSeconds(5);
+        private Duration retryAfter = Duration.ofSeconds(5);
+        private AdaptiveLimitConfig adaptive = new AdaptiveLimitConfig();
+    }
+
+    /**
+     * Adaptive concurrency limit for the bulkhead, between {@code minLimit} and the bulkhead's
+     * {@code maxConcurrentCalls}. The limit shrinks when calls get slower than {@code rttTolerance}
+     * times their baseline latency, or by {@code backoffRatio} when a call fails, and grows otherwise.
+     */
+    @Data
+    public static class AdaptiveLimitConfig {
+        private boolean enabled = true;
+        private int initialLimit = 10;
+        private int minLimit = 2;
+        private double rttTolerance = 1.5;
+        private double smoothing = 0.2;
+        private double backoffRatio = 0.9;
+    }
+
+    /**
+     * Hedged LLM calls: when a call has not answered after {@code delay}, a second identical call is
+     * sent and the first answer wins. Without a {@code delay}, the observed p95 latency of the last
+     * {@code latencyWindow} calls is used. At most {@code maxHedgePercent} percent of calls are hedged.
+     */
+    @Data
+    public static class HedgeConfig {
+        private boolean enabled = false;
+        private Duration delay;
+        private Duration minDelay = Duration.ofMillis(500);
+        private double maxHedgePercent = 5.0;
+        private int latencyWindow = 500;
+    }
+
+    /**
+     * Micro-batching of short LLM calls: requests of at most {@code maxItemLength} characters that
+     * share a style and length arrive within {@code maxWait} of each other are summarized in one call,
+     * of at most {@code maxItems} texts and {@code maxBatchTokens} estimated tokens of text.
+     */
+    @Data
+    public static class MicroBatchConfig {
+        private boolean enabled = false;
+        private Duration maxWait = Duration.ofMillis(20);
+        private int maxItems = 8;
+        private int maxItemLength = 800;
+        private int maxBatchTokens = 4000;
+    }
+
+    /**
+     * Batch summarization: at most {@code maxItems} items per batch, of which at most
+     * {@code maxConcurrency} are summarized at a time. A batch is charged one rate-limit permit, so
+     * {@code maxItems} defaults to the default tier's requests per period: one batch does no more LLM
+     * calls than that client could request one by one. Raise both together.
+     */
+    @Data
+    public static class BatchConfig {
+        private int maxItems = 10;
+        private int maxConcurrency = 8;
+    }
+
+    /**
+     * Asynchronous summarization jobs: {@code workers} run at once, and up to {@code queueCapacity} more
+     * may wait; further submissions are rejected with {@code retryAfter}. Every state change is written
+     * to the write-ahead log at {@code logFile} before it is acknowledged, so accepted jobs survive a
+     * restart. Finished jobs can be fetched for {@code retention}. Webhook callbacks are attempted up to
+     * {@code callbackMaxAttempts} times, {@code callbackBackoff} apart. Callbacks may only go to the hosts in
+     * {@code callbackAllowedHosts}, and never to loopback, link-local or private addresses; with no hosts
+     * listed, callbacks are refused. Setting {@code callbackAllowPrivateAddresses} lifts the address check,
+     * and with no hosts listed allows any host, for receivers on a trusted internal network.
+     */
+    @Data
+    public static class JobsConfig {
+        private int workers = 4;
+        private int queueCapacity = 1000;
+        private Duration retryAfter = Duration.ofSeconds(30);
+        private String logFile = "data/summarize-jobs.wal";
+        private Duration retention = Duration.ofHours(24);
+        private Duration callbackTimeout = Duration.ofSeconds(10);
+        private int callbackMaxAttempts = 3;
+        private Duration callbackBackoff = Duration.ofSeconds(5);
+        private List<String> callbackAllowedHosts = new ArrayList<>();
+        private boolean callbackAllowPrivateAddresses = false;
+    }
+
+    /**
+     * In-memory cache of generated summaries, bounded by the approximate memory they occupy.
+     */
+    @Data
+    public static class CacheConfig {
+        private boolean enabled = true;
+        private DataSize maxSize = DataSize.ofMegabytes(50);
+        private Duration ttl = Duration.ofHours(1);
+    }
+
+    /**
+     * Long-document (map-reduce) mode: chunking, fan-out width and reduce depth.
+     */
+    @Data
+    public static class DocumentConfig {
+        private int maxInputLength = 200000;
+        private int chunkSize = 8000;
+        private int maxConcurrency = 4;
+        private int maxReduceDepth = 3;
+    }
+
+    /**
+     * Prompt-injection phrase rules: a rules file that is re-read when it changes, plus inline rules.
+     */
+    @Data
+    public static class InjectionConfig {
+        private String rulesLocation = "classpath:prompt-injection-rules.txt";
+        private Map<String, List<String>> rules = new LinkedHashMap<>();
+        private Duration reloadInterval = Duration.ofSeconds(30);
+    }
+
+    /**
+     * Per-client rate limiting: clients are identified by API key or IP address, and each gets a
+     * token bucket sized by its tier. API keys not listed in {@code apiKeys} use the default tier.
+     * A client over its limit is rejected immediately unless {@code maxWait} is positive.
+     */
+    @Data
+    public static class RateLimitConfig {
+        private boolean enabled = true;
+        private String apiKeyHeader = "X-API-Key";
+        private String defaultTier = "default";
+        private Map<String, TierConfig> tiers = new LinkedHashMap<>();
+        private Map<String, String> apiKeys = new LinkedHashMap<>();
+        private Duration idleTimeout = Duration.ofMinutes(10);
+        private Duration evictionInterval = Duration.ofMinutes(1);
+        private Duration maxWait = Duration.ZERO;
+    }
+
+    /**
+     * Provider token budget shared by all LLM calls, matching the provider's tokens-per-minute quota.
+     * Each call reserves its prompt estimate plus {@code maxTokens}, corrected by the reported usage.
+     */
+    @Data
+    public static class TokenBudgetConfig {
+        private boolean enabled = true;
+        private int tokensPerMinute = 200000;
+        private Duration maxWait = Duration.ofSeconds(2);
+        private int charsPerToken = 4;
+    }
+
+    /**
+     * Outbound pacing from the provider's own rate-limit headers. Calls the provider would refuse, by
+     * its remaining requests and tokens or a {@code Retry-After} on a 429 response, are held back until
+     * the limit resets, at most {@code maxWait}; beyond that they are rejected with 429.
+     */
+    @Data
+    public static class PacerConfig {
+        private boolean enabled = true;
+        private Duration maxWait = Duration.ofSeconds(5);
+    }
+
+    /**
+     * Requests a client may make per refresh period; the full quota may be used in a burst.
+     */
+    @Data
+    public static class TierConfig {
+        private int limitForPeriod = 10;
+        private Duration refreshPeriod = Duration.ofMinutes(1);
+    }
+
+    /**
+     * Price of one model in USD per million tokens, keyed by model name in {@code pricing}.
+     */
+    @Data
+    public static class PriceConfig {
+        private double inputPerMillion;
+        private double outputPerMillion;
     }
 }
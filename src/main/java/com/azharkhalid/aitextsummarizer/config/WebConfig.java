@@ -60,6 +60,8 @@ public class WebConfig {
                 "Content-Type",
                 "Accept",
                 "Origin",
+                "X-API-Key",
+                "X-Request-Deadline",
                 "Access-Control-Request-Method",
                 "Access-Control-Request-Headers"
         ));
@@ -67,7 +69,13 @@ public class WebConfig {
         // Exposed headers
         config.setExposedHeaders(Arrays.asList(
                 "Access-Control-Allow-Origin",
-                "Access-Control-Allow-Credentials"
+                "Access-Control-Allow-Credentials",
+                "Server-Timing",
+                "X-RateLimit-Limit",
+                "X-RateLimit-Remaining",
+                "X-RateLimit-Reset",
+                "Retry-After",
+                "Location"
         ));
 
         // Allow credentials (cookies, authorization headers)
@@ -2,20 +2,27 @@ package com.azharkhalid.aitextsummarizer.controller;
 
 import com.azharkhalid.aitextsummarizer.dto.response.ErrorResponse;
 import com.azharkhalid.aitextsummarizer.exception.InvalidInputException;
+import com.azharkhalid.aitextsummarizer.exception.JobNotFoundException;
+import com.azharkhalid.aitextsummarizer.exception.DeadlineExceededException;
 import com.azharkhalid.aitextsummarizer.exception.LLMTimeoutException;
+import com.azharkhalid.aitextsummarizer.exception.LLMUnavailableException;
 import com.azharkhalid.aitextsummarizer.exception.RateLimitExceededException;
+import com.azharkhalid.aitextsummarizer.exception.ServiceOverloadedException;
 import com.azharkhalid.aitextsummarizer.exception.SummarizerException;
 import com.azharkhalid.aitextsummarizer.logging.StructuredLogger;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageNotReadableException;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.Map;
@@ -60,6 +67,23 @@ public class GlobalExceptionHandler {
                 .body(new ErrorResponse("VALIDATION_ERROR", message, LocalDateTime.now()));
     }
 
+    /**
+     * Handles request bodies that cannot be parsed (e.g., malformed JSON).
+     */
+    @ExceptionHandler(HttpMessageNotReadableException.class)
+    public ResponseEntity<ErrorResponse> handleMessageNotReadable(
+            HttpMessageNotReadableException ex,
+            HttpServletRequest request
+    ) {
+        String requestId = generateRequestId();
+        structuredLogger.logValidationError(requestId, "body", "malformed request body");
+        log.warn("Malformed request body for request {}: {}", requestId, ex.getMessage());
+
+        return ResponseEntity
+                .status(HttpStatus.BAD_REQUEST)
+                .body(new ErrorResponse("MALFORMED_REQUEST", "Request body is missing or malformed", LocalDateTime.now()));
+    }
+
     /**
      * Handles InvalidInputException.
      */
@@ -89,8 +113,7 @@ public class GlobalExceptionHandler {
         structuredLogger.logRateLimitExceeded(requestId);
         log.warn("Rate limit exceeded for request {}: {}", requestId, ex.getMessage());
 
-        return ResponseEntity
-                .status(HttpStatus.TOO_MANY_REQUESTS)
+        return withRetryAfter(ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS), ex.getRetryAfter())
                 .body(new ErrorResponse("RATE_LIMIT_EXCEEDED", ex.getMessage(), LocalDateTime.now()));
     }
 
@@ -113,6 +136,72 @@ public class GlobalExceptionHandler {
                         LocalDateTime.now()));
     }
 
+    /**
+     * Handles DeadlineExceededException: the client's deadline passed before the summary was ready.
+     */
+    @ExceptionHandler(DeadlineExceededException.class)
+    public ResponseEntity<ErrorResponse> handleDeadlineExceeded(
+            DeadlineExceededException ex,
+            HttpServletRequest request
+    ) {
+        String requestId = generateRequestId();
+        structuredLogger.logSummarizeFailure(requestId, "DEADLINE_EXCEEDED", ex.getMessage());
+        log.warn("Request {} missed its deadline: {}", requestId, ex.getMessage());
+
+        return ResponseEntity
+                .status(HttpStatus.GATEWAY_TIMEOUT)
+                .body(new ErrorResponse("DEADLINE_EXCEEDED", ex.getMessage(), LocalDateTime.now()));
+    }
+
+    /**
+     * Handles LLMUnavailableException: the LLM call failed fast while the provider is down.
+     */
+    @ExceptionHandler(LLMUnavailableException.class)
+    public ResponseEntity<ErrorResponse> handleLLMUnavailable(
+            LLMUnavailableException ex,
+            HttpServletRequest request
+    ) {
+        String requestId = generateRequestId();
+        structuredLogger.logSummarizeFailure(requestId, "LLM_UNAVAILABLE", ex.getMessage());
+        log.warn("Request {} failed fast: {}", requestId, ex.getMessage());
+
+        return withRetryAfter(ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE), ex.getRetryAfter())
+                .body(new ErrorResponse("LLM_UNAVAILABLE", ex.getMessage(), LocalDateTime.now()));
+    }
+
+    /**
+     * Handles ServiceOverloadedException: the request was shed to protect the service.
+     */
+    @ExceptionHandler(ServiceOverloadedException.class)
+    public ResponseEntity<ErrorResponse> handleServiceOverloaded(
+            ServiceOverloadedException ex,
+            HttpServletRequest request
+    ) {
+        String requestId = generateRequestId();
+        structuredLogger.logSummarizeFailure(requestId, "OVERLOADED", ex.getMessage());
+        log.warn("Request {} shed: {}", requestId, ex.getMessage());
+
+        return withRetryAfter(ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE), ex.getRetryAfter())
+                .body(new ErrorResponse("SERVICE_OVERLOADED", ex.getMessage(), LocalDateTime.now()));
+    }
+
+    /**
+     * Handles JobNotFoundException: the job id is unknown or the job has expired.
+     */
+    @ExceptionHandler(JobNotFoundException.class)
+    public ResponseEntity<ErrorResponse> handleJobNotFound(
+            JobNotFoundException ex,
+            HttpServletRequest request
+    ) {
+        String requestId = generateRequestId();
+        structuredLogger.logSummarizeFailure(requestId, "JOB_NOT_FOUND", ex.getMessage());
+        log.warn("Job not found for request {}: {}", requestId, ex.getMessage());
+
+        return ResponseEntity
+                .status(HttpStatus.NOT_FOUND)
+                .body(new ErrorResponse("JOB_NOT_FOUND", ex.getMessage(), LocalDateTime.now()));
+    }
+
     /**
      * Handles SummarizerException (base exception).
      */
@@ -149,6 +238,17 @@ public class GlobalExceptionHandler {
                         LocalDateTime.now()));
     }
 
+    /**
+     * Adds a Retry-After header in whole seconds, rounded up so a client retrying on time is never early.
+     */
+    private static ResponseEntity.BodyBuilder withRetryAfter(ResponseEntity.BodyBuilder response, Duration retryAfter) {
+        if (retryAfter != null) {
+            long seconds = Math.max(1, (retryAfter.toMillis() + 999) / 1000);
+            response.header(HttpHeaders.RETRY_AFTER, String.valueOf(seconds));
+        }
+        return response;
+    }
+
     private String generateRequestId() {
         return UUID.randomUUID().toString().substring(0, 8);
     }
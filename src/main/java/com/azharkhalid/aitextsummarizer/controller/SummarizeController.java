@@ -1,9 +1,22 @@
 package com.azharkhalid.aitextsummarizer.controller;
 
+import com.azharkhalid.aitextsummarizer.config.ClientDisconnectConfig;
+import com.azharkhalid.aitextsummarizer.dto.request.BatchSummarizeRequest;
+import com.azharkhalid.aitextsummarizer.dto.request.DocumentSummarizeRequest;
 import com.azharkhalid.aitextsummarizer.dto.request.SummarizeRequest;
+import com.azharkhalid.aitextsummarizer.dto.response.BatchSummarizeResponse;
+import com.azharkhalid.aitextsummarizer.dto.response.ErrorResponse;
 import com.azharkhalid.aitextsummarizer.dto.response.SummarizeResponse;
+import com.azharkhalid.aitextsummarizer.exception.LLMTimeoutException;
+import com.azharkhalid.aitextsummarizer.metrics.StageTimings;
+import com.azharkhalid.aitextsummarizer.metrics.SummarizeMetrics;
+import com.azharkhalid.aitextsummarizer.service.BatchSummarizeService;
+import com.azharkhalid.aitextsummarizer.service.Deadline;
+import com.azharkhalid.aitextsummarizer.service.DocumentSummarizeService;
 import com.azharkhalid.aitextsummarizer.service.SummarizeService;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.headers.Header;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -14,13 +27,22 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * REST controller for text summarization endpoints.
+ * If the client disconnects before the response is complete, the work still running for it is
+ * cancelled (see {@link ClientDisconnectConfig}), so no provider call runs on for nobody.
  */
 @Slf4j
 @RestController
@@ -30,12 +52,17 @@ import org.springframework.web.bind.annotation.RestController;
 public class SummarizeController {
 
     private final SummarizeService summarizeService;
+    private final DocumentSummarizeService documentSummarizeService;
+    private final BatchSummarizeService batchSummarizeService;
+    private final SummarizeMetrics metrics;
 
     /**
      * Summarizes the provided text using AI/LLM.
+     * The response carries a {@code Server-Timing} header with the time spent in each pipeline stage.
      *
      * @param request The summarization request
-     * @return SummarizeResponse containing the summary and metadata
+     * @param deadlineHeader Optional {@value Deadline#HEADER} header: when the client stops waiting
+     * @return Future of the SummarizeResponse containing the summary and metadata
      */
     @PostMapping(
             value = "/summarize",
@@ -48,13 +75,18 @@ public class SummarizeController {
                     Generates a concise summary of the provided text using an AI language model.
                     The text must be between 100 and 10,000 characters. Supports multiple summary styles
                     (concise, bullet, executive) and optional maximum length constraints.
+                    An optional X-Request-Deadline header bounds how long the request may take.
                     """
     )
     @ApiResponses(value = {
             @ApiResponse(
                     responseCode = "200",
                     description = "Successfully generated summary",
-                    content = @Content(schema = @Schema(implementation = SummarizeResponse.class))
+                    content = @Content(schema = @Schema(implementation = SummarizeResponse.class)),
+                    headers = @Header(
+                            name = StageTimings.SERVER_TIMING_HEADER,
+                            description = "Time spent in each pipeline stage, in milliseconds"
+                    )
             ),
             @ApiResponse(
                     responseCode = "400",
@@ -68,28 +100,253 @@ public class SummarizeController {
                     responseCode = "503",
                     description = "Service temporarily unavailable (LLM provider timeout)"
             ),
+            @ApiResponse(
+                    responseCode = "504",
+                    description = "The request deadline passed before the summary was ready"
+            ),
             @ApiResponse(
                     responseCode = "500",
                     description = "Internal server error"
             )
     })
-    public ResponseEntity<SummarizeResponse> summarize(
-            @Valid @RequestBody SummarizeRequest request
+    public CompletableFuture<ResponseEntity<SummarizeResponse>> summarize(
+            @Valid @RequestBody SummarizeRequest request,
+            @Parameter(description = "When the client stops waiting: a timeout such as 2500m (milliseconds) "
+                    + "or 3S (seconds), or an ISO-8601 instant")
+            @RequestHeader(name = Deadline.HEADER, required = false) String deadlineHeader
     ) {
+        Deadline deadline = Deadline.parse(deadlineHeader);
+
         log.info("Received summarization request. Text length: {}, Style: {}, MaxLength: {}",
                 request.getText().length(),
                 request.getSummaryStyle(),
                 request.getMaxLength()
         );
 
-        // The service now returns CompletableFuture due to @TimeLimiter
-        SummarizeResponse response = summarizeService.summarize(request).join();
+        StageTimings timings = new StageTimings();
 
-        log.info("Returning summary. Summary length: {}, Processing time: {} ms",
-                response.getSummaryLength(),
-                response.getProcessingTimeMs()
+        CompletableFuture<SummarizeResponse> summary = summarizeService.summarize(request, timings, deadline);
+        cancelOnDisconnect("summarize", summary);
+
+        // Returning the future releases the servlet thread until the LLM answers
+        return summary
+                .thenApply(response -> {
+                    log.info("Returning summary. Summary length: {}, Processing time: {} ms",
+                            response.getSummaryLength(),
+                            response.getProcessingTimeMs()
+                    );
+                    return ResponseEntity.ok()
+                            .header(StageTimings.SERVER_TIMING_HEADER, timings.toServerTimingHeader())
+                            .body(response);
+                });
+    }
+
+    /**
+     * Streams the summary as Server-Sent Events while the LLM generates it.
+     * Emits one {@code token} event per chunk, then a {@code summary} event carrying the
+     * SummarizeResponse metadata, or an {@code error} event if the stream fails midway.
+     * If the client disconnects, the stream and with it the provider call are cancelled.
+     *
+     * @param request The summarization request
+     * @return Stream of SSE events
+     */
+    @PostMapping(
+            value = "/summarize/stream",
+            consumes = MediaType.APPLICATION_JSON_VALUE,
+            produces = MediaType.TEXT_EVENT_STREAM_VALUE
+    )
+    @Operation(
+            summary = "Stream a summary",
+            description = """
+                    Streams the summary as Server-Sent Events while it is generated. Each `token` event
+                    carries the next chunk of text; the final `summary` event carries the same metadata
+                    as the non-streaming endpoint. Validation errors are returned before streaming starts.
+                    """
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Summary stream started",
+                    content = @Content(mediaType = MediaType.TEXT_EVENT_STREAM_VALUE)
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Invalid input (e.g., text too short, too long, or contains suspicious content)"
+            ),
+            @ApiResponse(
+                    responseCode = "429",
+                    description = "Rate limit exceeded"
+            )
+    })
+    public Flux<ServerSentEvent<Object>> summarizeStream(
+            @Valid @RequestBody SummarizeRequest request
+    ) {
+        log.info("Received streaming summarization request. Text length: {}, Style: {}, MaxLength: {}",
+                request.getText().length(),
+                request.getSummaryStyle(),
+                request.getMaxLength()
         );
 
-        return ResponseEntity.ok(response);
+        SummarizeService.SummaryStream stream = summarizeService.summarizeStream(request);
+        Sinks.One<Boolean> disconnected = Sinks.one();
+        ClientDisconnectConfig.onDisconnect(() -> disconnected.tryEmitValue(true));
+
+        return stream.tokens()
+                .map(token -> ServerSentEvent.<Object>builder(token).event("token").build())
+                .concatWith(stream.response()
+                        .map(response -> ServerSentEvent.<Object>builder(response).event("summary").build()))
+                .onErrorResume(e -> {
+                    // Headers are already sent, so report the failure in-band
+                    log.error("Streaming summarization failed: {}", e.getMessage());
+                    String errorCode = e instanceof LLMTimeoutException ? "LLM_TIMEOUT" : "SUMMARIZER_ERROR";
+                    return Flux.just(ServerSentEvent.<Object>builder(
+                                    new ErrorResponse(errorCode, e.getMessage(), LocalDateTime.now()))
+                            .event("error")
+                            .build());
+                })
+                .doOnCancel(() -> {
+                    log.info("Client stopped reading the summary stream; cancelling it");
+                    metrics.recordCancelled("stream");
+                })
+                .takeUntilOther(disconnected.asMono());
+    }
+
+    /**
+     * Summarizes a document longer than the single-pass limit using map-reduce.
+     *
+     * @param request The document summarization request
+     * @return Future of the SummarizeResponse containing the combined summary and metadata
+     */
+    @PostMapping(
+            value = "/summarize/document",
+            consumes = MediaType.APPLICATION_JSON_VALUE,
+            produces = MediaType.APPLICATION_JSON_VALUE
+    )
+    @Operation(
+            summary = "Summarize a long document",
+            description = """
+                    Summarizes documents of up to 200,000 characters. The document is split into chunks on
+                    paragraph and sentence boundaries, the chunks are summarized in parallel, and the partial
+                    summaries are combined into one summary in the requested style.
+                    """
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Successfully generated summary",
+                    content = @Content(schema = @Schema(implementation = SummarizeResponse.class))
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Invalid input (e.g., text too short, too long, or contains suspicious content)"
+            ),
+            @ApiResponse(
+                    responseCode = "429",
+                    description = "Rate limit exceeded"
+            ),
+            @ApiResponse(
+                    responseCode = "503",
+                    description = "Service temporarily unavailable (LLM provider timeout)"
+            ),
+            @ApiResponse(
+                    responseCode = "500",
+                    description = "Internal server error"
+            )
+    })
+    public CompletableFuture<ResponseEntity<SummarizeResponse>> summarizeDocument(
+            @Valid @RequestBody DocumentSummarizeRequest request
+    ) {
+        log.info("Received document summarization request. Text length: {}, Style: {}, MaxLength: {}",
+                request.getText().length(),
+                request.getSummaryStyle(),
+                request.getMaxLength()
+        );
+
+        CompletableFuture<SummarizeResponse> summary = documentSummarizeService.summarizeDocument(request);
+        cancelOnDisconnect("document", summary);
+
+        return summary
+                .thenApply(response -> {
+                    log.info("Returning document summary. Summary length: {}, Processing time: {} ms",
+                            response.getSummaryLength(),
+                            response.getProcessingTimeMs()
+                    );
+                    return ResponseEntity.ok(response);
+                });
+    }
+
+    /**
+     * Summarizes several texts in one request.
+     *
+     * @param request The batch request
+     * @return Future of the BatchSummarizeResponse with one result per item, in request order
+     */
+    @PostMapping(
+            value = "/summarize/batch",
+            consumes = MediaType.APPLICATION_JSON_VALUE,
+            produces = MediaType.APPLICATION_JSON_VALUE
+    )
+    @Operation(
+            summary = "Summarize a batch of texts",
+            description = """
+                    Summarizes up to max-items (10 by default) texts in one request, each with its own options.
+                    Identical items are summarized once. Items are summarized in parallel, and each item reports its
+                    own summary or error, so one failed item does not fail the batch. The batch counts as one
+                    request against the rate limit.
+                    """
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Batch processed; see each item for its outcome",
+                    content = @Content(schema = @Schema(implementation = BatchSummarizeResponse.class))
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Invalid batch (e.g., no items or too many items)"
+            ),
+            @ApiResponse(
+                    responseCode = "429",
+                    description = "Rate limit exceeded"
+            ),
+            @ApiResponse(
+                    responseCode = "500",
+                    description = "Internal server error"
+            )
+    })
+    public CompletableFuture<ResponseEntity<BatchSummarizeResponse>> summarizeBatch(
+            @Valid @RequestBody BatchSummarizeRequest request
+    ) {
+        log.info("Received batch summarization request. Items: {}", request.getItems().size());
+
+        CompletableFuture<BatchSummarizeResponse> batch = batchSummarizeService.summarizeBatch(request);
+        cancelOnDisconnect("batch", batch);
+
+        return batch
+                .thenApply(response -> {
+                    log.info("Returning batch. Succeeded: {}, Failed: {}, Processing time: {} ms",
+                            response.getSucceeded(),
+                            response.getFailed(),
+                            response.getProcessingTimeMs()
+                    );
+                    return ResponseEntity.ok(response);
+                });
+    }
+
+    /**
+     * Cancels the future returned by a service if the client disconnects before it completes.
+     * The services stop their LLM calls when that future is cancelled; cancelling a dependent stage
+     * such as the one returned to Spring would not reach it.
+     *
+     * @param endpoint The endpoint, used to tag the cancelled request metric
+     * @param future The future returned by the service
+     */
+    private void cancelOnDisconnect(String endpoint, CompletableFuture<?> future) {
+        ClientDisconnectConfig.onDisconnect(() -> {
+            if (future.cancel(true)) {
+                log.info("Client stopped waiting; cancelled {} request", endpoint);
+                metrics.recordCancelled(endpoint);
+            }
+        });
     }
 }
@@ -0,0 +1,122 @@
+package com.azharkhalid.aitextsummarizer.controller;
+
+import com.azharkhalid.aitextsummarizer.dto.request.SummarizeJobRequest;
+import com.azharkhalid.aitextsummarizer.dto.response.SummarizeJobResponse;
+import com.azharkhalid.aitextsummarizer.service.SummarizeJobService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.headers.Header;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.net.URI;
+
+/**
+ * REST controller for asynchronous summarization jobs.
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/v1/summarize/jobs")
+@RequiredArgsConstructor
+@Tag(name = "Summarization Jobs", description = "Asynchronous summarization API endpoints")
+public class SummarizeJobController {
+
+    private final SummarizeJobService summarizeJobService;
+
+    /**
+     * Accepts a summarization job and returns without waiting for the summary.
+     *
+     * @param request The job request
+     * @return The queued job, with its URL in the {@code Location} header
+     */
+    @PostMapping(
+            consumes = MediaType.APPLICATION_JSON_VALUE,
+            produces = MediaType.APPLICATION_JSON_VALUE
+    )
+    @Operation(
+            summary = "Submit a summarization job",
+            description = """
+                    Queues the text for summarization and returns a job id at once. Texts of up to
+                    200,000 characters are accepted; long texts are summarized as documents. Poll the job
+                    URL for the result, or give a callback URL that receives the finished job as a JSON POST.
+                    """
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "202",
+                    description = "Job accepted",
+                    content = @Content(schema = @Schema(implementation = SummarizeJobResponse.class)),
+                    headers = @Header(name = HttpHeaders.LOCATION, description = "URL of the job")
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Invalid input (e.g., text too short, too long, or invalid callback URL)"
+            ),
+            @ApiResponse(
+                    responseCode = "429",
+                    description = "Rate limit exceeded"
+            ),
+            @ApiResponse(
+                    responseCode = "503",
+                    description = "Job queue is full"
+            )
+    })
+    public ResponseEntity<SummarizeJobResponse> submit(@Valid @RequestBody SummarizeJobRequest request) {
+        log.info("Received summarization job. Text length: {}, Style: {}, Callback: {}",
+                request.getText().length(),
+                request.getSummaryStyle(),
+                request.getCallbackUrl() != null
+        );
+
+        SummarizeJobResponse response = summarizeJobService.submit(request);
+        URI location = ServletUriComponentsBuilder.fromCurrentRequest()
+                .path("/{jobId}")
+                .buildAndExpand(response.getJobId())
+                .toUri();
+        return ResponseEntity.accepted().location(location).body(response);
+    }
+
+    /**
+     * Returns a job's status, and its summary or error once finished.
+     *
+     * @param jobId The job identifier
+     * @return The job
+     */
+    @GetMapping(value = "/{jobId}", produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(
+            summary = "Get a summarization job",
+            description = "Returns the job status; finished jobs carry the summary or the error."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Job found",
+                    content = @Content(schema = @Schema(implementation = SummarizeJobResponse.class))
+            ),
+            @ApiResponse(
+                    responseCode = "404",
+                    description = "No such job, or it has expired"
+            )
+    })
+    public ResponseEntity<SummarizeJobResponse> getJob(
+            @Parameter(description = "Job identifier") @PathVariable String jobId
+    ) {
+        return ResponseEntity.ok(summarizeJobService.getJob(jobId));
+    }
+}
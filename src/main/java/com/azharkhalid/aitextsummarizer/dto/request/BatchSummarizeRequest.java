@@ -0,0 +1,37 @@
+package com.azharkhalid.aitextsummarizer.dto.request;
+
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Request body for the batch summarize endpoint.
+ * Items are validated one by one, so an invalid item fails only itself, not the batch.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Request object for summarizing several texts at once")
+public class BatchSummarizeRequest {
+
+    /**
+     * The texts to summarize, each with its own options.
+     */
+    @ArraySchema(
+            arraySchema = @Schema(
+                    description = "The items to summarize. Identical items are summarized once.",
+                    requiredMode = Schema.RequiredMode.REQUIRED
+            ),
+            schema = @Schema(implementation = SummarizeRequest.class),
+            minItems = 1
+    )
+    @NotEmpty(message = "Items cannot be empty")
+    private List<SummarizeRequest> items;
+}
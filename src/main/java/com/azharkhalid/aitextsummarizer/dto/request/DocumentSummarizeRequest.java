@@ -0,0 +1,65 @@
+package com.azharkhalid.aitextsummarizer.dto.request;
+
+import com.azharkhalid.aitextsummarizer.enums.SummaryStyle;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Request body for the long-document summarize endpoint.
+ * Same options as {@link SummarizeRequest}, but accepts documents beyond the single-pass limit.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Request object for summarizing documents longer than the single-pass limit")
+public class DocumentSummarizeRequest {
+
+    /**
+     * The document to be summarized.
+     * Split into chunks on paragraph and sentence boundaries before summarization.
+     */
+    @Schema(
+            description = "The document to be summarized. Must be at least 100 characters and at most 200,000 characters.",
+            requiredMode = Schema.RequiredMode.REQUIRED,
+            minLength = 100,
+            maxLength = 200000
+    )
+    @NotBlank(message = "Text cannot be empty or null")
+    @Size(min = 100, max = 200000, message = "Text must be between 100 and 200000 characters")
+    private String text;
+
+    /**
+     * Maximum length of the final summary in words.
+     * Optional - if not specified, the model will determine appropriate length.
+     */
+    @Schema(
+            description = "Maximum length of the final summary in words. If null, uses model default.",
+            example = "300",
+            requiredMode = Schema.RequiredMode.NOT_REQUIRED,
+            minimum = "50",
+            maximum = "1000"
+    )
+    @Min(value = 50, message = "maxLength must be at least 50 words")
+    @Max(value = 1000, message = "maxLength cannot exceed 1000 words")
+    private Integer maxLength;
+
+    /**
+     * The style of the final summary.
+     * Optional - defaults to CONCISE if not specified.
+     */
+    @Schema(
+            description = "Style of the final summary. Defaults to CONCISE if not specified.",
+            example = "EXECUTIVE",
+            requiredMode = Schema.RequiredMode.NOT_REQUIRED,
+            allowableValues = {"CONCISE", "BULLET", "EXECUTIVE"}
+    )
+    private SummaryStyle summaryStyle;
+}
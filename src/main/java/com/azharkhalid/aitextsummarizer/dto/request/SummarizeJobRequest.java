@@ -0,0 +1,80 @@
+package com.azharkhalid.aitextsummarizer.dto.request;
+
+import com.azharkhalid.aitextsummarizer.enums.SummaryStyle;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Request body for submitting an asynchronous summarization job.
+ * Accepts documents up to the long-document limit; texts beyond the single-pass limit are
+ * summarized with map-reduce, as on the document endpoint.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Request object for an asynchronous summarization job")
+public class SummarizeJobRequest {
+
+    /**
+     * The text to be summarized.
+     */
+    @Schema(
+            description = "The text to be summarized. Must be at least 100 characters and at most 200,000 characters.",
+            requiredMode = Schema.RequiredMode.REQUIRED,
+            minLength = 100,
+            maxLength = 200000
+    )
+    @NotBlank(message = "Text cannot be empty or null")
+    @Size(min = 100, max = 200000, message = "Text must be between 100 and 200000 characters")
+    private String text;
+
+    /**
+     * Maximum length of the summary in words.
+     * Optional - if not specified, the model will determine appropriate length.
+     */
+    @Schema(
+            description = "Maximum length of the summary in words. If null, uses model default.",
+            example = "150",
+            requiredMode = Schema.RequiredMode.NOT_REQUIRED,
+            minimum = "50",
+            maximum = "1000"
+    )
+    @Min(value = 50, message = "maxLength must be at least 50 words")
+    @Max(value = 1000, message = "maxLength cannot exceed 1000 words")
+    private Integer maxLength;
+
+    /**
+     * The style of summary to generate.
+     * Optional - defaults to CONCISE if not specified.
+     */
+    @Schema(
+            description = "Style of the summary. Defaults to CONCISE if not specified.",
+            example = "CONCISE",
+            requiredMode = Schema.RequiredMode.NOT_REQUIRED,
+            allowableValues = {"CONCISE", "BULLET", "EXECUTIVE"}
+    )
+    private SummaryStyle summaryStyle;
+
+    /**
+     * URL to POST the finished job to.
+     * Optional - without it, clients poll the job instead.
+     */
+    @Schema(
+            description = "HTTP(S) URL that receives the finished job as a JSON POST. Its host must be one of the "
+                    + "server's allowed callback hosts. Optional.",
+            example = "https://example.com/hooks/summaries",
+            requiredMode = Schema.RequiredMode.NOT_REQUIRED
+    )
+    @Pattern(regexp = "https?://\\S+", message = "callbackUrl must be an http or https URL")
+    @Size(max = 2048, message = "callbackUrl cannot exceed 2048 characters")
+    private String callbackUrl;
+}
@@ -0,0 +1,45 @@
+package com.azharkhalid.aitextsummarizer.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Outcome of one item of a batch: its summary, or the error that item failed with.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Result of one item of a batch summarization request")
+public class BatchItemResult {
+
+    /**
+     * Position of the item in the request.
+     */
+    @Schema(description = "Zero-based position of the item in the request", example = "0")
+    private int index;
+
+    /**
+     * Whether the item was summarized.
+     */
+    @Schema(description = "Whether the item was summarized", example = "true")
+    private boolean success;
+
+    /**
+     * The summary, if the item succeeded.
+     */
+    @Schema(description = "The summary; only present when the item succeeded")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private SummarizeResponse result;
+
+    /**
+     * The error, if the item failed.
+     */
+    @Schema(description = "The error; only present when the item failed")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private ErrorResponse error;
+}
@@ -0,0 +1,50 @@
+package com.azharkhalid.aitextsummarizer.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Response for the batch summarize endpoint: one result per item, in request order.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Response object containing the result of every item of a batch")
+public class BatchSummarizeResponse {
+
+    /**
+     * One result per item, in request order.
+     */
+    @Schema(description = "One result per item, in request order")
+    private List<BatchItemResult> results;
+
+    /**
+     * Number of items that were summarized.
+     */
+    @Schema(description = "Number of items that were summarized", example = "9")
+    private int succeeded;
+
+    /**
+     * Number of items that failed.
+     */
+    @Schema(description = "Number of items that failed", example = "1")
+    private int failed;
+
+    /**
+     * Number of items that repeated an earlier item and shared its result.
+     */
+    @Schema(description = "Number of items that repeated an earlier item and shared its result", example = "2")
+    private int duplicates;
+
+    /**
+     * Time taken to process the whole batch in milliseconds.
+     */
+    @Schema(description = "Time taken to process the whole batch in milliseconds", example = "2450")
+    private long processingTimeMs;
+}
@@ -0,0 +1,74 @@
+package com.azharkhalid.aitextsummarizer.dto.response;
+
+import com.azharkhalid.aitextsummarizer.enums.JobStatus;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Status of an asynchronous summarization job, with its result once it has finished.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Status of an asynchronous summarization job")
+public class SummarizeJobResponse {
+
+    /**
+     * Identifier to poll the job with.
+     */
+    @Schema(
+            description = "Job identifier",
+            example = "3f1c7c1e-5d1a-4c8e-9a57-6f2d3e1b9c40"
+    )
+    private String jobId;
+
+    /**
+     * Where the job is in its lifecycle.
+     */
+    @Schema(
+            description = "Job status",
+            example = "SUCCEEDED"
+    )
+    private JobStatus status;
+
+    /**
+     * When the job was accepted.
+     */
+    @Schema(description = "ISO 8601 time the job was accepted")
+    private Instant submittedAt;
+
+    /**
+     * When a worker last started the job.
+     */
+    @Schema(description = "ISO 8601 time a worker started the job; omitted while queued")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Instant startedAt;
+
+    /**
+     * When the job finished.
+     */
+    @Schema(description = "ISO 8601 time the job finished; omitted until then")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Instant completedAt;
+
+    /**
+     * The summary, once the job has succeeded.
+     */
+    @Schema(description = "The summary; only present when the job has succeeded")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private SummarizeResponse result;
+
+    /**
+     * The error, if the job has failed.
+     */
+    @Schema(description = "The error; only present when the job has failed")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private ErrorResponse error;
+}
@@ -1,5 +1,6 @@
 package com.azharkhalid.aitextsummarizer.dto.response;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -60,4 +61,43 @@ public class SummarizeResponse {
             example = "856"
     )
     private long processingTimeMs;
+
+    /**
+     * Whether the summary was served from the cache instead of calling the LLM.
+     */
+    @Schema(
+            description = "True if the summary was served from the cache without calling the AI model",
+            example = "false"
+    )
+    private boolean cached;
+
+    /**
+     * Prompt tokens billed for the LLM calls, if the provider reported usage.
+     */
+    @Schema(
+            description = "Prompt tokens used by the AI model; omitted for cached summaries or when the provider reports no usage",
+            example = "142"
+    )
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Integer promptTokens;
+
+    /**
+     * Completion tokens billed for the LLM calls, if the provider reported usage.
+     */
+    @Schema(
+            description = "Completion tokens generated by the AI model; omitted for cached summaries or when the provider reports no usage",
+            example = "38"
+    )
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Integer completionTokens;
+
+    /**
+     * Total tokens billed for the LLM calls, if the provider reported usage.
+     */
+    @Schema(
+            description = "Total tokens used by the AI model; omitted for cached summaries or when the provider reports no usage",
+            example = "180"
+    )
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Integer totalTokens;
 }
@@ -0,0 +1,34 @@
+package com.azharkhalid.aitextsummarizer.enums;
+
+/**
+ * Lifecycle of an asynchronous summarization job.
+ */
+public enum JobStatus {
+
+    /**
+     * Accepted and waiting for a worker.
+     */
+    QUEUED,
+
+    /**
+     * Being summarized by a worker.
+     */
+    RUNNING,
+
+    /**
+     * Finished with a summary.
+     */
+    SUCCEEDED,
+
+    /**
+     * Finished with an error.
+     */
+    FAILED;
+
+    /**
+     * @return Whether the job has finished and will not change again
+     */
+    public boolean isTerminal() {
+        return this == SUCCEEDED || this == FAILED;
+    }
+}
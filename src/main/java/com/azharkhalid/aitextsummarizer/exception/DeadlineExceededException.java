@@ -0,0 +1,11 @@
+package com.azharkhalid.aitextsummarizer.exception;
+
+/**
+ * Thrown when the request's deadline, set by the client, passes before the summary is ready.
+ */
+public class DeadlineExceededException extends SummarizerException {
+
+    public DeadlineExceededException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,11 @@
+package com.azharkhalid.aitextsummarizer.exception;
+
+/**
+ * Thrown when a summarization job does not exist, or has expired.
+ */
+public class JobNotFoundException extends SummarizerException {
+
+    public JobNotFoundException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,25 @@
+package com.azharkhalid.aitextsummarizer.exception;
+
+import java.time.Duration;
+
+/**
+ * Thrown when an LLM call is not attempted because the provider is failing or too slow,
+ * so the request fails fast instead of waiting out timeouts and retries.
+ * Carries the suggested time before the client tries again.
+ */
+public class LLMUnavailableException extends SummarizerException {
+
+    private final Duration retryAfter;
+
+    public LLMUnavailableException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+
+    /**
+     * @return Suggested time before retrying, or null if unknown
+     */
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
@@ -1,11 +1,28 @@
 package com.azharkhalid.aitextsummarizer.exception;
 
+import java.time.Duration;
+
 /**
  * Thrown when the rate limit for the API has been exceeded.
+ * Carries the time until the client may try again, when it is known.
  */
 public class RateLimitExceededException extends SummarizerException {
 
+    private final Duration retryAfter;
+
     public RateLimitExceededException(String message) {
+        this(message, null);
+    }
+
+    public RateLimitExceededException(String message, Duration retryAfter) {
         super(message);
+        this.retryAfter = retryAfter;
+    }
+
+    /**
+     * @return Time until the next request can succeed, or null if unknown
+     */
+    public Duration getRetryAfter() {
+        return retryAfter;
     }
 }
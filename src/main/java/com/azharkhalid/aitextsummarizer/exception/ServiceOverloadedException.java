@@ -0,0 +1,24 @@
+package com.azharkhalid.aitextsummarizer.exception;
+
+import java.time.Duration;
+
+/**
+ * Thrown when a request is shed because the service is already handling as much work as it may.
+ * Carries the suggested time before the client tries again.
+ */
+public class ServiceOverloadedException extends SummarizerException {
+
+    private final Duration retryAfter;
+
+    public ServiceOverloadedException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+
+    /**
+     * @return Suggested time before retrying, or null if unknown
+     */
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
@@ -1,8 +1,11 @@
 package com.azharkhalid.aitextsummarizer.health;
 
-import io.github.resilience4j.ratelimiter.RateLimiterRegistry;
-import io.github.resilience4j.retry.RetryRegistry;
-import io.github.resilience4j.timelimiter.TimeLimiterRegistry;
+import com.azharkhalid.aitextsummarizer.config.SummarizeProperties;
+import com.azharkhalid.aitextsummarizer.service.LlmBulkhead;
+import com.azharkhalid.aitextsummarizer.service.LlmCircuitBreaker;
+import com.azharkhalid.aitextsummarizer.service.LlmRetrier;
+import com.azharkhalid.aitextsummarizer.service.RateLimitingService;
+import com.azharkhalid.aitextsummarizer.service.TokenBudgetLimiter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.actuate.health.Health;
@@ -14,64 +17,83 @@ import java.util.Map;
 
 /**
  * Health indicator for Resilience4j components.
- * Reports the status of retry, timelimiter, and ratelimiter.
+ * Reports the status of retry, the provider call timeout, the per-client rate limiter, the provider token budget,
+ * the LLM bulkhead and the LLM circuit breaker.
+ * An open circuit breaker is reported in the details but leaves the status UP, so the instance is not
+ * taken out of rotation for a provider outage it cannot fix.
  */
 @Slf4j
 @Component
 @RequiredArgsConstructor
 public class ResilienceHealthIndicator implements HealthIndicator {
 
-    private final RetryRegistry retryRegistry;
-    private final TimeLimiterRegistry timeLimiterRegistry;
-    private final RateLimiterRegistry rateLimiterRegistry;
+    private final LlmRetrier llmRetrier;
+    private final RateLimitingService rateLimitingService;
+    private final TokenBudgetLimiter tokenBudgetLimiter;
+    private final LlmBulkhead llmBulkhead;
+    private final LlmCircuitBreaker llmCircuitBreaker;
+    private final SummarizeProperties properties;
 
     @Override
     public Health health() {
         Map<String, Object> details = new HashMap<>();
 
         try {
-            // Check Retry status
-            var retry = retryRegistry.getAllRetries().stream()
-                    .filter(r -> r.getName().equals("summarizeService"))
-                    .findFirst();
+            // Check LLM retry status
+            var retry = properties.getRetry();
+            details.put("retry", Map.of(
+                    "maxAttempts", retry.getMaxAttempts(),
+                    "budgetPercent", retry.getBudgetPercent(),
+                    "availableRetries", llmRetrier.getAvailableRetries()
+            ));
 
-            if (retry.isPresent()) {
-                var retryConfig = retry.get();
-                details.put("retry", Map.of(
-                        "name", retryConfig.getName(),
-                        "maxAttempts", retryConfig.getRetryConfig().getMaxAttempts()
-                ));
-            }
+            // Report the provider call timeout, armed when the call is dispatched to the provider
+            details.put("timeout", properties.getTimeout().toMillis() + "ms");
 
-            // Check TimeLimiter status
-            var timeLimiter = timeLimiterRegistry.getAllTimeLimiters().stream()
-                    .filter(t -> t.getName().equals("summarizeService"))
-                    .findFirst();
+            // Check per-client RateLimiter status
+            var rateLimit = properties.getRateLimit();
+            Map<String, Object> tiers = new HashMap<>();
+            rateLimit.getTiers().forEach((name, tier) -> tiers.put(name, Map.of(
+                    "limitForPeriod", tier.getLimitForPeriod(),
+                    "refreshPeriod", tier.getRefreshPeriod().toMillis() + "ms"
+            )));
+            details.put("rateLimiter", Map.of(
+                    "enabled", rateLimit.isEnabled(),
+                    "defaultTier", rateLimit.getDefaultTier(),
+                    "tiers", tiers,
+                    "trackedClients", rateLimitingService.getTrackedClients()
+            ));
 
-            if (timeLimiter.isPresent()) {
-                var tlConfig = timeLimiter.get();
-                details.put("timeLimiter", Map.of(
-                        "name", tlConfig.getName(),
-                        "timeout", tlConfig.getTimeLimiterConfig().getTimeoutDuration().toMillis() + "ms"
-                ));
-            }
+            // Check provider token budget status
+            var tokenBudget = properties.getTokenBudget();
+            details.put("tokenBudget", Map.of(
+                    "enabled", tokenBudget.isEnabled(),
+                    "tokensPerMinute", tokenBudget.getTokensPerMinute(),
+                    "availableTokens", tokenBudgetLimiter.getAvailableTokens()
+            ));
 
-            // Check RateLimiter status
-            var rateLimiter = rateLimiterRegistry.getAllRateLimiters().stream()
-                    .filter(r -> r.getName().equals("summarizeApi"))
-                    .findFirst();
+            // Check LLM bulkhead status
+            var bulkhead = properties.getBulkhead();
+            details.put("bulkhead", Map.of(
+                    "enabled", bulkhead.isEnabled(),
+                    "maxConcurrentCalls", bulkhead.getMaxConcurrentCalls(),
+                    "maxQueuedCalls", bulkhead.getMaxQueuedCalls(),
+                    "activeCalls", llmBulkhead.getActiveCalls(),
+                    "queuedCalls", llmBulkhead.getQueuedCalls(),
+                    "rejectedCalls", llmBulkhead.getRejectedCalls(),
+                    "adaptiveLimit", bulkhead.getAdaptive().isEnabled(),
+                    "concurrencyLimit", llmBulkhead.getLimit()
+            ));
 
-            if (rateLimiter.isPresent()) {
-                var rlConfig = rateLimiter.get();
-                var metrics = rlConfig.getMetrics();
-                details.put("rateLimiter", Map.of(
-                        "name", rlConfig.getName(),
-                        "limitForPeriod", rlConfig.getRateLimiterConfig().getLimitForPeriod(),
-                        "refreshPeriod", rlConfig.getRateLimiterConfig().getLimitRefreshPeriod().toMillis() + "ms",
-                        "availablePermissions", metrics.getAvailablePermissions(),
-                        "numberOfWaitingThreads", metrics.getNumberOfWaitingThreads()
-                ));
-            }
+            // Check LLM circuit breaker status
+            var circuitBreaker = properties.getCircuitBreaker();
+            details.put("circuitBreaker", Map.of(
+                    "enabled", circuitBreaker.isEnabled(),
+                    "state", llmCircuitBreaker.getState(),
+                    "failureRate", llmCircuitBreaker.getFailureRate(),
+                    "slowCallRate", llmCircuitBreaker.getSlowCallRate(),
+                    "rejectedCalls", llmCircuitBreaker.getRejectedCalls()
+            ));
 
             return Health.up()
                     .withDetails(details)
@@ -0,0 +1,61 @@
+package com.azharkhalid.aitextsummarizer.metrics;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Per-request record of how long each pipeline stage took.
+ * Stages are recorded on the request thread and on the LLM executor thread, so access is synchronized.
+ * Rendered as a {@code Server-Timing} header by the controller.
+ */
+public class StageTimings {
+
+    /**
+     * Response header carrying the stage breakdown, see https://www.w3.org/TR/server-timing/.
+     */
+    public static final String SERVER_TIMING_HEADER = "Server-Timing";
+
+    private final long startNanos = System.nanoTime();
+    private final Map<SummarizeStage, Long> durations = new EnumMap<>(SummarizeStage.class);
+
+    /**
+     * Record the duration of a stage. A stage recorded twice keeps the sum.
+     *
+     * @param stage The pipeline stage
+     * @param durationNanos Stage duration in nanoseconds
+     */
+    public synchronized void record(SummarizeStage stage, long durationNanos) {
+        durations.merge(stage, durationNanos, Long::sum);
+    }
+
+    /**
+     * Get the recorded stage durations in pipeline order.
+     *
+     * @return Copy of the durations in nanoseconds, keyed by stage
+     */
+    public synchronized Map<SummarizeStage, Long> getDurations() {
+        return new EnumMap<>(durations);
+    }
+
+    /**
+     * Format the recorded stages plus the total time since this object was created, e.g.
+     * {@code validation;desc="Validation and sanitization";dur=0.412, ..., total;dur=815.207}.
+     * Durations are in milliseconds.
+     *
+     * @return The Server-Timing header value
+     */
+    public synchronized String toServerTimingHeader() {
+        StringBuilder header = new StringBuilder();
+        durations.forEach((stage, nanos) -> header
+                .append(stage.getTag())
+                .append(";desc=\"").append(stage.getDescription()).append('"')
+                .append(";dur=").append(formatMillis(nanos))
+                .append(", "));
+        return header.append("total;dur=").append(formatMillis(System.nanoTime() - startNanos)).toString();
+    }
+
+    private static String formatMillis(long nanos) {
+        return String.format(Locale.ROOT, "%.3f", nanos / 1_000_000.0);
+    }
+}
@@ -1,14 +1,21 @@
 package com.azharkhalid.aitextsummarizer.metrics;
 
+import com.azharkhalid.aitextsummarizer.enums.SummaryStyle;
 import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
 import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
 import io.micrometer.core.instrument.Timer;
 import jakarta.annotation.PostConstruct;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * Custom metrics component for tracking summarization performance.
@@ -26,13 +33,77 @@ public class SummarizeMetrics {
     private Counter failureCounter;
     private Counter validationErrorCounter;
     private Counter timeoutCounter;
+    private Counter deadlineExceededCounter;
 
     // Timer for tracking request duration
     private Timer requestTimer;
 
+    // Timer for tracking time to the first streamed token
+    private Timer firstTokenTimer;
+
+    // Counters for the summary cache
+    private Counter cacheHitCounter;
+    private Counter cacheMissCounter;
+    private Counter cacheEvictionCounter;
+
+    // Counter for requests that joined an identical LLM call already in flight
+    private Counter coalescedCounter;
+
+    // Counters for hedged LLM calls: extra calls sent, and extra calls that answered first
+    private Counter hedgeFiredCounter;
+    private Counter hedgeWonCounter;
+
+    // Metrics for long-document (map-reduce) summarization
+    private Timer documentChunkTimer;
+    private DistributionSummary documentFanOutSummary;
+    private DistributionSummary documentReduceLevelsSummary;
+
+    // Metrics for micro-batched LLM calls: how full each batch was, prompt tokens saved, and fallbacks
+    private DistributionSummary microBatchFillSummary;
+    private Counter microBatchTokensSavedCounter;
+    private Counter microBatchFallbackCounter;
+
+    // Metrics for batch summarization
+    private DistributionSummary batchSizeSummary;
+    private DistributionSummary batchDuplicateRatioSummary;
+    private Timer batchItemTimer;
+
+    // Gauges for the summary cache footprint
+    private final AtomicLong cacheEntries = new AtomicLong(0);
+    private final AtomicLong cacheSizeBytes = new AtomicLong(0);
+
     // Gauge for tracking current input length being processed
     private final AtomicLong currentInputLength = new AtomicLong(0);
 
+    // Gauge for request threads parked waiting for a rate limit token
+    private final AtomicLong rateLimitWaiting = new AtomicLong(0);
+
+    // Bulkhead gauges and counter - LLM calls running, waiting for a slot, and shed
+    private final AtomicLong bulkheadActive = new AtomicLong(0);
+    private final AtomicLong bulkheadQueued = new AtomicLong(0);
+    private Counter bulkheadRejectedCounter;
+
+    // Asynchronous job gauges - jobs waiting for a worker and jobs being summarized
+    private final AtomicLong jobsQueued = new AtomicLong(0);
+    private final AtomicLong jobsRunning = new AtomicLong(0);
+
+    // Adaptive concurrency limit gauges - current limit and the LLM round-trip times it is based on
+    private final AtomicLong concurrencyLimit = new AtomicLong(0);
+    private final AtomicLong shortRttNanos = new AtomicLong(0);
+    private final AtomicLong baselineRttNanos = new AtomicLong(0);
+
+    // Circuit breaker gauge and counter - current state, and calls failed fast while open
+    private final AtomicReference<String> circuitState = new AtomicReference<>("closed");
+    private Counter circuitRejectedCounter;
+
+    // Outbound pacer gauges and counters - the provider's remaining requests and tokens as estimated
+    // from its rate-limit headers (NaN until reported), the pause after a 429, and calls delayed or rejected
+    private final AtomicReference<Long> pacerRequestsRemaining = new AtomicReference<>();
+    private final AtomicReference<Long> pacerTokensRemaining = new AtomicReference<>();
+    private final AtomicLong pacerPausedUntilNanos = new AtomicLong(System.nanoTime());
+    private Counter pacerDelayedCounter;
+    private Counter pacerRejectedCounter;
+
     public SummarizeMetrics(MeterRegistry meterRegistry) {
         this.meterRegistry = meterRegistry;
     }
@@ -73,18 +144,198 @@ public class SummarizeMetrics {
                 .tag("error_type", "timeout")
                 .register(meterRegistry);
 
+        // Deadline exceeded counter - requests that failed because the client's deadline passed
+        this.deadlineExceededCounter = Counter.builder("summarize.errors.total")
+                .description("Number of requests that missed their client-set deadline")
+                .tag("error_type", "deadline_exceeded")
+                .register(meterRegistry);
+
         // Request timer - tracks processing time
         this.requestTimer = Timer.builder("summarize.request.duration")
                 .description("Summarization request processing time")
                 .tag("operation", "summarize")
                 .register(meterRegistry);
 
+        // First token timer - tracks latency until a streaming summary starts
+        this.firstTokenTimer = Timer.builder("summarize.stream.first_token")
+                .description("Time from request start to the first streamed summary token")
+                .tag("operation", "summarize_stream")
+                .register(meterRegistry);
+
+        // Cache counters - track summary cache effectiveness
+        this.cacheHitCounter = Counter.builder("summarize.cache.requests")
+                .description("Number of summary cache lookups that found a cached summary")
+                .tag("result", "hit")
+                .register(meterRegistry);
+
+        this.cacheMissCounter = Counter.builder("summarize.cache.requests")
+                .description("Number of summary cache lookups that required an LLM call")
+                .tag("result", "miss")
+                .register(meterRegistry);
+
+        this.cacheEvictionCounter = Counter.builder("summarize.cache.evictions")
+                .description("Number of summaries evicted from the cache by size or TTL")
+                .register(meterRegistry);
+
+        // Coalesced counter - tracks LLM calls saved by sharing an identical in-flight call
+        this.coalescedCounter = Counter.builder("summarize.requests.coalesced")
+                .description("Number of requests served by an identical LLM call already in flight")
+                .register(meterRegistry);
+
+        // Hedge counters - track extra LLM calls sent for slow calls, and how often they answered first
+        this.hedgeFiredCounter = Counter.builder("summarize.llm.hedge.fired")
+                .description("Number of hedge LLM calls sent because the first call was slow to answer")
+                .register(meterRegistry);
+
+        this.hedgeWonCounter = Counter.builder("summarize.llm.hedge.won")
+                .description("Number of hedge LLM calls that answered before the first call")
+                .register(meterRegistry);
+
+        // Cache size gauges - track the number of entries and approximate bytes held
+        Gauge.builder("summarize.cache.size", cacheEntries, AtomicLong::get)
+                .description("Number of summaries currently cached")
+                .tag("unit", "entries")
+                .register(meterRegistry);
+
+        Gauge.builder("summarize.cache.size", cacheSizeBytes, AtomicLong::get)
+                .description("Approximate memory used by cached summaries")
+                .tag("unit", "bytes")
+                .register(meterRegistry);
+
+        // Document metrics - track map-reduce chunk latency, fan-out width and reduce depth
+        this.documentChunkTimer = Timer.builder("summarize.document.chunk.duration")
+                .description("LLM latency of a single chunk or reduce call in long-document mode")
+                .tag("operation", "summarize_document")
+                .register(meterRegistry);
+
+        this.documentFanOutSummary = DistributionSummary.builder("summarize.document.fanout")
+                .description("Number of chunks a long document was split into")
+                .baseUnit("chunks")
+                .register(meterRegistry);
+
+        this.documentReduceLevelsSummary = DistributionSummary.builder("summarize.document.reduce.levels")
+                .description("Number of reduce passes needed to combine the chunk summaries")
+                .baseUnit("levels")
+                .register(meterRegistry);
+
+        // Micro-batch metrics - track batch fill, prompt tokens saved by sharing a call, and parse fallbacks
+        this.microBatchFillSummary = DistributionSummary.builder("summarize.llm.microbatch.fill")
+                .description("Share of max-items used by each micro-batched LLM call")
+                .register(meterRegistry);
+
+        this.microBatchTokensSavedCounter = Counter.builder("summarize.llm.microbatch.tokens.saved")
+                .description("Estimated prompt tokens saved by sending short requests in one LLM call")
+                .baseUnit("tokens")
+                .register(meterRegistry);
+
+        this.microBatchFallbackCounter = Counter.builder("summarize.llm.microbatch.fallback")
+                .description("Number of micro-batches whose answer could not be split and were resent one by one")
+                .register(meterRegistry);
+
+        // Batch metrics - track batch size, the share of duplicate items, and per-item latency
+        this.batchSizeSummary = DistributionSummary.builder("summarize.batch.size")
+                .description("Number of items in a batch summarization request")
+                .baseUnit("items")
+                .register(meterRegistry);
+
+        this.batchDuplicateRatioSummary = DistributionSummary.builder("summarize.batch.duplicate.ratio")
+                .description("Share of the items in a batch that duplicated an earlier item")
+                .register(meterRegistry);
+
+        this.batchItemTimer = Timer.builder("summarize.batch.item.duration")
+                .description("Time to summarize one distinct item of a batch")
+                .register(meterRegistry);
+
         // Input length gauge - tracks current input length
         Gauge.builder("summarize.input.length", currentInputLength, AtomicLong::get)
                 .description("Current input text length being processed")
                 .tag("type", "input_size")
                 .register(meterRegistry);
 
+        // Rate limit waiting gauge - tracks threads parked for a token (always 0 in immediate-reject mode)
+        Gauge.builder("summarize.ratelimit.waiting", rateLimitWaiting, AtomicLong::get)
+                .description("Number of request threads waiting for a rate limit token")
+                .baseUnit("threads")
+                .register(meterRegistry);
+
+        // Bulkhead metrics - track LLM calls running, waiting for a slot, and shed
+        Gauge.builder("summarize.llm.bulkhead.calls", bulkheadActive, AtomicLong::get)
+                .description("Number of LLM calls running")
+                .tag("state", "active")
+                .register(meterRegistry);
+
+        Gauge.builder("summarize.llm.bulkhead.calls", bulkheadQueued, AtomicLong::get)
+                .description("Number of LLM calls waiting for a bulkhead slot")
+                .tag("state", "queued")
+                .register(meterRegistry);
+
+        this.bulkheadRejectedCounter = Counter.builder("summarize.llm.bulkhead.rejected")
+                .description("Number of requests shed because the LLM bulkhead was full")
+                .register(meterRegistry);
+
+        // Job metrics - track the job queue depth and the number of jobs being summarized
+        Gauge.builder("summarize.jobs", jobsQueued, AtomicLong::get)
+                .description("Number of summarization jobs waiting for a worker")
+                .tag("state", "queued")
+                .register(meterRegistry);
+
+        Gauge.builder("summarize.jobs", jobsRunning, AtomicLong::get)
+                .description("Number of summarization jobs being summarized")
+                .tag("state", "running")
+                .register(meterRegistry);
+
+        // Circuit breaker metrics - one gauge per state, 1 for the current state, and calls failed fast
+        for (String state : List.of("closed", "open", "half_open")) {
+            Gauge.builder("summarize.llm.circuit.state", circuitState, current -> state.equals(current.get()) ? 1 : 0)
+                    .description("Whether the LLM circuit breaker is in this state")
+                    .tag("state", state)
+                    .register(meterRegistry);
+        }
+
+        this.circuitRejectedCounter = Counter.builder("summarize.llm.circuit.rejected")
+                .description("Number of LLM calls failed fast because the circuit breaker was open")
+                .register(meterRegistry);
+
+        // Outbound pacer metrics - track the provider's rate limits and the calls held back for them
+        Gauge.builder("summarize.llm.pacer.remaining", pacerRequestsRemaining, SummarizeMetrics::valueOrNaN)
+                .description("Provider requests estimated to remain in the current rate-limit window")
+                .tag("limit", "requests")
+                .register(meterRegistry);
+
+        Gauge.builder("summarize.llm.pacer.remaining", pacerTokensRemaining, SummarizeMetrics::valueOrNaN)
+                .description("Provider tokens estimated to remain in the current rate-limit window")
+                .tag("limit", "tokens")
+                .register(meterRegistry);
+
+        TimeGauge.builder("summarize.llm.pacer.pause", pacerPausedUntilNanos, TimeUnit.NANOSECONDS,
+                        until -> Math.max(0, until.get() - System.nanoTime()))
+                .description("Time left of the pause the provider asked for with Retry-After")
+                .register(meterRegistry);
+
+        this.pacerDelayedCounter = Counter.builder("summarize.llm.pacer.delayed")
+                .description("Number of LLM calls delayed to stay within the provider's rate limits")
+                .register(meterRegistry);
+
+        this.pacerRejectedCounter = Counter.builder("summarize.llm.pacer.rejected")
+                .description("Number of LLM calls rejected because the provider's rate limits would not allow them in time")
+                .register(meterRegistry);
+
+        // Adaptive concurrency metrics - track the LLM call limit and the latencies driving it
+        Gauge.builder("summarize.llm.concurrency.limit", concurrencyLimit, AtomicLong::get)
+                .description("Number of LLM calls currently allowed to run at once")
+                .baseUnit("calls")
+                .register(meterRegistry);
+
+        TimeGauge.builder("summarize.llm.rtt", shortRttNanos, TimeUnit.NANOSECONDS, AtomicLong::get)
+                .description("Short-term average LLM call round-trip time")
+                .tag("window", "short")
+                .register(meterRegistry);
+
+        TimeGauge.builder("summarize.llm.rtt", baselineRttNanos, TimeUnit.NANOSECONDS, AtomicLong::get)
+                .description("Baseline LLM call round-trip time without queueing")
+                .tag("window", "baseline")
+                .register(meterRegistry);
+
         log.info("SummarizeMetrics initialized successfully");
     }
 
@@ -128,6 +379,28 @@ public class SummarizeMetrics {
         log.debug("Timeout counter incremented: {}", timeoutCounter.count());
     }
 
+    /**
+     * Record a request that failed because its client-set deadline passed.
+     */
+    public void recordDeadlineExceeded() {
+        deadlineExceededCounter.increment();
+        log.debug("Deadline exceeded counter incremented: {}", deadlineExceededCounter.count());
+    }
+
+    /**
+     * Record a request whose work was cancelled because the client disconnected or the async request timed out.
+     *
+     * @param endpoint The endpoint the request was sent to: summarize, stream, document or batch
+     */
+    public void recordCancelled(String endpoint) {
+        Counter counter = Counter.builder("summarize.requests.cancelled")
+                .description("Number of requests whose work was cancelled because the client stopped waiting")
+                .tag("endpoint", endpoint)
+                .register(meterRegistry);
+        counter.increment();
+        log.debug("Cancelled counter for endpoint {} incremented: {}", endpoint, counter.count());
+    }
+
     /**
      * Record the processing time for a request.
      *
@@ -138,6 +411,276 @@ public class SummarizeMetrics {
         log.debug("Request duration recorded: {} ms", durationMs);
     }
 
+    /**
+     * Record the duration of one pipeline stage in {@code summarize.stage.duration}, tagged by
+     * stage, summary style, model and input-size bucket.
+     *
+     * @param stage The pipeline stage
+     * @param style The summary style of the request
+     * @param model The configured model
+     * @param inputLength Input text length in characters
+     * @param durationNanos Stage duration in nanoseconds
+     */
+    public void recordStageDuration(SummarizeStage stage, SummaryStyle style, String model, int inputLength,
+                                    long durationNanos) {
+        Timer.builder("summarize.stage.duration")
+                .description("Time spent in each stage of the summarization pipeline")
+                .tag("stage", stage.getTag())
+                .tag("style", style.name().toLowerCase(Locale.ROOT))
+                .tag("model", model)
+                .tag("size", sizeBucket(inputLength))
+                .register(meterRegistry)
+                .record(durationNanos, TimeUnit.NANOSECONDS);
+        log.debug("Stage {} duration recorded: {} ns", stage.getTag(), durationNanos);
+    }
+
+    /**
+     * Record the token usage of one LLM call in {@code summarize.llm.tokens}, and the generation
+     * throughput in {@code summarize.llm.throughput}, both tagged by summary style and model.
+     *
+     * @param style The summary style of the request
+     * @param model The configured model
+     * @param promptTokens Prompt tokens reported by the provider
+     * @param completionTokens Completion tokens reported by the provider
+     * @param totalTokens Total tokens reported by the provider
+     * @param durationNanos Time the provider took to answer, in nanoseconds
+     */
+    public void recordTokenUsage(SummaryStyle style, String model, int promptTokens, int completionTokens,
+                                 int totalTokens, long durationNanos) {
+        String styleTag = style.name().toLowerCase(Locale.ROOT);
+        tokenSummary("prompt", styleTag, model).record(promptTokens);
+        tokenSummary("completion", styleTag, model).record(completionTokens);
+        tokenSummary("total", styleTag, model).record(totalTokens);
+
+        if (durationNanos > 0) {
+            DistributionSummary.builder("summarize.llm.throughput")
+                    .description("Completion tokens generated per second by the LLM provider")
+                    .baseUnit("tokens_per_second")
+                    .tag("style", styleTag)
+                    .tag("model", model)
+                    .register(meterRegistry)
+                    .record(completionTokens / (durationNanos / 1_000_000_000.0));
+        }
+        log.debug("Token usage recorded: {} prompt, {} completion, {} total", promptTokens, completionTokens,
+                totalTokens);
+    }
+
+    /**
+     * Add the estimated cost of one LLM call to the {@code summarize.llm.cost} counter.
+     *
+     * @param style The summary style of the request
+     * @param model The configured model
+     * @param costUsd Estimated cost in USD
+     */
+    public void recordEstimatedCost(SummaryStyle style, String model, double costUsd) {
+        Counter counter = Counter.builder("summarize.llm.cost")
+                .description("Estimated LLM cost from the configured per-model token prices")
+                .baseUnit("usd")
+                .tag("style", style.name().toLowerCase(Locale.ROOT))
+                .tag("model", model)
+                .register(meterRegistry);
+        counter.increment(costUsd);
+        log.debug("Estimated cost recorded: {} USD", costUsd);
+    }
+
+    private DistributionSummary tokenSummary(String type, String style, String model) {
+        return DistributionSummary.builder("summarize.llm.tokens")
+                .description("Tokens used per LLM call")
+                .baseUnit("tokens")
+                .tag("type", type)
+                .tag("style", style)
+                .tag("model", model)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Map an input length to the size bucket used to tag stage timers.
+     * Buckets stay coarse so the number of timer series stays small.
+     *
+     * @param inputLength Input text length in characters
+     * @return {@code small} below 1,000 characters, {@code medium} below 5,000, otherwise {@code large}
+     */
+    public static String sizeBucket(int inputLength) {
+        if (inputLength < 1000) {
+            return "small";
+        }
+        if (inputLength < 5000) {
+            return "medium";
+        }
+        return "large";
+    }
+
+    /**
+     * Record the time until the first token of a streaming summary arrived.
+     *
+     * @param durationMs Time to first token in milliseconds
+     */
+    public void recordTimeToFirstToken(long durationMs) {
+        firstTokenTimer.record(java.time.Duration.ofMillis(durationMs));
+        log.debug("Time to first token recorded: {} ms", durationMs);
+    }
+
+    /**
+     * Record a request that joined an identical LLM call already in flight instead of making its own.
+     */
+    public void recordCoalescedRequest() {
+        coalescedCounter.increment();
+        log.debug("Coalesced request counter incremented: {}", coalescedCounter.count());
+    }
+
+    /**
+     * Record a hedge LLM call sent because the first call was slow to answer.
+     */
+    public void recordHedgeFired() {
+        hedgeFiredCounter.increment();
+        log.debug("Hedge fired counter incremented: {}", hedgeFiredCounter.count());
+    }
+
+    /**
+     * Record a hedge LLM call that answered before the first call.
+     */
+    public void recordHedgeWon() {
+        hedgeWonCounter.increment();
+        log.debug("Hedge won counter incremented: {}", hedgeWonCounter.count());
+    }
+
+    /**
+     * Record a failed LLM call that qualified for a retry.
+     *
+     * @param reason Why the call may succeed if retried, e.g. {@code timeout} or {@code rate_limited}
+     * @param outcome {@code retried} if the retry was sent; {@code budget_exhausted} or {@code deadline}
+     *        if it was refused because the retry budget was spent or it could not finish before the deadline
+     */
+    public void recordLlmRetry(String reason, String outcome) {
+        Counter.builder("summarize.llm.retries")
+                .description("Failed LLM calls that qualified for a retry, by reason and whether it was sent")
+                .tag("reason", reason)
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .increment();
+        log.debug("LLM retry recorded: reason={}, outcome={}", reason, outcome);
+    }
+
+    /**
+     * Record a summary cache hit.
+     */
+    public void recordCacheHit() {
+        cacheHitCounter.increment();
+        log.debug("Cache hit counter incremented: {}", cacheHitCounter.count());
+    }
+
+    /**
+     * Record a summary cache miss.
+     */
+    public void recordCacheMiss() {
+        cacheMissCounter.increment();
+        log.debug("Cache miss counter incremented: {}", cacheMissCounter.count());
+    }
+
+    /**
+     * Record a summary evicted from the cache.
+     */
+    public void recordCacheEviction() {
+        cacheEvictionCounter.increment();
+        log.debug("Cache eviction counter incremented: {}", cacheEvictionCounter.count());
+    }
+
+    /**
+     * Record the LLM latency of one chunk or reduce call in long-document mode.
+     *
+     * @param durationMs Call duration in milliseconds
+     */
+    public void recordDocumentChunkDuration(long durationMs) {
+        documentChunkTimer.record(java.time.Duration.ofMillis(durationMs));
+        log.debug("Document chunk duration recorded: {} ms", durationMs);
+    }
+
+    /**
+     * Record how many chunks a long document was split into.
+     *
+     * @param chunks Number of chunks
+     */
+    public void recordDocumentFanOut(int chunks) {
+        documentFanOutSummary.record(chunks);
+        log.debug("Document fan-out recorded: {} chunks", chunks);
+    }
+
+    /**
+     * Record how many reduce passes a long document needed.
+     *
+     * @param levels Number of reduce passes
+     */
+    public void recordDocumentReduceLevels(int levels) {
+        documentReduceLevelsSummary.record(levels);
+        log.debug("Document reduce levels recorded: {}", levels);
+    }
+
+    /**
+     * Record one micro-batched LLM call.
+     *
+     * @param items Number of requests sharing the call
+     * @param maxItems Most requests a call may hold
+     * @param tokensSaved Estimated prompt tokens saved compared to one call per request
+     */
+    public void recordMicroBatch(int items, int maxItems, long tokensSaved) {
+        microBatchFillSummary.record((double) items / Math.max(1, maxItems));
+        microBatchTokensSavedCounter.increment(Math.max(0, tokensSaved));
+        log.debug("Micro-batch recorded: {} of {} items, {} tokens saved", items, maxItems, tokensSaved);
+    }
+
+    /**
+     * Record a micro-batch whose answer could not be split, so its requests were resent one by one.
+     */
+    public void recordMicroBatchFallback() {
+        microBatchFallbackCounter.increment();
+    }
+
+    /**
+     * Record the size of a batch and the share of its items that were duplicates.
+     *
+     * @param items Number of items in the batch
+     * @param distinct Number of distinct items, each summarized once
+     */
+    public void recordBatch(int items, int distinct) {
+        batchSizeSummary.record(items);
+        batchDuplicateRatioSummary.record(items > 0 ? (double) (items - distinct) / items : 0);
+        log.debug("Batch recorded: {} items, {} distinct", items, distinct);
+    }
+
+    /**
+     * Record the time taken to summarize one distinct item of a batch.
+     *
+     * @param durationMs Duration in milliseconds
+     */
+    public void recordBatchItemDuration(long durationMs) {
+        batchItemTimer.record(java.time.Duration.ofMillis(durationMs));
+    }
+
+    /**
+     * Record input rejected by a prompt-injection rule.
+     *
+     * @param rule The id of the rule that matched
+     */
+    public void recordInjectionDetected(String rule) {
+        Counter counter = Counter.builder("summarize.injection.detected")
+                .description("Number of inputs rejected by each prompt-injection rule")
+                .tag("rule", rule)
+                .register(meterRegistry);
+        counter.increment();
+        log.debug("Injection counter for rule {} incremented: {}", rule, counter.count());
+    }
+
+    /**
+     * Update the summary cache size gauges.
+     *
+     * @param entries Number of cached summaries
+     * @param bytes Approximate memory used by the cached summaries
+     */
+    public void updateCacheSize(long entries, long bytes) {
+        cacheEntries.set(entries);
+        cacheSizeBytes.set(bytes);
+    }
+
     /**
      * Update the current input length gauge.
      *
@@ -148,6 +691,153 @@ public class SummarizeMetrics {
         log.debug("Input length updated: {} characters", length);
     }
 
+    /**
+     * Update the bulkhead gauges.
+     *
+     * @param active LLM calls running
+     * @param queued LLM calls waiting for a slot
+     */
+    public void updateBulkhead(int active, int queued) {
+        bulkheadActive.set(active);
+        bulkheadQueued.set(queued);
+    }
+
+    /**
+     * Update the job gauges.
+     *
+     * @param queued Jobs waiting for a worker
+     * @param running Jobs being summarized
+     */
+    public void updateJobs(int queued, int running) {
+        jobsQueued.set(queued);
+        jobsRunning.set(running);
+    }
+
+    /**
+     * Record the age of a job when a worker picks it up, or when it finishes, in
+     * {@code summarize.jobs.age} tagged by {@code stage} ({@code started} or {@code completed}).
+     * Percentiles are published so the queueing delay of jobs can be watched directly.
+     *
+     * @param stage Either {@code started} or {@code completed}
+     * @param age Time since the job was accepted
+     */
+    public void recordJobAge(String stage, java.time.Duration age) {
+        Timer.builder("summarize.jobs.age")
+                .description("Time from accepting a summarization job until it is started or completed")
+                .tag("stage", stage)
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry)
+                .record(age);
+        log.debug("Job age at {} recorded: {} ms", stage, age.toMillis());
+    }
+
+    /**
+     * Record a finished job in {@code summarize.jobs.completed}, tagged by its final status.
+     *
+     * @param status The final job status
+     */
+    public void recordJobCompleted(String status) {
+        meterRegistry.counter("summarize.jobs.completed", "status", status.toLowerCase(Locale.ROOT)).increment();
+    }
+
+    /**
+     * Record a webhook callback in {@code summarize.jobs.callbacks}, tagged by whether it was delivered.
+     *
+     * @param delivered Whether the callback URL accepted the job
+     */
+    public void recordJobCallback(boolean delivered) {
+        meterRegistry.counter("summarize.jobs.callbacks", "outcome", delivered ? "delivered" : "failed").increment();
+    }
+
+    /**
+     * Update the adaptive concurrency limit gauges.
+     *
+     * @param limit LLM calls allowed to run at once
+     * @param shortRtt Short-term average LLM round-trip time, in nanoseconds
+     * @param baselineRtt Baseline LLM round-trip time without queueing, in nanoseconds
+     */
+    public void updateConcurrencyLimit(int limit, long shortRtt, long baselineRtt) {
+        concurrencyLimit.set(limit);
+        shortRttNanos.set(shortRtt);
+        baselineRttNanos.set(baselineRtt);
+    }
+
+    /**
+     * Record a request shed because the LLM bulkhead was full.
+     */
+    public void recordBulkheadRejected() {
+        bulkheadRejectedCounter.increment();
+        log.debug("Bulkhead rejected counter incremented: {}", bulkheadRejectedCounter.count());
+    }
+
+    /**
+     * Record a transition of the LLM circuit breaker and update the state gauge.
+     *
+     * @param from The previous state, e.g. {@code closed}
+     * @param to The new state, e.g. {@code open}
+     */
+    public void recordCircuitTransition(String from, String to) {
+        circuitState.set(to);
+        Counter.builder("summarize.llm.circuit.transitions")
+                .description("Number of LLM circuit breaker state transitions")
+                .tag("from", from)
+                .tag("to", to)
+                .register(meterRegistry)
+                .increment();
+        log.debug("Circuit breaker transition recorded: {} -> {}", from, to);
+    }
+
+    /**
+     * Record an LLM call failed fast because the circuit breaker was open.
+     */
+    public void recordCircuitRejected() {
+        circuitRejectedCounter.increment();
+        log.debug("Circuit rejected counter incremented: {}", circuitRejectedCounter.count());
+    }
+
+    /**
+     * Update the outbound pacer gauges.
+     *
+     * @param requestsRemaining Provider requests estimated to remain, or null if not reported
+     * @param tokensRemaining Provider tokens estimated to remain, or null if not reported
+     * @param pausedUntilNanos {@link System#nanoTime()} until which the provider asked for a pause
+     */
+    public void updatePacer(Long requestsRemaining, Long tokensRemaining, long pausedUntilNanos) {
+        pacerRequestsRemaining.set(requestsRemaining);
+        pacerTokensRemaining.set(tokensRemaining);
+        pacerPausedUntilNanos.set(pausedUntilNanos);
+    }
+
+    /**
+     * Record an LLM call delayed to stay within the provider's rate limits.
+     */
+    public void recordPacerDelayed() {
+        pacerDelayedCounter.increment();
+        log.debug("Pacer delayed counter incremented: {}", pacerDelayedCounter.count());
+    }
+
+    /**
+     * Record an LLM call rejected because the provider's rate limits would not allow it in time.
+     */
+    public void recordPacerRejected() {
+        pacerRejectedCounter.increment();
+        log.debug("Pacer rejected counter incremented: {}", pacerRejectedCounter.count());
+    }
+
+    /**
+     * Record that a request thread started waiting for a rate limit token.
+     */
+    public void incrementRateLimitWaiting() {
+        rateLimitWaiting.incrementAndGet();
+    }
+
+    /**
+     * Record that a request thread stopped waiting for a rate limit token.
+     */
+    public void decrementRateLimitWaiting() {
+        rateLimitWaiting.decrementAndGet();
+    }
+
     /**
      * Get the current request count.
      */
@@ -168,4 +858,23 @@ public class SummarizeMetrics {
     public double getFailureCount() {
         return failureCounter.count();
     }
+
+    /**
+     * Get the current cache hit count.
+     */
+    public double getCacheHitCount() {
+        return cacheHitCounter.count();
+    }
+
+    /**
+     * Get the current cache miss count.
+     */
+    public double getCacheMissCount() {
+        return cacheMissCounter.count();
+    }
+
+    private static double valueOrNaN(AtomicReference<Long> value) {
+        Long current = value.get();
+        return current != null ? current : Double.NaN;
+    }
 }
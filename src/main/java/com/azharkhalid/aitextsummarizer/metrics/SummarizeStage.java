@@ -0,0 +1,56 @@
+package com.azharkhalid.aitextsummarizer.metrics;
+
+import lombok.Getter;
+
+/**
+ * Stages of the summarization pipeline, in the order they run.
+ * Each stage is recorded in {@code summarize.stage.duration} and in the {@code Server-Timing} header.
+ */
+@Getter
+public enum SummarizeStage {
+
+    /**
+     * Rate limit check.
+     */
+    RATE_LIMIT("rate_limit", "Rate limit check"),
+
+    /**
+     * Size, encoding and prompt-injection validation, trimming and HTML stripping, done in one pass.
+     */
+    VALIDATION("validation", "Validation and sanitization"),
+
+    /**
+     * System and user prompt construction.
+     */
+    PROMPT("prompt", "Prompt build"),
+
+    /**
+     * Summary cache lookup.
+     */
+    CACHE("cache", "Cache lookup"),
+
+    /**
+     * LLM provider call, including the wait for an LLM executor thread.
+     */
+    LLM("llm", "LLM provider call"),
+
+    /**
+     * Summary validation, response assembly and cache update.
+     */
+    RESPONSE("response", "Response assembly");
+
+    /**
+     * Value used for the metric tag and as the Server-Timing metric name.
+     */
+    private final String tag;
+
+    /**
+     * Human-readable stage name, sent as the Server-Timing description.
+     */
+    private final String description;
+
+    SummarizeStage(String tag, String description) {
+        this.tag = tag;
+        this.description = description;
+    }
+}
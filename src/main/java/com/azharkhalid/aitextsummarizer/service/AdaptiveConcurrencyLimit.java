@@ -0,0 +1,87 @@
+package com.azharkhalid.aitextsummarizer.service;
+
+import com.azharkhalid.aitextsummarizer.config.SummarizeProperties;
+
+/**
+ * Concurrency limit for the LLM calls that adapts to the provider's latency, gradient style:
+ * it compares a short-term average of the call round-trip time against a baseline, the lowest
+ * average seen so far. While calls stay within the configured tolerance of the baseline the limit
+ * grows by about its square root per sample; when they get slower the provider is queueing, and
+ * the limit shrinks in proportion. A failed or timed-out call cuts the limit by the backoff ratio.
+ * At the minimum limit the latency is the provider's own, so the baseline is re-learned there;
+ * this is how the limit recovers when the provider gets slower for good.
+ * Every change is smoothed, and the limit stays between the configured minimum and maximum.
+ * Not thread-safe on its own; {@link LlmBulkhead} calls it under its lock.
+ */
+final class AdaptiveConcurrencyLimit {
+
+    /**
+     * Samples averaged into the short-term round-trip time.
+     */
+    private static final int WINDOW = 10;
+
+    private final SummarizeProperties.AdaptiveLimitConfig config;
+    private final int maxLimit;
+    private double limit;
+    private double shortRttNanos;
+    private double baselineRttNanos;
+
+    AdaptiveConcurrencyLimit(SummarizeProperties.AdaptiveLimitConfig config, int maxLimit) {
+        this.config = config;
+        this.maxLimit = maxLimit;
+        this.limit = clamp(config.getInitialLimit());
+    }
+
+    /**
+     * Records one completed call and adjusts the limit.
+     *
+     * @param rttNanos Time the call took
+     * @param inFlight Calls running when this one completed, including itself
+     * @param dropped Whether the call failed or timed out
+     */
+    void onSample(long rttNanos, int inFlight, boolean dropped) {
+        if (dropped) {
+            limit = clamp(limit * config.getBackoffRatio());
+            return;
+        }
+
+        shortRttNanos = shortRttNanos == 0 ? rttNanos : shortRttNanos + (rttNanos - shortRttNanos) * 2.0 / (WINDOW + 1);
+        if (baselineRttNanos == 0 || shortRttNanos < baselineRttNanos || limit <= config.getMinLimit()) {
+            baselineRttNanos = shortRttNanos;
+        }
+
+        // Only adjust while at least half of the current limit is in use; an idle limit says nothing
+        if (inFlight < limit / 2) {
+            return;
+        }
+
+        double gradient = Math.max(0.5, Math.min(1.0, config.getRttTolerance() * baselineRttNanos / shortRttNanos));
+        double target = gradient < 1.0 ? limit * gradient : limit + Math.sqrt(limit);
+        limit = clamp(limit * (1 - config.getSmoothing()) + target * config.getSmoothing());
+    }
+
+    /**
+     * @return Number of calls currently allowed to run at once
+     */
+    int getLimit() {
+        return (int) limit;
+    }
+
+    /**
+     * @return Short-term average call round-trip time, in nanoseconds; 0 before the first sample
+     */
+    long getShortRttNanos() {
+        return (long) shortRttNanos;
+    }
+
+    /**
+     * @return Baseline call round-trip time without queueing, in nanoseconds; 0 before the first sample
+     */
+    long getBaselineRttNanos() {
+        return (long) baselineRttNanos;
+    }
+
+    private double clamp(double value) {
+        return Math.max(config.getMinLimit(), Math.min(maxLimit, value));
+    }
+}
@@ -0,0 +1,202 @@
+package com.azharkhalid.aitextsummarizer.service;
+
+import com.azharkhalid.aitextsummarizer.config.SummarizeProperties;
+import com.azharkhalid.aitextsummarizer.dto.request.BatchSummarizeRequest;
+import com.azharkhalid.aitextsummarizer.dto.request.SummarizeRequest;
+import com.azharkhalid.aitextsummarizer.dto.response.BatchItemResult;
+import com.azharkhalid.aitextsummarizer.dto.response.BatchSummarizeResponse;
+import com.azharkhalid.aitextsummarizer.dto.response.ErrorResponse;
+import com.azharkhalid.aitextsummarizer.dto.response.SummarizeResponse;
+import com.azharkhalid.aitextsummarizer.exception.InvalidInputException;
+import com.azharkhalid.aitextsummarizer.exception.RateLimitExceededException;
+import com.azharkhalid.aitextsummarizer.metrics.SummarizeMetrics;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Service for summarizing many texts in one request.
+ * Identical items are summarized once and share the result. The distinct items are summarized in
+ * parallel, at most {@code maxConcurrency} at a time, through the regular {@link SummarizeService}
+ * pipeline, so caching, coalescing, the token budget and the bulkhead all apply per item.
+ * An item that fails reports its error in its own result; the batch as a whole still succeeds.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BatchSummarizeService {
+
+    private final SummarizeService summarizeService;
+    private final RateLimitingService rateLimitingService;
+    private final SummarizeProperties properties;
+    private final SummarizeMetrics metrics;
+    private final Validator validator;
+
+    /**
+     * Summarizes every item of the batch.
+     *
+     * @param request The batch request
+     * @return CompletableFuture completed with one result per item once every item has finished
+     * @throws RateLimitExceededException if the client is over its rate limit
+     * @throws InvalidInputException if the batch has more items than allowed
+     */
+    public CompletableFuture<BatchSummarizeResponse> summarizeBatch(BatchSummarizeRequest request) {
+        long startTime = System.currentTimeMillis();
+        List<SummarizeRequest> items = request.getItems();
+
+        // Step 1: Check rate limits - one permit per batch, like a document; max-items, the token budget
+        // and the bulkhead bound the LLM calls it makes
+        rateLimitingService.checkRateLimit();
+
+        // Step 2: Validate the batch size
+        int maxItems = properties.getBatch().getMaxItems();
+        if (items.size() > maxItems) {
+            throw new InvalidInputException(String.format(
+                    "Batch exceeds maximum size of %d items. Provided: %d items", maxItems, items.size()));
+        }
+
+        // Step 3: Group identical items, so each distinct item is summarized once
+        Map<SummarizeRequest, List<Integer>> distinct = new LinkedHashMap<>();
+        for (int i = 0; i < items.size(); i++) {
+            distinct.computeIfAbsent(items.get(i), item -> new ArrayList<>()).add(i);
+        }
+        List<SummarizeRequest> work = new ArrayList<>(distinct.keySet());
+        metrics.recordBatch(items.size(), work.size());
+        log.info("Starting batch summarization of {} items, {} distinct", items.size(), work.size());
+
+        // Step 4: Summarize the distinct items with bounded parallelism
+        CompletableFuture<BatchSummarizeResponse> result = new CompletableFuture<>();
+        Set<CompletableFuture<SummarizeResponse>> inFlight = ConcurrentHashMap.newKeySet();
+        BatchItemResult[] outcomes = new BatchItemResult[work.size()];
+        AtomicInteger nextIndex = new AtomicInteger();
+        int width = Math.max(1, Math.min(properties.getBatch().getMaxConcurrency(), work.size()));
+        CompletableFuture<?>[] workers = new CompletableFuture<?>[width];
+        for (int i = 0; i < width; i++) {
+            workers[i] = runWorker(work, nextIndex, outcomes, result, inFlight);
+        }
+
+        // If the caller gives up, stop the items still running; the workers start no new ones
+        result.whenComplete((response, throwable) -> inFlight.forEach(call -> call.cancel(true)));
+
+        // Step 5: Fan the results back out to every position, in request order
+        CompletableFuture.allOf(workers).thenApply(ignored -> {
+            BatchItemResult[] results = new BatchItemResult[items.size()];
+            int next = 0;
+            for (List<Integer> positions : distinct.values()) {
+                BatchItemResult outcome = outcomes[next++];
+                for (int position : positions) {
+                    results[position] = BatchItemResult.builder()
+                            .index(position)
+                            .success(outcome.isSuccess())
+                            .result(outcome.getResult())
+                            .error(outcome.getError())
+                            .build();
+                }
+            }
+            return buildResponse(List.of(results), items.size() - work.size(), startTime);
+        }).whenComplete((response, throwable) -> {
+            if (throwable != null) {
+                result.completeExceptionally(throwable);
+            } else {
+                result.complete(response);
+            }
+        });
+
+        return result;
+    }
+
+    /**
+     * Summarizes one distinct item after another until none are left. Never completes exceptionally:
+     * a failed item is recorded in its outcome and the worker moves on. Stops once the batch result
+     * is done, which before the last item means the caller gave up.
+     */
+    private CompletableFuture<Void> runWorker(List<SummarizeRequest> work, AtomicInteger nextIndex,
+                                              BatchItemResult[] outcomes,
+                                              CompletableFuture<BatchSummarizeResponse> result,
+                                              Set<CompletableFuture<SummarizeResponse>> inFlight) {
+        int index = nextIndex.getAndIncrement();
+        if (index >= work.size() || result.isDone()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        long itemStart = System.currentTimeMillis();
+        CompletableFuture<SummarizeResponse> call = summarizeItem(work.get(index));
+        inFlight.add(call);
+        if (result.isDone()) {
+            // The caller gave up after the in-flight items were cancelled
+            call.cancel(true);
+        }
+        return call
+                .handle((response, throwable) -> {
+                    inFlight.remove(call);
+                    metrics.recordBatchItemDuration(System.currentTimeMillis() - itemStart);
+                    outcomes[index] = throwable == null
+                            ? BatchItemResult.builder().success(true).result(response).build()
+                            : BatchItemResult.builder().success(false).error(errorFor(unwrap(throwable))).build();
+                    return null;
+                })
+                .thenCompose(ignored -> runWorker(work, nextIndex, outcomes, result, inFlight));
+    }
+
+    /**
+     * Validates one item and starts its summarization; the batch already paid the rate limit.
+     */
+    private CompletableFuture<SummarizeResponse> summarizeItem(SummarizeRequest item) {
+        try {
+            if (item == null) {
+                throw new InvalidInputException("Item cannot be null");
+            }
+            Set<ConstraintViolation<SummarizeRequest>> violations = validator.validate(item);
+            if (!violations.isEmpty()) {
+                throw new InvalidInputException(violations.stream()
+                        .map(ConstraintViolation::getMessage)
+                        .sorted()
+                        .collect(Collectors.joining("; ")));
+            }
+            return rateLimitingService.runAdmitted(() -> summarizeService.summarize(item));
+        } catch (Exception e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private static ErrorResponse errorFor(Throwable e) {
+        log.debug("Batch item failed: {}", e.getMessage());
+        return ErrorResponses.of(e);
+    }
+
+    private BatchSummarizeResponse buildResponse(List<BatchItemResult> results, int duplicates, long startTime) {
+        long processingTime = System.currentTimeMillis() - startTime;
+        int succeeded = (int) results.stream().filter(BatchItemResult::isSuccess).count();
+        log.info("Batch summarization completed in {} ms: {} succeeded, {} failed",
+                processingTime, succeeded, results.size() - succeeded);
+
+        return BatchSummarizeResponse.builder()
+                .results(results)
+                .succeeded(succeeded)
+                .failed(results.size() - succeeded)
+                .duplicates(duplicates)
+                .processingTimeMs(processingTime)
+                .build();
+    }
+
+    private static Throwable unwrap(Throwable throwable) {
+        while ((throwable instanceof CompletionException || throwable instanceof ExecutionException)
+                && throwable.getCause() != null) {
+            throwable = throwable.getCause();
+        }
+        return throwable;
+    }
+}
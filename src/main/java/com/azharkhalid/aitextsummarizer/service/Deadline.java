@@ -0,0 +1,111 @@
+package com.azharkhalid.aitextsummarizer.service;
+
+import com.azharkhalid.aitextsummarizer.exception.InvalidInputException;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * The time by which a client needs its answer, sent in the {@value #HEADER} header.
+ * The header holds either a timeout in {@code grpc-timeout} form, an integer of up to 8 digits and a
+ * unit ({@code H}, {@code M}, {@code S}, {@code m} for milliseconds, {@code u}, {@code n}), e.g.
+ * {@code 2500m}; or an absolute ISO-8601 instant, e.g. {@code 2026-10-17T10:15:30Z}.
+ * Work that cannot finish by the deadline is not started, since the client will not wait for its result.
+ */
+public final class Deadline {
+
+    public static final String HEADER = "X-Request-Deadline";
+
+    /**
+     * No deadline: the client waits as long as the server's own timeouts allow.
+     */
+    public static final Deadline NONE = new Deadline(false, 0);
+
+    private static final Pattern TIMEOUT = Pattern.compile("(\\d{1,8})([HMSmun])");
+
+    private final boolean bounded;
+    private final long atNanos;
+
+    private Deadline(boolean bounded, long atNanos) {
+        this.bounded = bounded;
+        this.atNanos = atNanos;
+    }
+
+    /**
+     * @param timeout Time from now; zero or negative gives an expired deadline
+     * @return The deadline
+     */
+    public static Deadline after(Duration timeout) {
+        return new Deadline(true, System.nanoTime() + timeout.toNanos());
+    }
+
+    /**
+     * Parses the {@value #HEADER} header.
+     *
+     * @param value The header value, or null if the header was not sent
+     * @return The deadline, or {@link #NONE} without a header
+     * @throws InvalidInputException if the value is neither a timeout nor an instant
+     */
+    public static Deadline parse(String value) {
+        if (value == null || value.isBlank()) {
+            return NONE;
+        }
+        String trimmed = value.trim();
+        Matcher matcher = TIMEOUT.matcher(trimmed);
+        if (matcher.matches()) {
+            long amount = Long.parseLong(matcher.group(1));
+            TimeUnit unit = switch (matcher.group(2)) {
+                case "H" -> TimeUnit.HOURS;
+                case "M" -> TimeUnit.MINUTES;
+                case "S" -> TimeUnit.SECONDS;
+                case "m" -> TimeUnit.MILLISECONDS;
+                case "u" -> TimeUnit.MICROSECONDS;
+                default -> TimeUnit.NANOSECONDS;
+            };
+            return after(Duration.ofNanos(unit.toNanos(amount)));
+        }
+        try {
+            return after(Duration.between(Instant.now(), Instant.parse(trimmed)));
+        } catch (DateTimeParseException | ArithmeticException e) {
+            throw new InvalidInputException(HEADER + " must be a timeout such as 2500m or 3S, or an ISO-8601 instant");
+        }
+    }
+
+    /**
+     * @return Whether there is a deadline at all
+     */
+    public boolean isBounded() {
+        return bounded;
+    }
+
+    /**
+     * @return Whether the deadline has passed
+     */
+    public boolean isExpired() {
+        return bounded && atNanos - System.nanoTime() <= 0;
+    }
+
+    /**
+     * @return Time left until the deadline, negative once it has passed; null without a deadline
+     */
+    public Duration remaining() {
+        return bounded ? Duration.ofNanos(atNanos - System.nanoTime()) : null;
+    }
+
+    /**
+     * @param needed Time some work needs
+     * @return Whether that work can finish before the deadline; always true without one
+     */
+    public boolean allows(Duration needed) {
+        return !bounded || remaining().compareTo(needed) >= 0;
+    }
+
+    @Override
+    public String toString() {
+        return bounded ? "Deadline[" + remaining().toMillis() + " ms left]" : "Deadline[none]";
+    }
+}
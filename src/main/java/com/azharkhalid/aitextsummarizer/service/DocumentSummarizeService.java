@@ -0,0 +1,362 @@
+package com.azharkhalid.aitextsummarizer.service;
+
+import com.azharkhalid.aitextsummarizer.config.SummarizeProperties;
+import com.azharkhalid.aitextsummarizer.dto.request.DocumentSummarizeRequest;
+import com.azharkhalid.aitextsummarizer.dto.response.SummarizeResponse;
+import com.azharkhalid.aitextsummarizer.enums.SummaryStyle;
+import com.azharkhalid.aitextsummarizer.exception.InvalidInputException;
+import com.azharkhalid.aitextsummarizer.exception.LLMTimeoutException;
+import com.azharkhalid.aitextsummarizer.exception.SummarizerException;
+import com.azharkhalid.aitextsummarizer.metrics.SummarizeMetrics;
+import com.azharkhalid.aitextsummarizer.util.InputSanitizer;
+import com.azharkhalid.aitextsummarizer.util.TextChunker;
+import com.azharkhalid.aitextsummarizer.validation.CharacterEncodingValidator;
+import com.azharkhalid.aitextsummarizer.validation.PromptInjectionDetector;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.ai.chat.metadata.DefaultUsage;
+import org.springframework.ai.chat.metadata.Usage;
+import org.springframework.stereotype.Service;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.IntFunction;
+
+/**
+ * Service for summarizing documents longer than the single-pass input limit.
+ * Uses map-reduce: the document is split into chunks on paragraph and sentence boundaries,
+ * the chunks are summarized in parallel (at most {@code maxConcurrency} at a time), and the
+ * partial summaries are combined, recursively if they still do not fit in one call.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class DocumentSummarizeService {
+
+    private static final String PARTIAL_SEPARATOR = "\n\n";
+
+    private final SummarizeService summarizeService;
+    private final PromptService promptService;
+    private final SummarizeProperties properties;
+    private final CharacterEncodingValidator encodingValidator;
+    private final PromptInjectionDetector injectionDetector;
+    private final RateLimitingService rateLimitingService;
+    private final SummarizeMetrics metrics;
+
+    /**
+     * Summarizes a long document.
+     * Validation, sanitization and chunking run on the caller thread; the chunk and reduce
+     * calls run on the LLM executor.
+     *
+     * @param request The document summarization request
+     * @return CompletableFuture containing SummarizeResponse, completed when the final reduce answers
+     * @throws SummarizerException if validation fails or the document cannot be reduced
+     * @throws LLMTimeoutException if an LLM call times out or the LLM executor is saturated
+     */
+    public CompletableFuture<SummarizeResponse> summarizeDocument(DocumentSummarizeRequest request) {
+        // Record incoming request
+        metrics.recordRequest();
+        metrics.updateInputLength(request.getText().length());
+
+        log.info("Starting document summarization for text of length: {}", request.getText().length());
+
+        long startTime = System.currentTimeMillis();
+        CompletableFuture<SummarizeResponse> result = new CompletableFuture<>();
+        SummaryStyle style = request.getSummaryStyle() != null
+                ? request.getSummaryStyle()
+                : SummaryStyle.CONCISE;
+        DocumentRun run = new DocumentRun(result, style);
+
+        try {
+            // Step 1: Check rate limits - one permit per document, not per chunk
+            rateLimitingService.checkRateLimit();
+
+            // Step 2: Validate input size against the document limit
+            validateLength(request.getText());
+
+            // Step 3: Validate character encoding
+            encodingValidator.validate(request.getText());
+
+            // Step 4: Check the whole document for prompt injection, so phrases spanning chunks are caught
+            injectionDetector.validate(request.getText());
+
+            // Step 5: Strip HTML tags and split into chunks
+            String text = InputSanitizer.stripHtmlTags(request.getText());
+            List<String> chunks = TextChunker.chunk(text, properties.getDocument().getChunkSize());
+            metrics.recordDocumentFanOut(chunks.size());
+            log.info("Document split into {} chunks", chunks.size());
+
+            // Step 6: Map the chunks to partial summaries, then reduce them to one summary
+            CompletableFuture<String> summary;
+            if (chunks.size() == 1) {
+                summary = callLlm(promptService.buildPrompt(chunks.get(0), style, request.getMaxLength()), run);
+            } else {
+                summary = mapBounded(chunks.size(),
+                        index -> callLlm(promptService.buildChunkPrompt(
+                                chunks.get(index), index + 1, chunks.size()), run),
+                        run)
+                        .thenCompose(partials -> reduce(partials, style, request.getMaxLength(), 1, run));
+            }
+
+            // Steps 7-8 run once the final summary is available
+            summary.whenComplete((finalSummary, throwable) -> {
+                if (result.isDone()) {
+                    return;
+                }
+                if (throwable != null) {
+                    result.completeExceptionally(handleFailure(unwrap(throwable), startTime));
+                    return;
+                }
+                result.complete(buildResponse(request, finalSummary, chunks.size(), startTime, run.usage().get()));
+            });
+
+            // Once finished or abandoned, stop any chunk calls still running
+            result.whenComplete((response, throwable) ->
+                    run.inFlight().forEach(call -> call.cancel(true)));
+
+            return result;
+
+        } catch (Exception e) {
+            run.inFlight().forEach(call -> call.cancel(true));
+            throw handleFailure(e, startTime);
+        }
+    }
+
+    /**
+     * Combines partial summaries into one.
+     * If they fit in a single call they are combined in the requested style; otherwise they are
+     * grouped, each group is condensed, and the condensed summaries are reduced again.
+     *
+     * @param partials The partial summaries, in document order
+     * @param style The style of the final summary
+     * @param maxLength The maximum final summary length in words, or null
+     * @param level The 1-based reduce pass
+     * @param run The state of this document's summarization
+     * @return CompletableFuture completed with the final summary
+     */
+    private CompletableFuture<String> reduce(List<String> partials, SummaryStyle style, Integer maxLength,
+                                             int level, DocumentRun run) {
+        SummarizeProperties.DocumentConfig config = properties.getDocument();
+        String joined = String.join(PARTIAL_SEPARATOR, partials);
+
+        if (joined.length() <= config.getChunkSize()) {
+            metrics.recordDocumentReduceLevels(level);
+            return callLlm(promptService.buildCombinePrompt(joined, style, maxLength), run);
+        }
+
+        if (level >= config.getMaxReduceDepth()) {
+            return CompletableFuture.failedFuture(new SummarizerException(
+                    "Document is too long to summarize: partial summaries still exceed the chunk size after "
+                            + level + " reduce passes"));
+        }
+
+        List<String> groups = TextChunker.chunk(joined, config.getChunkSize());
+        log.debug("Reduce pass {}: condensing {} partial summaries in {} groups", level, partials.size(), groups.size());
+
+        return mapBounded(groups.size(),
+                index -> callLlm(promptService.buildCombinePrompt(groups.get(index), SummaryStyle.CONCISE, null), run),
+                run)
+                .thenCompose(condensed -> reduce(condensed, style, maxLength, level + 1, run));
+    }
+
+    /**
+     * Runs one LLM call per index with at most {@code maxConcurrency} calls in flight.
+     * Each worker picks the next index as soon as its previous call finishes; no new calls are
+     * started once the document has failed or been abandoned.
+     *
+     * @param count The number of calls to make
+     * @param call Starts the call for an index
+     * @param run The state of this document's summarization
+     * @return CompletableFuture completed with the results in index order
+     */
+    private CompletableFuture<List<String>> mapBounded(int count, IntFunction<CompletableFuture<String>> call,
+                                                       DocumentRun run) {
+        String[] results = new String[count];
+        AtomicInteger nextIndex = new AtomicInteger();
+        int width = Math.max(1, Math.min(properties.getDocument().getMaxConcurrency(), count));
+
+        // Fails as soon as any call fails rather than waiting for the other workers
+        CompletableFuture<List<String>> mapped = new CompletableFuture<>();
+        CompletableFuture<?>[] workers = new CompletableFuture<?>[width];
+        for (int i = 0; i < width; i++) {
+            workers[i] = runWorker(count, nextIndex, results, call, run);
+            workers[i].whenComplete((ignored, throwable) -> {
+                if (throwable != null) {
+                    mapped.completeExceptionally(throwable);
+                }
+            });
+        }
+
+        CompletableFuture.allOf(workers).thenRun(() -> mapped.complete(Arrays.asList(results)));
+        return mapped;
+    }
+
+    private CompletableFuture<Void> runWorker(int count, AtomicInteger nextIndex, String[] results,
+                                              IntFunction<CompletableFuture<String>> call, DocumentRun run) {
+        int index = nextIndex.getAndIncrement();
+        if (index >= count || run.result().isDone()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return call.apply(index).thenCompose(summary -> {
+            results[index] = summary;
+            return runWorker(count, nextIndex, results, call, run);
+        });
+    }
+
+    /**
+     * Makes one chunk or reduce call on the LLM executor and records its latency and token usage.
+     *
+     * @param userPrompt The user prompt
+     * @param run The state of this document's summarization
+     * @return CompletableFuture completed with the trimmed LLM content
+     */
+    private CompletableFuture<String> callLlm(String userPrompt, DocumentRun run) {
+        long callStart = System.currentTimeMillis();
+
+        CompletableFuture<SummarizeService.LlmResult> call;
+        try {
+            call = summarizeService.callLlmAsync(promptService.getSystemPrompt(), userPrompt);
+        } catch (Exception e) {
+            return CompletableFuture.failedFuture(e);
+        }
+
+        run.inFlight().add(call);
+        return call
+                .whenComplete((llmResult, throwable) -> {
+                    run.inFlight().remove(call);
+                    metrics.recordDocumentChunkDuration(System.currentTimeMillis() - callStart);
+                })
+                .thenApply(llmResult -> {
+                    if (llmResult.hasUsage()) {
+                        summarizeService.recordUsage(llmResult, run.style());
+                        run.usage().accumulateAndGet(llmResult.usage(), DocumentSummarizeService::addUsage);
+                    }
+                    String summary = llmResult.content();
+                    if (summary == null || summary.trim().isEmpty()) {
+                        throw new SummarizerException("LLM returned an empty summary");
+                    }
+                    return summary.trim();
+                });
+    }
+
+    /**
+     * Validates that the document is within the long-document size limits.
+     *
+     * @param text The document text
+     * @throws InvalidInputException if the document is too short or too long
+     */
+    private void validateLength(String text) {
+        int maxLength = properties.getDocument().getMaxInputLength();
+        if (text.length() > maxLength) {
+            log.warn("Document exceeds maximum length: {} characters (max: {})", text.length(), maxLength);
+            throw new InvalidInputException(
+                    String.format("Input text exceeds maximum length of %d characters. Provided: %d characters",
+                            maxLength, text.length()));
+        }
+        if (text.trim().length() < 100) {
+            throw new InvalidInputException(
+                    "Input text must be at least 100 characters long for meaningful summarization");
+        }
+    }
+
+    private SummarizeResponse buildResponse(DocumentSummarizeRequest request, String summary, int chunkCount,
+                                            long startTime, Usage usage) {
+        long processingTime = System.currentTimeMillis() - startTime;
+        log.info("Document summarization completed in {} ms from {} chunks. Summary length: {} characters",
+                processingTime, chunkCount, summary.length());
+
+        // Record metrics
+        metrics.recordRequestDuration(processingTime);
+        metrics.recordSuccess();
+
+        return SummarizeResponse.builder()
+                .summary(summary)
+                .inputLength(request.getText().length())
+                .summaryLength(summary.length())
+                .model(properties.getModel())
+                .processingTimeMs(processingTime)
+                .cached(false)
+                .promptTokens(usage != null ? usage.getPromptTokens() : null)
+                .completionTokens(usage != null ? usage.getCompletionTokens() : null)
+                .totalTokens(usage != null ? usage.getTotalTokens() : null)
+                .build();
+    }
+
+    /**
+     * Records failure metrics and maps the exception to the one surfaced to the caller.
+     */
+    private RuntimeException handleFailure(Throwable e, long startTime) {
+        long processingTime = System.currentTimeMillis() - startTime;
+        log.error("Document summarization failed after {} ms", processingTime, e);
+
+        if (e instanceof TimeoutException) {
+            e = new LLMTimeoutException("LLM call timed out after " + properties.getTimeout().toMillis() + " ms");
+        }
+
+        // Record failure metrics
+        metrics.recordRequestDuration(processingTime);
+        if (e instanceof LLMTimeoutException) {
+            metrics.recordTimeout();
+        }
+        metrics.recordFailure();
+
+        // Re-throw known exceptions without wrapping
+        if (e instanceof SummarizerException summarizerException) {
+            return summarizerException;
+        }
+
+        // Wrap unknown exceptions
+        return new SummarizerException("Failed to generate summary: " + e.getMessage(), e);
+    }
+
+    private static Throwable unwrap(Throwable throwable) {
+        while ((throwable instanceof CompletionException || throwable instanceof ExecutionException)
+                && throwable.getCause() != null) {
+            throwable = throwable.getCause();
+        }
+        return throwable;
+    }
+
+    /**
+     * Sums the token usage of two LLM calls. Counts the provider did not report are taken as 0.
+     */
+    private static Usage addUsage(Usage total, Usage call) {
+        if (total == null) {
+            total = new DefaultUsage(0, 0, 0);
+        }
+        return new DefaultUsage(
+                tokens(total.getPromptTokens()) + tokens(call.getPromptTokens()),
+                tokens(total.getCompletionTokens()) + tokens(call.getCompletionTokens()),
+                tokens(total.getTotalTokens()) + tokens(call.getTotalTokens()));
+    }
+
+    private static int tokens(Integer count) {
+        return Objects.requireNonNullElse(count, 0);
+    }
+
+    /**
+     * State shared by all calls made for one document.
+     *
+     * @param result The future returned to the caller
+     * @param style The requested summary style, used to tag the token metrics
+     * @param inFlight The LLM calls currently running, cancelled when the result completes
+     * @param usage Token usage summed over the calls that reported it; null until one does
+     */
+    private record DocumentRun(CompletableFuture<SummarizeResponse> result, SummaryStyle style,
+                               Set<CompletableFuture<SummarizeService.LlmResult>> inFlight,
+                               AtomicReference<Usage> usage) {
+
+        DocumentRun(CompletableFuture<SummarizeResponse> result, SummaryStyle style) {
+            this(result, style, ConcurrentHashMap.newKeySet(), new AtomicReference<>());
+        }
+    }
+}
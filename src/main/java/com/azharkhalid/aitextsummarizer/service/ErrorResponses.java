@@ -0,0 +1,47 @@
+package com.azharkhalid.aitextsummarizer.service;
+
+import com.azharkhalid.aitextsummarizer.dto.response.ErrorResponse;
+import com.azharkhalid.aitextsummarizer.exception.DeadlineExceededException;
+import com.azharkhalid.aitextsummarizer.exception.InvalidInputException;
+import com.azharkhalid.aitextsummarizer.exception.LLMTimeoutException;
+import com.azharkhalid.aitextsummarizer.exception.LLMUnavailableException;
+import com.azharkhalid.aitextsummarizer.exception.RateLimitExceededException;
+import com.azharkhalid.aitextsummarizer.exception.ServiceOverloadedException;
+import com.azharkhalid.aitextsummarizer.exception.SummarizerException;
+
+/**
+ * Builds the error reported for a failure that is returned in a response body rather than
+ * thrown to {@link com.azharkhalid.aitextsummarizer.controller.GlobalExceptionHandler}, such as a
+ * failed job or batch item. Uses the same error codes as the handler.
+ */
+final class ErrorResponses {
+
+    private ErrorResponses() {
+    }
+
+    /**
+     * @param e The failure
+     * @return The error, with the message of known exceptions; unexpected ones are not disclosed
+     */
+    static ErrorResponse of(Throwable e) {
+        String errorCode;
+        if (e instanceof InvalidInputException) {
+            errorCode = "INVALID_INPUT";
+        } else if (e instanceof RateLimitExceededException) {
+            errorCode = "RATE_LIMIT_EXCEEDED";
+        } else if (e instanceof ServiceOverloadedException) {
+            errorCode = "SERVICE_OVERLOADED";
+        } else if (e instanceof DeadlineExceededException) {
+            errorCode = "DEADLINE_EXCEEDED";
+        } else if (e instanceof LLMUnavailableException) {
+            errorCode = "LLM_UNAVAILABLE";
+        } else if (e instanceof LLMTimeoutException) {
+            errorCode = "LLM_TIMEOUT";
+        } else if (e instanceof SummarizerException) {
+            errorCode = "SUMMARIZER_ERROR";
+        } else {
+            return new ErrorResponse("INTERNAL_ERROR", "An unexpected error occurred.");
+        }
+        return new ErrorResponse(errorCode, e.getMessage());
+    }
+}
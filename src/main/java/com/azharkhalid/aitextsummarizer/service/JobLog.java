@@ -0,0 +1,162 @@
+package com.azharkhalid.aitextsummarizer.service;
+
+import com.azharkhalid.aitextsummarizer.dto.request.SummarizeJobRequest;
+import com.azharkhalid.aitextsummarizer.dto.response.ErrorResponse;
+import com.azharkhalid.aitextsummarizer.dto.response.SummarizeResponse;
+import com.azharkhalid.aitextsummarizer.enums.JobStatus;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Write-ahead log of summarization jobs: one JSON line per job state change, forced to disk before
+ * {@link #append} returns, so a job is never acknowledged before it is durable.
+ * {@link #replay} folds the lines back into the latest state of each job. A line torn by a crash
+ * mid-write is skipped. {@link #compact} rewrites the log with only the given jobs, through a
+ * temporary file that atomically replaces the log.
+ * Not thread-safe for concurrent {@link #replay}; appends and compaction are serialized.
+ */
+@Slf4j
+final class JobLog implements Closeable {
+
+    private final Path path;
+    private final ObjectMapper objectMapper;
+    private FileChannel channel;
+
+    JobLog(Path path, ObjectMapper objectMapper) {
+        this.path = path;
+        this.objectMapper = objectMapper;
+        try {
+            if (path.getParent() != null) {
+                Files.createDirectories(path.getParent());
+            }
+            this.channel = open(path);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open job log " + path, e);
+        }
+    }
+
+    /**
+     * Reads the log back.
+     *
+     * @return The latest state of every job in the log, in order of first appearance
+     */
+    List<Entry> replay() {
+        Map<String, Entry> jobs = new LinkedHashMap<>();
+        try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            String line;
+            int lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                Entry entry;
+                try {
+                    entry = objectMapper.readValue(line, Entry.class);
+                } catch (JsonProcessingException e) {
+                    log.warn("Skipping unreadable line {} of job log {}", lineNumber, path);
+                    continue;
+                }
+                jobs.merge(entry.jobId(), entry, (previous, next) -> next.request() != null
+                        ? next
+                        : next.withRequest(previous.request()));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read job log " + path, e);
+        }
+        return new ArrayList<>(jobs.values());
+    }
+
+    /**
+     * Appends one job state change and forces it to disk.
+     *
+     * @param entry The job's new state
+     */
+    synchronized void append(Entry entry) {
+        try {
+            write(channel, entry);
+            channel.force(false);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot write job log " + path, e);
+        }
+    }
+
+    /**
+     * Replaces the log with one line per given job.
+     *
+     * @param entries The jobs to keep
+     */
+    synchronized void compact(Collection<Entry> entries) {
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        try {
+            try (FileChannel out = FileChannel.open(temp, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                for (Entry entry : entries) {
+                    write(out, entry);
+                }
+                out.force(false);
+            }
+            channel.close();
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            channel = open(path);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot compact job log " + path, e);
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        channel.close();
+    }
+
+    private void write(FileChannel target, Entry entry) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap((objectMapper.writeValueAsString(entry) + "\n")
+                .getBytes(StandardCharsets.UTF_8));
+        while (buffer.hasRemaining()) {
+            target.write(buffer);
+        }
+    }
+
+    private static FileChannel open(Path path) throws IOException {
+        return FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    /**
+     * The state of one job as written to the log.
+     *
+     * @param jobId The job identifier
+     * @param status The job status
+     * @param submittedAt When the job was accepted
+     * @param startedAt When a worker last started the job, or null
+     * @param completedAt When the job finished, or null
+     * @param request The job request; only written until the job has finished
+     * @param result The summary, once succeeded
+     * @param error The error, once failed
+     */
+    record Entry(String jobId, JobStatus status, Instant submittedAt, Instant startedAt, Instant completedAt,
+                 SummarizeJobRequest request, SummarizeResponse result, ErrorResponse error) {
+
+        Entry withRequest(SummarizeJobRequest request) {
+            return new Entry(jobId, status, submittedAt, startedAt, completedAt, request, result, error);
+        }
+    }
+}
@@ -0,0 +1,295 @@
+package com.azharkhalid.aitextsummarizer.service;
+
+import com.azharkhalid.aitextsummarizer.config.SummarizeProperties;
+import com.azharkhalid.aitextsummarizer.exception.ServiceOverloadedException;
+import com.azharkhalid.aitextsummarizer.metrics.SummarizeMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+
+/**
+ * Bulkhead around the outbound LLM calls: at most the concurrency limit run at once, up to
+ * {@code max-queued-calls} more wait for a slot, and anything beyond that is shed immediately with
+ * a {@link ServiceOverloadedException}.
+ * The limit is {@code max-concurrent-calls}, or with the adaptive limit enabled, an
+ * {@link AdaptiveConcurrencyLimit} fed with the provider's latency and its overload signals: timeouts,
+ * connection errors, {@code 429} and {@code 5xx} responses. Calls that fail for local reasons, such as a
+ * passed deadline or a shed request, and cancelled calls say nothing about the provider and feed it nothing.
+ * Queued calls hold no thread while they wait; a call is started by whichever call frees its slot.
+ * A call that waits longer than {@code max-queue-wait} is shed as well.
+ */
+@Slf4j
+@Component
+public class LlmBulkhead {
+
+    private final SummarizeProperties properties;
+    private final SummarizeMetrics metrics;
+
+    private final Object lock = new Object();
+    private final Deque<Runnable> queue = new ArrayDeque<>();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AdaptiveConcurrencyLimit adaptiveLimit;
+    private int active;
+
+    public LlmBulkhead(SummarizeProperties properties, SummarizeMetrics metrics) {
+        this.properties = properties;
+        this.metrics = metrics;
+        SummarizeProperties.BulkheadConfig config = properties.getBulkhead();
+        this.adaptiveLimit = new AdaptiveConcurrencyLimit(config.getAdaptive(), config.getMaxConcurrentCalls());
+        publishMetrics();
+    }
+
+    /**
+     * Runs the call as soon as a slot is free.
+     * When a slot is free right away the call starts on the caller thread, and anything it throws is
+     * thrown from here; a queued call's failure to start completes the returned future instead.
+     *
+     * @param call Starts the LLM call; the returned future must complete when the call ends
+     * @return CompletableFuture completed with the call's outcome; cancelling it cancels the call or
+     *         removes it from the queue
+     * @throws ServiceOverloadedException if all slots are busy and the queue is full
+     */
+    public <T> CompletableFuture<T> submit(Supplier<CompletableFuture<T>> call) {
+        return submit(call, null);
+    }
+
+    /**
+     * Runs the call as {@link #submit(Supplier)} does, taking the latency sample of a successful call
+     * from its result, so that waits before the provider call starts are not mistaken for provider latency.
+     *
+     * @param call Starts the LLM call; the returned future must complete when the call ends
+     * @param providerNanos Time the provider took to answer, read from the call's result; null to time
+     *        the whole call
+     * @return CompletableFuture completed with the call's outcome; cancelling it cancels the call or
+     *         removes it from the queue
+     * @throws ServiceOverloadedException if all slots are busy and the queue is full
+     */
+    public <T> CompletableFuture<T> submit(Supplier<CompletableFuture<T>> call, ToLongFunction<T> providerNanos) {
+        SummarizeProperties.BulkheadConfig config = properties.getBulkhead();
+        if (!config.isEnabled()) {
+            return call.get();
+        }
+
+        CompletableFuture<T> result = new CompletableFuture<>();
+        Runnable start = () -> start(call, providerNanos, result);
+
+        boolean startNow;
+        synchronized (lock) {
+            startNow = active < currentLimit();
+            if (startNow) {
+                active++;
+            } else if (queue.size() < config.getMaxQueuedCalls()) {
+                queue.addLast(start);
+            } else {
+                rejected.incrementAndGet();
+                metrics.recordBulkheadRejected();
+                log.warn("LLM bulkhead full ({} active, {} queued), shedding request", active, queue.size());
+                throw overloaded();
+            }
+            publishMetrics();
+        }
+
+        if (startNow) {
+            startNow(call, providerNanos, result);
+            return result;
+        }
+
+        // Stop waiting when the caller gives up or the queue wait is exceeded
+        result.whenComplete((value, throwable) -> dequeue(start));
+        CompletableFuture.delayedExecutor(config.getMaxQueueWait().toNanos(), TimeUnit.NANOSECONDS).execute(() -> {
+            if (dequeue(start)) {
+                log.warn("LLM call waited longer than {} for a bulkhead slot, shedding request",
+                        config.getMaxQueueWait());
+                rejected.incrementAndGet();
+                metrics.recordBulkheadRejected();
+                result.completeExceptionally(overloaded());
+            }
+        });
+        return result;
+    }
+
+    /**
+     * @return Number of LLM calls running now
+     */
+    public int getActiveCalls() {
+        synchronized (lock) {
+            return active;
+        }
+    }
+
+    /**
+     * @return Number of LLM calls currently allowed to run at once
+     */
+    public int getLimit() {
+        synchronized (lock) {
+            return currentLimit();
+        }
+    }
+
+    /**
+     * @return Short-term average LLM call duration, as seen by the adaptive limit
+     */
+    public Duration getShortRtt() {
+        synchronized (lock) {
+            return Duration.ofNanos(adaptiveLimit.getShortRttNanos());
+        }
+    }
+
+    /**
+     * @return Baseline LLM call duration without queueing, as seen by the adaptive limit
+     */
+    public Duration getBaselineRtt() {
+        synchronized (lock) {
+            return Duration.ofNanos(adaptiveLimit.getBaselineRttNanos());
+        }
+    }
+
+    /**
+     * @return Number of LLM calls waiting for a slot
+     */
+    public int getQueuedCalls() {
+        synchronized (lock) {
+            return queue.size();
+        }
+    }
+
+    /**
+     * @return Number of LLM calls shed since startup
+     */
+    public long getRejectedCalls() {
+        return rejected.get();
+    }
+
+    /**
+     * Starts a call that got a slot without queueing; failures to start are thrown to the caller.
+     */
+    private <T> void startNow(Supplier<CompletableFuture<T>> call, ToLongFunction<T> providerNanos,
+                              CompletableFuture<T> result) {
+        long startNanos = System.nanoTime();
+        CompletableFuture<T> started;
+        try {
+            started = call.get();
+        } catch (RuntimeException e) {
+            release();
+            throw e;
+        }
+        link(started, providerNanos, result, startNanos);
+    }
+
+    /**
+     * Starts a call that waited in the queue; failures to start complete its future.
+     */
+    private <T> void start(Supplier<CompletableFuture<T>> call, ToLongFunction<T> providerNanos,
+                           CompletableFuture<T> result) {
+        if (result.isDone()) {
+            release();
+            return;
+        }
+        long startNanos = System.nanoTime();
+        CompletableFuture<T> started;
+        try {
+            started = call.get();
+        } catch (Throwable t) {
+            release();
+            result.completeExceptionally(t);
+            return;
+        }
+        link(started, providerNanos, result, startNanos);
+    }
+
+    /**
+     * Frees the slot when the call ends, feeding the provider's latency or overload signal to the
+     * adaptive limit, and passes cancellation of the result on to the call.
+     */
+    private <T> void link(CompletableFuture<T> started, ToLongFunction<T> providerNanos, CompletableFuture<T> result,
+                          long startNanos) {
+        started.whenComplete((value, throwable) -> {
+            if (throwable == null) {
+                release(providerNanos != null ? providerNanos.applyAsLong(value) : System.nanoTime() - startNanos,
+                        false);
+            } else if (LlmRetrier.retryReason(throwable) != null) {
+                // Timed out, unreachable, 429 or 5xx: the provider is overloaded
+                release(System.nanoTime() - startNanos, true);
+            } else {
+                // Cancelled, past the deadline, shed locally or a bad request; says nothing about the provider
+                release();
+            }
+            if (throwable != null) {
+                result.completeExceptionally(throwable);
+            } else {
+                result.complete(value);
+            }
+        });
+        result.whenComplete((value, throwable) -> {
+            if (result.isCancelled()) {
+                started.cancel(true);
+            }
+        });
+    }
+
+    /**
+     * Frees a slot whose call never reached the provider.
+     */
+    private void release() {
+        release(-1, false);
+    }
+
+    /**
+     * Frees a slot, updates the limit with the call's sample, and starts as many queued calls as
+     * the limit now allows.
+     *
+     * @param rttNanos Duration of the call, or -1 if it produced no sample
+     * @param dropped Whether the provider timed out or signalled overload
+     */
+    private void release(long rttNanos, boolean dropped) {
+        List<Runnable> next = new ArrayList<>();
+        synchronized (lock) {
+            if (rttNanos >= 0 && properties.getBulkhead().getAdaptive().isEnabled()) {
+                adaptiveLimit.onSample(rttNanos, active, dropped);
+            }
+            active--;
+            while (active < currentLimit() && !queue.isEmpty()) {
+                next.add(queue.pollFirst());
+                active++;
+            }
+            publishMetrics();
+        }
+        next.forEach(Runnable::run);
+    }
+
+    private boolean dequeue(Runnable start) {
+        synchronized (lock) {
+            boolean removed = queue.remove(start);
+            if (removed) {
+                publishMetrics();
+            }
+            return removed;
+        }
+    }
+
+    private int currentLimit() {
+        SummarizeProperties.BulkheadConfig config = properties.getBulkhead();
+        return config.getAdaptive().isEnabled() ? adaptiveLimit.getLimit() : config.getMaxConcurrentCalls();
+    }
+
+    private void publishMetrics() {
+        metrics.updateBulkhead(active, queue.size());
+        metrics.updateConcurrencyLimit(currentLimit(), adaptiveLimit.getShortRttNanos(),
+                adaptiveLimit.getBaselineRttNanos());
+    }
+
+    private ServiceOverloadedException overloaded() {
+        return new ServiceOverloadedException("Summarization capacity exhausted, please try again later",
+                properties.getBulkhead().getRetryAfter());
+    }
+}
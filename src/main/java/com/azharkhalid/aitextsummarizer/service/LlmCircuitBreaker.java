@@ -0,0 +1,163 @@
+package com.azharkhalid.aitextsummarizer.service;
+
+import com.azharkhalid.aitextsummarizer.config.SummarizeProperties;
+import com.azharkhalid.aitextsummarizer.exception.LLMUnavailableException;
+import com.azharkhalid.aitextsummarizer.exception.SummarizerException;
+import com.azharkhalid.aitextsummarizer.metrics.SummarizeMetrics;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.event.CircuitBreakerOnStateTransitionEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Circuit breaker around the LLM provider, so requests fail fast while it is down instead of each
+ * waiting out the timeout and its retries.
+ * Counts the outcome of the last {@code sliding-window-size} calls. The circuit opens when too many
+ * of them failed, or took longer than {@code slow-call-duration}; only failures a retry could fix
+ * count (see {@link LlmRetrier#retryReason}), and calls shed by this service or cancelled are ignored.
+ * While open, calls are rejected at once with {@link LLMUnavailableException}. After
+ * {@code wait-in-open-state} the circuit is half-open: {@code half-open-calls} trial calls are let
+ * through, and their outcome closes or reopens it.
+ * Backed by a Resilience4j {@link CircuitBreaker}; every state transition is logged and counted.
+ */
+@Slf4j
+@Component
+public class LlmCircuitBreaker {
+
+    private final SummarizeProperties properties;
+    private final SummarizeMetrics metrics;
+    private final CircuitBreaker circuitBreaker;
+    private volatile long openedAtNanos;
+
+    public LlmCircuitBreaker(SummarizeProperties properties, SummarizeMetrics metrics) {
+        this.properties = properties;
+        this.metrics = metrics;
+        SummarizeProperties.CircuitBreakerConfig config = properties.getCircuitBreaker();
+        this.circuitBreaker = CircuitBreaker.of("llm", CircuitBreakerConfig.custom()
+                .slidingWindowType(CircuitBreakerConfig.SlidingWindowType.COUNT_BASED)
+                .slidingWindowSize(config.getSlidingWindowSize())
+                .minimumNumberOfCalls(config.getMinimumCalls())
+                .failureRateThreshold(config.getFailureRateThreshold())
+                .slowCallRateThreshold(config.getSlowCallRateThreshold())
+                .slowCallDurationThreshold(config.getSlowCallDuration())
+                .waitDurationInOpenState(config.getWaitInOpenState())
+                .permittedNumberOfCallsInHalfOpenState(config.getHalfOpenCalls())
+                .recordException(e -> LlmRetrier.retryReason(e) != null)
+                .ignoreExceptions(CancellationException.class, SummarizerException.class)
+                .build());
+        circuitBreaker.getEventPublisher().onStateTransition(this::onStateTransition);
+    }
+
+    /**
+     * Runs the call if the circuit lets it through, and records its outcome.
+     *
+     * @param call Starts the LLM call; the returned future must complete when the call ends
+     * @return The call's future
+     * @throws LLMUnavailableException if the circuit is open, or half-open with all trial calls taken
+     */
+    public CompletableFuture<SummarizeService.LlmResult> execute(
+            Supplier<CompletableFuture<SummarizeService.LlmResult>> call) {
+        if (!properties.getCircuitBreaker().isEnabled()) {
+            return call.get();
+        }
+        if (!circuitBreaker.tryAcquirePermission()) {
+            metrics.recordCircuitRejected();
+            throw new LLMUnavailableException("The LLM provider is unavailable, please try again later",
+                    retryAfter());
+        }
+
+        long startNanos = System.nanoTime();
+        CompletableFuture<SummarizeService.LlmResult> attempt;
+        try {
+            attempt = call.get();
+        } catch (RuntimeException e) {
+            // Never reached the provider
+            circuitBreaker.releasePermission();
+            throw e;
+        }
+        attempt.whenComplete((result, throwable) -> {
+            if (throwable == null) {
+                // Provider time only, so waiting for a bulkhead slot does not count as a slow call
+                circuitBreaker.onSuccess(result.durationNanos(), TimeUnit.NANOSECONDS);
+            } else {
+                circuitBreaker.onError(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS, unwrap(throwable));
+            }
+        });
+        return attempt;
+    }
+
+    /**
+     * @return The circuit state: {@code closed}, {@code open} or {@code half_open}
+     */
+    public String getState() {
+        return stateTag(circuitBreaker.getState());
+    }
+
+    /**
+     * @return Percentage of recorded calls that failed, or -1 while fewer than {@code minimum-calls} are recorded
+     */
+    public float getFailureRate() {
+        return circuitBreaker.getMetrics().getFailureRate();
+    }
+
+    /**
+     * @return Percentage of recorded calls that were slow, or -1 while fewer than {@code minimum-calls} are recorded
+     */
+    public float getSlowCallRate() {
+        return circuitBreaker.getMetrics().getSlowCallRate();
+    }
+
+    /**
+     * @return Calls rejected without reaching the provider since the circuit last closed
+     */
+    public long getRejectedCalls() {
+        return circuitBreaker.getMetrics().getNumberOfNotPermittedCalls();
+    }
+
+    /**
+     * @return Time until the circuit lets trial calls through again; at least one second
+     */
+    private Duration retryAfter() {
+        Duration wait = properties.getCircuitBreaker().getWaitInOpenState();
+        if (circuitBreaker.getState() == CircuitBreaker.State.OPEN) {
+            wait = wait.minusNanos(System.nanoTime() - openedAtNanos);
+        } else {
+            wait = Duration.ZERO;
+        }
+        return wait.compareTo(Duration.ofSeconds(1)) < 0 ? Duration.ofSeconds(1) : wait;
+    }
+
+    private void onStateTransition(CircuitBreakerOnStateTransitionEvent event) {
+        CircuitBreaker.State to = event.getStateTransition().getToState();
+        if (to == CircuitBreaker.State.OPEN) {
+            openedAtNanos = System.nanoTime();
+            log.warn("LLM circuit breaker opened (failure rate {}%, slow call rate {}%), failing calls fast for {}",
+                    getFailureRate(), getSlowCallRate(), properties.getCircuitBreaker().getWaitInOpenState());
+        } else {
+            log.info("LLM circuit breaker {}", event.getStateTransition());
+        }
+        metrics.recordCircuitTransition(stateTag(event.getStateTransition().getFromState()), stateTag(to));
+    }
+
+    private static String stateTag(CircuitBreaker.State state) {
+        return state.name().toLowerCase(Locale.ROOT);
+    }
+
+    private static Throwable unwrap(Throwable throwable) {
+        while ((throwable instanceof CompletionException || throwable instanceof ExecutionException)
+                && throwable.getCause() != null) {
+            throwable = throwable.getCause();
+        }
+        return throwable;
+    }
+}
@@ -0,0 +1,216 @@
+package com.azharkhalid.aitextsummarizer.service;
+
+import com.azharkhalid.aitextsummarizer.config.SummarizeProperties;
+import com.azharkhalid.aitextsummarizer.metrics.SummarizeMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Hedges LLM calls against provider stragglers: when a call has not answered after the hedge delay,
+ * a second identical call is sent, the first answer wins, and the other call is cancelled.
+ * The delay is {@code delay} if configured, otherwise the p95 latency of recent calls, and never
+ * less than {@code min-delay}. Hedges are paid for from a budget that earns
+ * {@code max-hedge-percent} percent of a hedge per call, so extra calls stay bounded.
+ * Disabled by default; when disabled, calls pass straight through.
+ */
+@Slf4j
+@Component
+public class LlmHedger {
+
+    /**
+     * Calls observed before the p95 latency is trusted as the hedge delay.
+     */
+    static final int MIN_SAMPLES = 20;
+
+    /**
+     * Most hedges the budget can save up, bounding bursts after a quiet period.
+     */
+    private static final double MAX_CREDITS = 10;
+
+    private final SummarizeProperties properties;
+    private final SummarizeMetrics metrics;
+
+    private final Object lock = new Object();
+    private final long[] latencies;
+    private int samples;
+    private int nextSample;
+    private double credits;
+
+    public LlmHedger(SummarizeProperties properties, SummarizeMetrics metrics) {
+        this.properties = properties;
+        this.metrics = metrics;
+        this.latencies = new long[Math.max(MIN_SAMPLES, properties.getHedge().getLatencyWindow())];
+    }
+
+    /**
+     * Runs the call, and a hedge of it if it is slow to answer and the budget allows.
+     *
+     * @param call Starts one attempt of the call; invoked again for the hedge
+     * @return CompletableFuture completed with the first successful answer, or with the failure once
+     *         every attempt has failed; cancelling it cancels all attempts
+     * @throws RuntimeException whatever {@code call} throws when starting the first attempt
+     */
+    public <T> CompletableFuture<T> hedge(Supplier<CompletableFuture<T>> call) {
+        if (!properties.getHedge().isEnabled()) {
+            return call.get();
+        }
+
+        synchronized (lock) {
+            credits = Math.min(MAX_CREDITS, credits + properties.getHedge().getMaxHedgePercent() / 100);
+        }
+
+        Race<T> race = new Race<>();
+        race.start(call, false);
+
+        Duration delay = hedgeDelay();
+        if (delay != null) {
+            CompletableFuture.delayedExecutor(delay.toNanos(), TimeUnit.NANOSECONDS)
+                    .execute(() -> race.startHedge(call, delay));
+        }
+        race.result.whenComplete((value, throwable) -> {
+            if (race.result.isCancelled()) {
+                race.cancelAll();
+            }
+        });
+        return race.result;
+    }
+
+    /**
+     * @return Time to wait for an answer before hedging, or null while there are too few samples
+     */
+    Duration hedgeDelay() {
+        SummarizeProperties.HedgeConfig config = properties.getHedge();
+        Duration delay = config.getDelay();
+        if (delay == null) {
+            long[] window;
+            synchronized (lock) {
+                if (samples < MIN_SAMPLES) {
+                    return null;
+                }
+                window = Arrays.copyOf(latencies, samples);
+            }
+            Arrays.sort(window);
+            delay = Duration.ofNanos(window[(int) Math.ceil(window.length * 0.95) - 1]);
+        }
+        return config.getMinDelay() != null && delay.compareTo(config.getMinDelay()) < 0 ? config.getMinDelay() : delay;
+    }
+
+    private void recordLatency(long nanos) {
+        synchronized (lock) {
+            latencies[nextSample] = nanos;
+            nextSample = (nextSample + 1) % latencies.length;
+            samples = Math.min(samples + 1, latencies.length);
+        }
+    }
+
+    private boolean tryTakeCredit() {
+        synchronized (lock) {
+            if (credits < 1) {
+                return false;
+            }
+            credits--;
+            return true;
+        }
+    }
+
+    private void refundCredit() {
+        synchronized (lock) {
+            credits = Math.min(MAX_CREDITS, credits + 1);
+        }
+    }
+
+    /**
+     * The attempts of one hedged call, racing to complete its result.
+     */
+    private final class Race<T> {
+
+        private final CompletableFuture<T> result = new CompletableFuture<>();
+        private final List<CompletableFuture<T>> attempts = new ArrayList<>();
+        private final long startNanos = System.nanoTime();
+        private int pending;
+
+        /**
+         * Starts one attempt; failures to start are thrown.
+         */
+        void start(Supplier<CompletableFuture<T>> call, boolean hedge) {
+            synchronized (this) {
+                pending++;
+            }
+            CompletableFuture<T> attempt;
+            try {
+                attempt = call.get();
+            } catch (RuntimeException e) {
+                synchronized (this) {
+                    pending--;
+                }
+                throw e;
+            }
+            synchronized (this) {
+                attempts.add(attempt);
+            }
+            attempt.whenComplete((value, throwable) -> complete(value, throwable, hedge));
+            if (result.isDone()) {
+                // Decided while this attempt was starting
+                attempt.cancel(true);
+            }
+        }
+
+        /**
+         * Starts the hedge if the call is still unanswered and the budget allows.
+         */
+        void startHedge(Supplier<CompletableFuture<T>> call, Duration delay) {
+            if (result.isDone() || !tryTakeCredit()) {
+                return;
+            }
+            log.debug("LLM call unanswered after {} ms, sending a hedge", delay.toMillis());
+            try {
+                start(call, true);
+            } catch (RuntimeException e) {
+                // No capacity for the extra call; the first attempt carries on alone
+                log.debug("Could not send hedge: {}", e.getMessage());
+                refundCredit();
+                return;
+            }
+            metrics.recordHedgeFired();
+        }
+
+        private void complete(T value, Throwable throwable, boolean hedge) {
+            if (throwable == null) {
+                if (result.complete(value)) {
+                    // The first attempt's latency, or as much of it as was seen when a hedge won: timing
+                    // the winner alone would drag the p95 down to the hedges' latency and hedge ever sooner
+                    recordLatency(System.nanoTime() - startNanos);
+                    if (hedge) {
+                        metrics.recordHedgeWon();
+                    }
+                    cancelAll();
+                }
+                return;
+            }
+            boolean last;
+            synchronized (this) {
+                last = --pending == 0;
+            }
+            // The answer may still come from the other attempt
+            if (last) {
+                result.completeExceptionally(throwable);
+            }
+        }
+
+        void cancelAll() {
+            List<CompletableFuture<T>> started;
+            synchronized (this) {
+                started = List.copyOf(attempts);
+            }
+            started.forEach(attempt -> attempt.cancel(true));
+        }
+    }
+}
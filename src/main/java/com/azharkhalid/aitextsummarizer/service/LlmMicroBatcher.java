@@ -0,0 +1,261 @@
+package com.azharkhalid.aitextsummarizer.service;
+
+import com.azharkhalid.aitextsummarizer.config.SummarizeProperties;
+import com.azharkhalid.aitextsummarizer.enums.SummaryStyle;
+import com.azharkhalid.aitextsummarizer.metrics.SummarizeMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.ai.chat.metadata.DefaultUsage;
+import org.springframework.ai.chat.metadata.Usage;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
+
+/**
+ * Packs short summarize requests into shared LLM calls, so each call pays the system prompt and
+ * round trip once for several texts.
+ * Requests with the same style and length that arrive within {@code max-wait} of the first one are
+ * summarized together in one delimited prompt (see {@link PromptService#buildBatchPrompt}), up to
+ * {@code max-items} texts or {@code max-batch-tokens} estimated tokens of text, whichever fills first.
+ * The answer is split back into one summary per request. If it cannot be split, every request in
+ * the batch is resent on its own, so a malformed answer costs latency, not correctness.
+ * The token usage of a shared call is divided among its requests by text and summary length.
+ * Disabled by default; when disabled, or for texts over {@code max-item-length}, calls pass straight through.
+ */
+@Slf4j
+@Component
+public class LlmMicroBatcher {
+
+    private final PromptService promptService;
+    private final SummarizeProperties properties;
+    private final SummarizeMetrics metrics;
+
+    private final Object lock = new Object();
+    private final Map<BatchKey, Batch> open = new HashMap<>();
+
+    public LlmMicroBatcher(PromptService promptService, SummarizeProperties properties, SummarizeMetrics metrics) {
+        this.promptService = promptService;
+        this.properties = properties;
+        this.metrics = metrics;
+    }
+
+    /**
+     * Summarizes the text, in a shared call when possible.
+     *
+     * @param text The sanitized text
+     * @param style The summary style
+     * @param maxLength The maximum summary length in words, or null
+     * @param systemPrompt The system prompt
+     * @param userPrompt The prompt for summarizing the text on its own
+     * @param call Makes one LLM call from a system prompt and a user prompt
+     * @return CompletableFuture completed with this text's summary and its share of the token usage;
+     *         cancelling it before the batch is sent leaves the text out of the batch
+     */
+    CompletableFuture<SummarizeService.LlmResult> submit(String text, SummaryStyle style, Integer maxLength,
+                                                         String systemPrompt, String userPrompt, LlmCall call) {
+        SummarizeProperties.MicroBatchConfig config = properties.getMicroBatch();
+        int tokens = estimateTokens(text);
+        if (!config.isEnabled() || text.length() > config.getMaxItemLength() || tokens > config.getMaxBatchTokens()
+                || !promptService.isBatchable(text)) {
+            return call.apply(systemPrompt, userPrompt);
+        }
+
+        Item item = new Item(text, userPrompt, tokens, new CompletableFuture<>());
+        BatchKey key = new BatchKey(style, maxLength, systemPrompt);
+        List<Batch> full = new ArrayList<>(2);
+        Batch started = null;
+        synchronized (lock) {
+            Batch batch = open.get(key);
+            if (batch != null && batch.tokens + item.tokens() > config.getMaxBatchTokens()) {
+                // Would overflow the token limit; send what is gathered and start afresh
+                open.remove(key);
+                full.add(batch);
+                batch = null;
+            }
+            if (batch == null) {
+                batch = new Batch(key, call);
+                open.put(key, batch);
+                started = batch;
+            }
+            batch.items.add(item);
+            batch.tokens += item.tokens();
+            if (batch.items.size() >= config.getMaxItems()) {
+                open.remove(key);
+                full.add(batch);
+            }
+        }
+
+        if (started != null && !full.contains(started)) {
+            Batch waiting = started;
+            CompletableFuture.delayedExecutor(config.getMaxWait().toNanos(), TimeUnit.NANOSECONDS)
+                    .execute(() -> flush(waiting));
+        }
+        full.forEach(this::send);
+        return item.result();
+    }
+
+    /**
+     * Sends a batch whose wait is over, unless it was already sent when it filled up.
+     */
+    private void flush(Batch batch) {
+        synchronized (lock) {
+            if (open.get(batch.key) != batch) {
+                return;
+            }
+            open.remove(batch.key);
+        }
+        send(batch);
+    }
+
+    /**
+     * Sends one shared call for the batch, or a plain call when only one request is left in it.
+     */
+    private void send(Batch batch) {
+        // Requests abandoned while waiting are left out
+        List<Item> items = batch.items.stream().filter(item -> !item.result().isDone()).toList();
+        if (items.isEmpty()) {
+            return;
+        }
+        if (items.size() == 1) {
+            sendAlone(items.get(0), batch);
+            return;
+        }
+
+        String systemPrompt = batch.key.systemPrompt();
+        String batchPrompt = promptService.buildBatchPrompt(items.stream().map(Item::text).toList(),
+                batch.key.style(), batch.key.maxLength());
+        long tokensSaved = items.stream()
+                .mapToLong(item -> estimateTokens(systemPrompt) + estimateTokens(item.userPrompt()))
+                .sum()
+                - estimateTokens(systemPrompt) - estimateTokens(batchPrompt);
+        metrics.recordMicroBatch(items.size(), properties.getMicroBatch().getMaxItems(), tokensSaved);
+        log.debug("Sending micro-batch of {} requests, about {} prompt tokens saved", items.size(), tokensSaved);
+
+        CompletableFuture<SummarizeService.LlmResult> shared;
+        try {
+            shared = batch.call.apply(systemPrompt, batchPrompt);
+        } catch (RuntimeException e) {
+            items.forEach(item -> item.result().completeExceptionally(e));
+            return;
+        }
+
+        shared.whenComplete((result, throwable) -> {
+            if (throwable != null) {
+                items.forEach(item -> item.result().completeExceptionally(throwable));
+                return;
+            }
+            Optional<List<String>> summaries = promptService.parseBatchSummaries(result.content(), items.size());
+            if (summaries.isEmpty()) {
+                log.warn("Could not split the answer to a micro-batch of {} requests, resending them one by one",
+                        items.size());
+                metrics.recordMicroBatchFallback();
+                items.forEach(item -> sendAlone(item, batch));
+                return;
+            }
+            List<Usage> usages = divideUsage(result.usage(), items, summaries.get());
+            for (int i = 0; i < items.size(); i++) {
+                items.get(i).result().complete(new SummarizeService.LlmResult(summaries.get().get(i), usages.get(i),
+                        result.durationNanos()));
+            }
+        });
+    }
+
+    /**
+     * Sends one request in its own call, passing on its outcome and cancellation.
+     */
+    private void sendAlone(Item item, Batch batch) {
+        if (item.result().isDone()) {
+            return;
+        }
+        CompletableFuture<SummarizeService.LlmResult> alone;
+        try {
+            alone = batch.call.apply(batch.key.systemPrompt(), item.userPrompt());
+        } catch (RuntimeException e) {
+            item.result().completeExceptionally(e);
+            return;
+        }
+        alone.whenComplete((result, throwable) -> {
+            if (throwable != null) {
+                item.result().completeExceptionally(throwable);
+            } else {
+                item.result().complete(result);
+            }
+        });
+        item.result().whenComplete((result, throwable) -> {
+            if (item.result().isCancelled()) {
+                alone.cancel(true);
+            }
+        });
+    }
+
+    /**
+     * Divides the usage of a shared call: prompt tokens by text length, completion tokens by summary length.
+     */
+    private static List<Usage> divideUsage(Usage usage, List<Item> items, List<String> summaries) {
+        List<Usage> shares = new ArrayList<>(items.size());
+        if (!SummarizeService.LlmResult.hasUsage(usage)) {
+            items.forEach(item -> shares.add(usage));
+            return shares;
+        }
+        int promptTokens = usage.getPromptTokens() != null ? usage.getPromptTokens() : 0;
+        int completionTokens = usage.getCompletionTokens() != null ? usage.getCompletionTokens() : 0;
+        long textChars = Math.max(1, items.stream().mapToLong(item -> item.text().length()).sum());
+        long summaryChars = Math.max(1, summaries.stream().mapToLong(String::length).sum());
+        for (int i = 0; i < items.size(); i++) {
+            int prompt = (int) Math.round((double) promptTokens * items.get(i).text().length() / textChars);
+            int completion = (int) Math.round((double) completionTokens * summaries.get(i).length() / summaryChars);
+            shares.add(new DefaultUsage(prompt, completion, prompt + completion));
+        }
+        return shares;
+    }
+
+    /**
+     * Estimates the tokens of a text at {@code chars-per-token} characters per token.
+     */
+    private int estimateTokens(String text) {
+        int charsPerToken = Math.max(1, properties.getTokenBudget().getCharsPerToken());
+        return (text.length() + charsPerToken - 1) / charsPerToken;
+    }
+
+    /**
+     * Makes one LLM call; normally {@link SummarizeService#callLlmAsync}.
+     */
+    @FunctionalInterface
+    interface LlmCall extends BiFunction<String, String, CompletableFuture<SummarizeService.LlmResult>> {
+    }
+
+    /**
+     * Requests only share a call when they ask for the same kind of summary.
+     */
+    private record BatchKey(SummaryStyle style, Integer maxLength, String systemPrompt) {
+    }
+
+    /**
+     * @param tokens Estimated tokens of the text, counted against {@code max-batch-tokens}
+     */
+    private record Item(String text, String userPrompt, int tokens,
+                        CompletableFuture<SummarizeService.LlmResult> result) {
+    }
+
+    /**
+     * Requests gathered for one shared call. Guarded by {@link #lock} until removed from {@link #open}.
+     */
+    private static final class Batch {
+
+        private final BatchKey key;
+        private final LlmCall call;
+        private final List<Item> items = new ArrayList<>();
+        private int tokens;
+
+        Batch(BatchKey key, LlmCall call) {
+            this.key = key;
+            this.call = call;
+        }
+    }
+}
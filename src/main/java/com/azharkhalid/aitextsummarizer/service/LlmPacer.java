@@ -0,0 +1,273 @@
+package com.azharkhalid.aitextsummarizer.service;
+
+import com.azharkhalid.aitextsummarizer.config.SummarizeProperties;
+import com.azharkhalid.aitextsummarizer.exception.RateLimitExceededException;
+import com.azharkhalid.aitextsummarizer.metrics.SummarizeMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Paces LLM calls by the provider's own rate limits, so calls it would refuse with 429 are not sent.
+ * Every provider response updates a shared estimate from its headers: the requests and tokens
+ * remaining in the current window ({@code x-ratelimit-remaining-*}), when they reset
+ * ({@code x-ratelimit-reset-*}), and after a 429, the {@code Retry-After} pause.
+ * Each call is counted against the estimate as it starts, covering calls still in flight. A call
+ * that would exceed it is held until the limit resets, up to {@code max-wait}; a longer wait is
+ * rejected with {@link RateLimitExceededException} and the time until the provider accepts calls again.
+ * Calls held for a reset are charged to the next window.
+ */
+@Slf4j
+@Component
+public class LlmPacer {
+
+    /**
+     * One part of an OpenAI reset duration, e.g. {@code 6m0s}, {@code 1.5s} or {@code 17ms}.
+     */
+    private static final Pattern DURATION_PART = Pattern.compile("(\\d+(?:\\.\\d+)?)(ms|h|m|s)");
+
+    private final SummarizeProperties properties;
+    private final SummarizeMetrics metrics;
+
+    private final Object lock = new Object();
+    private final Limit requests = new Limit();
+    private final Limit tokens = new Limit();
+    private long pausedUntilNanos = System.nanoTime();
+
+    public LlmPacer(SummarizeProperties properties, SummarizeMetrics metrics) {
+        this.properties = properties;
+        this.metrics = metrics;
+    }
+
+    /**
+     * Counts one call against the provider's limits.
+     *
+     * @param estimatedTokens Tokens the call is expected to use
+     * @return The permit; the caller must {@link #await} it before making the call
+     * @throws RateLimitExceededException if the provider would not accept the call within {@code max-wait}
+     */
+    public Permit acquire(int estimatedTokens) {
+        if (!properties.getPacer().isEnabled()) {
+            return Permit.NONE;
+        }
+
+        long now = System.nanoTime();
+        long waitNanos;
+        synchronized (lock) {
+            requests.resetIfDue(now);
+            tokens.resetIfDue(now);
+            waitNanos = Math.max(pausedUntilNanos - now,
+                    Math.max(requests.waitNanos(1, now), tokens.waitNanos(estimatedTokens, now)));
+            if (waitNanos > properties.getPacer().getMaxWait().toNanos()) {
+                metrics.recordPacerRejected();
+                log.warn("Provider rate limit reached, rejecting call for {} ms", TimeUnit.NANOSECONDS.toMillis(waitNanos));
+                throw new RateLimitExceededException(
+                        "The LLM provider's rate limit is reached. Please try again later.",
+                        Duration.ofNanos(waitNanos));
+            }
+            requests.consume(1);
+            tokens.consume(estimatedTokens);
+            updateGauges();
+        }
+
+        if (waitNanos <= 0) {
+            return Permit.NONE;
+        }
+        metrics.recordPacerDelayed();
+        log.debug("Provider rate limit reached, delaying call by {} ms", TimeUnit.NANOSECONDS.toMillis(waitNanos));
+        return new Permit(now + waitNanos);
+    }
+
+    /**
+     * Waits until the provider is expected to accept the call. Returns at once unless it was delayed.
+     *
+     * @param permit The permit
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public void await(Permit permit) throws InterruptedException {
+        if (permit == Permit.NONE) {
+            return;
+        }
+        long waitNanos = permit.notBeforeNanos() - System.nanoTime();
+        if (waitNanos > 0) {
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+        }
+    }
+
+    /**
+     * Updates the estimate from the rate-limit headers of a provider response.
+     *
+     * @param status Response status
+     * @param headers Response headers
+     */
+    public void onResponse(HttpStatusCode status, HttpHeaders headers) {
+        long now = System.nanoTime();
+        synchronized (lock) {
+            requests.update(headers, "requests", now);
+            tokens.update(headers, "tokens", now);
+            if (status.value() == HttpStatus.TOO_MANY_REQUESTS.value()) {
+                Duration retryAfter = retryAfter(headers);
+                if (retryAfter != null) {
+                    if (now + retryAfter.toNanos() - pausedUntilNanos > 0) {
+                        pausedUntilNanos = now + retryAfter.toNanos();
+                    }
+                    log.warn("LLM provider rate limited us, pausing calls for {} ms", retryAfter.toMillis());
+                }
+            }
+            updateGauges();
+        }
+    }
+
+    private void updateGauges() {
+        metrics.updatePacer(requests.remaining(), tokens.remaining(), pausedUntilNanos);
+    }
+
+    /**
+     * Reads the pause requested by a 429 response, from OpenAI's {@code retry-after-ms} or the standard
+     * {@code Retry-After} header (seconds or an HTTP date).
+     *
+     * @param headers Response headers
+     * @return The pause, or null if the response gives none
+     */
+    static Duration retryAfter(HttpHeaders headers) {
+        String millis = headers.getFirst("retry-after-ms");
+        if (millis != null) {
+            try {
+                return Duration.ofNanos((long) (Double.parseDouble(millis.trim()) * 1_000_000));
+            } catch (NumberFormatException e) {
+                log.debug("Ignoring malformed retry-after-ms header: {}", millis);
+            }
+        }
+        String value = headers.getFirst(HttpHeaders.RETRY_AFTER);
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Duration.ofSeconds(Long.parseLong(value.trim()));
+        } catch (NumberFormatException e) {
+            // Not seconds, so an HTTP date
+        }
+        try {
+            Duration untilDate = Duration.between(ZonedDateTime.now(),
+                    ZonedDateTime.parse(value.trim(), DateTimeFormatter.RFC_1123_DATE_TIME));
+            return untilDate.isNegative() ? Duration.ZERO : untilDate;
+        } catch (DateTimeParseException e) {
+            log.debug("Ignoring malformed Retry-After header: {}", value);
+            return null;
+        }
+    }
+
+    /**
+     * Parses an OpenAI reset duration such as {@code 1s}, {@code 6m0s} or {@code 17ms}.
+     *
+     * @param value The header value
+     * @return The duration, or null if the value is not a duration
+     */
+    static Duration parseDuration(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        Matcher matcher = DURATION_PART.matcher(value.trim());
+        double nanos = 0;
+        int end = 0;
+        while (matcher.find() && matcher.start() == end) {
+            double amount = Double.parseDouble(matcher.group(1));
+            nanos += amount * switch (matcher.group(2)) {
+                case "h" -> TimeUnit.HOURS.toNanos(1);
+                case "m" -> TimeUnit.MINUTES.toNanos(1);
+                case "s" -> TimeUnit.SECONDS.toNanos(1);
+                default -> TimeUnit.MILLISECONDS.toNanos(1);
+            };
+            end = matcher.end();
+        }
+        return end == value.trim().length() ? Duration.ofNanos((long) nanos) : null;
+    }
+
+    private static long parseLong(String value) {
+        if (value == null) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * Estimate of one provider limit, requests or tokens. Guarded by the pacer's lock.
+     */
+    private static final class Limit {
+
+        private boolean known;
+        private long limit = -1;
+        private long remaining;
+        private boolean resets;
+        private long resetAtNanos;
+
+        void update(HttpHeaders headers, String kind, long now) {
+            long reportedRemaining = parseLong(headers.getFirst("x-ratelimit-remaining-" + kind));
+            if (reportedRemaining < 0) {
+                return;
+            }
+            Duration reset = parseDuration(headers.getFirst("x-ratelimit-reset-" + kind));
+            known = true;
+            limit = parseLong(headers.getFirst("x-ratelimit-limit-" + kind));
+            remaining = reportedRemaining;
+            resets = reset != null;
+            resetAtNanos = reset != null ? now + reset.toNanos() : 0;
+        }
+
+        /**
+         * Starts a new window once the reported reset time has passed, charging it with calls that
+         * overdrew the last one.
+         */
+        void resetIfDue(long now) {
+            if (known && resets && now - resetAtNanos >= 0) {
+                known = limit >= 0;
+                remaining = limit + Math.min(0, remaining);
+                resets = false;
+            }
+        }
+
+        /**
+         * @return Time until {@code amount} more fits in the limit; 0 if it fits now or the reset time is unknown
+         */
+        long waitNanos(long amount, long now) {
+            return known && remaining < amount && resets ? Math.max(0, resetAtNanos - now) : 0;
+        }
+
+        void consume(long amount) {
+            if (known) {
+                remaining -= amount;
+            }
+        }
+
+        /**
+         * @return The estimated remaining amount, or null if the provider has not reported this limit
+         */
+        Long remaining() {
+            return known ? remaining : null;
+        }
+    }
+
+    /**
+     * Permission to make one LLM call.
+     *
+     * @param notBeforeNanos {@link System#nanoTime()} at which the call may be made
+     */
+    public record Permit(long notBeforeNanos) {
+
+        static final Permit NONE = new Permit(0);
+    }
+}
@@ -0,0 +1,266 @@
+package com.azharkhalid.aitextsummarizer.service;
+
+import com.azharkhalid.aitextsummarizer.config.SummarizeProperties;
+import com.azharkhalid.aitextsummarizer.metrics.SummarizeMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.ai.retry.NonTransientAiException;
+import org.springframework.ai.retry.TransientAiException;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Retries failed LLM calls, and nothing else: the rest of the summarize pipeline runs once per request.
+ * Only provider failures that may pass are retried: timeouts, 5xx and 429 responses, and connection
+ * errors. Requests the provider rejected for good, and calls this service shed itself (bulkhead,
+ * token budget), fail at once.
+ * Each retry waits {@code backoff}, doubling per retry up to {@code max-backoff}, with jitter so
+ * retries of calls that failed together do not arrive together.
+ * Retries are paid for from a budget that earns {@code budget-percent} percent of a retry per call,
+ * so during an outage retries add at most that share of load instead of multiplying it.
+ * A retry that could not finish before the request's {@link Deadline}, because less than
+ * {@code min-time-left} would remain after its backoff, is not sent.
+ */
+@Slf4j
+@Component
+public class LlmRetrier {
+
+    /**
+     * Most retries the budget can save up, bounding the burst when an outage starts.
+     */
+    private static final double MAX_CREDITS = 10;
+
+    /**
+     * Status code at the start of a Spring AI provider error, e.g. {@code HTTP 429 - {...}}.
+     */
+    private static final Pattern STATUS = Pattern.compile("^(?:HTTP )?(\\d{3}) - ");
+
+    private final SummarizeProperties properties;
+    private final SummarizeMetrics metrics;
+
+    private final Object lock = new Object();
+    private double credits = MAX_CREDITS;
+
+    public LlmRetrier(SummarizeProperties properties, SummarizeMetrics metrics) {
+        this.properties = properties;
+        this.metrics = metrics;
+    }
+
+    /**
+     * Runs the call, and retries it while it fails for a retryable reason, attempts remain and the
+     * budget allows.
+     *
+     * @param call Starts one attempt of the call; invoked again for each retry
+     * @return CompletableFuture completed with the first successful answer, or with the last failure;
+     *         cancelling it cancels the attempt in flight and any pending retry
+     * @throws RuntimeException whatever {@code call} throws when starting the first attempt
+     */
+    public <T> CompletableFuture<T> retry(Supplier<CompletableFuture<T>> call) {
+        return retry(call, Deadline.NONE);
+    }
+
+    /**
+     * Runs the call, and retries it while it fails for a retryable reason, attempts remain, the
+     * budget allows and a retry can still finish before the deadline.
+     *
+     * @param call Starts one attempt of the call; invoked again for each retry
+     * @param deadline The deadline of the request the call serves
+     * @return CompletableFuture completed with the first successful answer, or with the last failure;
+     *         cancelling it cancels the attempt in flight and any pending retry
+     * @throws RuntimeException whatever {@code call} throws when starting the first attempt
+     */
+    public <T> CompletableFuture<T> retry(Supplier<CompletableFuture<T>> call, Deadline deadline) {
+        synchronized (lock) {
+            credits = Math.min(MAX_CREDITS, credits + properties.getRetry().getBudgetPercent() / 100);
+        }
+        if (properties.getRetry().getMaxAttempts() <= 1) {
+            return call.get();
+        }
+
+        Attempts<T> attempts = new Attempts<>(call, deadline);
+        attempts.follow(call.get(), 1);
+        attempts.result.whenComplete((value, throwable) -> {
+            if (attempts.result.isCancelled()) {
+                attempts.cancelCurrent();
+            }
+        });
+        return attempts.result;
+    }
+
+    /**
+     * @return Retries the budget can pay for right now
+     */
+    public int getAvailableRetries() {
+        synchronized (lock) {
+            return (int) Math.floor(credits);
+        }
+    }
+
+    /**
+     * Classifies a failed LLM call.
+     *
+     * @param throwable The failure
+     * @return The reason the call may succeed if retried, used as a metric tag; null if it should not be retried
+     */
+    static String retryReason(Throwable throwable) {
+        Throwable cause = unwrap(throwable);
+        if (cause instanceof TimeoutException) {
+            return "timeout";
+        }
+        if (cause instanceof ResourceAccessException) {
+            return "connection";
+        }
+        if (cause instanceof HttpClientErrorException.TooManyRequests) {
+            return "rate_limited";
+        }
+        if (cause instanceof HttpServerErrorException) {
+            return "server_error";
+        }
+        if (cause instanceof TransientAiException || cause instanceof NonTransientAiException) {
+            // Spring AI reports 4xx responses as non-transient, including 429
+            int status = statusOf(cause.getMessage());
+            if (status == 429) {
+                return "rate_limited";
+            }
+            return cause instanceof TransientAiException ? "server_error" : null;
+        }
+        return null;
+    }
+
+    /**
+     * @return Time to wait before the given retry: the backoff doubled per earlier retry, capped, with jitter
+     */
+    Duration backoff(int retry) {
+        SummarizeProperties.RetryConfig config = properties.getRetry();
+        long base = config.getBackoff().toMillis() << Math.min(retry - 1, 20);
+        if (config.getMaxBackoff() != null) {
+            base = Math.min(base, config.getMaxBackoff().toMillis());
+        }
+        if (base <= 1) {
+            return Duration.ofMillis(Math.max(0, base));
+        }
+        // Wait between half and all of the backoff
+        return Duration.ofMillis(base / 2 + ThreadLocalRandom.current().nextLong(base - base / 2 + 1));
+    }
+
+    private boolean tryTakeCredit() {
+        synchronized (lock) {
+            if (credits < 1) {
+                return false;
+            }
+            credits--;
+            return true;
+        }
+    }
+
+    private static int statusOf(String message) {
+        if (message == null) {
+            return -1;
+        }
+        Matcher matcher = STATUS.matcher(message);
+        return matcher.find() ? Integer.parseInt(matcher.group(1)) : -1;
+    }
+
+    private static Throwable unwrap(Throwable throwable) {
+        while ((throwable instanceof CompletionException || throwable instanceof ExecutionException)
+                && throwable.getCause() != null) {
+            throwable = throwable.getCause();
+        }
+        return throwable;
+    }
+
+    /**
+     * The attempts of one retried call, made one after another.
+     */
+    private final class Attempts<T> {
+
+        private final Supplier<CompletableFuture<T>> call;
+        private final Deadline deadline;
+        private final CompletableFuture<T> result = new CompletableFuture<>();
+        private volatile CompletableFuture<T> current;
+
+        Attempts(Supplier<CompletableFuture<T>> call, Deadline deadline) {
+            this.call = call;
+            this.deadline = deadline;
+        }
+
+        /**
+         * Passes the outcome of an attempt on to the result, or retries it.
+         */
+        void follow(CompletableFuture<T> attempt, int number) {
+            current = attempt;
+            if (result.isDone()) {
+                // Cancelled while this attempt was starting
+                attempt.cancel(true);
+                return;
+            }
+            attempt.whenComplete((value, throwable) -> {
+                if (throwable == null) {
+                    result.complete(value);
+                } else {
+                    failed(throwable, number);
+                }
+            });
+        }
+
+        private void failed(Throwable throwable, int number) {
+            if (result.isDone()) {
+                return;
+            }
+            String reason = retryReason(throwable);
+            if (reason == null || number >= properties.getRetry().getMaxAttempts()) {
+                result.completeExceptionally(throwable);
+                return;
+            }
+            Duration delay = backoff(number);
+            if (!deadline.allows(delay.plus(properties.getRetry().getMinTimeLeft()))) {
+                log.info("LLM call failed ({}), too close to the request deadline to retry", reason);
+                metrics.recordLlmRetry(reason, "deadline");
+                result.completeExceptionally(throwable);
+                return;
+            }
+            if (!tryTakeCredit()) {
+                log.warn("LLM call failed ({}), retry budget exhausted, not retrying", reason);
+                metrics.recordLlmRetry(reason, "budget_exhausted");
+                result.completeExceptionally(throwable);
+                return;
+            }
+            metrics.recordLlmRetry(reason, "retried");
+
+            log.info("LLM call failed ({}), retrying attempt {} in {} ms", reason, number + 1, delay.toMillis());
+            CompletableFuture.delayedExecutor(delay.toNanos(), TimeUnit.NANOSECONDS).execute(() -> {
+                if (result.isDone()) {
+                    return;
+                }
+                CompletableFuture<T> next;
+                try {
+                    next = call.get();
+                } catch (RuntimeException e) {
+                    // No capacity for the retry, e.g. the bulkhead is full
+                    result.completeExceptionally(e);
+                    return;
+                }
+                follow(next, number + 1);
+            });
+        }
+
+        void cancelCurrent() {
+            CompletableFuture<T> attempt = current;
+            if (attempt != null) {
+                attempt.cancel(true);
+            }
+        }
+    }
+}
@@ -1,9 +1,16 @@
 package com.azharkhalid.aitextsummarizer.service;
 
 import com.azharkhalid.aitextsummarizer.enums.SummaryStyle;
+import com.azharkhalid.aitextsummarizer.util.HashUtils;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
 /**
  * Service responsible for constructing prompts for the LLM.
  */
@@ -34,6 +41,56 @@ public class PromptService {
         "---\n" +
         "%s";
 
+    /**
+     * Template for summarizing one chunk of a long document (map step).
+     * Asks for a fact-preserving summary since it is combined with the other chunks later.
+     */
+    private static final String CHUNK_PROMPT_TEMPLATE =
+        "The following text is part %d of %d of a longer document. " +
+        "Summarize this part, preserving its key facts, figures and conclusions " +
+        "so it can be combined with summaries of the other parts.\n\n" +
+        "---\n" +
+        "%s";
+
+    /**
+     * Template for combining partial summaries of a long document (reduce step).
+     */
+    private static final String COMBINE_PROMPT_TEMPLATE =
+        "The following are summaries of consecutive parts of a longer document, in order. " +
+        "Combine them into a single summary of the whole document using a %s style.%s\n\n" +
+        "%s\n\n" +
+        "---\n" +
+        "%s";
+
+    /**
+     * Template for summarizing several short texts in one call.
+     * Each text follows a {@code [[TEXT n]]} line, and each summary must follow a {@code [[SUMMARY n]]}
+     * line, so the answer can be split back into one summary per text.
+     */
+    private static final String BATCH_PROMPT_TEMPLATE =
+        "Summarize each of the following %d texts separately using a %s style.%s\n\n" +
+        "%s\n\n" +
+        "Each text starts with a line [[TEXT n]]. Answer with one summary per text, in the same order, " +
+        "each starting with a line [[SUMMARY n]], and nothing else.\n\n" +
+        "---\n" +
+        "%s";
+
+    /**
+     * Matches the summary markers in the answer to a batch prompt.
+     */
+    private static final Pattern SUMMARY_MARKER = Pattern.compile("(?m)^[ \\t]*\\[\\[SUMMARY (\\d+)]][ \\t]*$");
+
+    /**
+     * Matches anything in a text that could be mistaken for a batch marker.
+     */
+    private static final Pattern BATCH_MARKER = Pattern.compile("(?i)\\[\\[\\s*(TEXT|SUMMARY)");
+
+    /**
+     * Fingerprint of every template that shapes the LLM output.
+     * Changes whenever the prompts or style suffixes change, which invalidates cached summaries.
+     */
+    private static final String TEMPLATE_FINGERPRINT = computeTemplateFingerprint();
+
     /**
      * Builds the complete prompt for the LLM based on the request parameters.
      *
@@ -60,6 +117,112 @@ public class PromptService {
         return prompt;
     }
 
+    /**
+     * Builds the prompt for summarizing one chunk of a long document.
+     *
+     * @param chunk The chunk text
+     * @param part The 1-based position of the chunk
+     * @param totalParts The total number of chunks
+     * @return The constructed prompt string
+     */
+    public String buildChunkPrompt(String chunk, int part, int totalParts) {
+        log.debug("Building chunk prompt for part {} of {}", part, totalParts);
+        return String.format(CHUNK_PROMPT_TEMPLATE, part, totalParts, chunk);
+    }
+
+    /**
+     * Builds the prompt for combining partial summaries of a long document.
+     *
+     * @param partialSummaries The partial summaries, in document order, separated by blank lines
+     * @param style The desired summary style
+     * @param maxLength Optional maximum length in words
+     * @return The constructed prompt string
+     */
+    public String buildCombinePrompt(String partialSummaries, SummaryStyle style, Integer maxLength) {
+        log.debug("Building combine prompt with style: {}, maxLength: {}", style, maxLength);
+
+        String lengthConstraint = buildLengthConstraint(maxLength);
+
+        return String.format(
+            COMBINE_PROMPT_TEMPLATE,
+            style.name().toLowerCase(),
+            lengthConstraint,
+            style.getPromptSuffix() + ". " + lengthConstraint,
+            partialSummaries
+        );
+    }
+
+    /**
+     * Builds the prompt for summarizing several texts in one call, all in the same style.
+     *
+     * @param texts The texts to summarize; none may contain a batch marker (see {@link #isBatchable})
+     * @param style The desired summary style
+     * @param maxLength Optional maximum length in words, per summary
+     * @return The constructed prompt string
+     */
+    public String buildBatchPrompt(List<String> texts, SummaryStyle style, Integer maxLength) {
+        log.debug("Building batch prompt for {} texts with style: {}, maxLength: {}", texts.size(), style, maxLength);
+
+        String lengthConstraint = buildLengthConstraint(maxLength);
+        StringBuilder items = new StringBuilder();
+        for (int i = 0; i < texts.size(); i++) {
+            if (i > 0) {
+                items.append("\n\n");
+            }
+            items.append("[[TEXT ").append(i + 1).append("]]\n").append(texts.get(i));
+        }
+
+        return String.format(
+            BATCH_PROMPT_TEMPLATE,
+            texts.size(),
+            style.name().toLowerCase(),
+            lengthConstraint,
+            style.getPromptSuffix() + ". " + lengthConstraint,
+            items
+        );
+    }
+
+    /**
+     * Splits the answer to a batch prompt into one summary per text.
+     *
+     * @param content The LLM answer
+     * @param count The number of texts in the batch prompt
+     * @return The summaries in text order, or empty unless the answer has exactly one non-blank
+     *         summary per text, in order
+     */
+    public Optional<List<String>> parseBatchSummaries(String content, int count) {
+        if (content == null) {
+            return Optional.empty();
+        }
+        Matcher matcher = SUMMARY_MARKER.matcher(content);
+        List<String> summaries = new ArrayList<>(count);
+        int bodyStart = -1;
+        while (matcher.find()) {
+            if (bodyStart >= 0) {
+                summaries.add(content.substring(bodyStart, matcher.start()).trim());
+            }
+            if (Integer.parseInt(matcher.group(1)) != summaries.size() + 1) {
+                return Optional.empty();
+            }
+            bodyStart = matcher.end();
+        }
+        if (bodyStart >= 0) {
+            summaries.add(content.substring(bodyStart).trim());
+        }
+        if (summaries.size() != count || summaries.stream().anyMatch(String::isEmpty)) {
+            return Optional.empty();
+        }
+        return Optional.of(summaries);
+    }
+
+    /**
+     * @param text The sanitized text
+     * @return Whether the text can share a batch prompt; texts containing a batch marker cannot
+     */
+    public boolean isBatchable(String text) {
+        return !BATCH_MARKER.matcher(text).find();
+    }
+
     /**
      * Returns the system prompt that defines the AI's behavior.
      *
@@ -69,6 +232,26 @@ public class PromptService {
         return SYSTEM_PROMPT;
     }
 
+    /**
+     * Returns a hash of the system prompt, prompt templates and style suffixes.
+     *
+     * @return Hex-encoded SHA-256 fingerprint of the prompt templates
+     */
+    public String getTemplateFingerprint() {
+        return TEMPLATE_FINGERPRINT;
+    }
+
+    private static String computeTemplateFingerprint() {
+        String[] parts = new String[SummaryStyle.values().length + 3];
+        parts[0] = SYSTEM_PROMPT;
+        parts[1] = PROMPT_TEMPLATE;
+        parts[2] = BATCH_PROMPT_TEMPLATE;
+        for (SummaryStyle style : SummaryStyle.values()) {
+            parts[style.ordinal() + 3] = style.name() + ":" + style.getPromptSuffix();
+        }
+        return HashUtils.sha256Hex(parts);
+    }
+
     /**
      * Builds a length constraint string for the prompt.
      *
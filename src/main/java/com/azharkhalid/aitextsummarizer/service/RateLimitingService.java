@@ -1,43 +1,217 @@
 package com.azharkhalid.aitextsummarizer.service;
 
+import com.azharkhalid.aitextsummarizer.config.SummarizeProperties;
 import com.azharkhalid.aitextsummarizer.exception.RateLimitExceededException;
-import io.github.resilience4j.ratelimiter.annotation.RateLimiter;
+import com.azharkhalid.aitextsummarizer.metrics.SummarizeMetrics;
+import com.azharkhalid.aitextsummarizer.util.HashUtils;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 
 /**
  * Service that applies rate limiting to the summarize API.
- * Uses Resilience4j RateLimiter to prevent abuse and ensure fair usage.
+ * Each client gets its own token bucket, so one noisy client cannot use up everyone else's quota.
+ * Clients presenting a configured API key are limited by the tier of that key; everyone else is
+ * limited per client IP address on the default tier. Unknown API keys count as anonymous, so
+ * inventing keys does not buy fresh quota.
+ * The remaining quota is reported in the {@code X-RateLimit-*} response headers.
+ * By default a client over its limit is rejected at once, with the time until its next token as
+ * the retry delay, so no request thread is parked while the service is overloaded. Setting
+ * {@code max-wait} lets requests wait that long for a token instead.
  */
 @Slf4j
 @Service
 public class RateLimitingService {
 
-    private static final String RATE_LIMITER_NAME = "summarizeApi";
+    public static final String LIMIT_HEADER = "X-RateLimit-Limit";
+    public static final String REMAINING_HEADER = "X-RateLimit-Remaining";
+    public static final String RESET_HEADER = "X-RateLimit-Reset";
+
+    /**
+     * Client key used when there is no current HTTP request, e.g. for calls made outside a controller.
+     */
+    static final String LOCAL_CLIENT = "local";
+
+    private static final SummarizeProperties.TierConfig FALLBACK_TIER = new SummarizeProperties.TierConfig();
+
+    private final SummarizeProperties properties;
+    private final SummarizeMetrics metrics;
+    private final Map<String, TokenBucket> buckets = new ConcurrentHashMap<>();
 
     /**
-     * Checks if the request is within rate limits.
+     * Set while running work that was already rate limited when it was accepted, such as a queued job.
+     */
+    private final ThreadLocal<Boolean> admitted = ThreadLocal.withInitial(() -> false);
+
+    public RateLimitingService(SummarizeProperties properties, SummarizeMetrics metrics) {
+        this.properties = properties;
+        this.metrics = metrics;
+    }
+
+    /**
+     * Checks if the current client's request is within its rate limit.
      * Throws RateLimitExceededException if limit is exceeded.
      *
      * @throws RateLimitExceededException if rate limit is exceeded
      */
-    @RateLimiter(name = RATE_LIMITER_NAME, fallbackMethod = "rateLimitFallback")
     public void checkRateLimit() {
-        log.debug("Request within rate limit");
-        // If we reach here, the request is within the rate limit
+        SummarizeProperties.RateLimitConfig config = properties.getRateLimit();
+        if (!config.isEnabled() || admitted.get()) {
+            return;
+        }
+
+        ServletRequestAttributes attributes = currentRequest();
+        Client client = resolveClient(attributes != null ? attributes.getRequest() : null);
+
+        SummarizeProperties.TierConfig tier = config.getTiers().getOrDefault(client.tier(), FALLBACK_TIER);
+        long now = System.nanoTime();
+        TokenBucket.Probe probe = buckets
+                .computeIfAbsent(client.key(), key -> new TokenBucket(
+                        tier.getLimitForPeriod(), tier.getRefreshPeriod().toNanos(), now))
+                .tryConsume(now, config.getMaxWait().toNanos());
+
+        if (attributes != null && attributes.getResponse() != null) {
+            writeHeaders(attributes.getResponse(), probe);
+        }
+
+        if (!probe.consumed()) {
+            log.warn("Rate limit exceeded for client {}", client.key());
+            throw new RateLimitExceededException(String.format(
+                    "Rate limit exceeded. Maximum %d requests per %s allowed. Please try again later.",
+                    tier.getLimitForPeriod(), format(tier.getRefreshPeriod())),
+                    Duration.ofNanos(probe.nanosUntilNextToken()));
+        }
+
+        if (probe.waitNanos() > 0) {
+            awaitReservedToken(client, probe.waitNanos());
+        }
+
+        log.debug("Request within rate limit for client {}, {} remaining", client.key(), probe.remaining());
     }
 
     /**
-     * Fallback method when rate limit is exceeded.
+     * Runs work that already passed the rate limit when it was accepted, without charging the
+     * client again. Used for jobs, which run on a worker thread with no HTTP request to identify
+     * the client by.
      *
-     * @param exception The exception that triggered the fallback
-     * @throws RateLimitExceededException always
-     */
-    private void rateLimitFallback(Exception exception) {
-        log.warn("Rate limit exceeded: {}", exception.getMessage());
-        throw new RateLimitExceededException(
-                "Rate limit exceeded. Maximum 10 requests per minute allowed. " +
-                        "Please try again later."
-        );
+     * @param work The work to run on the current thread
+     * @return The result of {@code work}
+     */
+    public <T> T runAdmitted(Supplier<T> work) {
+        admitted.set(true);
+        try {
+            return work.get();
+        } finally {
+            admitted.remove();
+        }
+    }
+
+    /**
+     * Parks the request thread until its reserved token becomes usable.
+     * Only reached when {@code max-wait} is positive; the number of parked threads is a gauge.
+     */
+    private void awaitReservedToken(Client client, long waitNanos) {
+        log.debug("Client {} waiting {} ms for a rate limit token", client.key(),
+                TimeUnit.NANOSECONDS.toMillis(waitNanos));
+        metrics.incrementRateLimitWaiting();
+        try {
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RateLimitExceededException("Interrupted while waiting for the rate limit. Please try again later.",
+                    Duration.ofNanos(waitNanos));
+        } finally {
+            metrics.decrementRateLimitWaiting();
+        }
+    }
+
+    /**
+     * Drops the buckets of clients that have been idle for longer than the configured idle timeout.
+     * An evicted client starts again with a full bucket, which it would have had by then anyway
+     * as long as the idle timeout is at least the tier's refresh period.
+     */
+    @Scheduled(
+            fixedDelayString = "${ai.summarizer.rate-limit.eviction-interval:1m}",
+            initialDelayString = "${ai.summarizer.rate-limit.eviction-interval:1m}"
+    )
+    public void evictIdleBuckets() {
+        long cutoff = System.nanoTime() - properties.getRateLimit().getIdleTimeout().toNanos();
+        int before = buckets.size();
+        buckets.values().removeIf(bucket -> bucket.getLastAccessNanos() - cutoff < 0);
+        int evicted = before - buckets.size();
+        if (evicted > 0) {
+            log.debug("Evicted {} idle rate limit buckets, {} remaining", evicted, buckets.size());
+        }
+    }
+
+    /**
+     * @return Number of clients that currently have a bucket
+     */
+    public int getTrackedClients() {
+        return buckets.size();
+    }
+
+    /**
+     * Identifies the client: API key clients by a hash of their key, which keeps raw keys out of
+     * logs and heap dumps, and everyone else by IP address.
+     */
+    private Client resolveClient(HttpServletRequest request) {
+        SummarizeProperties.RateLimitConfig config = properties.getRateLimit();
+        if (request == null) {
+            return new Client(config.getDefaultTier() + ":" + LOCAL_CLIENT, config.getDefaultTier());
+        }
+
+        String apiKey = request.getHeader(config.getApiKeyHeader());
+        String keyTier = apiKey != null ? config.getApiKeys().get(apiKey) : null;
+        if (keyTier != null) {
+            return new Client(keyTier + ":key-" + HashUtils.sha256Hex(apiKey).substring(0, 16), keyTier);
+        }
+        return new Client(config.getDefaultTier() + ":" + request.getRemoteAddr(), config.getDefaultTier());
+    }
+
+    private static ServletRequestAttributes currentRequest() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        return attributes instanceof ServletRequestAttributes servletAttributes ? servletAttributes : null;
+    }
+
+    private static void writeHeaders(HttpServletResponse response, TokenBucket.Probe probe) {
+        response.setHeader(LIMIT_HEADER, String.valueOf(probe.limit()));
+        response.setHeader(REMAINING_HEADER, String.valueOf(probe.remaining()));
+        response.setHeader(RESET_HEADER, String.valueOf(toSecondsRoundedUp(probe.nanosUntilFull())));
+    }
+
+    static long toSecondsRoundedUp(long nanos) {
+        return (nanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1);
+    }
+
+    /**
+     * @param key Bucket key, prefixed with the tier so a key moved to another tier gets a new bucket
+     * @param tier Name of the client's tier
+     */
+    private record Client(String key, String tier) {
+    }
+
+    private static String format(Duration period) {
+        if (period.equals(Duration.ofMinutes(1))) {
+            return "minute";
+        }
+        if (period.equals(Duration.ofSeconds(1))) {
+            return "second";
+        }
+        if (period.equals(Duration.ofHours(1))) {
+            return "hour";
+        }
+        return period.getSeconds() + " seconds";
     }
 }
@@ -0,0 +1,125 @@
+package com.azharkhalid.aitextsummarizer.service;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent calls with the same key into one: the first caller starts the call, and
+ * callers arriving while it is in flight wait for the same result instead of starting their own.
+ * Each caller gets its own view of the shared call. Cancelling a view only detaches that caller;
+ * the shared call is cancelled once every caller has given up on it.
+ * A key is forgotten as soon as its call completes, so this never serves stale results.
+ *
+ * @param <K> Key type
+ * @param <V> Result type
+ */
+final class SingleFlight<K, V> {
+
+    private final Map<K, Flight<V>> flights = new ConcurrentHashMap<>();
+
+    /**
+     * Joins the call in flight for {@code key}, or starts one.
+     *
+     * @param key Identifies equivalent calls
+     * @param call Starts the call; only invoked by the first caller
+     * @return This caller's view of the call, and whether this caller started it
+     * @throws RuntimeException whatever {@code call} throws when this caller starts it
+     */
+    Joined<V> join(K key, Supplier<CompletableFuture<V>> call) {
+        while (true) {
+            Flight<V> existing = flights.get(key);
+            if (existing != null) {
+                CompletableFuture<V> view = existing.join();
+                if (view != null) {
+                    return new Joined<>(view, false);
+                }
+                // Completed but not yet removed; start a new flight
+                flights.remove(key, existing);
+                continue;
+            }
+
+            Flight<V> flight = new Flight<>();
+            if (flights.putIfAbsent(key, flight) != null) {
+                continue;
+            }
+            // Join before starting, so a fast call cannot complete the flight before its first caller
+            CompletableFuture<V> view = flight.join();
+            flight.shared.whenComplete((result, throwable) -> flights.remove(key, flight));
+            flight.start(call);
+            return new Joined<>(view, true);
+        }
+    }
+
+    /**
+     * @return Number of calls currently in flight
+     */
+    int size() {
+        return flights.size();
+    }
+
+    /**
+     * One caller's part in a coalesced call.
+     *
+     * @param future Completes with the shared result; cancel it to give up on the call
+     * @param leader Whether this caller started the call
+     */
+    record Joined<V>(CompletableFuture<V> future, boolean leader) {
+    }
+
+    private static final class Flight<V> {
+
+        private final CompletableFuture<V> shared = new CompletableFuture<>();
+        private int waiters;
+
+        /**
+         * Starts the call and ties it to the shared future both ways: its outcome completes the
+         * shared future, and cancelling the shared future cancels it.
+         */
+        void start(Supplier<CompletableFuture<V>> call) {
+            CompletableFuture<V> started;
+            try {
+                started = call.get();
+            } catch (RuntimeException e) {
+                shared.completeExceptionally(e);
+                throw e;
+            }
+            started.whenComplete((result, throwable) -> {
+                if (throwable != null) {
+                    shared.completeExceptionally(throwable);
+                } else {
+                    shared.complete(result);
+                }
+            });
+            shared.whenComplete((result, throwable) -> {
+                if (shared.isCancelled()) {
+                    started.cancel(true);
+                }
+            });
+        }
+
+        /**
+         * @return A new view of the shared future, or null if the call has already completed
+         */
+        synchronized CompletableFuture<V> join() {
+            if (shared.isDone()) {
+                return null;
+            }
+            waiters++;
+            CompletableFuture<V> view = shared.copy();
+            view.whenComplete((result, throwable) -> {
+                if (view.isCancelled()) {
+                    leave();
+                }
+            });
+            return view;
+        }
+
+        private synchronized void leave() {
+            if (--waiters == 0) {
+                shared.cancel(true);
+            }
+        }
+    }
+}
@@ -0,0 +1,475 @@
+package com.azharkhalid.aitextsummarizer.service;
+
+import com.azharkhalid.aitextsummarizer.config.SummarizeProperties;
+import com.azharkhalid.aitextsummarizer.dto.request.DocumentSummarizeRequest;
+import com.azharkhalid.aitextsummarizer.dto.request.SummarizeJobRequest;
+import com.azharkhalid.aitextsummarizer.dto.request.SummarizeRequest;
+import com.azharkhalid.aitextsummarizer.dto.response.ErrorResponse;
+import com.azharkhalid.aitextsummarizer.dto.response.SummarizeJobResponse;
+import com.azharkhalid.aitextsummarizer.dto.response.SummarizeResponse;
+import com.azharkhalid.aitextsummarizer.enums.JobStatus;
+import com.azharkhalid.aitextsummarizer.exception.InvalidInputException;
+import com.azharkhalid.aitextsummarizer.exception.JobNotFoundException;
+import com.azharkhalid.aitextsummarizer.exception.RateLimitExceededException;
+import com.azharkhalid.aitextsummarizer.exception.ServiceOverloadedException;
+import com.azharkhalid.aitextsummarizer.metrics.SummarizeMetrics;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.UnknownHostException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs summarizations as asynchronous jobs, so clients with long documents or batches do not hold
+ * a connection open while the LLM works. A job is accepted at once and summarized by one of the
+ * {@code jobExecutor} workers; clients poll it, or name a callback URL that receives it when done.
+ * Every state change is written to the {@link JobLog} before it takes effect, and on startup the
+ * log is replayed: jobs that were queued or running when the service stopped are run again.
+ * Finished jobs can be fetched for the configured retention, then are dropped.
+ */
+@Slf4j
+@Service
+public class SummarizeJobService {
+
+    private final SummarizeService summarizeService;
+    private final DocumentSummarizeService documentSummarizeService;
+    private final RateLimitingService rateLimitingService;
+    private final SummarizeProperties properties;
+    private final SummarizeMetrics metrics;
+    private final AsyncTaskExecutor jobExecutor;
+    private final ObjectMapper objectMapper;
+    private final HttpClient httpClient;
+
+    private final Map<String, Job> jobs = new ConcurrentHashMap<>();
+    private final AtomicInteger queued = new AtomicInteger();
+    private final AtomicInteger running = new AtomicInteger();
+    private JobLog jobLog;
+
+    public SummarizeJobService(SummarizeService summarizeService, DocumentSummarizeService documentSummarizeService,
+                               RateLimitingService rateLimitingService, SummarizeProperties properties,
+                               SummarizeMetrics metrics, AsyncTaskExecutor jobExecutor, ObjectMapper objectMapper) {
+        this.summarizeService = summarizeService;
+        this.documentSummarizeService = documentSummarizeService;
+        this.rateLimitingService = rateLimitingService;
+        this.properties = properties;
+        this.metrics = metrics;
+        this.jobExecutor = jobExecutor;
+        this.objectMapper = objectMapper;
+        // Webhook receivers are plain HTTP/1.1 endpoints; skip the h2c upgrade attempt
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(properties.getJobs().getCallbackTimeout())
+                .build();
+    }
+
+    /**
+     * Opens the job log and resumes the jobs that had not finished when the service last stopped.
+     */
+    @PostConstruct
+    public void start() {
+        jobLog = new JobLog(Path.of(properties.getJobs().getLogFile()), objectMapper);
+
+        Instant cutoff = Instant.now().minus(properties.getJobs().getRetention());
+        List<Job> unfinished = new ArrayList<>();
+        for (JobLog.Entry entry : jobLog.replay()) {
+            if (entry.status().isTerminal() && entry.completedAt().isBefore(cutoff)) {
+                continue;
+            }
+            if (!entry.status().isTerminal() && entry.request() == null) {
+                log.warn("Dropping job {} from the job log: its request is missing", entry.jobId());
+                continue;
+            }
+            Job job = Job.from(entry);
+            jobs.put(job.id, job);
+            if (!entry.status().isTerminal()) {
+                unfinished.add(job);
+            }
+        }
+        compactLog();
+
+        for (Job job : unfinished) {
+            queued.incrementAndGet();
+            enqueue(job);
+        }
+        log.info("Job log {} replayed: {} jobs, {} resumed", properties.getJobs().getLogFile(), jobs.size(),
+                unfinished.size());
+    }
+
+    @PreDestroy
+    public void stop() throws IOException {
+        // Jobs still running stay in the log and run again on the next start
+        jobLog.close();
+    }
+
+    /**
+     * Accepts a summarization job. The job is durable in the job log before this returns.
+     * The rate limit is charged once per job, here.
+     *
+     * @param request The job request
+     * @return The queued job
+     * @throws RateLimitExceededException if the client is over its rate limit
+     * @throws InvalidInputException if the callback URL may not be called
+     * @throws ServiceOverloadedException if the job queue is full
+     */
+    public SummarizeJobResponse submit(SummarizeJobRequest request) {
+        rateLimitingService.checkRateLimit();
+        if (request.getCallbackUrl() != null) {
+            checkCallbackUrl(request.getCallbackUrl());
+        }
+
+        SummarizeProperties.JobsConfig config = properties.getJobs();
+        if (queued.incrementAndGet() > config.getQueueCapacity()) {
+            queued.decrementAndGet();
+            log.warn("Job queue full ({} jobs), rejecting job", config.getQueueCapacity());
+            throw new ServiceOverloadedException("Job queue is full, please try again later", config.getRetryAfter());
+        }
+
+        Job job = new Job(UUID.randomUUID().toString(), request, Instant.now());
+        try {
+            append(job);
+        } catch (RuntimeException e) {
+            queued.decrementAndGet();
+            throw e;
+        }
+        jobs.put(job.id, job);
+        enqueue(job);
+
+        log.info("Accepted job {} for text of length: {}", job.id, request.getText().length());
+        return job.toResponse();
+    }
+
+    /**
+     * Returns a job's status, and its result once it has finished.
+     *
+     * @param jobId The job identifier
+     * @return The job
+     * @throws JobNotFoundException if there is no such job, or it has expired
+     */
+    public SummarizeJobResponse getJob(String jobId) {
+        Job job = jobs.get(jobId);
+        if (job == null) {
+            throw new JobNotFoundException("Job not found: " + jobId);
+        }
+        return job.toResponse();
+    }
+
+    /**
+     * Drops finished jobs older than the retention, and rewrites the job log without them.
+     */
+    @Scheduled(
+            fixedDelayString = "${ai.summarizer.jobs.cleanup-interval:10m}",
+            initialDelayString = "${ai.summarizer.jobs.cleanup-interval:10m}"
+    )
+    public void removeExpiredJobs() {
+        Instant cutoff = Instant.now().minus(properties.getJobs().getRetention());
+        int before = jobs.size();
+        jobs.values().removeIf(job -> job.isExpired(cutoff));
+        int removed = before - jobs.size();
+        if (removed > 0) {
+            compactLog();
+            log.debug("Removed {} expired jobs, {} remaining", removed, jobs.size());
+        }
+    }
+
+    private void enqueue(Job job) {
+        publishMetrics();
+        jobExecutor.execute(() -> run(job));
+    }
+
+    /**
+     * Summarizes one job on a worker thread, blocking it until the summary is done.
+     */
+    private void run(Job job) {
+        queued.decrementAndGet();
+        running.incrementAndGet();
+        publishMetrics();
+        try {
+            job.start(Instant.now());
+            append(job);
+            metrics.recordJobAge("started", job.age());
+
+            CompletableFuture<SummarizeResponse> summary = null;
+            try {
+                summary = rateLimitingService.runAdmitted(() -> summarize(job.request));
+                job.succeed(summary.get(), Instant.now());
+            } catch (InterruptedException e) {
+                // Shutting down; the log still has the job as running, so it runs again on the next start
+                if (summary != null) {
+                    summary.cancel(true);
+                }
+                Thread.currentThread().interrupt();
+                log.info("Job {} interrupted, will resume on the next start", job.id);
+                return;
+            } catch (ExecutionException e) {
+                job.fail(ErrorResponses.of(e.getCause()), Instant.now());
+            } catch (RuntimeException e) {
+                job.fail(ErrorResponses.of(e), Instant.now());
+            }
+
+            append(job);
+            metrics.recordJobAge("completed", job.age());
+            metrics.recordJobCompleted(job.status.name());
+            log.info("Job {} finished: {}", job.id, job.status);
+
+            deliverCallback(job, 1);
+        } catch (RuntimeException e) {
+            log.error("Job {} could not be recorded in the job log", job.id, e);
+        } finally {
+            running.decrementAndGet();
+            publishMetrics();
+        }
+    }
+
+    /**
+     * Summarizes the job text: in one pass when it fits, otherwise as a long document.
+     */
+    private CompletableFuture<SummarizeResponse> summarize(SummarizeJobRequest request) {
+        if (request.getText().length() > properties.getMaxInputLength()) {
+            return documentSummarizeService.summarizeDocument(DocumentSummarizeRequest.builder()
+                    .text(request.getText())
+                    .maxLength(request.getMaxLength())
+                    .summaryStyle(request.getSummaryStyle())
+                    .build());
+        }
+        return summarizeService.summarize(SummarizeRequest.builder()
+                .text(request.getText())
+                .maxLength(request.getMaxLength())
+                .summaryStyle(request.getSummaryStyle())
+                .build());
+    }
+
+    /**
+     * Checks that a callback URL may be called, so clients cannot make the service send requests into
+     * its own network: it must be an http or https URL, and unless private addresses are allowed, its host
+     * must be one of the allowed hosts and every address it resolves to must be public. The allowlist is
+     * what keeps callbacks out: the HTTP client resolves the host again when it connects, so a host whose
+     * DNS answer changes in between would pass the address check alone.
+     *
+     * @param callbackUrl The callback URL
+     * @throws InvalidInputException if the callback URL may not be called
+     */
+    private void checkCallbackUrl(String callbackUrl) {
+        URI uri;
+        try {
+            uri = new URI(callbackUrl);
+        } catch (URISyntaxException e) {
+            throw new InvalidInputException("callbackUrl is not a valid URL");
+        }
+        String host = uri.getHost();
+        if (host == null || !("http".equalsIgnoreCase(uri.getScheme()) || "https".equalsIgnoreCase(uri.getScheme()))) {
+            throw new InvalidInputException("callbackUrl must be an http or https URL");
+        }
+
+        SummarizeProperties.JobsConfig config = properties.getJobs();
+        List<String> allowedHosts = config.getCallbackAllowedHosts();
+        if (allowedHosts.isEmpty() && !config.isCallbackAllowPrivateAddresses()) {
+            throw new InvalidInputException(
+                    "Callbacks are disabled: no callback hosts are configured (ai.summarizer.jobs.callback-allowed-hosts)");
+        }
+        if (!allowedHosts.isEmpty() && allowedHosts.stream().noneMatch(host::equalsIgnoreCase)) {
+            throw new InvalidInputException("callbackUrl host is not allowed: " + host);
+        }
+        if (config.isCallbackAllowPrivateAddresses()) {
+            return;
+        }
+
+        InetAddress[] addresses;
+        try {
+            addresses = InetAddress.getAllByName(host);
+        } catch (UnknownHostException e) {
+            throw new InvalidInputException("callbackUrl host cannot be resolved: " + host);
+        }
+        for (InetAddress address : addresses) {
+            if (isPrivate(address)) {
+                throw new InvalidInputException("callbackUrl must not point to a local or private address");
+            }
+        }
+    }
+
+    /**
+     * Whether an address is not reachable from the public internet: wildcard, loopback, link-local
+     * (including cloud metadata endpoints), site-local, multicast, carrier-grade NAT or IPv6 unique-local.
+     */
+    static boolean isPrivate(InetAddress address) {
+        if (address.isAnyLocalAddress() || address.isLoopbackAddress() || address.isLinkLocalAddress()
+                || address.isSiteLocalAddress() || address.isMulticastAddress()) {
+            return true;
+        }
+        byte[] bytes = address.getAddress();
+        if (bytes.length == 4) {
+            // 100.64.0.0/10
+            return (bytes[0] & 0xff) == 100 && (bytes[1] & 0xc0) == 64;
+        }
+        // fc00::/7
+        return (bytes[0] & 0xfe) == 0xfc;
+    }
+
+    /**
+     * POSTs the finished job to its callback URL, if it has one, retrying with a growing delay.
+     */
+    private void deliverCallback(Job job, int attempt) {
+        String callbackUrl = job.request.getCallbackUrl();
+        if (callbackUrl == null) {
+            return;
+        }
+
+        SummarizeProperties.JobsConfig config = properties.getJobs();
+        HttpRequest request;
+        try {
+            // Checked again on every attempt: a job replayed from the log may predate the current settings
+            checkCallbackUrl(callbackUrl);
+            request = HttpRequest.newBuilder(URI.create(callbackUrl))
+                    .timeout(config.getCallbackTimeout())
+                    .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(job.toResponse())))
+                    .build();
+        } catch (IllegalArgumentException | InvalidInputException | JsonProcessingException e) {
+            log.warn("Cannot send callback for job {}: {}", job.id, e.getMessage());
+            metrics.recordJobCallback(false);
+            return;
+        }
+
+        httpClient.sendAsync(request, HttpResponse.BodyHandlers.discarding()).whenComplete((response, throwable) -> {
+            if (throwable == null && response.statusCode() / 100 == 2) {
+                log.debug("Callback for job {} delivered", job.id);
+                metrics.recordJobCallback(true);
+                return;
+            }
+            String reason = throwable != null ? throwable.toString() : "HTTP " + response.statusCode();
+            if (attempt < config.getCallbackMaxAttempts()) {
+                log.debug("Callback attempt {} for job {} failed: {}", attempt, job.id, reason);
+                Duration delay = config.getCallbackBackoff().multipliedBy(attempt);
+                CompletableFuture.delayedExecutor(delay.toMillis(), TimeUnit.MILLISECONDS)
+                        .execute(() -> deliverCallback(job, attempt + 1));
+                return;
+            }
+            log.warn("Giving up on callback for job {} after {} attempts: {}", job.id, attempt, reason);
+            metrics.recordJobCallback(false);
+        });
+    }
+
+    /**
+     * Writes the job's current state to the job log. Serialized with compaction, so a compaction
+     * never drops a state change made while it runs.
+     */
+    private void append(Job job) {
+        synchronized (jobLog) {
+            jobLog.append(job.toEntry());
+        }
+    }
+
+    private void compactLog() {
+        synchronized (jobLog) {
+            jobLog.compact(jobs.values().stream().map(Job::toEntry).toList());
+        }
+    }
+
+    private void publishMetrics() {
+        metrics.updateJobs(queued.get(), running.get());
+    }
+
+    /**
+     * One job and its current state.
+     */
+    private static final class Job {
+
+        private final String id;
+        private final SummarizeJobRequest request;
+        private final Instant submittedAt;
+        private JobStatus status = JobStatus.QUEUED;
+        private Instant startedAt;
+        private Instant completedAt;
+        private SummarizeResponse result;
+        private ErrorResponse error;
+
+        Job(String id, SummarizeJobRequest request, Instant submittedAt) {
+            this.id = id;
+            this.request = request;
+            this.submittedAt = submittedAt;
+        }
+
+        /**
+         * Restores a job from the log; a job that was running is queued again.
+         */
+        static Job from(JobLog.Entry entry) {
+            Job job = new Job(entry.jobId(), entry.request(), entry.submittedAt());
+            if (entry.status().isTerminal()) {
+                job.status = entry.status();
+                job.startedAt = entry.startedAt();
+                job.completedAt = entry.completedAt();
+                job.result = entry.result();
+                job.error = entry.error();
+            }
+            return job;
+        }
+
+        synchronized void start(Instant now) {
+            status = JobStatus.RUNNING;
+            startedAt = now;
+        }
+
+        synchronized void succeed(SummarizeResponse response, Instant now) {
+            status = JobStatus.SUCCEEDED;
+            result = response;
+            completedAt = now;
+        }
+
+        synchronized void fail(ErrorResponse failure, Instant now) {
+            status = JobStatus.FAILED;
+            error = failure;
+            completedAt = now;
+        }
+
+        synchronized Duration age() {
+            return Duration.between(submittedAt, completedAt != null ? completedAt : Instant.now());
+        }
+
+        synchronized boolean isExpired(Instant cutoff) {
+            return status.isTerminal() && completedAt.isBefore(cutoff);
+        }
+
+        synchronized JobLog.Entry toEntry() {
+            // The request is only needed to run the job again; a finished job no longer carries it
+            return new JobLog.Entry(id, status, submittedAt, startedAt, completedAt,
+                    status.isTerminal() ? null : request, result, error);
+        }
+
+        synchronized SummarizeJobResponse toResponse() {
+            return SummarizeJobResponse.builder()
+                    .jobId(id)
+                    .status(status)
+                    .submittedAt(submittedAt)
+                    .startedAt(startedAt)
+                    .completedAt(completedAt)
+                    .result(result)
+                    .error(error)
+                    .build();
+        }
+    }
+}
@@ -1,27 +1,49 @@
 package com.azharkhalid.aitextsummarizer.service;
 
+import com.azharkhalid.aitextsummarizer.cache.SummaryCache;
 import com.azharkhalid.aitextsummarizer.config.SummarizeProperties;
 import com.azharkhalid.aitextsummarizer.dto.request.SummarizeRequest;
 import com.azharkhalid.aitextsummarizer.dto.response.SummarizeResponse;
 import com.azharkhalid.aitextsummarizer.enums.SummaryStyle;
+import com.azharkhalid.aitextsummarizer.exception.DeadlineExceededException;
 import com.azharkhalid.aitextsummarizer.exception.LLMTimeoutException;
 import com.azharkhalid.aitextsummarizer.exception.SummarizerException;
+import com.azharkhalid.aitextsummarizer.metrics.StageTimings;
 import com.azharkhalid.aitextsummarizer.metrics.SummarizeMetrics;
-import com.azharkhalid.aitextsummarizer.util.InputSanitizer;
-import com.azharkhalid.aitextsummarizer.validation.CharacterEncodingValidator;
-import com.azharkhalid.aitextsummarizer.validation.MaxInputSizeValidator;
-import io.github.resilience4j.retry.annotation.Retry;
-import io.github.resilience4j.timelimiter.annotation.TimeLimiter;
+import com.azharkhalid.aitextsummarizer.metrics.SummarizeStage;
+import com.azharkhalid.aitextsummarizer.validation.InputScanner;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.ai.chat.client.ChatClient;
+import org.springframework.ai.chat.metadata.EmptyUsage;
+import org.springframework.ai.chat.metadata.Usage;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
 
+import java.time.Duration;
+import java.util.Objects;
+import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Core service for handling text summarization using LLM.
- * Enhanced with resilience patterns (retry, timeout) and metrics tracking.
+ * Enhanced with resilience patterns (retry, timeout) and metrics tracking; only the LLM call itself
+ * is retried (see {@link LlmRetrier}), so the rest of the pipeline runs once per request.
+ * LLM calls run on the bounded {@code llmExecutor} pool (see {@link com.azharkhalid.aitextsummarizer.config.AsyncConfig}).
+ * Identical requests that arrive while the first one is still waiting on the LLM share its call.
+ * With micro-batching enabled, short requests arriving together are summarized in one call.
  */
 @Slf4j
 @Service
@@ -31,23 +53,71 @@ public class SummarizeService {
     private final ChatClient chatClient;
     private final PromptService promptService;
     private final SummarizeProperties properties;
-    private final MaxInputSizeValidator sizeValidator;
-    private final CharacterEncodingValidator encodingValidator;
+    private final InputScanner inputScanner;
     private final RateLimitingService rateLimitingService;
+    private final TokenBudgetLimiter tokenBudgetLimiter;
+    private final LlmPacer llmPacer;
+    private final LlmBulkhead llmBulkhead;
+    private final LlmHedger llmHedger;
+    private final LlmRetrier llmRetrier;
+    private final LlmCircuitBreaker llmCircuitBreaker;
+    private final LlmMicroBatcher llmMicroBatcher;
     private final SummarizeMetrics metrics;
+    private final AsyncTaskExecutor llmExecutor;
+    private final SummaryCache summaryCache;
+
+    /**
+     * LLM calls in flight, keyed by cache key, so identical concurrent requests share one call.
+     */
+    private final SingleFlight<String, LlmResult> inFlightCalls = new SingleFlight<>();
 
     /**
      * Summarizes the provided text using the configured LLM.
-     * Implements retry logic with exponential backoff and timeout protection.
      *
      * @param request The summarization request containing text and options
-     * @return CompletableFuture containing SummarizeResponse
+     * @return CompletableFuture containing SummarizeResponse, completed when the LLM answers
+     * @see #summarize(SummarizeRequest, StageTimings)
+     */
+    public CompletableFuture<SummarizeResponse> summarize(SummarizeRequest request) {
+        return summarize(request, new StageTimings());
+    }
+
+    /**
+     * Summarizes the provided text using the configured LLM.
+     * Validation, sanitization and prompt building run on the caller thread; the LLM call
+     * itself is dispatched to the dedicated LLM executor so the caller is released while
+     * waiting on the provider. Failed LLM calls are retried with exponential backoff, within the retry budget.
+     * Each completed pipeline stage is recorded in the stage timers and in {@code timings}.
+     *
+     * @param request The summarization request containing text and options
+     * @param timings Receives the duration of each completed stage
+     * @return CompletableFuture containing SummarizeResponse, completed when the LLM answers
      * @throws SummarizerException if summarization fails after all retries
      * @throws LLMTimeoutException if the LLM call times out
+     * @see #summarize(SummarizeRequest, StageTimings, Deadline)
      */
-    @Retry(name = "summarizeService", fallbackMethod = "summarizeFallback")
-    @TimeLimiter(name = "summarizeService")
-    public CompletableFuture<SummarizeResponse> summarize(SummarizeRequest request) {
+    public CompletableFuture<SummarizeResponse> summarize(SummarizeRequest request, StageTimings timings) {
+        return summarize(request, timings, Deadline.NONE);
+    }
+
+    /**
+     * Summarizes the provided text using the configured LLM, within the client's deadline.
+     * A request whose deadline has already passed is rejected before any work is done. Otherwise the
+     * request fails with {@link DeadlineExceededException} once the deadline passes, the provider call
+     * timeout is cut to the time left, and retries that could not finish in time are not sent.
+     * A request with a deadline makes its own LLM call rather than sharing one with other requests,
+     * whose deadlines may be shorter.
+     *
+     * @param request The summarization request containing text and options
+     * @param timings Receives the duration of each completed stage
+     * @param deadline When the client stops waiting for the answer
+     * @return CompletableFuture containing SummarizeResponse, completed when the LLM answers
+     * @throws SummarizerException if summarization fails after all retries
+     * @throws LLMTimeoutException if the LLM call times out
+     * @throws DeadlineExceededException if the deadline has passed
+     */
+    public CompletableFuture<SummarizeResponse> summarize(SummarizeRequest request, StageTimings timings,
+                                                        Deadline deadline) {
         // Record incoming request
         metrics.recordRequest();
         metrics.updateInputLength(request.getText().length());
@@ -57,115 +127,587 @@ public class SummarizeService {
         long startTime = System.currentTimeMillis();
 
         try {
-            // Step 1: Check rate limits FIRST
-            rateLimitingService.checkRateLimit();
-
-            // Step 2: Validate input size at service layer
-            sizeValidator.validate(request.getText());
-            sizeValidator.validateMinimumLength(request.getText());
+            // Reject requests the client has already given up on, before they use any rate limit or tokens
+            if (deadline.isExpired()) {
+                throw new DeadlineExceededException("The request deadline passed before the request was admitted");
+            }
 
-            // Step 3: Validate character encoding
-            encodingValidator.validate(request.getText());
+            // Steps 1-7: Rate limit, validate, sanitize and build the prompts
+            PreparedPrompt prompt = preparePrompt(request, timings);
 
-            // Step 4: Sanitize input to prevent prompt injection
-            String sanitizedText = InputSanitizer.sanitize(request.getText());
-            log.debug("Input sanitization and validation passed");
+            // Serve repeated requests from the cache without calling the LLM
+            long cacheStart = System.nanoTime();
+            String cacheKey = summaryCache.keyFor(prompt.text(), prompt.style(), request.getMaxLength());
+            Optional<String> cachedSummary = summaryCache.get(cacheKey);
+            long llmStart = recordStage(timings, SummarizeStage.CACHE, request, cacheStart);
+            if (cachedSummary.isPresent()) {
+                SummarizeResponse response = buildResponse(request, cachedSummary.get(), startTime, true, null);
+                recordStage(timings, SummarizeStage.RESPONSE, request, llmStart);
+                return CompletableFuture.completedFuture(response);
+            }
 
-            // Step 5: Strip HTML tags if present
-            String textWithoutHtml = InputSanitizer.stripHtmlTags(sanitizedText);
-            if (!textWithoutHtml.equals(sanitizedText)) {
-                log.info("HTML tags were stripped from input");
+            // Step 8: Dispatch the LLM call to the LLM executor, or join an identical call already in flight;
+            // short texts may share a call with other requests (see LlmMicroBatcher)
+            SingleFlight.Joined<LlmResult> joined;
+            if (deadline.isBounded()) {
+                log.debug("Calling LLM with model: {} within {}", properties.getModel(), deadline);
+                joined = new SingleFlight.Joined<>(
+                        callLlmAsync(prompt.systemPrompt(), prompt.userPrompt(), deadline), true);
+            } else {
+                joined = inFlightCalls.join(cacheKey, () -> {
+                    log.debug("Calling LLM with model: {}", properties.getModel());
+                    return llmMicroBatcher.submit(prompt.text(), prompt.style(), request.getMaxLength(),
+                            prompt.systemPrompt(), prompt.userPrompt(), this::callLlmAsync);
+                });
+            }
+            if (!joined.leader()) {
+                log.debug("Joining identical LLM call already in flight");
+                metrics.recordCoalescedRequest();
             }
+            CompletableFuture<LlmResult> llmCall = joined.future();
 
-            // Step 6: Determine the summary style
-            SummaryStyle style = request.getSummaryStyle() != null
-                    ? request.getSummaryStyle()
-                    : SummaryStyle.CONCISE;
-
-            // Step 7: Build the prompts
-            String systemPrompt = promptService.getSystemPrompt();
-            String userPrompt = promptService.buildPrompt(
-                    textWithoutHtml,
-                    style,
-                    request.getMaxLength()
-            );
-            log.debug("Prompts built successfully");
-
-            // Step 8: Call the LLM
-            log.debug("Calling LLM with model: {}", properties.getModel());
-            String summary = chatClient.prompt()
-                    .system(systemPrompt)
-                    .user(userPrompt)
-                    .call()
-                    .content();
-
-            // Step 9: Calculate processing time
-            long processingTime = System.currentTimeMillis() - startTime;
-            log.info("Summarization completed in {} ms. Summary length: {} characters",
-                    processingTime, summary.length());
-
-            // Record metrics
-            metrics.recordRequestDuration(processingTime);
-            metrics.recordSuccess();
-
-            // Step 10: Validate the summary
-            if (summary == null || summary.trim().isEmpty()) {
-                metrics.recordFailure();
-                throw new SummarizerException("LLM returned an empty summary");
+            // Steps 9-11 run once the LLM has answered
+            CompletableFuture<SummarizeResponse> result = new CompletableFuture<>();
+            llmCall.whenComplete((llmResult, throwable) -> {
+                if (result.isDone()) {
+                    // Already timed out or cancelled by the caller
+                    return;
+                }
+                Throwable cause = throwable != null ? unwrap(throwable) : null;
+                if (cause instanceof TimeoutException) {
+                    result.completeExceptionally(handleFailure(new LLMTimeoutException(
+                            "LLM call timed out after " + properties.getTimeout().toMillis() + " ms"),
+                            startTime));
+                    return;
+                }
+                if (cause != null) {
+                    result.completeExceptionally(handleFailure(cause, startTime));
+                    return;
+                }
+                long responseStart = recordStage(timings, SummarizeStage.LLM, request, llmStart);
+                try {
+                    if (joined.leader()) {
+                        // Tokens were spent once, by the call this request started
+                        recordUsage(llmResult, prompt.style());
+                    }
+                    SummarizeResponse response = buildResponse(request, llmResult.content(), startTime, false,
+                            llmResult.usage());
+                    summaryCache.put(cacheKey, response.getSummary());
+                    recordStage(timings, SummarizeStage.RESPONSE, request, responseStart);
+                    result.complete(response);
+                } catch (Exception e) {
+                    result.completeExceptionally(handleFailure(e, startTime));
+                }
+            });
+
+            if (deadline.isBounded()) {
+                // Give up when the client does, even while waiting for a bulkhead slot or a retry
+                CompletableFuture.delayedExecutor(deadline.remaining().toNanos(), TimeUnit.NANOSECONDS).execute(() -> {
+                    DeadlineExceededException expired = new DeadlineExceededException(
+                            "The request deadline passed before the summary was ready");
+                    if (result.completeExceptionally(expired)) {
+                        handleFailure(expired, startTime);
+                    }
+                });
             }
 
-            // Step 11: Build and return the response
-            SummarizeResponse response = SummarizeResponse.builder()
-                    .summary(summary.trim())
-                    .inputLength(request.getText().length())
-                    .summaryLength(summary.length())
-                    .model(properties.getModel())
-                    .processingTimeMs(processingTime)
-                    .build();
+            // If the caller gives up first, stop the LLM call as well, unless other requests still wait for it
+            result.whenComplete((response, throwable) -> llmCall.cancel(true));
 
-            return CompletableFuture.completedFuture(response);
+            return result;
 
         } catch (Exception e) {
-            long processingTime = System.currentTimeMillis() - startTime;
-            log.error("Summarization failed after {} ms", processingTime, e);
+            throw handleFailure(e, startTime);
+        }
+    }
 
-            // Record failure metrics
-            metrics.recordRequestDuration(processingTime);
-            if (e instanceof LLMTimeoutException) {
-                metrics.recordTimeout();
-            }
-            metrics.recordFailure();
+    /**
+     * Streams the summary token by token using the LLM's streaming API.
+     * Runs the same rate limiting, validation and sanitization as {@link #summarize}; those
+     * failures are thrown synchronously before any token is emitted.
+     *
+     * @param request The summarization request containing text and options
+     * @return The token stream and the response metadata emitted once the stream completes
+     * @throws SummarizerException if validation or prompt building fails
+     */
+    public SummaryStream summarizeStream(SummarizeRequest request) {
+        // Record incoming request
+        metrics.recordRequest();
+        metrics.updateInputLength(request.getText().length());
+
+        log.info("Starting streaming summarization for text of length: {}", request.getText().length());
+
+        long startTime = System.currentTimeMillis();
+
+        StageTimings timings = new StageTimings();
+        PreparedPrompt prompt;
+        try {
+            prompt = preparePrompt(request, timings);
+        } catch (Exception e) {
+            throw handleFailure(e, startTime);
+        }
+
+        long cacheStart = System.nanoTime();
+        String cacheKey = summaryCache.keyFor(prompt.text(), prompt.style(), request.getMaxLength());
+        Optional<String> cachedSummary = summaryCache.get(cacheKey);
+        boolean cached = cachedSummary.isPresent();
+        long llmStart = recordStage(timings, SummarizeStage.CACHE, request, cacheStart);
+
+        StringBuilder summary = new StringBuilder();
+        AtomicBoolean firstToken = new AtomicBoolean(true);
+        Sinks.One<SummarizeResponse> response = Sinks.one();
+
+        Flux<String> tokens;
+        if (cached) {
+            // A cached summary is sent as a single token
+            tokens = Flux.just(cachedSummary.get());
+        } else {
+            log.debug("Streaming from LLM with model: {}", properties.getModel());
+            tokens = streamLlm(prompt.systemPrompt(), prompt.userPrompt());
+        }
+
+        tokens = tokens
+                .doOnNext(token -> {
+                    if (firstToken.compareAndSet(true, false)) {
+                        metrics.recordTimeToFirstToken(System.currentTimeMillis() - startTime);
+                    }
+                    summary.append(token);
+                })
+                .onErrorMap(e -> e instanceof TimeoutException
+                        ? handleFailure(new LLMTimeoutException(
+                                "LLM stream timed out after " + properties.getTimeout().toMillis() + " ms"), startTime)
+                        : handleFailure(e, startTime))
+                .doOnComplete(() -> {
+                    if (!cached) {
+                        recordStage(timings, SummarizeStage.LLM, request, llmStart);
+                    }
+                    try {
+                        SummarizeResponse completed = buildResponse(request, summary.toString(), startTime, cached,
+                                null);
+                        if (!cached) {
+                            summaryCache.put(cacheKey, completed.getSummary());
+                        }
+                        response.tryEmitValue(completed);
+                    } catch (Exception e) {
+                        response.tryEmitError(handleFailure(e, startTime));
+                    }
+                });
+
+        return new SummaryStream(tokens, response.asMono());
+    }
+
+    /**
+     * Streams the summary from the LLM under the same protection as a single call: the stream is
+     * rejected while the circuit is open, waits for a bulkhead slot without holding a thread, and
+     * then passes the token budget and the pacer before the provider stream is subscribed.
+     * The slot and the breaker permission are held until the stream completes, fails or is cancelled,
+     * and its outcome is recorded like a call's, timed from when the provider stream starts.
+     *
+     * @param systemPrompt System prompt
+     * @param userPrompt User prompt
+     * @return The provider's tokens, subscribed once admitted
+     */
+    private Flux<String> streamLlm(String systemPrompt, String userPrompt) {
+        return Flux.defer(() -> {
+            CompletableFuture<Void> admitted = new CompletableFuture<>();
+            CompletableFuture<LlmResult> streamed = new CompletableFuture<>();
+            CompletableFuture<LlmResult> call = llmCircuitBreaker.execute(() -> llmBulkhead.submit(() -> {
+                admitted.complete(null);
+                return streamed;
+            }, LlmResult::durationNanos));
+            // Fails the stream if it is shed while waiting for a slot
+            call.whenComplete((result, throwable) -> {
+                if (throwable != null) {
+                    admitted.completeExceptionally(unwrap(throwable));
+                }
+            });
+
+            AtomicLong providerStart = new AtomicLong();
+            return Mono.fromFuture(admitted)
+                    .then(Mono.fromCallable(() -> admit(systemPrompt, userPrompt)))
+                    .flatMapMany(waitNanos -> {
+                        Flux<String> provider = Flux.defer(() -> {
+                            providerStart.set(System.nanoTime());
+                            return chatClient.prompt()
+                                    .system(systemPrompt)
+                                    .user(userPrompt)
+                                    .stream()
+                                    .content();
+                        });
+                        if (properties.getTimeout() != null) {
+                            // Fails the stream if the provider goes quiet for longer than the timeout
+                            provider = provider.timeout(properties.getTimeout());
+                        }
+                        // Waits for the budget and the pacer without holding a thread
+                        return waitNanos > 0 ? Mono.delay(Duration.ofNanos(waitNanos)).thenMany(provider) : provider;
+                    })
+                    .doOnComplete(() -> streamed.complete(
+                            new LlmResult(null, new EmptyUsage(), System.nanoTime() - providerStart.get())))
+                    .doOnError(streamed::completeExceptionally)
+                    .doOnCancel(() -> {
+                        streamed.cancel(true);
+                        call.cancel(true);
+                    });
+        });
+    }
+
+    /**
+     * Reserves the token budget and a pacer permit for a streamed call.
+     * Streamed responses do not report usage here, so the reserved estimate stands.
+     *
+     * @return Nanoseconds to wait before the provider stream may be subscribed
+     */
+    private long admit(String systemPrompt, String userPrompt) {
+        TokenBudgetLimiter.Reservation reservation = tokenBudgetLimiter.reserve(systemPrompt, userPrompt);
+        LlmPacer.Permit permit;
+        try {
+            permit = llmPacer.acquire(tokenBudgetLimiter.estimate(systemPrompt, userPrompt));
+        } catch (RuntimeException e) {
+            tokenBudgetLimiter.release(reservation);
+            throw e;
+        }
+        long pacerWaitNanos = permit == LlmPacer.Permit.NONE ? 0 : permit.notBeforeNanos() - System.nanoTime();
+        return Math.max(reservation.waitNanos(), pacerWaitNanos);
+    }
+
+    /**
+     * Runs the synchronous part of the pipeline: rate limiting, validation, sanitization
+     * and prompt construction.
+     *
+     * @param request The summarization request
+     * @param timings Receives the duration of each completed stage
+     * @return The sanitized text, resolved style and the prompts to send to the LLM
+     */
+    private PreparedPrompt preparePrompt(SummarizeRequest request, StageTimings timings) {
+        long stageStart = System.nanoTime();
+
+        // Step 1: Check rate limits FIRST
+        rateLimitingService.checkRateLimit();
+        stageStart = recordStage(timings, SummarizeStage.RATE_LIMIT, request, stageStart);
+
+        // Steps 2-5: Validate size and encoding, sanitize, trim and strip HTML tags in one pass
+        InputScanner.ScanResult scanned = inputScanner.scan(request.getText());
+        String textWithoutHtml = scanned.text();
+        log.debug("Input sanitization and validation passed");
+        if (scanned.htmlStripped()) {
+            log.info("HTML tags were stripped from input");
+        }
+        stageStart = recordStage(timings, SummarizeStage.VALIDATION, request, stageStart);
+
+        // Step 6: Determine the summary style
+        SummaryStyle style = resolveStyle(request);
+
+        // Step 7: Build the prompts
+        String systemPrompt = promptService.getSystemPrompt();
+        String userPrompt = promptService.buildPrompt(
+                textWithoutHtml,
+                style,
+                request.getMaxLength()
+        );
+        log.debug("Prompts built successfully");
+        recordStage(timings, SummarizeStage.PROMPT, request, stageStart);
+
+        return new PreparedPrompt(textWithoutHtml, style, systemPrompt, userPrompt);
+    }
 
-            // Re-throw known exceptions without wrapping
-            if (e instanceof LLMTimeoutException ||
-                e instanceof SummarizerException ||
-                e instanceof com.azharkhalid.aitextsummarizer.exception.RateLimitExceededException ||
-                e instanceof com.azharkhalid.aitextsummarizer.exception.InvalidInputException) {
-                throw e;
+    /**
+     * Records a completed stage in the stage timer and the per-request timings.
+     *
+     * @param timings The per-request timings
+     * @param stage The stage that just completed
+     * @param request The summarization request, used for the style and size tags
+     * @param stageStart {@link System#nanoTime()} when the stage started
+     * @return {@link System#nanoTime()} at the end of the stage, the start of the next one
+     */
+    private long recordStage(StageTimings timings, SummarizeStage stage, SummarizeRequest request, long stageStart) {
+        long stageEnd = System.nanoTime();
+        long duration = stageEnd - stageStart;
+        timings.record(stage, duration);
+        metrics.recordStageDuration(stage, resolveStyle(request), properties.getModel(),
+                request.getText().length(), duration);
+        return stageEnd;
+    }
+
+    private static SummaryStyle resolveStyle(SummarizeRequest request) {
+        return request.getSummaryStyle() != null
+                ? request.getSummaryStyle()
+                : SummaryStyle.CONCISE;
+    }
+
+    /**
+     * Runs the LLM call on the LLM executor, bounded by the configured timeout.
+     * A call that fails for a retryable reason is retried (see {@link LlmRetrier}); each retry is a
+     * fresh call that goes through the hedger, bulkhead and token budget again.
+     * While the provider is failing or slow, the {@link LlmCircuitBreaker} fails the call at once.
+     * The call goes through the {@link LlmBulkhead}, so it may wait for a slot or be shed.
+     * With hedging enabled, a slow call is repeated and the first answer wins (see {@link LlmHedger});
+     * each attempt takes its own bulkhead slot and token budget.
+     * The call first reserves its estimated tokens from the provider token budget, and returns the
+     * unused part once the provider reports the real usage. The {@link LlmPacer} then holds it back
+     * while the provider's own rate limits, as reported in its response headers, are used up.
+     * The configured timeout starts once those waits are over and the provider call is sent.
+     * Cancelling the returned future, or the timeout firing, interrupts the worker thread running the call.
+     * Also used by {@link DocumentSummarizeService} for the chunk and reduce calls.
+     *
+     * @param systemPrompt The system prompt
+     * @param userPrompt The user prompt
+     * @return CompletableFuture completed with the raw LLM content and its token usage
+     * @throws LLMTimeoutException if the LLM executor is saturated
+     * @throws com.azharkhalid.aitextsummarizer.exception.RateLimitExceededException if the provider
+     *         token budget is exhausted, or the provider's rate limit does not allow the call in time
+     * @throws com.azharkhalid.aitextsummarizer.exception.ServiceOverloadedException if the bulkhead is full
+     * @throws com.azharkhalid.aitextsummarizer.exception.LLMUnavailableException if the circuit breaker is open
+     */
+    CompletableFuture<LlmResult> callLlmAsync(String systemPrompt, String userPrompt) {
+        return callLlmAsync(systemPrompt, userPrompt, Deadline.NONE);
+    }
+
+    /**
+     * Runs the LLM call as {@link #callLlmAsync(String, String)} does, within the request's deadline:
+     * the call fails once the deadline passes, whether it is still waiting or already sent, and retries
+     * that could not finish in time are not sent.
+     *
+     * @param systemPrompt The system prompt
+     * @param userPrompt The user prompt
+     * @param deadline The deadline of the request the call serves
+     * @return CompletableFuture completed with the raw LLM content and its token usage
+     * @throws DeadlineExceededException if the deadline has passed
+     */
+    CompletableFuture<LlmResult> callLlmAsync(String systemPrompt, String userPrompt, Deadline deadline) {
+        return llmRetrier.retry(() -> llmHedger.hedge(() -> llmCircuitBreaker.execute(() ->
+                llmBulkhead.submit(() -> dispatchLlmCall(systemPrompt, userPrompt, deadline),
+                        LlmResult::durationNanos))), deadline);
+    }
+
+    /**
+     * Dispatches one LLM call to the LLM executor once the bulkhead has given it a slot.
+     *
+     * @param systemPrompt The system prompt
+     * @param userPrompt The user prompt
+     * @param deadline The deadline of the request the call serves
+     * @return CompletableFuture completed with the raw LLM content and its token usage
+     */
+    private CompletableFuture<LlmResult> dispatchLlmCall(String systemPrompt, String userPrompt, Deadline deadline) {
+        if (deadline.isExpired()) {
+            throw new DeadlineExceededException("The request deadline passed before the LLM call was made");
+        }
+        CompletableFuture<LlmResult> llmCall = new CompletableFuture<>();
+
+        // Reserve provider token budget before taking an executor thread
+        TokenBudgetLimiter.Reservation reservation = tokenBudgetLimiter.reserve(systemPrompt, userPrompt);
+        LlmPacer.Permit permit;
+        try {
+            permit = llmPacer.acquire(tokenBudgetLimiter.estimate(systemPrompt, userPrompt));
+        } catch (RuntimeException e) {
+            tokenBudgetLimiter.release(reservation);
+            throw e;
+        }
+
+        // Claimed by the task when it starts, or by a cancellation that stops it from ever starting
+        AtomicBoolean claimed = new AtomicBoolean();
+        Future<?> task;
+        try {
+            task = llmExecutor.submit(() -> {
+                if (!claimed.compareAndSet(false, true)) {
+                    return;
+                }
+                try {
+                    tokenBudgetLimiter.await(reservation);
+                    llmPacer.await(permit);
+                    // Time the provider only: our own waits must not count as a provider timeout
+                    Duration timeout = properties.getTimeout();
+                    if (timeout != null) {
+                        llmCall.orTimeout(timeout.toMillis(), TimeUnit.MILLISECONDS);
+                    }
+                    long callStart = System.nanoTime();
+                    ChatResponse response = chatClient.prompt()
+                            .system(systemPrompt)
+                            .user(userPrompt)
+                            .call()
+                            .chatResponse();
+                    LlmResult result = LlmResult.of(response, System.nanoTime() - callStart);
+                    tokenBudgetLimiter.reconcile(reservation, result.usage());
+                    llmCall.complete(result);
+                } catch (Throwable t) {
+                    // Interrupted while waiting, or the provider failed: no answer, so no tokens spent
+                    tokenBudgetLimiter.release(reservation);
+                    llmCall.completeExceptionally(t);
+                }
+            });
+        } catch (TaskRejectedException e) {
+            tokenBudgetLimiter.release(reservation);
+            log.warn("LLM executor saturated, rejecting request");
+            throw new LLMTimeoutException("Summarization capacity exhausted, please try again later", e);
+        }
+
+        // The provider timeout is armed by the task once the call is sent; the client's deadline covers the
+        // waits too. Whichever fires first fails the call and frees the worker
+        Duration timeLeft = deadline.remaining();
+        if (timeLeft != null) {
+            // Fail with the deadline, which is not retried or held against the provider
+            CompletableFuture.delayedExecutor(timeLeft.toNanos(), TimeUnit.NANOSECONDS).execute(() ->
+                    llmCall.completeExceptionally(new DeadlineExceededException(
+                            "The request deadline passed before the LLM answered")));
+        }
+        llmCall.whenComplete((summary, throwable) -> {
+            if (llmCall.isCancelled() || throwable instanceof TimeoutException
+                    || throwable instanceof DeadlineExceededException) {
+                if (claimed.compareAndSet(false, true)) {
+                    // Still queued, so it will never run
+                    tokenBudgetLimiter.release(reservation);
+                }
+                task.cancel(true);
             }
+        });
+
+        return llmCall;
+    }
+
+    /**
+     * Records the token counts, generation throughput and estimated cost of one LLM call.
+     * The cost is only recorded for models listed in {@code ai.summarizer.pricing}.
+     * Also used by {@link DocumentSummarizeService} for the chunk and reduce calls.
+     *
+     * @param result The LLM call result
+     * @param style The summary style of the request
+     */
+    void recordUsage(LlmResult result, SummaryStyle style) {
+        if (!result.hasUsage()) {
+            log.debug("LLM response did not report token usage");
+            return;
+        }
+
+        String model = properties.getModel();
+        int promptTokens = Objects.requireNonNullElse(result.usage().getPromptTokens(), 0);
+        int completionTokens = Objects.requireNonNullElse(result.usage().getCompletionTokens(), 0);
+        metrics.recordTokenUsage(style, model, promptTokens, completionTokens, result.usage().getTotalTokens(),
+                result.durationNanos());
 
-            // Wrap unknown exceptions
-            throw new SummarizerException("Failed to generate summary: " + e.getMessage(), e);
+        SummarizeProperties.PriceConfig price = properties.getPricing().get(model);
+        if (price != null) {
+            metrics.recordEstimatedCost(style, model,
+                    (promptTokens * price.getInputPerMillion() + completionTokens * price.getOutputPerMillion())
+                            / 1_000_000.0);
         }
     }
 
     /**
-     * Fallback method when retry attempts are exhausted.
-     * Provides a graceful degradation path.
+     * Validates the LLM output and assembles the response.
      *
      * @param request The original request
-     * @param exception The exception that triggered the fallback
-     * @return CompletableFuture with error response
+     * @param summary The raw LLM content
+     * @param startTime Time the request started processing, in epoch milliseconds
+     * @param cached Whether the summary came from the cache
+     * @param usage Token usage of the LLM call, or null if no call was made
+     * @return The response to return to the client
+     * @throws SummarizerException if the LLM returned an empty summary
      */
-    private CompletableFuture<SummarizeResponse> summarizeFallback(
-            SummarizeRequest request,
-            Exception exception) {
+    private SummarizeResponse buildResponse(SummarizeRequest request, String summary, long startTime,
+                                            boolean cached, Usage usage) {
+        // Step 9: Calculate processing time
+        long processingTime = System.currentTimeMillis() - startTime;
+        log.info("Summarization completed in {} ms. Summary length: {} characters",
+                processingTime, summary.length());
 
-        log.error("All retry attempts exhausted for request", exception);
+        // Record metrics
+        metrics.recordRequestDuration(processingTime);
+        metrics.recordSuccess();
 
-        throw new LLMTimeoutException(
-                "Service temporarily unavailable after multiple retry attempts: " +
-                exception.getMessage()
-        );
+        // Step 10: Validate the summary
+        if (summary == null || summary.trim().isEmpty()) {
+            metrics.recordFailure();
+            throw new SummarizerException("LLM returned an empty summary");
+        }
+
+        // Step 11: Build and return the response
+        return SummarizeResponse.builder()
+                .summary(summary.trim())
+                .inputLength(request.getText().length())
+                .summaryLength(summary.length())
+                .model(properties.getModel())
+                .processingTimeMs(processingTime)
+                .cached(cached)
+                .promptTokens(LlmResult.hasUsage(usage) ? usage.getPromptTokens() : null)
+                .completionTokens(LlmResult.hasUsage(usage) ? usage.getCompletionTokens() : null)
+                .totalTokens(LlmResult.hasUsage(usage) ? usage.getTotalTokens() : null)
+                .build();
+    }
+
+    /**
+     * Records failure metrics and maps the exception to the one surfaced to the caller.
+     *
+     * @param e The exception raised while summarizing
+     * @param startTime Time the request started processing, in epoch milliseconds
+     * @return The exception to throw or complete the future with
+     */
+    private RuntimeException handleFailure(Throwable e, long startTime) {
+        long processingTime = System.currentTimeMillis() - startTime;
+        log.error("Summarization failed after {} ms", processingTime, e);
+
+        // Record failure metrics
+        metrics.recordRequestDuration(processingTime);
+        if (e instanceof LLMTimeoutException) {
+            metrics.recordTimeout();
+        }
+        if (e instanceof DeadlineExceededException) {
+            metrics.recordDeadlineExceeded();
+        }
+        metrics.recordFailure();
+
+        // Re-throw known exceptions without wrapping
+        if (e instanceof SummarizerException summarizerException) {
+            return summarizerException;
+        }
+
+        // Wrap unknown exceptions
+        return new SummarizerException("Failed to generate summary: " + e.getMessage(), e);
+    }
+
+    private static Throwable unwrap(Throwable throwable) {
+        if ((throwable instanceof CompletionException || throwable instanceof ExecutionException)
+                && throwable.getCause() != null) {
+            return throwable.getCause();
+        }
+        return throwable;
+    }
+
+    /**
+     * A streaming summary: the tokens as they arrive, and the response metadata once they are done.
+     *
+     * @param tokens The summary tokens in arrival order
+     * @param response The full response, emitted after the token stream completes
+     */
+    public record SummaryStream(Flux<String> tokens, Mono<SummarizeResponse> response) {
+    }
+
+    /**
+     * The outcome of one LLM call.
+     *
+     * @param content The raw LLM content
+     * @param usage Token usage reported by the provider; zero tokens if it reported none
+     * @param durationNanos Time the provider took to answer, excluding the wait for an LLM executor thread
+     */
+    record LlmResult(String content, Usage usage, long durationNanos) {
+
+        static LlmResult of(ChatResponse response, long durationNanos) {
+            if (response == null) {
+                return new LlmResult(null, new EmptyUsage(), durationNanos);
+            }
+            String content = response.getResult() != null && response.getResult().getOutput() != null
+                    ? response.getResult().getOutput().getText()
+                    : null;
+            return new LlmResult(content, response.getMetadata().getUsage(), durationNanos);
+        }
+
+        boolean hasUsage() {
+            return hasUsage(usage);
+        }
+
+        static boolean hasUsage(Usage usage) {
+            return usage != null && usage.getTotalTokens() != null && usage.getTotalTokens() > 0;
+        }
+    }
+
+    private record PreparedPrompt(String text, SummaryStyle style, String systemPrompt, String userPrompt) {
     }
 }
@@ -0,0 +1,136 @@
+package com.azharkhalid.aitextsummarizer.service;
+
+/**
+ * Token bucket: holds up to {@code capacity} tokens and refills continuously at
+ * {@code capacity} tokens per refill period, so a client can burst its whole quota and then
+ * proceeds at the sustained rate. Used with one token per request for the per-client limits, and
+ * with one token per LLM token for the provider token budget.
+ * Each bucket has its own lock, so clients never contend with each other.
+ * A caller willing to wait may reserve the next token before it exists; the bucket then goes
+ * into debt and later callers queue up behind the reservation instead of racing for the refill.
+ */
+final class TokenBucket {
+
+    private final int capacity;
+    private final long refillPeriodNanos;
+    private double tokens;
+    private long lastRefillNanos;
+    private volatile long lastAccessNanos;
+
+    TokenBucket(int capacity, long refillPeriodNanos, long nowNanos) {
+        if (capacity <= 0 || refillPeriodNanos <= 0) {
+            throw new IllegalArgumentException("capacity and refill period must be positive");
+        }
+        this.capacity = capacity;
+        this.refillPeriodNanos = refillPeriodNanos;
+        this.tokens = capacity;
+        this.lastRefillNanos = nowNanos;
+        this.lastAccessNanos = nowNanos;
+    }
+
+    /**
+     * Takes one token if one is available, without waiting.
+     *
+     * @param nowNanos The current {@link System#nanoTime()}
+     * @return Whether a token was taken, and the state of the bucket afterwards
+     */
+    Probe tryConsume(long nowNanos) {
+        return tryConsume(nowNanos, 0);
+    }
+
+    /**
+     * Takes one token, reserving a future one if the caller can wait for it.
+     *
+     * @param nowNanos The current {@link System#nanoTime()}
+     * @param maxWaitNanos How long the caller is prepared to wait for a token; 0 to never wait
+     * @return Whether a token was taken or reserved, and the state of the bucket afterwards
+     */
+    Probe tryConsume(long nowNanos, long maxWaitNanos) {
+        return tryConsume(nowNanos, maxWaitNanos, 1);
+    }
+
+    /**
+     * Takes {@code amount} tokens, reserving future ones if the caller can wait for them.
+     *
+     * @param nowNanos The current {@link System#nanoTime()}
+     * @param maxWaitNanos How long the caller is prepared to wait for the tokens; 0 to never wait
+     * @param amount Number of tokens to take, at most the capacity
+     * @return Whether the tokens were taken or reserved, and the state of the bucket afterwards
+     */
+    synchronized Probe tryConsume(long nowNanos, long maxWaitNanos, int amount) {
+        lastAccessNanos = nowNanos;
+        refill(nowNanos);
+
+        long waitNanos = nanosUntil(amount);
+        boolean consumed = waitNanos <= maxWaitNanos;
+        if (consumed) {
+            tokens -= amount;
+        }
+        return new Probe(consumed, capacity, Math.max(0, (int) tokens),
+                nanosUntil(capacity), consumed ? 0 : waitNanos, consumed ? waitNanos : 0);
+    }
+
+    /**
+     * Returns tokens to the bucket, or takes more when {@code amount} is negative, never going
+     * above capacity. Used to correct an up-front estimate once the real cost is known.
+     *
+     * @param nowNanos The current {@link System#nanoTime()}
+     * @param amount Number of tokens to return
+     */
+    synchronized void refund(long nowNanos, int amount) {
+        refill(nowNanos);
+        tokens = Math.min(capacity, tokens + amount);
+    }
+
+    /**
+     * @param nowNanos The current {@link System#nanoTime()}
+     * @return Whole tokens available now; negative while reserved tokens are outstanding
+     */
+    synchronized int available(long nowNanos) {
+        refill(nowNanos);
+        return (int) Math.floor(tokens);
+    }
+
+    /**
+     * @return Maximum number of tokens the bucket holds
+     */
+    int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * @return {@link System#nanoTime()} of the last request from this client
+     */
+    long getLastAccessNanos() {
+        return lastAccessNanos;
+    }
+
+    private void refill(long nowNanos) {
+        long elapsed = nowNanos - lastRefillNanos;
+        if (elapsed > 0) {
+            tokens = Math.min(capacity, tokens + (double) elapsed * capacity / refillPeriodNanos);
+            lastRefillNanos = nowNanos;
+        }
+    }
+
+    private long nanosUntil(double level) {
+        if (tokens >= level) {
+            return 0;
+        }
+        return (long) Math.ceil((level - tokens) * refillPeriodNanos / capacity);
+    }
+
+    /**
+     * Outcome of one {@link #tryConsume} call.
+     *
+     * @param consumed Whether the request may proceed
+     * @param limit Bucket capacity
+     * @param remaining Whole tokens left after this request
+     * @param nanosUntilFull Time until the bucket is full again
+     * @param nanosUntilNextToken Time until the next request can succeed; 0 if this one did
+     * @param waitNanos Time the caller must wait before using a reserved token; 0 if it was available
+     */
+    record Probe(boolean consumed, int limit, int remaining, long nanosUntilFull, long nanosUntilNextToken,
+                 long waitNanos) {
+    }
+}
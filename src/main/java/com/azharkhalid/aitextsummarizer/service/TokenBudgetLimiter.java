@@ -0,0 +1,131 @@
+package com.azharkhalid.aitextsummarizer.service;
+
+import com.azharkhalid.aitextsummarizer.config.SummarizeProperties;
+import com.azharkhalid.aitextsummarizer.exception.RateLimitExceededException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.ai.chat.metadata.Usage;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Limits the LLM tokens sent to the provider per minute, matching the provider's tokens-per-minute quota.
+ * Request counts say little about cost: one long EXECUTIVE summary can use as many tokens as dozens of
+ * short ones. Before each call this limiter reserves an estimate of the prompt tokens plus
+ * {@code maxTokens} from a rolling one-minute budget, and once the provider reports the real usage
+ * the difference is returned to (or taken from) the budget.
+ * A call that does not fit may wait up to {@code max-wait} for the budget to refill; otherwise it is
+ * rejected with the time until it would fit.
+ */
+@Slf4j
+@Service
+public class TokenBudgetLimiter {
+
+    private final SummarizeProperties properties;
+    private final TokenBucket budget;
+
+    public TokenBudgetLimiter(SummarizeProperties properties) {
+        this.properties = properties;
+        this.budget = new TokenBucket(properties.getTokenBudget().getTokensPerMinute(),
+                TimeUnit.MINUTES.toNanos(1), System.nanoTime());
+    }
+
+    /**
+     * Reserves budget for one LLM call.
+     *
+     * @param systemPrompt The system prompt
+     * @param userPrompt The user prompt
+     * @return The reservation; the caller must {@link #await} it before making the call
+     * @throws RateLimitExceededException if the budget cannot cover the call within {@code max-wait}
+     */
+    public Reservation reserve(String systemPrompt, String userPrompt) {
+        SummarizeProperties.TokenBudgetConfig config = properties.getTokenBudget();
+        if (!config.isEnabled()) {
+            return Reservation.NONE;
+        }
+
+        // A call larger than the whole budget could never fit; let it through on a full budget instead
+        int estimate = Math.min(estimate(systemPrompt, userPrompt), budget.getCapacity());
+        TokenBucket.Probe probe = budget.tryConsume(System.nanoTime(), config.getMaxWait().toNanos(), estimate);
+        if (!probe.consumed()) {
+            log.warn("Token budget exhausted, rejecting call estimated at {} tokens", estimate);
+            throw new RateLimitExceededException(
+                    "Summarization token budget exhausted. Please try again later.",
+                    Duration.ofNanos(probe.nanosUntilNextToken()));
+        }
+
+        log.debug("Reserved {} tokens, {} left in budget", estimate, probe.remaining());
+        return new Reservation(estimate, probe.waitNanos());
+    }
+
+    /**
+     * Waits until the reserved budget is usable. Returns at once unless the budget was overdrawn.
+     *
+     * @param reservation The reservation
+     * @throws InterruptedException if interrupted while waiting; the caller releases the reservation
+     */
+    public void await(Reservation reservation) throws InterruptedException {
+        if (reservation.waitNanos() > 0) {
+            TimeUnit.NANOSECONDS.sleep(reservation.waitNanos());
+        }
+    }
+
+    /**
+     * Corrects the reservation with the usage the provider reported.
+     * Without reported usage the estimate stands.
+     *
+     * @param reservation The reservation
+     * @param usage Token usage of the call
+     */
+    public void reconcile(Reservation reservation, Usage usage) {
+        if (reservation.tokens() == 0 || !SummarizeService.LlmResult.hasUsage(usage)) {
+            return;
+        }
+        budget.refund(System.nanoTime(), reservation.tokens() - usage.getTotalTokens());
+    }
+
+    /**
+     * Returns the whole reservation to the budget, for calls that never reached the provider or
+     * failed without an answer.
+     *
+     * @param reservation The reservation
+     */
+    public void release(Reservation reservation) {
+        if (reservation.tokens() > 0) {
+            budget.refund(System.nanoTime(), reservation.tokens());
+        }
+    }
+
+    /**
+     * Estimates the tokens a call will use: the prompt at {@code chars-per-token} characters per
+     * token, plus the full completion allowance.
+     *
+     * @param systemPrompt The system prompt
+     * @param userPrompt The user prompt
+     * @return The estimated total tokens
+     */
+    int estimate(String systemPrompt, String userPrompt) {
+        int chars = (systemPrompt != null ? systemPrompt.length() : 0) + (userPrompt != null ? userPrompt.length() : 0);
+        int charsPerToken = Math.max(1, properties.getTokenBudget().getCharsPerToken());
+        return (chars + charsPerToken - 1) / charsPerToken + properties.getMaxTokens();
+    }
+
+    /**
+     * @return Tokens currently available in the budget; negative while waiting calls overdraw it
+     */
+    public int getAvailableTokens() {
+        return budget.available(System.nanoTime());
+    }
+
+    /**
+     * Budget reserved for one LLM call.
+     *
+     * @param tokens Number of tokens reserved
+     * @param waitNanos Time to wait before the reserved tokens may be used
+     */
+    public record Reservation(int tokens, long waitNanos) {
+
+        static final Reservation NONE = new Reservation(0, 0);
+    }
+}
@@ -0,0 +1,53 @@
+package com.azharkhalid.aitextsummarizer.util;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Utility class for computing stable content hashes used as cache and deduplication keys.
+ */
+public class HashUtils {
+
+    /**
+     * Separator between hashed parts, so ("ab", "c") and ("a", "bc") hash differently.
+     */
+    private static final char PART_SEPARATOR = '\u0000';
+
+    /**
+     * Private constructor to prevent instantiation.
+     */
+    private HashUtils() {
+        throw new UnsupportedOperationException("Utility class cannot be instantiated");
+    }
+
+    /**
+     * Computes the SHA-256 hash of the given parts.
+     * Null parts are hashed as the empty string.
+     *
+     * @param parts The values to hash, in order
+     * @return Lowercase hex-encoded SHA-256 digest
+     */
+    public static String sha256Hex(String... parts) {
+        MessageDigest digest = newSha256();
+        for (int i = 0; i < parts.length; i++) {
+            if (i > 0) {
+                digest.update((byte) PART_SEPARATOR);
+            }
+            if (parts[i] != null) {
+                digest.update(parts[i].getBytes(StandardCharsets.UTF_8));
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static MessageDigest newSha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            // Every JVM is required to support SHA-256
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.azharkhalid.aitextsummarizer.util;
+
+/**
+ * Removes HTML tags from text fed to it one character at a time, in a single pass.
+ * Same result as {@code replaceAll("<[^>]*>", "")}: a tag runs from the first unmatched {@code '<'}
+ * to the next {@code '>'}, and an unclosed {@code '<'} is kept as text. The regex rescans the rest of
+ * the text from every unclosed {@code '<'}, which is quadratic on long documents.
+ * Shared by {@link InputSanitizer#stripHtmlTags} and the fused input scan, so both strip alike.
+ */
+public final class HtmlTagStripper {
+
+    private final char[] out;
+    private int length;
+    private int tagStart = -1;
+    private boolean stripped;
+
+    /**
+     * @param capacity Most characters that will be fed to the stripper
+     */
+    public HtmlTagStripper(int capacity) {
+        this.out = new char[capacity];
+    }
+
+    /**
+     * Copies text that is known to hold no {@code '<'}, such as the part before the first one.
+     * Must be called before any tag has been opened.
+     *
+     * @param text The text
+     * @param start First character to copy
+     * @param end End of the range to copy, exclusive
+     */
+    public void copy(String text, int start, int end) {
+        text.getChars(start, end, out, length);
+        length += end - start;
+    }
+
+    /**
+     * Feeds the next character.
+     *
+     * @param c The character
+     */
+    public void accept(char c) {
+        if (c == '<' && tagStart < 0) {
+            tagStart = length;
+        } else if (c == '>' && tagStart >= 0) {
+            length = tagStart;
+            tagStart = -1;
+            stripped = true;
+            return;
+        }
+        out[length++] = c;
+    }
+
+    /**
+     * @return Whether any tag has been removed
+     */
+    public boolean hasStrippedTags() {
+        return stripped;
+    }
+
+    /**
+     * @return The text fed so far, without its tags
+     */
+    @Override
+    public String toString() {
+        return new String(out, 0, length);
+    }
+}
@@ -14,6 +14,8 @@ public class InputSanitizer {
     /**
      * Pattern to detect potentially dangerous keywords that might indicate prompt injection attempts.
      * Matches words like: ignore, override, system, admin, instructions, etc.
+     * The summarize endpoints use the configurable
+     * {@link com.azharkhalid.aitextsummarizer.validation.PromptInjectionDetector} instead.
      */
     private static final Pattern DANGEROUS_PATTERN = Pattern.compile(
         "(?i)(\\bignore\\s+(all\\s+)?(previous|above)?\\s+(instructions|prompts?)\\b|" +
@@ -29,7 +31,7 @@ public class InputSanitizer {
     /**
      * Maximum allowed input length as a safety measure.
      */
-    private static final int MAX_INPUT_LENGTH = 10000;
+    public static final int MAX_INPUT_LENGTH = 10000;
 
     /**
      * Private constructor to prevent instantiation.
@@ -73,6 +75,7 @@ public class InputSanitizer {
 
     /**
      * Removes HTML tags from input text.
+     * Same result as {@code replaceAll("<[^>]*>", "")}, in linear time (see {@link HtmlTagStripper}).
      *
      * @param input The input text that may contain HTML
      * @return Text with HTML tags removed
@@ -81,7 +84,17 @@ public class InputSanitizer {
         if (input == null) {
             return null;
         }
-        return input.replaceAll("<[^>]*>", "");
+        int first = input.indexOf('<');
+        if (first < 0) {
+            return input;
+        }
+
+        HtmlTagStripper stripper = new HtmlTagStripper(input.length());
+        stripper.copy(input, 0, first);
+        for (int i = first; i < input.length(); i++) {
+            stripper.accept(input.charAt(i));
+        }
+        return stripper.toString();
     }
 
     /**
@@ -0,0 +1,141 @@
+package com.azharkhalid.aitextsummarizer.util;
+
+import java.text.BreakIterator;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Utility class for splitting long text into chunks that fit a single LLM call.
+ * Prefers paragraph boundaries, then sentence boundaries, then whitespace.
+ */
+public class TextChunker {
+
+    /**
+     * Blank lines separate paragraphs.
+     */
+    private static final Pattern PARAGRAPH_BREAK = Pattern.compile("\\n\\s*\\n");
+
+    private static final String PARAGRAPH_SEPARATOR = "\n\n";
+
+    /**
+     * Private constructor to prevent instantiation.
+     */
+    private TextChunker() {
+        throw new UnsupportedOperationException("Utility class cannot be instantiated");
+    }
+
+    /**
+     * Splits text into chunks of at most {@code maxChunkLength} characters.
+     * Whole paragraphs are packed together while they fit; paragraphs that are too long on
+     * their own are split between sentences, and sentences that are too long between words.
+     *
+     * @param text The text to split
+     * @param maxChunkLength Maximum length of a chunk in characters
+     * @return The chunks in document order, never empty for non-blank text
+     */
+    public static List<String> chunk(String text, int maxChunkLength) {
+        if (maxChunkLength <= 0) {
+            throw new IllegalArgumentException("maxChunkLength must be positive");
+        }
+
+        List<String> chunks = new ArrayList<>();
+        if (text == null || text.isBlank()) {
+            return chunks;
+        }
+
+        StringBuilder current = new StringBuilder();
+        for (String paragraph : PARAGRAPH_BREAK.split(text)) {
+            String trimmed = paragraph.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+
+            for (String piece : splitOversized(trimmed, maxChunkLength)) {
+                if (current.length() > 0
+                        && current.length() + PARAGRAPH_SEPARATOR.length() + piece.length() > maxChunkLength) {
+                    chunks.add(current.toString());
+                    current.setLength(0);
+                }
+                if (current.length() > 0) {
+                    current.append(PARAGRAPH_SEPARATOR);
+                }
+                current.append(piece);
+            }
+        }
+
+        if (current.length() > 0) {
+            chunks.add(current.toString());
+        }
+        return chunks;
+    }
+
+    /**
+     * Splits a single paragraph into pieces that fit, packing whole sentences together.
+     */
+    private static List<String> splitOversized(String paragraph, int maxChunkLength) {
+        List<String> pieces = new ArrayList<>();
+        if (paragraph.length() <= maxChunkLength) {
+            pieces.add(paragraph);
+            return pieces;
+        }
+
+        BreakIterator sentences = BreakIterator.getSentenceInstance(Locale.ROOT);
+        sentences.setText(paragraph);
+
+        StringBuilder current = new StringBuilder();
+        int start = sentences.first();
+        for (int end = sentences.next(); end != BreakIterator.DONE; start = end, end = sentences.next()) {
+            String sentence = paragraph.substring(start, end).trim();
+            if (sentence.isEmpty()) {
+                continue;
+            }
+
+            if (sentence.length() > maxChunkLength) {
+                if (current.length() > 0) {
+                    pieces.add(current.toString());
+                    current.setLength(0);
+                }
+                splitAtWhitespace(sentence, maxChunkLength, pieces);
+                continue;
+            }
+
+            if (current.length() > 0 && current.length() + 1 + sentence.length() > maxChunkLength) {
+                pieces.add(current.toString());
+                current.setLength(0);
+            }
+            if (current.length() > 0) {
+                current.append(' ');
+            }
+            current.append(sentence);
+        }
+
+        if (current.length() > 0) {
+            pieces.add(current.toString());
+        }
+        return pieces;
+    }
+
+    /**
+     * Last resort for a single sentence that does not fit: cut at the last space before the
+     * limit, or exactly at the limit if there is none.
+     */
+    private static void splitAtWhitespace(String sentence, int maxChunkLength, List<String> pieces) {
+        int start = 0;
+        while (sentence.length() - start > maxChunkLength) {
+            int end = sentence.lastIndexOf(' ', start + maxChunkLength);
+            if (end <= start) {
+                end = start + maxChunkLength;
+            }
+            pieces.add(sentence.substring(start, end).trim());
+            start = end;
+            while (start < sentence.length() && sentence.charAt(start) == ' ') {
+                start++;
+            }
+        }
+        if (start < sentence.length()) {
+            pieces.add(sentence.substring(start));
+        }
+    }
+}
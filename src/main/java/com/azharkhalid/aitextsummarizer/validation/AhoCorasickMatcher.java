@@ -0,0 +1,274 @@
+package com.azharkhalid.aitextsummarizer.validation;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+
+/**
+ * Immutable Aho-Corasick automaton that finds rule phrases in text.
+ * Matching is case-insensitive, treats any run of whitespace as a single space, and requires
+ * phrases that start or end with a word character to start or end on a word boundary, like
+ * {@code \b} in a regex. Runs in time linear in the input regardless of the number of phrases,
+ * and is safe to share between threads.
+ */
+public final class AhoCorasickMatcher {
+
+    private static final int ASCII = 128;
+    private static final int ROOT = 0;
+    private static final int[] NO_OUTPUTS = new int[0];
+
+    /**
+     * Complete transition table for ASCII input: {@code asciiNext[state * 128 + c]}.
+     */
+    private final int[] asciiNext;
+
+    /**
+     * Trie edges for non-ASCII characters, followed with failure links at match time.
+     */
+    private final Map<Character, Integer>[] children;
+    private final int[] fail;
+
+    /**
+     * Indexes of the phrases that end in each state, including those reached through failure links.
+     */
+    private final int[][] outputs;
+
+    private final String[] phraseRules;
+    private final int[] phraseLengths;
+    private final boolean[] phraseStartsWithWord;
+    private final boolean[] phraseEndsWithWord;
+    private final int maxPhraseLength;
+    private final int ruleCount;
+
+    /**
+     * Builds the automaton.
+     *
+     * @param rules Phrases keyed by rule id; blank phrases are ignored
+     */
+    @SuppressWarnings("unchecked")
+    public AhoCorasickMatcher(Map<String, List<String>> rules) {
+        List<String> rulesByPhrase = new ArrayList<>();
+        List<String> phrases = new ArrayList<>();
+        for (Map.Entry<String, List<String>> rule : rules.entrySet()) {
+            for (String phrase : rule.getValue()) {
+                String normalized = normalize(phrase);
+                if (!normalized.isEmpty()) {
+                    rulesByPhrase.add(rule.getKey());
+                    phrases.add(normalized);
+                }
+            }
+        }
+
+        int phraseCount = phrases.size();
+        this.phraseRules = rulesByPhrase.toArray(new String[0]);
+        this.phraseLengths = new int[phraseCount];
+        this.phraseStartsWithWord = new boolean[phraseCount];
+        this.phraseEndsWithWord = new boolean[phraseCount];
+        this.ruleCount = (int) rulesByPhrase.stream().distinct().count();
+
+        // Step 1: Build the trie
+        List<Map<Character, Integer>> trie = new ArrayList<>();
+        List<List<Integer>> ownOutputs = new ArrayList<>();
+        trie.add(new HashMap<>());
+        ownOutputs.add(new ArrayList<>());
+
+        int longest = 0;
+        for (int p = 0; p < phraseCount; p++) {
+            String phrase = phrases.get(p);
+            phraseLengths[p] = phrase.length();
+            phraseStartsWithWord[p] = isWordChar(phrase.charAt(0));
+            phraseEndsWithWord[p] = isWordChar(phrase.charAt(phrase.length() - 1));
+            longest = Math.max(longest, phrase.length());
+
+            int state = ROOT;
+            for (int i = 0; i < phrase.length(); i++) {
+                Integer next = trie.get(state).get(phrase.charAt(i));
+                if (next == null) {
+                    next = trie.size();
+                    trie.add(new HashMap<>());
+                    ownOutputs.add(new ArrayList<>());
+                    trie.get(state).put(phrase.charAt(i), next);
+                }
+                state = next;
+            }
+            ownOutputs.get(state).add(p);
+        }
+        this.maxPhraseLength = longest;
+
+        // Step 2: Breadth-first pass to compute failure links, merged outputs and ASCII transitions
+        int stateCount = trie.size();
+        this.children = trie.toArray(new Map[0]);
+        this.fail = new int[stateCount];
+        this.outputs = new int[stateCount][];
+        this.asciiNext = new int[stateCount * ASCII];
+
+        outputs[ROOT] = toArray(ownOutputs.get(ROOT), NO_OUTPUTS);
+        Queue<Integer> queue = new ArrayDeque<>();
+        for (int c = 0; c < ASCII; c++) {
+            Integer child = children[ROOT].get((char) c);
+            asciiNext[c] = child != null ? child : ROOT;
+        }
+        for (int child : children[ROOT].values()) {
+            fail[child] = ROOT;
+            queue.add(child);
+        }
+
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            outputs[state] = toArray(ownOutputs.get(state), outputs[fail[state]]);
+
+            for (int c = 0; c < ASCII; c++) {
+                Integer child = children[state].get((char) c);
+                asciiNext[state * ASCII + c] = child != null ? child : asciiNext[fail[state] * ASCII + c];
+            }
+
+            for (Map.Entry<Character, Integer> edge : children[state].entrySet()) {
+                int child = edge.getValue();
+                fail[child] = step(fail[state], edge.getKey());
+                queue.add(child);
+            }
+        }
+    }
+
+    /**
+     * Finds the first phrase occurring in a region of the text.
+     *
+     * @param text The text to search
+     * @param start Start of the region, inclusive
+     * @param end End of the region, exclusive
+     * @return The rule id of the first match, or null if no phrase occurs
+     */
+    public String findFirst(CharSequence text, int start, int end) {
+        if (maxPhraseLength == 0) {
+            return null;
+        }
+
+        // Word-character flags of the last normalized characters, for start-boundary checks
+        boolean[] recentWordChars = new boolean[maxPhraseLength + 1];
+        int state = ROOT;
+        int position = 0;
+        boolean previousWhitespace = false;
+
+        for (int i = start; i < end; i++) {
+            char c = text.charAt(i);
+            if (isWhitespace(c)) {
+                if (previousWhitespace) {
+                    continue;
+                }
+                previousWhitespace = true;
+                c = ' ';
+            } else {
+                previousWhitespace = false;
+                c = Character.toLowerCase(c);
+            }
+
+            recentWordChars[position % recentWordChars.length] = isWordChar(c);
+            state = step(state, c);
+
+            for (int phrase : outputs[state]) {
+                if (startsOnBoundary(phrase, position, recentWordChars)
+                        && endsOnBoundary(phrase, text, i + 1, end)) {
+                    return phraseRules[phrase];
+                }
+            }
+            position++;
+        }
+        return null;
+    }
+
+    /**
+     * Returns the number of distinct rules.
+     */
+    public int getRuleCount() {
+        return ruleCount;
+    }
+
+    /**
+     * Returns the number of phrases across all rules.
+     */
+    public int getPhraseCount() {
+        return phraseRules.length;
+    }
+
+    private int step(int state, char c) {
+        if (c < ASCII) {
+            return asciiNext[state * ASCII + c];
+        }
+        while (true) {
+            Integer next = children[state].get(c);
+            if (next != null) {
+                return next;
+            }
+            if (state == ROOT) {
+                return ROOT;
+            }
+            state = fail[state];
+        }
+    }
+
+    private boolean startsOnBoundary(int phrase, int position, boolean[] recentWordChars) {
+        if (!phraseStartsWithWord[phrase]) {
+            return true;
+        }
+        int before = position - phraseLengths[phrase];
+        return before < 0 || !recentWordChars[before % recentWordChars.length];
+    }
+
+    private boolean endsOnBoundary(int phrase, CharSequence text, int next, int end) {
+        return !phraseEndsWithWord[phrase] || next >= end || !isWordChar(text.charAt(next));
+    }
+
+    /**
+     * Lower-cases the phrase, collapses whitespace runs to one space and trims it.
+     */
+    static String normalize(String phrase) {
+        if (phrase == null) {
+            return "";
+        }
+        StringBuilder normalized = new StringBuilder(phrase.length());
+        boolean previousWhitespace = true;
+        for (int i = 0; i < phrase.length(); i++) {
+            char c = phrase.charAt(i);
+            if (isWhitespace(c)) {
+                if (!previousWhitespace) {
+                    normalized.append(' ');
+                }
+                previousWhitespace = true;
+            } else {
+                normalized.append(Character.toLowerCase(c));
+                previousWhitespace = false;
+            }
+        }
+        int length = normalized.length();
+        if (length > 0 && normalized.charAt(length - 1) == ' ') {
+            normalized.setLength(length - 1);
+        }
+        return normalized.toString();
+    }
+
+    /**
+     * Same whitespace set as {@code \s} in a regex.
+     */
+    private static boolean isWhitespace(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == 0x0B || c == '\f' || c == '\r';
+    }
+
+    private static boolean isWordChar(char c) {
+        return Character.isLetterOrDigit(c) || c == '_';
+    }
+
+    private static int[] toArray(List<Integer> own, int[] inherited) {
+        if (own.isEmpty()) {
+            return inherited;
+        }
+        int[] merged = Arrays.copyOf(inherited, inherited.length + own.size());
+        for (int i = 0; i < own.size(); i++) {
+            merged[inherited.length + i] = own.get(i);
+        }
+        return merged;
+    }
+}
@@ -4,33 +4,36 @@ import com.azharkhalid.aitextsummarizer.exception.InvalidInputException;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
-import java.nio.charset.CharsetEncoder;
-import java.nio.charset.StandardCharsets;
-import java.util.regex.Pattern;
-
 /**
  * Validator for ensuring proper character encoding in input text.
  * Prevents encoding issues and potential injection attacks via special characters.
+ * Stateless: scans the UTF-16 chars directly instead of going through a shared
+ * {@link java.nio.charset.CharsetEncoder}, so it is safe to call from any number of threads
+ * and does not allocate.
  */
 @Slf4j
 @Component
 public class CharacterEncodingValidator {
 
     /**
-     * Pattern to detect potentially dangerous control characters.
-     * Allows common whitespace and newline characters but rejects others.
+     * ASCII characters that are allowed: everything from 0x20 to 0x7E plus tab, newline and
+     * carriage return. The remaining control characters (0x00-0x08, 0x0B-0x0C, 0x0E-0x1F, 0x7F)
+     * are rejected.
      */
-    private static final Pattern CONTROL_CHARACTER_PATTERN = Pattern.compile(
-            "[\\x00-\\x08\\x0B-\\x0C\\x0E-\\x1F\\x7F]"
-    );
+    private static final boolean[] ASCII_ALLOWED = new boolean[128];
 
-    /**
-     * Charset encoder for validation.
-     */
-    private final CharsetEncoder utf8Encoder = StandardCharsets.UTF_8.newEncoder();
+    static {
+        for (int c = 0x20; c < 0x7F; c++) {
+            ASCII_ALLOWED[c] = true;
+        }
+        ASCII_ALLOWED['\t'] = true;
+        ASCII_ALLOWED['\n'] = true;
+        ASCII_ALLOWED['\r'] = true;
+    }
 
     /**
      * Validates that the input text contains only valid UTF-8 characters.
+     * A Java string can always be encoded as UTF-8 unless it contains an unpaired surrogate.
      *
      * @param text The input text to validate
      * @throws InvalidInputException if encoding is invalid
@@ -40,18 +43,8 @@ public class CharacterEncodingValidator {
             throw new InvalidInputException("Input text cannot be null");
         }
 
-        try {
-            if (!utf8Encoder.canEncode(text)) {
-                log.warn("Input text contains invalid UTF-8 characters");
-                throw new InvalidInputException(
-                        "Input text contains invalid UTF-8 characters"
-                );
-            }
-        } catch (Exception e) {
-            log.error("Error validating UTF-8 encoding", e);
-            throw new InvalidInputException(
-                    "Error validating character encoding"
-            );
+        if (findUnpairedSurrogate(text) >= 0) {
+            throw invalidEncoding();
         }
 
         log.debug("UTF-8 encoding validation passed");
@@ -68,24 +61,93 @@ public class CharacterEncodingValidator {
             return;
         }
 
-        if (CONTROL_CHARACTER_PATTERN.matcher(text).find()) {
-            log.warn("Input text contains dangerous control characters");
-            throw new InvalidInputException(
-                    "Input text contains invalid control characters"
-            );
+        for (int i = 0, length = text.length(); i < length; i++) {
+            if (isBannedControlCharacter(text.charAt(i))) {
+                throw invalidControlCharacters();
+            }
         }
 
         log.debug("Control character validation passed");
     }
 
     /**
-     * Performs comprehensive character validation.
+     * Performs comprehensive character validation in a single pass.
+     * Unpaired surrogates are reported in preference to control characters.
      *
      * @param text The input text to validate
      * @throws InvalidInputException if any validation fails
      */
     public void validate(String text) {
-        validateUtf8Encoding(text);
-        validateNoControlCharacters(text);
+        if (text == null) {
+            throw new InvalidInputException("Input text cannot be null");
+        }
+
+        boolean controlCharacter = false;
+        int length = text.length();
+        for (int i = 0; i < length; i++) {
+            char c = text.charAt(i);
+
+            // ASCII fast path: one table lookup, no further branches
+            if (c < 0x80) {
+                controlCharacter |= !ASCII_ALLOWED[c];
+                continue;
+            }
+
+            if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(text.charAt(i + 1))) {
+                // Valid pair: skip the low surrogate
+                i++;
+            } else if (Character.isSurrogate(c)) {
+                throw invalidEncoding();
+            }
+        }
+
+        if (controlCharacter) {
+            throw invalidControlCharacters();
+        }
+
+        log.debug("Character validation passed");
+    }
+
+    /**
+     * Returns whether the character is one of the rejected control characters.
+     *
+     * @param c The character to check
+     * @return true if the character is rejected
+     */
+    static boolean isBannedControlCharacter(char c) {
+        return c < 0x80 && !ASCII_ALLOWED[c];
+    }
+
+    /**
+     * Finds the first high surrogate not followed by a low surrogate, or low surrogate not
+     * preceded by a high surrogate.
+     *
+     * @param text The text to scan
+     * @return Index of the first unpaired surrogate, or -1 if there is none
+     */
+    static int findUnpairedSurrogate(CharSequence text) {
+        int length = text.length();
+        for (int i = 0; i < length; i++) {
+            char c = text.charAt(i);
+            if (c < Character.MIN_SURROGATE) {
+                continue;
+            }
+            if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(text.charAt(i + 1))) {
+                i++;
+            } else if (Character.isSurrogate(c)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static InvalidInputException invalidEncoding() {
+        log.warn("Input text contains invalid UTF-8 characters");
+        return new InvalidInputException("Input text contains invalid UTF-8 characters");
+    }
+
+    private static InvalidInputException invalidControlCharacters() {
+        log.warn("Input text contains dangerous control characters");
+        return new InvalidInputException("Input text contains invalid control characters");
     }
 }
@@ -0,0 +1,144 @@
+package com.azharkhalid.aitextsummarizer.validation;
+
+import com.azharkhalid.aitextsummarizer.config.SummarizeProperties;
+import com.azharkhalid.aitextsummarizer.exception.InvalidInputException;
+import com.azharkhalid.aitextsummarizer.util.HtmlTagStripper;
+import com.azharkhalid.aitextsummarizer.util.InputSanitizer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/**
+ * Single-pass validator and sanitizer for summarization input.
+ * Applies the same rules as {@link MaxInputSizeValidator}, {@link CharacterEncodingValidator},
+ * {@link InputSanitizer#sanitize} and {@link InputSanitizer#stripHtmlTags} in that order, but
+ * walks the text once and allocates an output buffer only if it contains a {@code '<'}.
+ * Prompt-injection phrases are detected by {@link PromptInjectionDetector}.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class InputScanner {
+
+    private static final int MIN_INPUT_LENGTH = 100;
+
+    private final SummarizeProperties properties;
+    private final PromptInjectionDetector injectionDetector;
+
+    /**
+     * Validates the input and returns the text to send to the LLM.
+     * When several rules are violated, the error reported is the one the validator chain
+     * would have reported first.
+     *
+     * @param text The raw input text
+     * @return The trimmed text with HTML tags removed
+     * @throws InvalidInputException if the input is null, too short, too long, contains
+     *         unpaired surrogates or control characters, or looks like prompt injection
+     */
+    public ScanResult scan(String text) {
+        // Step 1: Null and maximum size checks
+        if (text == null) {
+            throw new InvalidInputException("Input text cannot be null");
+        }
+
+        int length = text.length();
+        int maxLength = properties.getMaxInputLength();
+        if (length > maxLength) {
+            log.warn("Input text exceeds maximum length: {} characters (max: {})", length, maxLength);
+            throw new InvalidInputException(
+                    String.format("Input text exceeds maximum length of %d characters. " +
+                                    "Provided: %d characters",
+                            maxLength, length)
+            );
+        }
+
+        // Step 2: Find the trimmed bounds (same rule as String.trim) and check the minimum length
+        int start = 0;
+        int end = length;
+        while (start < end && text.charAt(start) <= ' ') {
+            start++;
+        }
+        while (end > start && text.charAt(end - 1) <= ' ') {
+            end--;
+        }
+
+        if (end - start < MIN_INPUT_LENGTH) {
+            log.warn("Input text below minimum length: {} characters", length);
+            throw new InvalidInputException(
+                    "Input text must be at least 100 characters long for meaningful summarization"
+            );
+        }
+
+        // Step 3: One pass for surrogates and control characters over the whole text,
+        // stripping HTML tags from the trimmed region as we go
+        boolean unpairedSurrogate = false;
+        boolean controlCharacter = false;
+        HtmlTagStripper stripper = null;
+
+        for (int i = 0; i < length; i++) {
+            char c = text.charAt(i);
+
+            if (Character.isHighSurrogate(c)) {
+                if (i + 1 >= length || !Character.isLowSurrogate(text.charAt(i + 1))) {
+                    unpairedSurrogate = true;
+                    break;
+                }
+            } else if (Character.isLowSurrogate(c)) {
+                if (i == 0 || !Character.isHighSurrogate(text.charAt(i - 1))) {
+                    unpairedSurrogate = true;
+                    break;
+                }
+            } else if (CharacterEncodingValidator.isBannedControlCharacter(c)) {
+                controlCharacter = true;
+            }
+
+            if (i < start || i >= end) {
+                continue;
+            }
+
+            if (stripper == null) {
+                if (c != '<') {
+                    continue;
+                }
+                // First possible tag: copy what we have so far into the output buffer
+                stripper = new HtmlTagStripper(end - start);
+                stripper.copy(text, start, i);
+            }
+            stripper.accept(c);
+        }
+
+        if (unpairedSurrogate) {
+            log.warn("Input text contains invalid UTF-8 characters");
+            throw new InvalidInputException("Input text contains invalid UTF-8 characters");
+        }
+
+        if (controlCharacter) {
+            log.warn("Input text contains dangerous control characters");
+            throw new InvalidInputException("Input text contains invalid control characters");
+        }
+
+        // Step 4: Sanitizer checks on the trimmed text, before HTML is stripped
+        if (end - start > InputSanitizer.MAX_INPUT_LENGTH) {
+            log.warn("Input exceeded maximum length: {} characters", end - start);
+            throw new InvalidInputException(
+                    String.format("Input text exceeds maximum length of %d characters",
+                            InputSanitizer.MAX_INPUT_LENGTH)
+            );
+        }
+
+        injectionDetector.validate(text, start, end);
+
+        boolean tagsStripped = stripper != null && stripper.hasStrippedTags();
+        String result = tagsStripped ? stripper.toString() : text.substring(start, end);
+        return new ScanResult(result, tagsStripped);
+    }
+
+    /**
+     * Result of a successful scan.
+     *
+     * @param text The trimmed text with HTML tags removed
+     * @param htmlStripped Whether any HTML tags were removed
+     */
+    public record ScanResult(String text, boolean htmlStripped) {
+    }
+}
@@ -0,0 +1,193 @@
+package com.azharkhalid.aitextsummarizer.validation;
+
+import com.azharkhalid.aitextsummarizer.config.SummarizeProperties;
+import com.azharkhalid.aitextsummarizer.exception.InvalidInputException;
+import com.azharkhalid.aitextsummarizer.metrics.SummarizeMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Detects prompt-injection phrases in user input.
+ * Phrases are loaded from the rules file at {@code ai.summarizer.injection.rules-location} plus
+ * any inline {@code ai.summarizer.injection.rules}, and matched with an {@link AhoCorasickMatcher}.
+ * The rules file is re-read when it changes, and can be reloaded on demand through the
+ * {@code injectionrules} actuator endpoint; requests in flight keep using the rule set they started with.
+ */
+@Slf4j
+@Component
+public class PromptInjectionDetector {
+
+    private final SummarizeProperties properties;
+    private final ResourceLoader resourceLoader;
+    private final SummarizeMetrics metrics;
+
+    private volatile RuleSet ruleSet;
+
+    public PromptInjectionDetector(SummarizeProperties properties, ResourceLoader resourceLoader,
+                                   SummarizeMetrics metrics) {
+        this.properties = properties;
+        this.resourceLoader = resourceLoader;
+        this.metrics = metrics;
+
+        // Fail fast on startup if the rules cannot be loaded
+        this.ruleSet = loadRuleSet();
+        log.info("Prompt injection rules loaded: {} rules, {} phrases from {}",
+                ruleSet.matcher().getRuleCount(), ruleSet.matcher().getPhraseCount(), ruleSet.location());
+    }
+
+    /**
+     * Rejects text containing a prompt-injection phrase and counts the matching rule.
+     *
+     * @param text The text to check
+     * @throws InvalidInputException if a phrase is found
+     */
+    public void validate(CharSequence text) {
+        validate(text, 0, text.length());
+    }
+
+    /**
+     * Rejects a region of the text if it contains a prompt-injection phrase and counts the matching rule.
+     *
+     * @param text The text to check
+     * @param start Start of the region, inclusive
+     * @param end End of the region, exclusive
+     * @throws InvalidInputException if a phrase is found
+     */
+    public void validate(CharSequence text, int start, int end) {
+        String rule = ruleSet.matcher().findFirst(text, start, end);
+        if (rule != null) {
+            metrics.recordInjectionDetected(rule);
+            log.warn("Potentially dangerous input pattern detected (rule: {})", rule);
+            throw new InvalidInputException(
+                    "Input contains suspicious content that may indicate an attempt to manipulate the system"
+            );
+        }
+    }
+
+    /**
+     * Reloads the rules from the configured location and inline rules.
+     * If the new rules cannot be loaded, the current rules stay in effect.
+     *
+     * @return Summary of the rule set in effect after the reload
+     */
+    public synchronized RuleSetInfo reload() {
+        try {
+            ruleSet = loadRuleSet();
+            log.info("Prompt injection rules reloaded: {} rules, {} phrases from {}",
+                    ruleSet.matcher().getRuleCount(), ruleSet.matcher().getPhraseCount(), ruleSet.location());
+        } catch (RuntimeException e) {
+            log.error("Failed to reload prompt injection rules, keeping the current rules", e);
+        }
+        return getRuleSetInfo();
+    }
+
+    /**
+     * Reloads the rules if the rules file has changed since it was last loaded.
+     */
+    @Scheduled(
+            fixedDelayString = "${ai.summarizer.injection.reload-interval:30s}",
+            initialDelayString = "${ai.summarizer.injection.reload-interval:30s}"
+    )
+    public void reloadIfChanged() {
+        RuleSet current = ruleSet;
+        if (current.location() == null) {
+            return;
+        }
+        long lastModified = lastModified(resourceLoader.getResource(current.location()));
+        if (lastModified != current.lastModified()) {
+            log.info("Prompt injection rules file changed, reloading");
+            reload();
+        }
+    }
+
+    /**
+     * Returns a summary of the rule set in effect.
+     */
+    public RuleSetInfo getRuleSetInfo() {
+        RuleSet current = ruleSet;
+        return new RuleSetInfo(current.location(), current.matcher().getRuleCount(),
+                current.matcher().getPhraseCount(), current.loadedAt());
+    }
+
+    private RuleSet loadRuleSet() {
+        SummarizeProperties.InjectionConfig config = properties.getInjection();
+        Map<String, List<String>> rules = new LinkedHashMap<>();
+
+        String location = StringUtils.hasText(config.getRulesLocation()) ? config.getRulesLocation() : null;
+        long lastModified = -1;
+        if (location != null) {
+            Resource resource = resourceLoader.getResource(location);
+            lastModified = lastModified(resource);
+            readRules(resource, rules);
+        }
+
+        config.getRules().forEach((rule, phrases) ->
+                rules.computeIfAbsent(rule, key -> new ArrayList<>()).addAll(phrases));
+
+        return new RuleSet(new AhoCorasickMatcher(rules), location, lastModified, Instant.now());
+    }
+
+    /**
+     * Reads a rules file: one {@code rule-id = phrase} per line, blank lines and {@code #} comments ignored.
+     */
+    private static void readRules(Resource resource, Map<String, List<String>> rules) {
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(resource.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            int lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                String trimmed = line.trim();
+                if (trimmed.isEmpty() || trimmed.startsWith("#")) {
+                    continue;
+                }
+                int separator = trimmed.indexOf('=');
+                if (separator <= 0 || separator == trimmed.length() - 1) {
+                    throw new IllegalStateException(String.format(
+                            "Invalid prompt injection rule at %s line %d: expected 'rule-id = phrase'",
+                            resource.getDescription(), lineNumber));
+                }
+                rules.computeIfAbsent(trimmed.substring(0, separator).trim(), key -> new ArrayList<>())
+                        .add(trimmed.substring(separator + 1).trim());
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot read prompt injection rules from " + resource.getDescription(), e);
+        }
+    }
+
+    private static long lastModified(Resource resource) {
+        try {
+            return resource.lastModified();
+        } catch (IOException e) {
+            return -1;
+        }
+    }
+
+    private record RuleSet(AhoCorasickMatcher matcher, String location, long lastModified, Instant loadedAt) {
+    }
+
+    /**
+     * Summary of the loaded rule set.
+     *
+     * @param location The rules file location, or null if only inline rules are used
+     * @param rules Number of distinct rules
+     * @param phrases Number of phrases across all rules
+     * @param loadedAt When the rules were loaded
+     */
+    public record RuleSetInfo(String location, int rules, int phrases, Instant loadedAt) {
+    }
+}
@@ -0,0 +1,30 @@
+package com.azharkhalid.aitextsummarizer.validation;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * Actuator endpoint for the prompt-injection rules.
+ * {@code GET /actuator/injectionrules} shows the loaded rule set and
+ * {@code POST /actuator/injectionrules} reloads it without a restart.
+ */
+@Component
+@Endpoint(id = "injectionrules")
+@RequiredArgsConstructor
+public class PromptInjectionRulesEndpoint {
+
+    private final PromptInjectionDetector injectionDetector;
+
+    @ReadOperation
+    public PromptInjectionDetector.RuleSetInfo rules() {
+        return injectionDetector.getRuleSetInfo();
+    }
+
+    @WriteOperation
+    public PromptInjectionDetector.RuleSetInfo reload() {
+        return injectionDetector.reload();
+    }
+}
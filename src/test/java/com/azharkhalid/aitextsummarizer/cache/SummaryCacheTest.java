@@ -0,0 +1,84 @@
+package com.azharkhalid.aitextsummarizer.cache;
+
+import com.azharkhalid.aitextsummarizer.config.SummarizeProperties;
+import com.azharkhalid.aitextsummarizer.enums.SummaryStyle;
+import com.azharkhalid.aitextsummarizer.metrics.SummarizeMetrics;
+import com.azharkhalid.aitextsummarizer.service.PromptService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("SummaryCache Tests")
+class SummaryCacheTest {
+
+    private static final String TEXT = "This is a valid text that is definitely over one hundred characters in length. " +
+            "It contains multiple sentences and provides enough content for the summarizer to process.";
+
+    private SummarizeProperties properties;
+    private SummarizeMetrics metrics;
+    private SummaryCache summaryCache;
+
+    @BeforeEach
+    void setUp() {
+        properties = new SummarizeProperties();
+        metrics = new SummarizeMetrics(new SimpleMeterRegistry());
+        metrics.init();
+        summaryCache = new SummaryCache(properties, new PromptService(), metrics);
+    }
+
+    @Test
+    @DisplayName("Should return cached summary after put and record hit and miss")
+    void shouldReturnCachedSummaryAfterPut() {
+        String key = summaryCache.keyFor(TEXT, SummaryStyle.CONCISE, 50);
+
+        assertThat(summaryCache.get(key)).isEmpty();
+        summaryCache.put(key, "A cached summary.");
+
+        assertThat(summaryCache.get(key)).contains("A cached summary.");
+        assertThat(metrics.getCacheMissCount()).isEqualTo(1.0);
+        assertThat(metrics.getCacheHitCount()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Should build different keys for different style, length and model")
+    void shouldBuildDifferentKeysForDifferentOptions() {
+        String concise = summaryCache.keyFor(TEXT, SummaryStyle.CONCISE, 50);
+
+        assertThat(summaryCache.keyFor(TEXT, SummaryStyle.CONCISE, 50)).isEqualTo(concise);
+        assertThat(summaryCache.keyFor(TEXT, SummaryStyle.BULLET, 50)).isNotEqualTo(concise);
+        assertThat(summaryCache.keyFor(TEXT, SummaryStyle.CONCISE, null)).isNotEqualTo(concise);
+
+        properties.setModel("gpt-4o");
+        assertThat(summaryCache.keyFor(TEXT, SummaryStyle.CONCISE, 50)).isNotEqualTo(concise);
+    }
+
+    @Test
+    @DisplayName("Should bound the cache by total bytes")
+    void shouldBoundCacheByTotalBytes() {
+        properties.getCache().setMaxSize(DataSize.ofBytes(2_000));
+        summaryCache = new SummaryCache(properties, new PromptService(), metrics);
+
+        for (int i = 0; i < 20; i++) {
+            summaryCache.put(summaryCache.keyFor(TEXT + i, SummaryStyle.CONCISE, null), "s".repeat(200));
+        }
+
+        // Each entry weighs roughly 650 bytes, so at most three fit
+        assertThat(summaryCache.size()).isLessThanOrEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should not cache when disabled")
+    void shouldNotCacheWhenDisabled() {
+        properties.getCache().setEnabled(false);
+        String key = summaryCache.keyFor(TEXT, SummaryStyle.CONCISE, null);
+
+        summaryCache.put(key, "A cached summary.");
+
+        assertThat(summaryCache.get(key)).isEmpty();
+        assertThat(metrics.getCacheMissCount()).isZero();
+    }
+}
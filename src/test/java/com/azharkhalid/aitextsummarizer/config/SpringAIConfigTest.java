@@ -1,12 +1,24 @@
 package com.azharkhalid.aitextsummarizer.config;
 
+import com.azharkhalid.aitextsummarizer.service.LlmPacer;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.ai.chat.client.ChatClient;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestClient;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
 
 @DisplayName("SpringAIConfig Tests")
 @SpringBootTest
@@ -20,4 +32,21 @@ class SpringAIConfigTest {
     void shouldCreateChatClientBean() {
         assertThat(chatClient).isNotNull();
     }
+
+    @Test
+    @DisplayName("Should pass provider responses, including 429s, to the pacer")
+    void shouldPassResponsesToPacer() {
+        LlmPacer pacer = mock(LlmPacer.class);
+        RestClient.Builder builder = RestClient.builder();
+        new SpringAIConfig().llmPacerCustomizer(pacer).customize(builder);
+        MockRestServiceServer server = MockRestServiceServer.bindTo(builder).build();
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, "3");
+        server.expect(request -> { }).andRespond(withStatus(HttpStatus.TOO_MANY_REQUESTS).headers(headers));
+
+        assertThatThrownBy(() -> builder.build().post().uri("https://api.openai.com/v1/chat/completions")
+                .retrieve().toBodilessEntity())
+                .isInstanceOf(HttpClientErrorException.TooManyRequests.class);
+        verify(pacer).onResponse(eq(HttpStatus.TOO_MANY_REQUESTS), any(HttpHeaders.class));
+    }
 }
@@ -0,0 +1,97 @@
+package com.azharkhalid.aitextsummarizer.controller;
+
+import com.azharkhalid.aitextsummarizer.dto.request.BatchSummarizeRequest;
+import com.azharkhalid.aitextsummarizer.dto.request.SummarizeRequest;
+import com.azharkhalid.aitextsummarizer.dto.response.SummarizeResponse;
+import com.azharkhalid.aitextsummarizer.service.RateLimitingService;
+import com.azharkhalid.aitextsummarizer.service.SummarizeService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.IntStream;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Integration tests for the batch endpoint with the shipped rate limit and batch size defaults.
+ */
+@SpringBootTest(properties = "ai.summarizer.rate-limit.tiers.default.limit-for-period=10")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DisplayName("Batch Summarize Integration Tests")
+class BatchSummarizeIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @MockBean
+    private SummarizeService summarizeService;
+
+    private MockHttpServletRequestBuilder batch(String clientAddress, int items) throws Exception {
+        BatchSummarizeRequest request = BatchSummarizeRequest.builder()
+                .items(IntStream.range(0, items)
+                        .mapToObj(i -> SummarizeRequest.builder()
+                                .text("Item " + i + " of the batch, long enough to be summarized. ".repeat(3))
+                                .build())
+                        .toList())
+                .build();
+        return post("/api/v1/summarize/batch")
+                .with(servletRequest -> {
+                    servletRequest.setRemoteAddr(clientAddress);
+                    return servletRequest;
+                })
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request));
+    }
+
+    @Test
+    @DisplayName("Should charge a full-size batch one request of the default tier")
+    void shouldChargeBatchOneRequest() throws Exception {
+        when(summarizeService.summarize(any(SummarizeRequest.class)))
+                .thenReturn(CompletableFuture.completedFuture(SummarizeResponse.builder().summary("Summary.").build()));
+
+        for (int remaining : List.of(9, 8)) {
+            MvcResult mvcResult = mockMvc.perform(batch("10.0.0.1", 10))
+                    .andExpect(request().asyncStarted())
+                    .andExpect(header().string(RateLimitingService.REMAINING_HEADER, String.valueOf(remaining)))
+                    .andReturn();
+
+            mockMvc.perform(asyncDispatch(mvcResult))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.succeeded").value(10));
+        }
+        verify(summarizeService, times(20)).summarize(any(SummarizeRequest.class));
+    }
+
+    @Test
+    @DisplayName("Should reject a batch larger than the default tier with 400 stating the maximum size")
+    void shouldRejectBatchLargerThanTier() throws Exception {
+        mockMvc.perform(batch("10.0.0.2", 11))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errorCode").value("INVALID_INPUT"))
+                .andExpect(jsonPath("$.message").value(
+                        containsString("maximum size of 10 items")));
+
+        verify(summarizeService, never()).summarize(any(SummarizeRequest.class));
+    }
+}
@@ -1,29 +1,62 @@
 package com.azharkhalid.aitextsummarizer.controller;
 
+import com.azharkhalid.aitextsummarizer.dto.request.BatchSummarizeRequest;
+import com.azharkhalid.aitextsummarizer.dto.request.DocumentSummarizeRequest;
 import com.azharkhalid.aitextsummarizer.dto.request.SummarizeRequest;
+import com.azharkhalid.aitextsummarizer.dto.response.BatchItemResult;
+import com.azharkhalid.aitextsummarizer.dto.response.BatchSummarizeResponse;
+import com.azharkhalid.aitextsummarizer.dto.response.ErrorResponse;
 import com.azharkhalid.aitextsummarizer.dto.response.SummarizeResponse;
 import com.azharkhalid.aitextsummarizer.enums.SummaryStyle;
+import com.azharkhalid.aitextsummarizer.exception.DeadlineExceededException;
 import com.azharkhalid.aitextsummarizer.exception.InvalidInputException;
+import com.azharkhalid.aitextsummarizer.exception.LLMTimeoutException;
+import com.azharkhalid.aitextsummarizer.exception.LLMUnavailableException;
 import com.azharkhalid.aitextsummarizer.exception.RateLimitExceededException;
+import com.azharkhalid.aitextsummarizer.exception.ServiceOverloadedException;
+import com.azharkhalid.aitextsummarizer.logging.StructuredLogger;
+import com.azharkhalid.aitextsummarizer.metrics.StageTimings;
+import com.azharkhalid.aitextsummarizer.metrics.SummarizeMetrics;
+import com.azharkhalid.aitextsummarizer.metrics.SummarizeStage;
+import com.azharkhalid.aitextsummarizer.service.BatchSummarizeService;
+import com.azharkhalid.aitextsummarizer.service.Deadline;
+import com.azharkhalid.aitextsummarizer.service.DocumentSummarizeService;
 import com.azharkhalid.aitextsummarizer.service.SummarizeService;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockAsyncContext;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
 
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @DisplayName("SummarizeController Unit Tests")
 @WebMvcTest(SummarizeController.class)
+@Import(StructuredLogger.class)
 class SummarizeControllerTest {
 
     @Autowired
@@ -35,6 +68,41 @@ class SummarizeControllerTest {
     @MockBean
     private SummarizeService summarizeService;
 
+    @MockBean
+    private DocumentSummarizeService documentSummarizeService;
+
+    @MockBean
+    private BatchSummarizeService batchSummarizeService;
+
+    @MockBean
+    private SummarizeMetrics metrics;
+
+    /**
+     * Posts the request and dispatches the async result.
+     * The endpoint returns a CompletableFuture, so the response is only rendered after dispatch.
+     */
+    private ResultActions performAsyncSummarize(SummarizeRequest request) throws Exception {
+        MvcResult mvcResult = mockMvc.perform(post("/api/v1/summarize")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        return mockMvc.perform(asyncDispatch(mvcResult));
+    }
+
+    /**
+     * Signals the async request's listeners the way the container does when the client closes the
+     * connection: an error, then completion of the request.
+     */
+    private static void disconnect(MvcResult mvcResult) throws IOException {
+        MockAsyncContext asyncContext = (MockAsyncContext) mvcResult.getRequest().getAsyncContext();
+        for (AsyncListener listener : asyncContext.getListeners()) {
+            listener.onError(new AsyncEvent(asyncContext, new IOException("Broken pipe")));
+        }
+        asyncContext.complete();
+    }
+
     @Test
     @DisplayName("Should return 200 and summary when request is valid")
     void shouldReturn200WhenRequestIsValid() throws Exception {
@@ -55,13 +123,11 @@ class SummarizeControllerTest {
                 .processingTimeMs(500)
                 .build();
 
-        when(summarizeService.summarize(any(SummarizeRequest.class)))
+        when(summarizeService.summarize(any(SummarizeRequest.class), any(StageTimings.class), any(Deadline.class)))
                 .thenReturn(CompletableFuture.completedFuture(response));
 
         // Act & Assert
-        mockMvc.perform(post("/api/v1/summarize")
-                        .contentType(MediaType.APPLICATION_JSON)
-                        .content(objectMapper.writeValueAsString(request)))
+        performAsyncSummarize(request)
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.summary").value("This is a summary."))
                 .andExpect(jsonPath("$.inputLength").value(request.getText().length()))
@@ -69,7 +135,39 @@ class SummarizeControllerTest {
                 .andExpect(jsonPath("$.model").value("gpt-4o-mini"))
                 .andExpect(jsonPath("$.processingTimeMs").value(500));
 
-        verify(summarizeService, times(1)).summarize(any(SummarizeRequest.class));
+        verify(summarizeService, times(1)).summarize(any(SummarizeRequest.class), any(StageTimings.class), any(Deadline.class));
+    }
+
+    @Test
+    @DisplayName("Should report the stage breakdown in the Server-Timing header")
+    void shouldReturnServerTimingHeader() throws Exception {
+        // Arrange
+        SummarizeRequest request = new SummarizeRequest(
+                "This is a test text that is long enough to pass validation. " +
+                "It contains more than one hundred characters to ensure it meets " +
+                "the minimum length requirement.",
+                150,
+                SummaryStyle.CONCISE
+        );
+
+        SummarizeResponse response = SummarizeResponse.builder()
+                .summary("This is a summary.")
+                .build();
+
+        when(summarizeService.summarize(any(SummarizeRequest.class), any(StageTimings.class), any(Deadline.class)))
+                .thenAnswer(invocation -> {
+                    StageTimings timings = invocation.getArgument(1);
+                    timings.record(SummarizeStage.VALIDATION, 400_000);
+                    timings.record(SummarizeStage.LLM, 812_500_000);
+                    return CompletableFuture.completedFuture(response);
+                });
+
+        // Act & Assert
+        performAsyncSummarize(request)
+                .andExpect(status().isOk())
+                .andExpect(header().string("Server-Timing", containsString(
+                        "validation;desc=\"Validation and sanitization\";dur=0.400, " +
+                        "llm;desc=\"LLM provider call\";dur=812.500, total;dur=")));
     }
 
     @Test
@@ -88,7 +186,7 @@ class SummarizeControllerTest {
                         .content(objectMapper.writeValueAsString(request)))
                 .andExpect(status().isBadRequest());
 
-        verify(summarizeService, never()).summarize(any(SummarizeRequest.class));
+        verify(summarizeService, never()).summarize(any(SummarizeRequest.class), any(StageTimings.class), any(Deadline.class));
     }
 
     @Test
@@ -107,7 +205,7 @@ class SummarizeControllerTest {
                         .content(objectMapper.writeValueAsString(request)))
                 .andExpect(status().isBadRequest());
 
-        verify(summarizeService, never()).summarize(any(SummarizeRequest.class));
+        verify(summarizeService, never()).summarize(any(SummarizeRequest.class), any(StageTimings.class), any(Deadline.class));
     }
 
     @Test
@@ -128,7 +226,7 @@ class SummarizeControllerTest {
                         .content(objectMapper.writeValueAsString(request)))
                 .andExpect(status().isBadRequest());
 
-        verify(summarizeService, never()).summarize(any(SummarizeRequest.class));
+        verify(summarizeService, never()).summarize(any(SummarizeRequest.class), any(StageTimings.class), any(Deadline.class));
     }
 
     @Test
@@ -140,7 +238,7 @@ class SummarizeControllerTest {
                         .content("{invalid json}"))
                 .andExpect(status().isBadRequest());
 
-        verify(summarizeService, never()).summarize(any(SummarizeRequest.class));
+        verify(summarizeService, never()).summarize(any(SummarizeRequest.class), any(StageTimings.class), any(Deadline.class));
     }
 
     @Test
@@ -163,16 +261,14 @@ class SummarizeControllerTest {
                 .processingTimeMs(500)
                 .build();
 
-        when(summarizeService.summarize(any(SummarizeRequest.class)))
+        when(summarizeService.summarize(any(SummarizeRequest.class), any(StageTimings.class), any(Deadline.class)))
                 .thenReturn(CompletableFuture.completedFuture(response));
 
         // Act & Assert
-        mockMvc.perform(post("/api/v1/summarize")
-                        .contentType(MediaType.APPLICATION_JSON)
-                        .content(objectMapper.writeValueAsString(request)))
+        performAsyncSummarize(request)
                 .andExpect(status().isOk());
 
-        verify(summarizeService, times(1)).summarize(any(SummarizeRequest.class));
+        verify(summarizeService, times(1)).summarize(any(SummarizeRequest.class), any(StageTimings.class), any(Deadline.class));
     }
 
     @Test
@@ -195,17 +291,15 @@ class SummarizeControllerTest {
                 .processingTimeMs(600)
                 .build();
 
-        when(summarizeService.summarize(any(SummarizeRequest.class)))
+        when(summarizeService.summarize(any(SummarizeRequest.class), any(StageTimings.class), any(Deadline.class)))
                 .thenReturn(CompletableFuture.completedFuture(response));
 
         // Act & Assert
-        mockMvc.perform(post("/api/v1/summarize")
-                        .contentType(MediaType.APPLICATION_JSON)
-                        .content(objectMapper.writeValueAsString(request)))
+        performAsyncSummarize(request)
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.summary").value("- Point 1\n- Point 2\n- Point 3"));
 
-        verify(summarizeService, times(1)).summarize(any(SummarizeRequest.class));
+        verify(summarizeService, times(1)).summarize(any(SummarizeRequest.class), any(StageTimings.class), any(Deadline.class));
     }
 
     @Test
@@ -228,17 +322,15 @@ class SummarizeControllerTest {
                 .processingTimeMs(700)
                 .build();
 
-        when(summarizeService.summarize(any(SummarizeRequest.class)))
+        when(summarizeService.summarize(any(SummarizeRequest.class), any(StageTimings.class), any(Deadline.class)))
                 .thenReturn(CompletableFuture.completedFuture(response));
 
         // Act & Assert
-        mockMvc.perform(post("/api/v1/summarize")
-                        .contentType(MediaType.APPLICATION_JSON)
-                        .content(objectMapper.writeValueAsString(request)))
+        performAsyncSummarize(request)
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.summary").value("Executive Summary: Key insights and findings."));
 
-        verify(summarizeService, times(1)).summarize(any(SummarizeRequest.class));
+        verify(summarizeService, times(1)).summarize(any(SummarizeRequest.class), any(StageTimings.class), any(Deadline.class));
     }
 
     @Test
@@ -253,7 +345,7 @@ class SummarizeControllerTest {
                 SummaryStyle.CONCISE
         );
 
-        when(summarizeService.summarize(any(SummarizeRequest.class)))
+        when(summarizeService.summarize(any(SummarizeRequest.class), any(StageTimings.class), any(Deadline.class)))
                 .thenThrow(new RateLimitExceededException("Rate limit exceeded. Please try again later."));
 
         // Act & Assert
@@ -262,7 +354,148 @@ class SummarizeControllerTest {
                         .content(objectMapper.writeValueAsString(request)))
                 .andExpect(status().isTooManyRequests());
 
-        verify(summarizeService, times(1)).summarize(any(SummarizeRequest.class));
+        verify(summarizeService, times(1)).summarize(any(SummarizeRequest.class), any(StageTimings.class), any(Deadline.class));
+    }
+
+    @Test
+    @DisplayName("Should send Retry-After with a 429, rounded up to whole seconds")
+    void shouldSendRetryAfterWhenRateLimitExceeded() throws Exception {
+        SummarizeRequest request = new SummarizeRequest(
+                "This is a test text that is long enough to pass validation. " +
+                "It contains more than one hundred characters to ensure it meets " +
+                "the minimum length requirement.",
+                150,
+                SummaryStyle.CONCISE
+        );
+
+        when(summarizeService.summarize(any(SummarizeRequest.class), any(StageTimings.class), any(Deadline.class)))
+                .thenThrow(new RateLimitExceededException("Rate limit exceeded. Please try again later.",
+                        Duration.ofMillis(4200)));
+
+        mockMvc.perform(post("/api/v1/summarize")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "5"));
+    }
+
+    @Test
+    @DisplayName("Should return 503 with Retry-After when the request is shed")
+    void shouldReturn503WhenOverloaded() throws Exception {
+        SummarizeRequest request = new SummarizeRequest(
+                "This is a test text that is long enough to pass validation. " +
+                "It contains more than one hundred characters to ensure it meets " +
+                "the minimum length requirement.",
+                150,
+                SummaryStyle.CONCISE
+        );
+
+        when(summarizeService.summarize(any(SummarizeRequest.class), any(StageTimings.class), any(Deadline.class)))
+                .thenThrow(new ServiceOverloadedException("Summarization capacity exhausted, please try again later",
+                        Duration.ofSeconds(5)));
+
+        mockMvc.perform(post("/api/v1/summarize")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "5"))
+                .andExpect(jsonPath("$.errorCode").value("SERVICE_OVERLOADED"));
+    }
+
+    @Test
+    @DisplayName("Should return 503 with Retry-After while the LLM circuit breaker is open")
+    void shouldReturn503WhenLLMUnavailable() throws Exception {
+        SummarizeRequest request = new SummarizeRequest(
+                "This is a test text that is long enough to pass validation. " +
+                "It contains more than one hundred characters to ensure it meets " +
+                "the minimum length requirement.",
+                150,
+                SummaryStyle.CONCISE
+        );
+
+        when(summarizeService.summarize(any(SummarizeRequest.class), any(StageTimings.class), any(Deadline.class)))
+                .thenThrow(new LLMUnavailableException("The LLM provider is unavailable, please try again later",
+                        Duration.ofSeconds(12)));
+
+        mockMvc.perform(post("/api/v1/summarize")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "12"))
+                .andExpect(jsonPath("$.errorCode").value("LLM_UNAVAILABLE"));
+    }
+
+    @Test
+    @DisplayName("Should pass the X-Request-Deadline header to the service as a deadline")
+    void shouldPassRequestDeadline() throws Exception {
+        SummarizeRequest request = new SummarizeRequest(
+                "This is a test text that is long enough to pass validation. " +
+                "It contains more than one hundred characters to ensure it meets " +
+                "the minimum length requirement.",
+                150,
+                SummaryStyle.CONCISE
+        );
+        SummarizeResponse response = SummarizeResponse.builder()
+                .summary("A summary.")
+                .build();
+        when(summarizeService.summarize(any(SummarizeRequest.class), any(StageTimings.class), any(Deadline.class)))
+                .thenReturn(CompletableFuture.completedFuture(response));
+
+        MvcResult mvcResult = mockMvc.perform(post("/api/v1/summarize")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header(Deadline.HEADER, "2500m")
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(mvcResult))
+                .andExpect(status().isOk());
+
+        verify(summarizeService).summarize(any(SummarizeRequest.class), any(StageTimings.class),
+                argThat(deadline -> deadline.isBounded()
+                        && deadline.remaining().compareTo(Duration.ofMillis(2500)) <= 0
+                        && deadline.remaining().compareTo(Duration.ofMillis(1500)) > 0));
+    }
+
+    @Test
+    @DisplayName("Should return 400 for a malformed X-Request-Deadline header")
+    void shouldReturn400ForMalformedDeadline() throws Exception {
+        SummarizeRequest request = new SummarizeRequest(
+                "This is a test text that is long enough to pass validation. " +
+                "It contains more than one hundred characters to ensure it meets " +
+                "the minimum length requirement.",
+                150,
+                SummaryStyle.CONCISE
+        );
+
+        mockMvc.perform(post("/api/v1/summarize")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header(Deadline.HEADER, "soon")
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errorCode").value("INVALID_INPUT"));
+        verify(summarizeService, never()).summarize(any(SummarizeRequest.class), any(StageTimings.class),
+                any(Deadline.class));
+    }
+
+    @Test
+    @DisplayName("Should return 504 when the request deadline passes")
+    void shouldReturn504WhenDeadlineExceeded() throws Exception {
+        SummarizeRequest request = new SummarizeRequest(
+                "This is a test text that is long enough to pass validation. " +
+                "It contains more than one hundred characters to ensure it meets " +
+                "the minimum length requirement.",
+                150,
+                SummaryStyle.CONCISE
+        );
+        when(summarizeService.summarize(any(SummarizeRequest.class), any(StageTimings.class), any(Deadline.class)))
+                .thenThrow(new DeadlineExceededException("The request deadline passed before the request was admitted"));
+
+        mockMvc.perform(post("/api/v1/summarize")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header(Deadline.HEADER, "0m")
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isGatewayTimeout())
+                .andExpect(jsonPath("$.errorCode").value("DEADLINE_EXCEEDED"));
     }
 
     @Test
@@ -277,7 +510,7 @@ class SummarizeControllerTest {
                 SummaryStyle.CONCISE
         );
 
-        when(summarizeService.summarize(any(SummarizeRequest.class)))
+        when(summarizeService.summarize(any(SummarizeRequest.class), any(StageTimings.class), any(Deadline.class)))
                 .thenThrow(new InvalidInputException("Input contains suspicious content"));
 
         // Act & Assert
@@ -286,6 +519,277 @@ class SummarizeControllerTest {
                         .content(objectMapper.writeValueAsString(request)))
                 .andExpect(status().isBadRequest());
 
-        verify(summarizeService, times(1)).summarize(any(SummarizeRequest.class));
+        verify(summarizeService, times(1)).summarize(any(SummarizeRequest.class), any(StageTimings.class), any(Deadline.class));
+    }
+
+    @Test
+    @DisplayName("Should return 503 when the summary future fails with LLMTimeoutException")
+    void shouldReturn503WhenFutureFailsWithTimeout() throws Exception {
+        // Arrange
+        SummarizeRequest request = new SummarizeRequest(
+                "This is a test text that is long enough to pass validation. " +
+                "It contains more than one hundred characters to ensure it meets " +
+                "the minimum length requirement.",
+                150,
+                SummaryStyle.CONCISE
+        );
+
+        when(summarizeService.summarize(any(SummarizeRequest.class), any(StageTimings.class), any(Deadline.class)))
+                .thenReturn(CompletableFuture.failedFuture(new LLMTimeoutException("Provider timed out")));
+
+        // Act & Assert
+        performAsyncSummarize(request)
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(jsonPath("$.errorCode").value("LLM_TIMEOUT"));
+
+        verify(summarizeService, times(1)).summarize(any(SummarizeRequest.class), any(StageTimings.class), any(Deadline.class));
+    }
+
+    @Test
+    @DisplayName("Should stream token events followed by a summary event")
+    void shouldStreamTokenAndSummaryEvents() throws Exception {
+        // Arrange
+        SummarizeRequest request = new SummarizeRequest(
+                "This is a test text that is long enough to pass validation. " +
+                "It contains more than one hundred characters to ensure it meets " +
+                "the minimum length requirement.",
+                150,
+                SummaryStyle.CONCISE
+        );
+
+        SummarizeResponse response = SummarizeResponse.builder()
+                .summary("Streamed summary.")
+                .inputLength(request.getText().length())
+                .summaryLength(17)
+                .model("gpt-4o-mini")
+                .processingTimeMs(400)
+                .build();
+
+        when(summarizeService.summarizeStream(any(SummarizeRequest.class)))
+                .thenReturn(new SummarizeService.SummaryStream(
+                        Flux.just("Streamed ", "summary."), Mono.just(response)));
+
+        // Act
+        MvcResult mvcResult = mockMvc.perform(post("/api/v1/summarize/stream")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Assert
+        mockMvc.perform(asyncDispatch(mvcResult))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(content().string(containsString("event:token")))
+                .andExpect(content().string(containsString("data:Streamed ")))
+                .andExpect(content().string(containsString("event:summary")))
+                .andExpect(content().string(containsString("\"model\":\"gpt-4o-mini\"")));
+    }
+
+    @Test
+    @DisplayName("Should return 400 before streaming when validation fails")
+    void shouldReturn400BeforeStreamingWhenValidationFails() throws Exception {
+        // Arrange
+        SummarizeRequest request = new SummarizeRequest(
+                "This is a test text that is long enough to pass validation. " +
+                "It contains more than one hundred characters to ensure it meets " +
+                "the minimum length requirement.",
+                150,
+                SummaryStyle.CONCISE
+        );
+
+        when(summarizeService.summarizeStream(any(SummarizeRequest.class)))
+                .thenThrow(new InvalidInputException("Input contains suspicious content"));
+
+        // Act & Assert
+        mockMvc.perform(post("/api/v1/summarize/stream")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.TEXT_EVENT_STREAM, MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Should accept documents longer than the single-pass limit on the document endpoint")
+    void shouldSummarizeLongDocument() throws Exception {
+        DocumentSummarizeRequest request = DocumentSummarizeRequest.builder()
+                .text("A long paragraph of the report. ".repeat(500))
+                .summaryStyle(SummaryStyle.EXECUTIVE)
+                .build();
+
+        SummarizeResponse response = SummarizeResponse.builder()
+                .summary("Document summary.")
+                .inputLength(request.getText().length())
+                .summaryLength(17)
+                .model("gpt-4o-mini")
+                .processingTimeMs(2500)
+                .build();
+
+        when(documentSummarizeService.summarizeDocument(any(DocumentSummarizeRequest.class)))
+                .thenReturn(CompletableFuture.completedFuture(response));
+
+        MvcResult mvcResult = mockMvc.perform(post("/api/v1/summarize/document")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(mvcResult))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.summary").value("Document summary."))
+                .andExpect(jsonPath("$.inputLength").value(request.getText().length()));
+    }
+
+    @Test
+    @DisplayName("Should return 400 when document exceeds the document limit")
+    void shouldReturn400WhenDocumentTooLong() throws Exception {
+        DocumentSummarizeRequest request = DocumentSummarizeRequest.builder()
+                .text("A".repeat(200001))
+                .build();
+
+        mockMvc.perform(post("/api/v1/summarize/document")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest());
+
+        verify(documentSummarizeService, never()).summarizeDocument(any(DocumentSummarizeRequest.class));
+    }
+
+    @Test
+    @DisplayName("Should return per-item results for a batch, including failed items")
+    void shouldSummarizeBatch() throws Exception {
+        SummarizeRequest item = SummarizeRequest.builder()
+                .text("A paragraph of the report that is long enough to summarize. ".repeat(3))
+                .build();
+        BatchSummarizeRequest request = BatchSummarizeRequest.builder()
+                .items(List.of(item, SummarizeRequest.builder().text("Too short").build()))
+                .build();
+
+        BatchSummarizeResponse response = BatchSummarizeResponse.builder()
+                .results(List.of(
+                        BatchItemResult.builder().index(0).success(true)
+                                .result(SummarizeResponse.builder().summary("Item summary.").build())
+                                .build(),
+                        BatchItemResult.builder().index(1).success(false)
+                                .error(new ErrorResponse("INVALID_INPUT", "Text must be between 100 and 10000 characters"))
+                                .build()))
+                .succeeded(1)
+                .failed(1)
+                .build();
+        when(batchSummarizeService.summarizeBatch(any(BatchSummarizeRequest.class)))
+                .thenReturn(CompletableFuture.completedFuture(response));
+
+        MvcResult mvcResult = mockMvc.perform(post("/api/v1/summarize/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(mvcResult))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.results[0].result.summary").value("Item summary."))
+                .andExpect(jsonPath("$.results[0].error").doesNotExist())
+                .andExpect(jsonPath("$.results[1].success").value(false))
+                .andExpect(jsonPath("$.results[1].error.errorCode").value("INVALID_INPUT"))
+                .andExpect(jsonPath("$.failed").value(1));
+    }
+
+    @Test
+    @DisplayName("Should return 400 for an empty batch")
+    void shouldReturn400WhenBatchIsEmpty() throws Exception {
+        mockMvc.perform(post("/api/v1/summarize/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"items\":[]}"))
+                .andExpect(status().isBadRequest());
+
+        verify(batchSummarizeService, never()).summarizeBatch(any(BatchSummarizeRequest.class));
+    }
+
+    @Test
+    @DisplayName("Should cancel the summary when the client disconnects")
+    void shouldCancelSummaryWhenClientDisconnects() throws Exception {
+        SummarizeRequest request = SummarizeRequest.builder()
+                .text("A paragraph of the report that is long enough to summarize. ".repeat(3))
+                .build();
+        CompletableFuture<SummarizeResponse> pending = new CompletableFuture<>();
+        when(summarizeService.summarize(any(SummarizeRequest.class), any(StageTimings.class), any(Deadline.class)))
+                .thenReturn(pending);
+
+        MvcResult mvcResult = mockMvc.perform(post("/api/v1/summarize")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        disconnect(mvcResult);
+
+        assertThat(pending).isCancelled();
+        verify(metrics).recordCancelled("summarize");
+    }
+
+    @Test
+    @DisplayName("Should cancel a batch when the async request times out")
+    void shouldCancelBatchWhenAsyncRequestTimesOut() throws Exception {
+        BatchSummarizeRequest request = BatchSummarizeRequest.builder()
+                .items(List.of(SummarizeRequest.builder()
+                        .text("A paragraph of the report that is long enough to summarize. ".repeat(3))
+                        .build()))
+                .build();
+        CompletableFuture<BatchSummarizeResponse> pending = new CompletableFuture<>();
+        when(batchSummarizeService.summarizeBatch(any(BatchSummarizeRequest.class))).thenReturn(pending);
+
+        MvcResult mvcResult = mockMvc.perform(post("/api/v1/summarize/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        MockAsyncContext asyncContext = (MockAsyncContext) mvcResult.getRequest().getAsyncContext();
+        for (AsyncListener listener : asyncContext.getListeners()) {
+            listener.onTimeout(new AsyncEvent(asyncContext));
+        }
+        asyncContext.complete();
+
+        assertThat(pending).isCancelled();
+        verify(metrics).recordCancelled("batch");
+    }
+
+    @Test
+    @DisplayName("Should not count a request that finished before the client disconnected")
+    void shouldNotCancelFinishedRequest() throws Exception {
+        DocumentSummarizeRequest request = DocumentSummarizeRequest.builder()
+                .text("A paragraph of the report that is long enough to summarize. ".repeat(3))
+                .build();
+        when(documentSummarizeService.summarizeDocument(any(DocumentSummarizeRequest.class)))
+                .thenReturn(CompletableFuture.completedFuture(SummarizeResponse.builder().summary("Done.").build()));
+
+        MvcResult mvcResult = mockMvc.perform(post("/api/v1/summarize/document")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        disconnect(mvcResult);
+
+        verify(metrics, never()).recordCancelled(any());
+    }
+
+    @Test
+    @DisplayName("Should cancel the summary stream when the client disconnects")
+    void shouldCancelStreamWhenClientDisconnects() throws Exception {
+        SummarizeRequest request = SummarizeRequest.builder()
+                .text("A paragraph of the report that is long enough to summarize. ".repeat(3))
+                .build();
+        AtomicBoolean cancelled = new AtomicBoolean();
+        when(summarizeService.summarizeStream(any(SummarizeRequest.class)))
+                .thenReturn(new SummarizeService.SummaryStream(
+                        Flux.<String>never().doOnCancel(() -> cancelled.set(true)), Mono.never()));
+
+        MvcResult mvcResult = mockMvc.perform(post("/api/v1/summarize/stream")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        disconnect(mvcResult);
+
+        assertThat(cancelled).isTrue();
+        verify(metrics).recordCancelled("stream");
     }
 }
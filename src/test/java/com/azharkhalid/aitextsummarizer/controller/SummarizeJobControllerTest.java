@@ -0,0 +1,124 @@
+package com.azharkhalid.aitextsummarizer.controller;
+
+import com.azharkhalid.aitextsummarizer.dto.request.SummarizeJobRequest;
+import com.azharkhalid.aitextsummarizer.dto.response.SummarizeJobResponse;
+import com.azharkhalid.aitextsummarizer.dto.response.SummarizeResponse;
+import com.azharkhalid.aitextsummarizer.enums.JobStatus;
+import com.azharkhalid.aitextsummarizer.exception.JobNotFoundException;
+import com.azharkhalid.aitextsummarizer.exception.ServiceOverloadedException;
+import com.azharkhalid.aitextsummarizer.logging.StructuredLogger;
+import com.azharkhalid.aitextsummarizer.service.SummarizeJobService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.hamcrest.Matchers.endsWith;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@DisplayName("SummarizeJobController Unit Tests")
+@WebMvcTest(SummarizeJobController.class)
+@Import(StructuredLogger.class)
+class SummarizeJobControllerTest {
+
+    private static final String TEXT = "This is a test text that is long enough to pass validation. " +
+            "It contains more than one hundred characters to ensure it meets the minimum length requirement.";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @MockBean
+    private SummarizeJobService summarizeJobService;
+
+    private static SummarizeJobResponse queuedJob() {
+        return SummarizeJobResponse.builder()
+                .jobId("job-1")
+                .status(JobStatus.QUEUED)
+                .submittedAt(Instant.parse("2026-01-01T10:00:00Z"))
+                .build();
+    }
+
+    @Test
+    @DisplayName("Should return 202 with the job URL when a job is accepted")
+    void shouldAcceptJob() throws Exception {
+        when(summarizeJobService.submit(any(SummarizeJobRequest.class))).thenReturn(queuedJob());
+
+        mockMvc.perform(post("/api/v1/summarize/jobs")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(SummarizeJobRequest.builder()
+                                .text(TEXT)
+                                .callbackUrl("https://example.com/callback")
+                                .build())))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", endsWith("/api/v1/summarize/jobs/job-1")))
+                .andExpect(jsonPath("$.jobId").value("job-1"))
+                .andExpect(jsonPath("$.status").value("QUEUED"))
+                .andExpect(jsonPath("$.result").doesNotExist());
+    }
+
+    @Test
+    @DisplayName("Should return 400 for an invalid callback URL")
+    void shouldRejectInvalidCallbackUrl() throws Exception {
+        mockMvc.perform(post("/api/v1/summarize/jobs")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(SummarizeJobRequest.builder()
+                                .text(TEXT)
+                                .callbackUrl("ftp://example.com/callback")
+                                .build())))
+                .andExpect(status().isBadRequest());
+
+        verify(summarizeJobService, never()).submit(any());
+    }
+
+    @Test
+    @DisplayName("Should return 503 with Retry-After when the job queue is full")
+    void shouldReturn503WhenQueueIsFull() throws Exception {
+        when(summarizeJobService.submit(any(SummarizeJobRequest.class)))
+                .thenThrow(new ServiceOverloadedException("Job queue is full", Duration.ofSeconds(30)));
+
+        mockMvc.perform(post("/api/v1/summarize/jobs")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(SummarizeJobRequest.builder().text(TEXT).build())))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "30"));
+    }
+
+    @Test
+    @DisplayName("Should return the finished job with its summary")
+    void shouldReturnJob() throws Exception {
+        SummarizeJobResponse job = queuedJob();
+        job.setStatus(JobStatus.SUCCEEDED);
+        job.setResult(SummarizeResponse.builder().summary("A summary").build());
+        when(summarizeJobService.getJob("job-1")).thenReturn(job);
+
+        mockMvc.perform(get("/api/v1/summarize/jobs/job-1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("SUCCEEDED"))
+                .andExpect(jsonPath("$.result.summary").value("A summary"));
+    }
+
+    @Test
+    @DisplayName("Should return 404 for an unknown job")
+    void shouldReturn404ForUnknownJob() throws Exception {
+        when(summarizeJobService.getJob("missing")).thenThrow(new JobNotFoundException("Job not found: missing"));
+
+        mockMvc.perform(get("/api/v1/summarize/jobs/missing"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.errorCode").value("JOB_NOT_FOUND"));
+    }
+}
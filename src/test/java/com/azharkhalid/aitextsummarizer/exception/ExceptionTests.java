@@ -3,6 +3,8 @@ package com.azharkhalid.aitextsummarizer.exception;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import java.time.Duration;
+
 import static org.assertj.core.api.Assertions.assertThat;
 
 @DisplayName("Exception Tests")
@@ -53,4 +55,50 @@ class ExceptionTests {
         assertThat(exception.getMessage()).isEqualTo("Rate limit exceeded");
         assertThat(exception).isInstanceOf(SummarizerException.class);
     }
+
+    @Test
+    @DisplayName("RateLimitExceededException should carry the retry delay")
+    void rateLimitExceededExceptionShouldCarryRetryAfter() {
+        assertThat(new RateLimitExceededException("Rate limit exceeded").getRetryAfter()).isNull();
+        assertThat(new RateLimitExceededException("Rate limit exceeded", Duration.ofSeconds(6)).getRetryAfter())
+                .isEqualTo(Duration.ofSeconds(6));
+    }
+
+    @Test
+    @DisplayName("ServiceOverloadedException should carry the retry delay")
+    void serviceOverloadedExceptionShouldCarryRetryAfter() {
+        ServiceOverloadedException exception = new ServiceOverloadedException("Overloaded", Duration.ofSeconds(5));
+
+        assertThat(exception.getMessage()).isEqualTo("Overloaded");
+        assertThat(exception.getRetryAfter()).isEqualTo(Duration.ofSeconds(5));
+        assertThat(exception).isInstanceOf(SummarizerException.class);
+    }
+
+    @Test
+    @DisplayName("LLMUnavailableException should carry the retry delay")
+    void llmUnavailableExceptionShouldCarryRetryAfter() {
+        LLMUnavailableException exception = new LLMUnavailableException("Provider down", Duration.ofSeconds(30));
+
+        assertThat(exception.getMessage()).isEqualTo("Provider down");
+        assertThat(exception.getRetryAfter()).isEqualTo(Duration.ofSeconds(30));
+        assertThat(exception).isInstanceOf(SummarizerException.class);
+    }
+
+    @Test
+    @DisplayName("DeadlineExceededException should have message")
+    void deadlineExceededExceptionShouldHaveMessage() {
+        DeadlineExceededException exception = new DeadlineExceededException("Deadline passed");
+
+        assertThat(exception.getMessage()).isEqualTo("Deadline passed");
+        assertThat(exception).isInstanceOf(SummarizerException.class);
+    }
+
+    @Test
+    @DisplayName("JobNotFoundException should have message")
+    void jobNotFoundExceptionShouldHaveMessage() {
+        JobNotFoundException exception = new JobNotFoundException("Job not found: 42");
+
+        assertThat(exception.getMessage()).isEqualTo("Job not found: 42");
+        assertThat(exception).isInstanceOf(SummarizerException.class);
+    }
 }
@@ -1,14 +1,21 @@
 package com.azharkhalid.aitextsummarizer.health;
 
-import io.github.resilience4j.ratelimiter.RateLimiterRegistry;
-import io.github.resilience4j.retry.RetryRegistry;
-import io.github.resilience4j.timelimiter.TimeLimiterRegistry;
+import com.azharkhalid.aitextsummarizer.config.SummarizeProperties;
+import com.azharkhalid.aitextsummarizer.metrics.SummarizeMetrics;
+import com.azharkhalid.aitextsummarizer.service.LlmBulkhead;
+import com.azharkhalid.aitextsummarizer.service.LlmCircuitBreaker;
+import com.azharkhalid.aitextsummarizer.service.LlmRetrier;
+import com.azharkhalid.aitextsummarizer.service.RateLimitingService;
+import com.azharkhalid.aitextsummarizer.service.TokenBudgetLimiter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.actuate.health.Health;
 import org.springframework.boot.actuate.health.Status;
 
+import java.util.Map;
+
 import static org.assertj.core.api.Assertions.assertThat;
 
 @DisplayName("ResilienceHealthIndicator Tests")
@@ -18,14 +25,19 @@ class ResilienceHealthIndicatorTest {
 
     @BeforeEach
     void setUp() {
-        RetryRegistry retryRegistry = RetryRegistry.ofDefaults();
-        TimeLimiterRegistry timeLimiterRegistry = TimeLimiterRegistry.ofDefaults();
-        RateLimiterRegistry rateLimiterRegistry = RateLimiterRegistry.ofDefaults();
+        SummarizeProperties properties = new SummarizeProperties();
+        properties.getRateLimit().getTiers().put("default", new SummarizeProperties.TierConfig());
+        properties.getTokenBudget().setTokensPerMinute(50000);
+        SummarizeMetrics metrics = new SummarizeMetrics(new SimpleMeterRegistry());
+        metrics.init();
 
         healthIndicator = new ResilienceHealthIndicator(
-                retryRegistry,
-                timeLimiterRegistry,
-                rateLimiterRegistry
+                new LlmRetrier(properties, metrics),
+                new RateLimitingService(properties, metrics),
+                new TokenBudgetLimiter(properties),
+                new LlmBulkhead(properties, metrics),
+                new LlmCircuitBreaker(properties, metrics),
+                properties
         );
     }
 
@@ -37,4 +49,75 @@ class ResilienceHealthIndicatorTest {
         assertThat(health.getStatus()).isEqualTo(Status.UP);
         assertThat(health.getDetails()).isNotNull();
     }
+
+    @Test
+    @DisplayName("Should report the rate limit tiers and tracked clients")
+    @SuppressWarnings("unchecked")
+    void shouldReportRateLimitTiers() {
+        Health health = healthIndicator.health();
+
+        Map<String, Object> rateLimiter = (Map<String, Object>) health.getDetails().get("rateLimiter");
+        assertThat(rateLimiter)
+                .containsEntry("enabled", true)
+                .containsEntry("defaultTier", "default")
+                .containsEntry("trackedClients", 0);
+        assertThat((Map<String, Object>) rateLimiter.get("tiers")).containsKey("default");
+    }
+
+    @Test
+    @DisplayName("Should report the provider token budget")
+    @SuppressWarnings("unchecked")
+    void shouldReportTokenBudget() {
+        Health health = healthIndicator.health();
+
+        Map<String, Object> tokenBudget = (Map<String, Object>) health.getDetails().get("tokenBudget");
+        assertThat(tokenBudget)
+                .containsEntry("enabled", true)
+                .containsEntry("tokensPerMinute", 50000)
+                .containsEntry("availableTokens", 50000);
+    }
+
+    @Test
+    @DisplayName("Should report the LLM retry attempts and budget")
+    @SuppressWarnings("unchecked")
+    void shouldReportRetryBudget() {
+        Health health = healthIndicator.health();
+
+        Map<String, Object> retry = (Map<String, Object>) health.getDetails().get("retry");
+        assertThat(retry)
+                .containsEntry("maxAttempts", 3)
+                .containsEntry("budgetPercent", 10.0)
+                .containsEntry("availableRetries", 10);
+    }
+
+    @Test
+    @DisplayName("Should report the LLM circuit breaker state")
+    @SuppressWarnings("unchecked")
+    void shouldReportCircuitBreaker() {
+        Health health = healthIndicator.health();
+
+        Map<String, Object> circuitBreaker = (Map<String, Object>) health.getDetails().get("circuitBreaker");
+        assertThat(circuitBreaker)
+                .containsEntry("enabled", true)
+                .containsEntry("state", "closed")
+                .containsEntry("failureRate", -1.0f)
+                .containsEntry("rejectedCalls", 0L);
+    }
+
+    @Test
+    @DisplayName("Should report the LLM bulkhead limits and counts")
+    @SuppressWarnings("unchecked")
+    void shouldReportBulkhead() {
+        Health health = healthIndicator.health();
+
+        Map<String, Object> bulkhead = (Map<String, Object>) health.getDetails().get("bulkhead");
+        assertThat(bulkhead)
+                .containsEntry("maxConcurrentCalls", 20)
+                .containsEntry("maxQueuedCalls", 50)
+                .containsEntry("activeCalls", 0)
+                .containsEntry("queuedCalls", 0)
+                .containsEntry("rejectedCalls", 0L)
+                .containsEntry("adaptiveLimit", true)
+                .containsEntry("concurrencyLimit", 10);
+    }
 }
@@ -0,0 +1,50 @@
+package com.azharkhalid.aitextsummarizer.metrics;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("StageTimings Tests")
+class StageTimingsTest {
+
+    @Test
+    @DisplayName("Should list stages in pipeline order regardless of recording order")
+    void shouldListStagesInPipelineOrder() {
+        StageTimings timings = new StageTimings();
+        timings.record(SummarizeStage.LLM, 5_000_000);
+        timings.record(SummarizeStage.RATE_LIMIT, 10_000);
+        timings.record(SummarizeStage.VALIDATION, 250_000);
+
+        assertThat(timings.getDurations().keySet())
+                .containsExactly(SummarizeStage.RATE_LIMIT, SummarizeStage.VALIDATION, SummarizeStage.LLM);
+    }
+
+    @Test
+    @DisplayName("Should sum repeated recordings of a stage")
+    void shouldSumRepeatedStages() {
+        StageTimings timings = new StageTimings();
+        timings.record(SummarizeStage.CACHE, 100);
+        timings.record(SummarizeStage.CACHE, 200);
+
+        assertThat(timings.getDurations()).containsEntry(SummarizeStage.CACHE, 300L);
+    }
+
+    @Test
+    @DisplayName("Should format a Server-Timing header in milliseconds with a total")
+    void shouldFormatServerTimingHeader() {
+        StageTimings timings = new StageTimings();
+        timings.record(SummarizeStage.PROMPT, 12_345);
+        timings.record(SummarizeStage.LLM, 812_500_000);
+
+        assertThat(timings.toServerTimingHeader())
+                .startsWith("prompt;desc=\"Prompt build\";dur=0.012, llm;desc=\"LLM provider call\";dur=812.500, ")
+                .containsPattern("total;dur=\\d+\\.\\d{3}$");
+    }
+
+    @Test
+    @DisplayName("Should report only the total when no stage completed")
+    void shouldReportOnlyTotalWhenEmpty() {
+        assertThat(new StageTimings().toServerTimingHeader()).matches("total;dur=\\d+\\.\\d{3}");
+    }
+}
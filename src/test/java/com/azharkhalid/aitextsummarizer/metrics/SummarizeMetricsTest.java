@@ -1,11 +1,15 @@
 package com.azharkhalid.aitextsummarizer.metrics;
 
+import com.azharkhalid.aitextsummarizer.enums.SummaryStyle;
 import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import java.util.concurrent.TimeUnit;
+
 import static org.assertj.core.api.Assertions.*;
 
 @DisplayName("SummarizeMetrics Tests")
@@ -67,6 +71,28 @@ class SummarizeMetricsTest {
                 .isEqualTo(1.0);
     }
 
+    @Test
+    @DisplayName("Should record requests that missed their deadline")
+    void shouldRecordDeadlineExceeded() {
+        metrics.recordDeadlineExceeded();
+
+        assertThat(meterRegistry.counter("summarize.errors.total", "error_type", "deadline_exceeded").count())
+                .isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Should record cancelled requests per endpoint")
+    void shouldRecordCancelled() {
+        metrics.recordCancelled("summarize");
+        metrics.recordCancelled("summarize");
+        metrics.recordCancelled("stream");
+
+        assertThat(meterRegistry.counter("summarize.requests.cancelled", "endpoint", "summarize").count())
+                .isEqualTo(2.0);
+        assertThat(meterRegistry.counter("summarize.requests.cancelled", "endpoint", "stream").count())
+                .isEqualTo(1.0);
+    }
+
     @Test
     @DisplayName("Should record request duration")
     void shouldRecordRequestDuration() {
@@ -91,4 +117,172 @@ class SummarizeMetricsTest {
         assertThat(gauge).isNotNull();
         assertThat(gauge.value()).isEqualTo(10000.0);
     }
+
+    @Test
+    @DisplayName("Should record time to first streamed token")
+    void shouldRecordTimeToFirstToken() {
+        metrics.recordTimeToFirstToken(120);
+
+        var timer = meterRegistry.find("summarize.stream.first_token").timer();
+        assertThat(timer).isNotNull();
+        assertThat(timer.count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should count coalesced requests")
+    void shouldCountCoalescedRequests() {
+        metrics.recordCoalescedRequest();
+        metrics.recordCoalescedRequest();
+
+        assertThat(meterRegistry.counter("summarize.requests.coalesced").count()).isEqualTo(2.0);
+    }
+
+    @Test
+    @DisplayName("Should record cache hits, misses, evictions and size")
+    void shouldRecordCacheMeters() {
+        metrics.recordCacheHit();
+        metrics.recordCacheMiss();
+        metrics.recordCacheMiss();
+        metrics.recordCacheEviction();
+        metrics.updateCacheSize(3, 4096);
+
+        assertThat(metrics.getCacheHitCount()).isEqualTo(1.0);
+        assertThat(metrics.getCacheMissCount()).isEqualTo(2.0);
+        assertThat(meterRegistry.counter("summarize.cache.evictions").count()).isEqualTo(1.0);
+        assertThat(meterRegistry.find("summarize.cache.size").tag("unit", "bytes").gauge().value())
+                .isEqualTo(4096.0);
+        assertThat(meterRegistry.find("summarize.cache.size").tag("unit", "entries").gauge().value())
+                .isEqualTo(3.0);
+    }
+
+    @Test
+    @DisplayName("Should record document chunk latency, fan-out and reduce levels")
+    void shouldRecordDocumentMeters() {
+        metrics.recordDocumentChunkDuration(300);
+        metrics.recordDocumentChunkDuration(500);
+        metrics.recordDocumentFanOut(6);
+        metrics.recordDocumentReduceLevels(2);
+
+        assertThat(meterRegistry.timer("summarize.document.chunk.duration", "operation", "summarize_document").count())
+                .isEqualTo(2);
+        assertThat(meterRegistry.find("summarize.document.fanout").summary().totalAmount()).isEqualTo(6.0);
+        assertThat(meterRegistry.find("summarize.document.reduce.levels").summary().max()).isEqualTo(2.0);
+    }
+
+    @Test
+    @DisplayName("Should track the circuit breaker state, transitions and rejected calls")
+    void shouldRecordCircuitBreakerMeters() {
+        assertThat(meterRegistry.find("summarize.llm.circuit.state").tag("state", "closed").gauge().value())
+                .isEqualTo(1.0);
+
+        metrics.recordCircuitTransition("closed", "open");
+        metrics.recordCircuitRejected();
+
+        assertThat(meterRegistry.find("summarize.llm.circuit.state").tag("state", "closed").gauge().value())
+                .isEqualTo(0.0);
+        assertThat(meterRegistry.find("summarize.llm.circuit.state").tag("state", "open").gauge().value())
+                .isEqualTo(1.0);
+        assertThat(meterRegistry.find("summarize.llm.circuit.transitions").tags("from", "closed", "to", "open")
+                .counter().count()).isEqualTo(1.0);
+        assertThat(meterRegistry.find("summarize.llm.circuit.rejected").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Should track the outbound pacer state and the calls it held back")
+    void shouldRecordPacerMeters() {
+        assertThat(meterRegistry.find("summarize.llm.pacer.remaining").tag("limit", "requests").gauge().value())
+                .isNaN();
+
+        metrics.updatePacer(42L, 9000L, System.nanoTime() + TimeUnit.SECONDS.toNanos(10));
+        metrics.recordPacerDelayed();
+        metrics.recordPacerRejected();
+
+        assertThat(meterRegistry.find("summarize.llm.pacer.remaining").tag("limit", "requests").gauge().value())
+                .isEqualTo(42.0);
+        assertThat(meterRegistry.find("summarize.llm.pacer.remaining").tag("limit", "tokens").gauge().value())
+                .isEqualTo(9000.0);
+        assertThat(meterRegistry.find("summarize.llm.pacer.pause").timeGauge().value(TimeUnit.SECONDS))
+                .isBetween(9.0, 10.0);
+        assertThat(meterRegistry.find("summarize.llm.pacer.delayed").counter().count()).isEqualTo(1.0);
+        assertThat(meterRegistry.find("summarize.llm.pacer.rejected").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Should count LLM retries by reason and outcome")
+    void shouldRecordLlmRetries() {
+        metrics.recordLlmRetry("timeout", "retried");
+        metrics.recordLlmRetry("timeout", "retried");
+        metrics.recordLlmRetry("rate_limited", "budget_exhausted");
+
+        assertThat(meterRegistry.find("summarize.llm.retries").tags("reason", "timeout", "outcome", "retried")
+                .counter().count()).isEqualTo(2.0);
+        assertThat(meterRegistry.find("summarize.llm.retries").tags("reason", "rate_limited", "outcome", "budget_exhausted")
+                .counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Should record micro-batch fill, tokens saved and fallbacks")
+    void shouldRecordMicroBatchMeters() {
+        metrics.recordMicroBatch(4, 8, 300);
+        metrics.recordMicroBatchFallback();
+
+        assertThat(meterRegistry.find("summarize.llm.microbatch.fill").summary().max()).isEqualTo(0.5);
+        assertThat(meterRegistry.find("summarize.llm.microbatch.tokens.saved").counter().count()).isEqualTo(300.0);
+        assertThat(meterRegistry.find("summarize.llm.microbatch.fallback").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Should record batch size, duplicate ratio and per-item latency")
+    void shouldRecordBatchMeters() {
+        metrics.recordBatch(10, 8);
+        metrics.recordBatchItemDuration(400);
+
+        assertThat(meterRegistry.find("summarize.batch.size").summary().totalAmount()).isEqualTo(10.0);
+        assertThat(meterRegistry.find("summarize.batch.duplicate.ratio").summary().max()).isEqualTo(0.2);
+        assertThat(meterRegistry.find("summarize.batch.item.duration").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should record stage durations tagged by stage, style, model and size bucket")
+    void shouldRecordStageDurations() {
+        metrics.recordStageDuration(SummarizeStage.VALIDATION, SummaryStyle.BULLET, "gpt-4o-mini", 2500, 400_000);
+        metrics.recordStageDuration(SummarizeStage.VALIDATION, SummaryStyle.BULLET, "gpt-4o-mini", 3000, 600_000);
+        metrics.recordStageDuration(SummarizeStage.LLM, SummaryStyle.BULLET, "gpt-4o-mini", 3000, 900_000_000);
+
+        Timer validation = meterRegistry.find("summarize.stage.duration")
+                .tags("stage", "validation", "style", "bullet", "model", "gpt-4o-mini", "size", "medium")
+                .timer();
+        assertThat(validation).isNotNull();
+        assertThat(validation.count()).isEqualTo(2);
+        assertThat(validation.totalTime(TimeUnit.MICROSECONDS)).isEqualTo(1000.0);
+        assertThat(meterRegistry.find("summarize.stage.duration").tag("stage", "llm").timer().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should map input lengths to size buckets")
+    void shouldMapInputLengthsToSizeBuckets() {
+        assertThat(SummarizeMetrics.sizeBucket(100)).isEqualTo("small");
+        assertThat(SummarizeMetrics.sizeBucket(999)).isEqualTo("small");
+        assertThat(SummarizeMetrics.sizeBucket(1000)).isEqualTo("medium");
+        assertThat(SummarizeMetrics.sizeBucket(4999)).isEqualTo("medium");
+        assertThat(SummarizeMetrics.sizeBucket(5000)).isEqualTo("large");
+    }
+
+    @Test
+    @DisplayName("Should record token counts, throughput and estimated cost")
+    void shouldRecordTokenUsageAndCost() {
+        metrics.recordTokenUsage(SummaryStyle.CONCISE, "gpt-4o-mini", 1200, 300, 1500, 2_000_000_000L);
+        metrics.recordEstimatedCost(SummaryStyle.CONCISE, "gpt-4o-mini", 0.25);
+        metrics.recordEstimatedCost(SummaryStyle.CONCISE, "gpt-4o-mini", 0.5);
+
+        assertThat(meterRegistry.find("summarize.llm.tokens")
+                .tags("type", "prompt", "style", "concise", "model", "gpt-4o-mini").summary().totalAmount())
+                .isEqualTo(1200.0);
+        assertThat(meterRegistry.find("summarize.llm.tokens").tag("type", "total").summary().totalAmount())
+                .isEqualTo(1500.0);
+        assertThat(meterRegistry.find("summarize.llm.throughput").summary().max()).isEqualTo(150.0);
+        assertThat(meterRegistry.find("summarize.llm.cost").tag("model", "gpt-4o-mini").counter().count())
+                .isEqualTo(0.75);
+    }
 }
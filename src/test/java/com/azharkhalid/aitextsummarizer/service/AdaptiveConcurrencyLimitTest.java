@@ -0,0 +1,127 @@
+package com.azharkhalid.aitextsummarizer.service;
+
+import com.azharkhalid.aitextsummarizer.config.SummarizeProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntToLongFunction;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("AdaptiveConcurrencyLimit Tests")
+class AdaptiveConcurrencyLimitTest {
+
+    private static final long BASE_RTT = TimeUnit.MILLISECONDS.toNanos(800);
+
+    private SummarizeProperties.AdaptiveLimitConfig config;
+    private AdaptiveConcurrencyLimit limit;
+
+    @BeforeEach
+    void setUp() {
+        config = new SummarizeProperties.AdaptiveLimitConfig();
+        limit = new AdaptiveConcurrencyLimit(config, 50);
+    }
+
+    /**
+     * Provider that serves {@code capacity} calls at a time in {@code rtt}; calls beyond that queue,
+     * so their latency grows with the number in flight.
+     */
+    private static IntToLongFunction provider(int capacity, long rtt) {
+        return inFlight -> rtt * Math.max(capacity, inFlight) / capacity;
+    }
+
+    /**
+     * Keeps the limit saturated, as under sustained load, and feeds back the provider's latency.
+     */
+    private void run(IntToLongFunction provider, int samples) {
+        for (int i = 0; i < samples; i++) {
+            int inFlight = limit.getLimit();
+            limit.onSample(provider.applyAsLong(inFlight), inFlight, false);
+        }
+    }
+
+    @Test
+    @DisplayName("Should start at the initial limit")
+    void shouldStartAtInitialLimit() {
+        assertThat(limit.getLimit()).isEqualTo(10);
+        assertThat(limit.getShortRttNanos()).isZero();
+        assertThat(limit.getBaselineRttNanos()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should grow up to the maximum while latency stays flat")
+    void shouldGrowWhileLatencyIsFlat() {
+        run(provider(100, BASE_RTT), 200);
+
+        assertThat(limit.getLimit()).isEqualTo(50);
+        assertThat(limit.getBaselineRttNanos()).isEqualTo(BASE_RTT);
+    }
+
+    @Test
+    @DisplayName("Should settle near the provider capacity when extra calls only queue")
+    void shouldSettleNearProviderCapacity() {
+        config.setInitialLimit(4);
+        limit = new AdaptiveConcurrencyLimit(config, 50);
+
+        run(provider(8, BASE_RTT), 1000);
+
+        // Queueing is tolerated up to rtt-tolerance (1.5) times the baseline latency
+        assertThat(limit.getLimit()).isBetween(8, 13);
+        assertThat(limit.getBaselineRttNanos()).isEqualTo(BASE_RTT);
+    }
+
+    @Test
+    @DisplayName("Should shrink when the provider slows down and settle again on the new latency")
+    void shouldAdaptToSlowerProvider() {
+        run(provider(16, BASE_RTT), 500);
+        int before = limit.getLimit();
+
+        // The provider now serves fewer calls at once, at three times the latency
+        IntToLongFunction slower = provider(4, 3 * BASE_RTT);
+        int lowest = before;
+        for (int i = 0; i < 1000; i++) {
+            run(slower, 1);
+            lowest = Math.min(lowest, limit.getLimit());
+        }
+
+        assertThat(before).isGreaterThanOrEqualTo(16);
+        assertThat(lowest).isEqualTo(config.getMinLimit());
+        assertThat(limit.getLimit()).isBetween(4, 7);
+        assertThat(limit.getBaselineRttNanos()).isGreaterThan(2 * BASE_RTT);
+    }
+
+    @Test
+    @DisplayName("Should back off on failed calls down to the minimum")
+    void shouldBackOffOnDrops() {
+        limit.onSample(BASE_RTT, 10, true);
+        assertThat(limit.getLimit()).isEqualTo(9);
+
+        for (int i = 0; i < 50; i++) {
+            limit.onSample(BASE_RTT, 10, true);
+        }
+        assertThat(limit.getLimit()).isEqualTo(config.getMinLimit());
+    }
+
+    @Test
+    @DisplayName("Should not grow while most of the limit is unused")
+    void shouldNotGrowWhenIdle() {
+        for (int i = 0; i < 100; i++) {
+            limit.onSample(BASE_RTT, 1, false);
+        }
+
+        assertThat(limit.getLimit()).isEqualTo(10);
+        assertThat(limit.getShortRttNanos()).isEqualTo(BASE_RTT);
+    }
+
+    @Test
+    @DisplayName("Should keep the initial limit within the configured bounds")
+    void shouldClampInitialLimit() {
+        config.setInitialLimit(100);
+        assertThat(new AdaptiveConcurrencyLimit(config, 20).getLimit()).isEqualTo(20);
+
+        config.setInitialLimit(0);
+        assertThat(new AdaptiveConcurrencyLimit(config, 20).getLimit()).isEqualTo(config.getMinLimit());
+    }
+}
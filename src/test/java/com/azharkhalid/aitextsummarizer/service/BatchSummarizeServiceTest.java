@@ -0,0 +1,206 @@
+package com.azharkhalid.aitextsummarizer.service;
+
+import com.azharkhalid.aitextsummarizer.config.SummarizeProperties;
+import com.azharkhalid.aitextsummarizer.dto.request.BatchSummarizeRequest;
+import com.azharkhalid.aitextsummarizer.dto.request.SummarizeRequest;
+import com.azharkhalid.aitextsummarizer.dto.response.BatchItemResult;
+import com.azharkhalid.aitextsummarizer.dto.response.BatchSummarizeResponse;
+import com.azharkhalid.aitextsummarizer.dto.response.SummarizeResponse;
+import com.azharkhalid.aitextsummarizer.enums.SummaryStyle;
+import com.azharkhalid.aitextsummarizer.exception.InvalidInputException;
+import com.azharkhalid.aitextsummarizer.exception.LLMTimeoutException;
+import com.azharkhalid.aitextsummarizer.exception.RateLimitExceededException;
+import com.azharkhalid.aitextsummarizer.metrics.SummarizeMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validation;
+import jakarta.validation.ValidatorFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@DisplayName("BatchSummarizeService Tests")
+class BatchSummarizeServiceTest {
+
+    private static final String TEXT = "This is a test text that is long enough to pass validation. " +
+            "It contains more than one hundred characters to ensure it meets the minimum length requirement.";
+
+    private ValidatorFactory validatorFactory;
+    private SummarizeService summarizeService;
+    private RateLimitingService rateLimitingService;
+    private SummarizeProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+    private BatchSummarizeService service;
+
+    @BeforeEach
+    void setUp() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        summarizeService = mock(SummarizeService.class);
+        rateLimitingService = mock(RateLimitingService.class);
+        when(rateLimitingService.runAdmitted(any())).thenAnswer(invocation ->
+                invocation.<Supplier<?>>getArgument(0).get());
+        when(summarizeService.summarize(any(SummarizeRequest.class))).thenAnswer(invocation ->
+                CompletableFuture.completedFuture(SummarizeResponse.builder()
+                        .summary("Summary " + invocation.<SummarizeRequest>getArgument(0).getSummaryStyle())
+                        .build()));
+
+        properties = new SummarizeProperties();
+        meterRegistry = new SimpleMeterRegistry();
+        SummarizeMetrics metrics = new SummarizeMetrics(meterRegistry);
+        metrics.init();
+        service = new BatchSummarizeService(summarizeService, rateLimitingService, properties, metrics,
+                validatorFactory.getValidator());
+    }
+
+    @AfterEach
+    void tearDown() {
+        validatorFactory.close();
+    }
+
+    private static SummarizeRequest item(SummaryStyle style) {
+        return SummarizeRequest.builder().text(TEXT).summaryStyle(style).build();
+    }
+
+    private static BatchSummarizeRequest batch(SummarizeRequest... items) {
+        return BatchSummarizeRequest.builder().items(Arrays.asList(items)).build();
+    }
+
+    @Test
+    @DisplayName("Should summarize every item and return the results in request order")
+    void shouldSummarizeItemsInOrder() {
+        BatchSummarizeResponse response = service.summarizeBatch(batch(
+                item(SummaryStyle.BULLET), item(SummaryStyle.CONCISE), item(SummaryStyle.EXECUTIVE))).join();
+
+        assertThat(response.getResults()).extracting(BatchItemResult::getIndex).containsExactly(0, 1, 2);
+        assertThat(response.getResults()).extracting(result -> result.getResult().getSummary())
+                .containsExactly("Summary BULLET", "Summary CONCISE", "Summary EXECUTIVE");
+        assertThat(response.getSucceeded()).isEqualTo(3);
+        assertThat(response.getFailed()).isZero();
+        assertThat(meterRegistry.find("summarize.batch.item.duration").timer().count()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should summarize identical items once and share the result")
+    void shouldDeduplicateIdenticalItems() {
+        BatchSummarizeResponse response = service.summarizeBatch(batch(
+                item(SummaryStyle.BULLET), item(SummaryStyle.CONCISE), item(SummaryStyle.BULLET),
+                item(SummaryStyle.BULLET))).join();
+
+        verify(summarizeService, times(2)).summarize(any(SummarizeRequest.class));
+        assertThat(response.getDuplicates()).isEqualTo(2);
+        assertThat(response.getResults()).extracting(result -> result.getResult().getSummary())
+                .containsExactly("Summary BULLET", "Summary CONCISE", "Summary BULLET", "Summary BULLET");
+        assertThat(response.getResults()).extracting(BatchItemResult::getIndex).containsExactly(0, 1, 2, 3);
+        assertThat(meterRegistry.find("summarize.batch.size").summary().totalAmount()).isEqualTo(4.0);
+        assertThat(meterRegistry.find("summarize.batch.duplicate.ratio").summary().max()).isEqualTo(0.5);
+    }
+
+    @Test
+    @DisplayName("Should report failed and invalid items without failing the batch")
+    void shouldReportItemFailures() {
+        when(summarizeService.summarize(item(SummaryStyle.EXECUTIVE)))
+                .thenReturn(CompletableFuture.failedFuture(new LLMTimeoutException("LLM timed out")));
+
+        BatchSummarizeResponse response = service.summarizeBatch(batch(
+                item(SummaryStyle.BULLET),
+                item(SummaryStyle.EXECUTIVE),
+                SummarizeRequest.builder().text("Too short").build(),
+                null)).join();
+
+        List<BatchItemResult> results = response.getResults();
+        assertThat(results.get(0).isSuccess()).isTrue();
+        assertThat(results.get(1).isSuccess()).isFalse();
+        assertThat(results.get(1).getError().errorCode()).isEqualTo("LLM_TIMEOUT");
+        assertThat(results.get(2).getError().errorCode()).isEqualTo("INVALID_INPUT");
+        assertThat(results.get(2).getError().message()).contains("between 100 and 10000 characters");
+        assertThat(results.get(3).getError().errorCode()).isEqualTo("INVALID_INPUT");
+        assertThat(response.getSucceeded()).isEqualTo(1);
+        assertThat(response.getFailed()).isEqualTo(3);
+        verify(summarizeService, times(2)).summarize(any(SummarizeRequest.class));
+    }
+
+    @Test
+    @DisplayName("Should charge the rate limit once per batch, not per item")
+    void shouldChargeRateLimitOncePerBatch() {
+        service.summarizeBatch(batch(item(SummaryStyle.BULLET), item(SummaryStyle.CONCISE))).join();
+
+        verify(rateLimitingService, times(1)).checkRateLimit();
+        verify(rateLimitingService, times(2)).runAdmitted(any());
+    }
+
+    @Test
+    @DisplayName("Should reject a batch over the rate limit before summarizing anything")
+    void shouldRejectBatchOverRateLimit() {
+        doThrow(new RateLimitExceededException("Rate limit exceeded")).when(rateLimitingService).checkRateLimit();
+
+        assertThatThrownBy(() -> service.summarizeBatch(batch(item(SummaryStyle.BULLET))))
+                .isInstanceOf(RateLimitExceededException.class);
+        verify(summarizeService, never()).summarize(any(SummarizeRequest.class));
+    }
+
+    @Test
+    @DisplayName("Should reject batches with more items than allowed")
+    void shouldRejectOversizedBatch() {
+        properties.getBatch().setMaxItems(2);
+
+        assertThatThrownBy(() -> service.summarizeBatch(batch(
+                item(SummaryStyle.BULLET), item(SummaryStyle.CONCISE), item(SummaryStyle.EXECUTIVE))))
+                .isInstanceOf(InvalidInputException.class)
+                .hasMessageContaining("maximum size of 2 items");
+    }
+
+    @Test
+    @DisplayName("Should keep at most max-concurrency items in flight")
+    void shouldBoundConcurrency() {
+        properties.getBatch().setMaxConcurrency(2);
+        List<CompletableFuture<SummarizeResponse>> calls = new ArrayList<>();
+        when(summarizeService.summarize(any(SummarizeRequest.class))).thenAnswer(invocation -> {
+            CompletableFuture<SummarizeResponse> call = new CompletableFuture<>();
+            calls.add(call);
+            return call;
+        });
+
+        CompletableFuture<BatchSummarizeResponse> response = service.summarizeBatch(batch(
+                item(SummaryStyle.BULLET), item(SummaryStyle.CONCISE), item(SummaryStyle.EXECUTIVE),
+                SummarizeRequest.builder().text(TEXT).maxLength(100).build()));
+
+        assertThat(calls).hasSize(2);
+        calls.get(0).complete(SummarizeResponse.builder().summary("first").build());
+        assertThat(calls).hasSize(3);
+        calls.get(1).complete(SummarizeResponse.builder().summary("second").build());
+        calls.get(2).complete(SummarizeResponse.builder().summary("third").build());
+        assertThat(response).isNotDone();
+        calls.get(3).complete(SummarizeResponse.builder().summary("fourth").build());
+
+        assertThat(response.join().getResults()).extracting(result -> result.getResult().getSummary())
+                .containsExactly("first", "second", "third", "fourth");
+    }
+
+    @Test
+    @DisplayName("Should cancel the items in flight and start no more once the caller gives up")
+    void shouldCancelItemsWhenCancelled() {
+        properties.getBatch().setMaxConcurrency(2);
+        List<CompletableFuture<SummarizeResponse>> calls = new ArrayList<>();
+        when(summarizeService.summarize(any(SummarizeRequest.class))).thenAnswer(invocation -> {
+            CompletableFuture<SummarizeResponse> call = new CompletableFuture<>();
+            calls.add(call);
+            return call;
+        });
+
+        CompletableFuture<BatchSummarizeResponse> response = service.summarizeBatch(batch(
+                item(SummaryStyle.BULLET), item(SummaryStyle.CONCISE), item(SummaryStyle.EXECUTIVE)));
+        response.cancel(true);
+
+        assertThat(calls).hasSize(2).allMatch(CompletableFuture::isCancelled);
+    }
+}
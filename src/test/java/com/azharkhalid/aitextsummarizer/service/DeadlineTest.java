@@ -0,0 +1,68 @@
+package com.azharkhalid.aitextsummarizer.service;
+
+import com.azharkhalid.aitextsummarizer.exception.InvalidInputException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("Deadline Tests")
+class DeadlineTest {
+
+    @Test
+    @DisplayName("Should have no deadline without a header")
+    void shouldHaveNoDeadlineWithoutHeader() {
+        assertThat(Deadline.parse(null)).isSameAs(Deadline.NONE);
+        assertThat(Deadline.parse(" ")).isSameAs(Deadline.NONE);
+        assertThat(Deadline.NONE.isBounded()).isFalse();
+        assertThat(Deadline.NONE.isExpired()).isFalse();
+        assertThat(Deadline.NONE.remaining()).isNull();
+        assertThat(Deadline.NONE.allows(Duration.ofDays(1))).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should parse grpc-timeout style timeouts")
+    void shouldParseTimeouts() {
+        assertThat(Deadline.parse("2500m").remaining()).isBetween(Duration.ofMillis(2400), Duration.ofMillis(2500));
+        assertThat(Deadline.parse("3S").remaining()).isBetween(Duration.ofMillis(2900), Duration.ofSeconds(3));
+        assertThat(Deadline.parse("2M").remaining()).isBetween(Duration.ofSeconds(119), Duration.ofMinutes(2));
+        assertThat(Deadline.parse("1H").remaining()).isBetween(Duration.ofMinutes(59), Duration.ofHours(1));
+        assertThat(Deadline.parse("5000000u").remaining()).isBetween(Duration.ofMillis(4900), Duration.ofSeconds(5));
+        assertThat(Deadline.parse("0n").isExpired()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should parse an absolute ISO-8601 instant")
+    void shouldParseInstant() {
+        Deadline future = Deadline.parse(Instant.now().plusSeconds(10).toString());
+        Deadline past = Deadline.parse(Instant.now().minusSeconds(10).toString());
+
+        assertThat(future.remaining()).isBetween(Duration.ofSeconds(9), Duration.ofSeconds(10));
+        assertThat(future.isExpired()).isFalse();
+        assertThat(past.isExpired()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should reject malformed values")
+    void shouldRejectMalformedValues() {
+        for (String value : new String[] {"soon", "10", "10s", "123456789S", "-5S", "2026-13-45"}) {
+            assertThatThrownBy(() -> Deadline.parse(value))
+                    .as(value)
+                    .isInstanceOf(InvalidInputException.class)
+                    .hasMessageContaining(Deadline.HEADER);
+        }
+    }
+
+    @Test
+    @DisplayName("Should tell whether work fits before the deadline")
+    void shouldTellWhetherWorkFits() {
+        Deadline deadline = Deadline.after(Duration.ofSeconds(5));
+
+        assertThat(deadline.allows(Duration.ofSeconds(1))).isTrue();
+        assertThat(deadline.allows(Duration.ofSeconds(6))).isFalse();
+        assertThat(Deadline.after(Duration.ofSeconds(-1)).isExpired()).isTrue();
+    }
+}
@@ -0,0 +1,47 @@
+package com.azharkhalid.aitextsummarizer.service;
+
+import com.azharkhalid.aitextsummarizer.dto.response.ErrorResponse;
+import com.azharkhalid.aitextsummarizer.exception.DeadlineExceededException;
+import com.azharkhalid.aitextsummarizer.exception.InvalidInputException;
+import com.azharkhalid.aitextsummarizer.exception.LLMTimeoutException;
+import com.azharkhalid.aitextsummarizer.exception.LLMUnavailableException;
+import com.azharkhalid.aitextsummarizer.exception.RateLimitExceededException;
+import com.azharkhalid.aitextsummarizer.exception.ServiceOverloadedException;
+import com.azharkhalid.aitextsummarizer.exception.SummarizerException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("ErrorResponses Tests")
+class ErrorResponsesTest {
+
+    @Test
+    @DisplayName("Should use the error code of each known failure, with its message")
+    void shouldMapKnownFailures() {
+        assertThat(ErrorResponses.of(new InvalidInputException("Too short")))
+                .extracting(ErrorResponse::errorCode, ErrorResponse::message)
+                .containsExactly("INVALID_INPUT", "Too short");
+        assertThat(ErrorResponses.of(new RateLimitExceededException("Slow down")).errorCode())
+                .isEqualTo("RATE_LIMIT_EXCEEDED");
+        assertThat(ErrorResponses.of(new ServiceOverloadedException("Busy", Duration.ofSeconds(1))).errorCode())
+                .isEqualTo("SERVICE_OVERLOADED");
+        assertThat(ErrorResponses.of(new LLMTimeoutException("Timed out")).errorCode()).isEqualTo("LLM_TIMEOUT");
+        assertThat(ErrorResponses.of(new LLMUnavailableException("Provider down", Duration.ofSeconds(30))).errorCode())
+                .isEqualTo("LLM_UNAVAILABLE");
+        assertThat(ErrorResponses.of(new DeadlineExceededException("Deadline passed")).errorCode())
+                .isEqualTo("DEADLINE_EXCEEDED");
+        assertThat(ErrorResponses.of(new SummarizerException("Failed")).errorCode()).isEqualTo("SUMMARIZER_ERROR");
+    }
+
+    @Test
+    @DisplayName("Should not disclose the message of unexpected failures")
+    void shouldHideUnexpectedFailures() {
+        ErrorResponse error = ErrorResponses.of(new IllegalStateException("secret"));
+
+        assertThat(error.errorCode()).isEqualTo("INTERNAL_ERROR");
+        assertThat(error.message()).doesNotContain("secret");
+    }
+}
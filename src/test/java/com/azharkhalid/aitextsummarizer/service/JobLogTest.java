@@ -0,0 +1,109 @@
+package com.azharkhalid.aitextsummarizer.service;
+
+import com.azharkhalid.aitextsummarizer.dto.request.SummarizeJobRequest;
+import com.azharkhalid.aitextsummarizer.dto.response.SummarizeResponse;
+import com.azharkhalid.aitextsummarizer.enums.JobStatus;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("JobLog Tests")
+class JobLogTest {
+
+    private final ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules().build();
+
+    @TempDir
+    private Path tempDir;
+
+    private Path path;
+    private JobLog jobLog;
+
+    @BeforeEach
+    void setUp() {
+        path = tempDir.resolve("jobs/summarize-jobs.wal");
+        jobLog = new JobLog(path, objectMapper);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        jobLog.close();
+    }
+
+    private static JobLog.Entry queued(String jobId) {
+        SummarizeJobRequest request = SummarizeJobRequest.builder()
+                .text("text of job " + jobId)
+                .callbackUrl("https://example.com/callback")
+                .build();
+        return new JobLog.Entry(jobId, JobStatus.QUEUED, Instant.parse("2026-01-01T10:00:00Z"), null, null,
+                request, null, null);
+    }
+
+    private static JobLog.Entry succeeded(String jobId) {
+        SummarizeResponse result = SummarizeResponse.builder().summary("summary of job " + jobId).build();
+        return new JobLog.Entry(jobId, JobStatus.SUCCEEDED, Instant.parse("2026-01-01T10:00:00Z"),
+                Instant.parse("2026-01-01T10:00:01Z"), Instant.parse("2026-01-01T10:00:05Z"), null, result, null);
+    }
+
+    @Test
+    @DisplayName("Should create the log and replay nothing when empty")
+    void shouldStartEmpty() {
+        assertThat(Files.exists(path)).isTrue();
+        assertThat(jobLog.replay()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should replay the latest state of each job, keeping the request from earlier entries")
+    void shouldReplayLatestState() throws IOException {
+        jobLog.append(queued("a"));
+        jobLog.append(queued("b"));
+        jobLog.append(succeeded("a"));
+        jobLog.close();
+
+        jobLog = new JobLog(path, objectMapper);
+        List<JobLog.Entry> entries = jobLog.replay();
+
+        assertThat(entries).extracting(JobLog.Entry::jobId).containsExactly("a", "b");
+        assertThat(entries.get(0).status()).isEqualTo(JobStatus.SUCCEEDED);
+        assertThat(entries.get(0).result().getSummary()).isEqualTo("summary of job a");
+        assertThat(entries.get(0).request().getText()).isEqualTo("text of job a");
+        assertThat(entries.get(1)).isEqualTo(queued("b"));
+    }
+
+    @Test
+    @DisplayName("Should skip a line torn by a crash")
+    void shouldSkipTornLine() throws IOException {
+        jobLog.append(queued("a"));
+        Files.writeString(path, "{\"jobId\":\"b\",\"sta", StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+
+        assertThat(jobLog.replay()).extracting(JobLog.Entry::jobId).containsExactly("a");
+    }
+
+    @Test
+    @DisplayName("Should rewrite the log with only the given jobs on compaction, and keep appending")
+    void shouldCompact() throws IOException {
+        jobLog.append(queued("a"));
+        jobLog.append(succeeded("a"));
+        jobLog.append(queued("b"));
+
+        jobLog.compact(List.of(queued("b")));
+        jobLog.append(queued("c"));
+
+        assertThat(Files.readAllLines(path)).hasSize(2);
+        assertThat(jobLog.replay()).containsExactly(queued("b"), queued("c"));
+        assertThat(Files.exists(path.resolveSibling(path.getFileName() + ".tmp"))).isFalse();
+    }
+}
@@ -0,0 +1,276 @@
+package com.azharkhalid.aitextsummarizer.service;
+
+import com.azharkhalid.aitextsummarizer.config.SummarizeProperties;
+import com.azharkhalid.aitextsummarizer.exception.DeadlineExceededException;
+import com.azharkhalid.aitextsummarizer.exception.RateLimitExceededException;
+import com.azharkhalid.aitextsummarizer.exception.ServiceOverloadedException;
+import com.azharkhalid.aitextsummarizer.metrics.SummarizeMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.chat.messages.AssistantMessage;
+import org.springframework.ai.chat.model.ChatModel;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.model.Generation;
+import org.springframework.ai.chat.prompt.Prompt;
+import org.springframework.ai.retry.NonTransientAiException;
+import org.springframework.ai.retry.TransientAiException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("LlmBulkhead Tests")
+class LlmBulkheadTest {
+
+    private SummarizeProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+    private SummarizeMetrics metrics;
+    private LlmBulkhead bulkhead;
+    private final List<CompletableFuture<String>> started = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        properties = new SummarizeProperties();
+        properties.getBulkhead().setMaxConcurrentCalls(2);
+        properties.getBulkhead().setMaxQueuedCalls(1);
+        properties.getBulkhead().setRetryAfter(Duration.ofSeconds(7));
+        meterRegistry = new SimpleMeterRegistry();
+        metrics = new SummarizeMetrics(meterRegistry);
+        metrics.init();
+        bulkhead = new LlmBulkhead(properties, metrics);
+    }
+
+    /**
+     * Submits a call that stays in flight until the test completes the future it started.
+     */
+    private CompletableFuture<String> submit() {
+        return bulkhead.submit(() -> {
+            CompletableFuture<String> call = new CompletableFuture<>();
+            started.add(call);
+            return call;
+        });
+    }
+
+    @Test
+    @DisplayName("Should start calls at once while slots are free")
+    void shouldStartCallsWhileSlotsFree() {
+        submit();
+        submit();
+
+        assertThat(started).hasSize(2);
+        assertThat(bulkhead.getActiveCalls()).isEqualTo(2);
+        assertThat(bulkhead.getQueuedCalls()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should queue a call and start it when a slot frees up")
+    void shouldQueueUntilSlotFrees() {
+        submit();
+        submit();
+        CompletableFuture<String> queued = submit();
+
+        assertThat(started).hasSize(2);
+        assertThat(bulkhead.getQueuedCalls()).isEqualTo(1);
+        assertThat(meterRegistry.get("summarize.llm.bulkhead.calls").tag("state", "queued").gauge().value())
+                .isEqualTo(1.0);
+
+        started.get(0).complete("first");
+        assertThat(started).hasSize(3);
+        assertThat(bulkhead.getActiveCalls()).isEqualTo(2);
+        assertThat(bulkhead.getQueuedCalls()).isZero();
+
+        started.get(2).complete("queued");
+        assertThat(queued.join()).isEqualTo("queued");
+    }
+
+    @Test
+    @DisplayName("Should shed calls once slots and queue are full")
+    void shouldShedWhenFull() {
+        submit();
+        submit();
+        submit();
+
+        assertThatThrownBy(this::submit)
+                .isInstanceOfSatisfying(ServiceOverloadedException.class, e ->
+                        assertThat(e.getRetryAfter()).isEqualTo(Duration.ofSeconds(7)));
+        assertThat(bulkhead.getRejectedCalls()).isEqualTo(1);
+        assertThat(meterRegistry.counter("summarize.llm.bulkhead.rejected").count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Should shed a queued call that waits longer than max-queue-wait")
+    void shouldShedAfterMaxQueueWait() {
+        properties.getBulkhead().setMaxQueueWait(Duration.ofMillis(50));
+        submit();
+        submit();
+
+        CompletableFuture<String> queued = submit();
+
+        assertThatThrownBy(() -> queued.get(5, TimeUnit.SECONDS))
+                .hasCauseInstanceOf(ServiceOverloadedException.class);
+        assertThat(bulkhead.getQueuedCalls()).isZero();
+        assertThat(bulkhead.getRejectedCalls()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should drop a cancelled call from the queue")
+    void shouldDropCancelledQueuedCall() {
+        submit();
+        submit();
+        CompletableFuture<String> queued = submit();
+
+        queued.cancel(true);
+        started.get(0).complete("first");
+
+        assertThat(bulkhead.getQueuedCalls()).isZero();
+        assertThat(started).hasSize(2);
+        assertThat(bulkhead.getActiveCalls()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should cancel a running call and free its slot when its caller gives up")
+    void shouldCancelRunningCall() {
+        CompletableFuture<String> running = submit();
+
+        running.cancel(true);
+
+        assertThat(started.get(0)).isCancelled();
+        assertThat(bulkhead.getActiveCalls()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should free the slot and rethrow when a call fails to start")
+    void shouldReleaseSlotWhenStartFails() {
+        assertThatThrownBy(() -> bulkhead.submit(() -> {
+            throw new IllegalStateException("rejected");
+        })).isInstanceOf(IllegalStateException.class);
+
+        assertThat(bulkhead.getActiveCalls()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should pass calls straight through when disabled")
+    void shouldPassThroughWhenDisabled() {
+        properties.getBulkhead().setEnabled(false);
+
+        for (int i = 0; i < 5; i++) {
+            submit();
+        }
+
+        assertThat(started).hasSize(5);
+        assertThat(bulkhead.getActiveCalls()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should use max-concurrent-calls as the limit when the adaptive limit is disabled")
+    void shouldUseFixedLimitWhenAdaptiveDisabled() {
+        properties.getBulkhead().setMaxConcurrentCalls(20);
+        properties.getBulkhead().getAdaptive().setEnabled(false);
+        bulkhead = new LlmBulkhead(properties, metrics);
+
+        for (int i = 0; i < 20; i++) {
+            submit();
+        }
+
+        assertThat(bulkhead.getLimit()).isEqualTo(20);
+        assertThat(started).hasSize(20);
+        assertThat(bulkhead.getQueuedCalls()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should track the latency of a stub provider and back off when its calls fail")
+    void shouldAdaptLimitToProvider() {
+        properties.getBulkhead().setMaxConcurrentCalls(20);
+        bulkhead = new LlmBulkhead(properties, metrics);
+        AtomicBoolean failing = new AtomicBoolean();
+        ChatModel provider = prompt -> {
+            try {
+                TimeUnit.MILLISECONDS.sleep(20);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            if (failing.get()) {
+                throw new TransientAiException("HTTP 503 - Service Unavailable");
+            }
+            return new ChatResponse(List.of(new Generation(new AssistantMessage("summary"))));
+        };
+
+        for (int i = 0; i < 3; i++) {
+            bulkhead.submit(() -> CompletableFuture.supplyAsync(() -> provider.call(new Prompt("text")))).join();
+        }
+        assertThat(bulkhead.getLimit()).isEqualTo(10);
+        assertThat(bulkhead.getShortRtt()).isGreaterThanOrEqualTo(Duration.ofMillis(20));
+        assertThat(meterRegistry.get("summarize.llm.rtt").tag("window", "short").timeGauge().value(TimeUnit.MILLISECONDS))
+                .isGreaterThanOrEqualTo(20.0);
+
+        failing.set(true);
+        for (int i = 0; i < 3; i++) {
+            CompletableFuture<ChatResponse> call =
+                    bulkhead.submit(() -> CompletableFuture.supplyAsync(() -> provider.call(new Prompt("text"))));
+            assertThatThrownBy(call::join).isInstanceOf(CompletionException.class);
+        }
+        assertThat(bulkhead.getLimit()).isEqualTo(7);
+        assertThat(meterRegistry.get("summarize.llm.concurrency.limit").gauge().value()).isEqualTo(7.0);
+        assertThat(bulkhead.getActiveCalls()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should not back off for failures that say nothing about the provider")
+    void shouldIgnoreLocalFailures() {
+        properties.getBulkhead().setMaxConcurrentCalls(20);
+        bulkhead = new LlmBulkhead(properties, metrics);
+        List<Throwable> failures = List.of(
+                new DeadlineExceededException("The request deadline passed before the LLM answered"),
+                new ServiceOverloadedException("LLM bulkhead full", Duration.ofSeconds(5)),
+                new RateLimitExceededException("Token budget exhausted"),
+                new NonTransientAiException("HTTP 400 - Bad Request"));
+
+        for (Throwable failure : failures) {
+            CompletableFuture<String> call = bulkhead.submit(() -> CompletableFuture.failedFuture(failure));
+            assertThatThrownBy(call::join).isInstanceOf(CompletionException.class);
+        }
+
+        assertThat(bulkhead.getLimit()).isEqualTo(10);
+        assertThat(bulkhead.getShortRtt()).isZero();
+        assertThat(bulkhead.getActiveCalls()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should back off for provider timeouts and 429 responses")
+    void shouldBackOffOnProviderOverload() {
+        properties.getBulkhead().setMaxConcurrentCalls(20);
+        bulkhead = new LlmBulkhead(properties, metrics);
+
+        bulkhead.submit(() -> CompletableFuture.<String>failedFuture(new TimeoutException()));
+        bulkhead.submit(() -> CompletableFuture.<String>failedFuture(
+                new NonTransientAiException("HTTP 429 - Too Many Requests")));
+
+        assertThat(bulkhead.getLimit()).isLessThan(10);
+    }
+
+    @Test
+    @DisplayName("Should sample the provider's own latency, not the wait before the call started")
+    void shouldSampleProviderLatency() {
+        CompletableFuture<Long> call = bulkhead.submit(() -> CompletableFuture.supplyAsync(() -> {
+            try {
+                // Waiting for the token budget or the pacer before calling the provider
+                TimeUnit.MILLISECONDS.sleep(100);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return TimeUnit.MILLISECONDS.toNanos(5);
+        }), Long::longValue);
+        call.join();
+
+        assertThat(bulkhead.getShortRtt()).isEqualTo(Duration.ofMillis(5));
+    }
+}
@@ -0,0 +1,153 @@
+package com.azharkhalid.aitextsummarizer.service;
+
+import com.azharkhalid.aitextsummarizer.config.SummarizeProperties;
+import com.azharkhalid.aitextsummarizer.exception.LLMUnavailableException;
+import com.azharkhalid.aitextsummarizer.exception.ServiceOverloadedException;
+import com.azharkhalid.aitextsummarizer.metrics.SummarizeMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.chat.metadata.EmptyUsage;
+import org.springframework.ai.retry.NonTransientAiException;
+import org.springframework.ai.retry.TransientAiException;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.awaitility.Awaitility.await;
+
+@DisplayName("LlmCircuitBreaker Tests")
+class LlmCircuitBreakerTest {
+
+    private SummarizeProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+    private LlmCircuitBreaker circuitBreaker;
+
+    @BeforeEach
+    void setUp() {
+        properties = new SummarizeProperties();
+        SummarizeProperties.CircuitBreakerConfig config = properties.getCircuitBreaker();
+        config.setSlidingWindowSize(4);
+        config.setMinimumCalls(4);
+        config.setSlowCallDuration(Duration.ofSeconds(1));
+        config.setWaitInOpenState(Duration.ofMillis(100));
+        config.setHalfOpenCalls(2);
+        meterRegistry = new SimpleMeterRegistry();
+        SummarizeMetrics metrics = new SummarizeMetrics(meterRegistry);
+        metrics.init();
+        circuitBreaker = new LlmCircuitBreaker(properties, metrics);
+    }
+
+    private CompletableFuture<SummarizeService.LlmResult> succeed(long durationMillis) {
+        return circuitBreaker.execute(() -> CompletableFuture.completedFuture(new SummarizeService.LlmResult(
+                "summary", new EmptyUsage(), TimeUnit.MILLISECONDS.toNanos(durationMillis))));
+    }
+
+    private CompletableFuture<SummarizeService.LlmResult> fail(Throwable failure) {
+        return circuitBreaker.execute(() -> CompletableFuture.failedFuture(failure));
+    }
+
+    private void open() {
+        for (int i = 0; i < 4; i++) {
+            fail(new TransientAiException("HTTP 503 - Service Unavailable"));
+        }
+        assertThat(circuitBreaker.getState()).isEqualTo("open");
+    }
+
+    @Test
+    @DisplayName("Should open once the failure rate crosses the threshold and then fail fast")
+    void shouldOpenOnFailures() {
+        succeed(10);
+        succeed(10);
+        fail(new TimeoutException());
+        assertThat(circuitBreaker.getState()).isEqualTo("closed");
+        fail(new TransientAiException("HTTP 502 - Bad Gateway"));
+
+        assertThat(circuitBreaker.getState()).isEqualTo("open");
+        assertThat(circuitBreaker.getFailureRate()).isEqualTo(50f);
+        assertThatThrownBy(() -> circuitBreaker.execute(() -> {
+            throw new AssertionError("must not reach the provider");
+        }))
+                .isInstanceOf(LLMUnavailableException.class)
+                .satisfies(e -> assertThat(((LLMUnavailableException) e).getRetryAfter())
+                        .isGreaterThanOrEqualTo(Duration.ofSeconds(1)));
+        assertThat(circuitBreaker.getRejectedCalls()).isEqualTo(1);
+        assertThat(meterRegistry.find("summarize.llm.circuit.rejected").counter().count()).isEqualTo(1.0);
+        assertThat(meterRegistry.find("summarize.llm.circuit.transitions").tags("from", "closed", "to", "open")
+                .counter().count()).isEqualTo(1.0);
+        assertThat(meterRegistry.find("summarize.llm.circuit.state").tag("state", "open").gauge().value())
+                .isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Should open when too many calls are slow")
+    void shouldOpenOnSlowCalls() {
+        for (int i = 0; i < 4; i++) {
+            succeed(1500);
+        }
+
+        assertThat(circuitBreaker.getState()).isEqualTo("open");
+        assertThat(circuitBreaker.getSlowCallRate()).isEqualTo(100f);
+    }
+
+    @Test
+    @DisplayName("Should not count permanent provider errors, local sheds or cancellations as failures")
+    void shouldIgnoreFailuresNotCausedByProviderHealth() {
+        for (int i = 0; i < 4; i++) {
+            fail(new NonTransientAiException("HTTP 400 - Bad Request"));
+            fail(new ServiceOverloadedException("LLM bulkhead full", Duration.ofSeconds(5)));
+            circuitBreaker.execute(CompletableFuture::new).cancel(true);
+        }
+        assertThatThrownBy(() -> circuitBreaker.execute(() -> {
+            throw new ServiceOverloadedException("LLM bulkhead full", Duration.ofSeconds(5));
+        })).isInstanceOf(ServiceOverloadedException.class);
+
+        assertThat(circuitBreaker.getState()).isEqualTo("closed");
+    }
+
+    @Test
+    @DisplayName("Should let trial calls through once half-open and close when they succeed")
+    void shouldCloseAfterSuccessfulTrialCalls() {
+        open();
+
+        await().atMost(5, TimeUnit.SECONDS).pollInterval(20, TimeUnit.MILLISECONDS).ignoreExceptions()
+                .until(() -> succeed(10).isDone());
+        assertThat(circuitBreaker.getState()).isEqualTo("half_open");
+
+        CompletableFuture<SummarizeService.LlmResult> pending = circuitBreaker.execute(CompletableFuture::new);
+        // Both trial calls are taken; further calls still fail fast
+        assertThatThrownBy(() -> succeed(10)).isInstanceOf(LLMUnavailableException.class);
+        pending.complete(new SummarizeService.LlmResult("summary", new EmptyUsage(), 1_000_000));
+
+        assertThat(circuitBreaker.getState()).isEqualTo("closed");
+        assertThat(meterRegistry.find("summarize.llm.circuit.transitions").tags("from", "half_open", "to", "closed")
+                .counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Should reopen when a trial call fails")
+    void shouldReopenAfterFailedTrialCall() {
+        open();
+
+        await().atMost(5, TimeUnit.SECONDS).pollInterval(20, TimeUnit.MILLISECONDS).ignoreExceptions()
+                .until(() -> fail(new TimeoutException()).isDone());
+        fail(new TimeoutException());
+
+        assertThat(circuitBreaker.getState()).isEqualTo("open");
+        assertThat(meterRegistry.find("summarize.llm.circuit.transitions").tags("from", "half_open", "to", "open")
+                .counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Should pass calls straight through when disabled")
+    void shouldPassThroughWhenDisabled() {
+        open();
+        properties.getCircuitBreaker().setEnabled(false);
+
+        assertThat(succeed(10).join().content()).isEqualTo("summary");
+    }
+}
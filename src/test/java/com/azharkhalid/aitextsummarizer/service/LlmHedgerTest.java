@@ -0,0 +1,207 @@
+package com.azharkhalid.aitextsummarizer.service;
+
+import com.azharkhalid.aitextsummarizer.config.SummarizeProperties;
+import com.azharkhalid.aitextsummarizer.exception.ServiceOverloadedException;
+import com.azharkhalid.aitextsummarizer.metrics.SummarizeMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("LlmHedger Tests")
+class LlmHedgerTest {
+
+    private SummarizeProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+    private LlmHedger hedger;
+    private final List<CompletableFuture<String>> attempts = new CopyOnWriteArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        properties = new SummarizeProperties();
+        properties.getHedge().setEnabled(true);
+        properties.getHedge().setDelay(Duration.ofMillis(20));
+        properties.getHedge().setMinDelay(Duration.ZERO);
+        properties.getHedge().setMaxHedgePercent(100);
+        meterRegistry = new SimpleMeterRegistry();
+        SummarizeMetrics metrics = new SummarizeMetrics(meterRegistry);
+        metrics.init();
+        hedger = new LlmHedger(properties, metrics);
+    }
+
+    /**
+     * Hedges a call whose attempts stay in flight until the test completes them.
+     */
+    private CompletableFuture<String> hedge() {
+        return hedger.hedge(() -> {
+            CompletableFuture<String> attempt = new CompletableFuture<>();
+            attempts.add(attempt);
+            return attempt;
+        });
+    }
+
+    private void awaitAttempts(int count) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (attempts.size() < count && System.nanoTime() < deadline) {
+            TimeUnit.MILLISECONDS.sleep(5);
+        }
+        assertThat(attempts).hasSize(count);
+    }
+
+    private double counter(String name) {
+        return meterRegistry.counter(name).count();
+    }
+
+    @Test
+    @DisplayName("Should not hedge a call that answers before the delay")
+    void shouldNotHedgeFastCall() throws Exception {
+        CompletableFuture<String> result = hedge();
+        attempts.get(0).complete("fast");
+
+        assertThat(result.join()).isEqualTo("fast");
+        TimeUnit.MILLISECONDS.sleep(60);
+        assertThat(attempts).hasSize(1);
+        assertThat(counter("summarize.llm.hedge.fired")).isZero();
+    }
+
+    @Test
+    @DisplayName("Should take the hedge's answer and cancel the straggler")
+    void shouldTakeHedgeAnswer() throws Exception {
+        CompletableFuture<String> result = hedge();
+        awaitAttempts(2);
+
+        attempts.get(1).complete("hedge");
+
+        assertThat(result.join()).isEqualTo("hedge");
+        assertThat(attempts.get(0)).isCancelled();
+        assertThat(counter("summarize.llm.hedge.fired")).isEqualTo(1.0);
+        assertThat(counter("summarize.llm.hedge.won")).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Should take the first call's answer when it still wins after hedging")
+    void shouldTakePrimaryAnswerAfterHedging() throws Exception {
+        CompletableFuture<String> result = hedge();
+        awaitAttempts(2);
+
+        attempts.get(0).complete("primary");
+
+        assertThat(result.join()).isEqualTo("primary");
+        assertThat(attempts.get(1)).isCancelled();
+        assertThat(counter("summarize.llm.hedge.won")).isZero();
+    }
+
+    @Test
+    @DisplayName("Should wait for the other attempt when one fails, and fail once both have")
+    void shouldFailOnlyWhenAllAttemptsFail() throws Exception {
+        CompletableFuture<String> result = hedge();
+        awaitAttempts(2);
+
+        attempts.get(0).completeExceptionally(new IllegalStateException("first"));
+        assertThat(result).isNotDone();
+
+        attempts.get(1).completeExceptionally(new IllegalStateException("second"));
+        assertThatThrownBy(result::join).hasCauseInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    @DisplayName("Should stop hedging once the hedge budget is spent")
+    void shouldRespectHedgeBudget() throws Exception {
+        // Half a hedge per call: the first call saves up, the second may hedge, the third may not
+        properties.getHedge().setMaxHedgePercent(50);
+        hedge();
+        CompletableFuture<String> second = hedge();
+        CompletableFuture<String> third = hedge();
+        TimeUnit.MILLISECONDS.sleep(100);
+
+        assertThat(attempts).hasSize(4);
+        assertThat(counter("summarize.llm.hedge.fired")).isEqualTo(1.0);
+        assertThat(second).isNotDone();
+        assertThat(third).isNotDone();
+    }
+
+    @Test
+    @DisplayName("Should carry on with the first call when the hedge cannot be started")
+    void shouldIgnoreHedgeStartFailure() throws Exception {
+        List<CompletableFuture<String>> started = new CopyOnWriteArrayList<>();
+        CompletableFuture<String> result = hedger.hedge(() -> {
+            if (!started.isEmpty()) {
+                throw new ServiceOverloadedException("full", Duration.ofSeconds(1));
+            }
+            CompletableFuture<String> attempt = new CompletableFuture<>();
+            started.add(attempt);
+            return attempt;
+        });
+        TimeUnit.MILLISECONDS.sleep(60);
+
+        started.get(0).complete("primary");
+
+        assertThat(result.join()).isEqualTo("primary");
+        assertThat(counter("summarize.llm.hedge.fired")).isZero();
+    }
+
+    @Test
+    @DisplayName("Should cancel every attempt when the caller gives up")
+    void shouldCancelAllAttempts() throws Exception {
+        CompletableFuture<String> result = hedge();
+        awaitAttempts(2);
+
+        result.cancel(true);
+
+        assertThat(attempts).allMatch(CompletableFuture::isCancelled);
+    }
+
+    @Test
+    @DisplayName("Should hedge after the observed p95 latency when no delay is configured")
+    void shouldUseObservedP95AsDelay() {
+        properties.getHedge().setDelay(null);
+        assertThat(hedger.hedgeDelay()).isNull();
+
+        for (int i = 1; i <= 100; i++) {
+            hedge();
+            attempts.get(i - 1).complete("answer");
+        }
+
+        // The answers here are immediate, so min-delay sets the actual delay
+        assertThat(hedger.hedgeDelay()).isLessThan(Duration.ofSeconds(1));
+        properties.getHedge().setMinDelay(Duration.ofSeconds(2));
+        assertThat(hedger.hedgeDelay()).isEqualTo(Duration.ofSeconds(2));
+    }
+
+    @Test
+    @DisplayName("Should time the first attempt from the start of the race even when the hedge wins")
+    void shouldRecordFirstAttemptLatencyWhenHedgeWins() throws Exception {
+        properties.getHedge().setDelay(Duration.ofMillis(50));
+        for (int i = 0; i < LlmHedger.MIN_SAMPLES; i++) {
+            attempts.clear();
+            CompletableFuture<String> result = hedge();
+            awaitAttempts(2);
+            attempts.get(1).complete("hedge");
+            assertThat(result.join()).isEqualTo("hedge");
+        }
+
+        // The hedges answered at once, but the first attempts were still waiting after the delay
+        properties.getHedge().setDelay(null);
+        assertThat(hedger.hedgeDelay()).isGreaterThanOrEqualTo(Duration.ofMillis(50));
+    }
+
+    @Test
+    @DisplayName("Should pass calls straight through when disabled")
+    void shouldPassThroughWhenDisabled() throws Exception {
+        properties.getHedge().setEnabled(false);
+
+        CompletableFuture<String> result = hedge();
+        TimeUnit.MILLISECONDS.sleep(60);
+
+        assertThat(attempts).hasSize(1);
+        assertThat(result).isSameAs(attempts.get(0));
+    }
+}
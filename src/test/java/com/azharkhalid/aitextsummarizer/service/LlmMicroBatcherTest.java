@@ -0,0 +1,211 @@
+package com.azharkhalid.aitextsummarizer.service;
+
+import com.azharkhalid.aitextsummarizer.config.SummarizeProperties;
+import com.azharkhalid.aitextsummarizer.enums.SummaryStyle;
+import com.azharkhalid.aitextsummarizer.exception.LLMTimeoutException;
+import com.azharkhalid.aitextsummarizer.metrics.SummarizeMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.chat.metadata.DefaultUsage;
+import org.springframework.ai.chat.metadata.EmptyUsage;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.awaitility.Awaitility.await;
+
+@DisplayName("LlmMicroBatcher Tests")
+class LlmMicroBatcherTest {
+
+    private static final String SYSTEM_PROMPT = "System prompt";
+
+    private final PromptService promptService = new PromptService();
+    private SummarizeProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+    private LlmMicroBatcher batcher;
+    private List<Call> calls;
+
+    @BeforeEach
+    void setUp() {
+        properties = new SummarizeProperties();
+        properties.getMicroBatch().setEnabled(true);
+        properties.getMicroBatch().setMaxWait(Duration.ofSeconds(30));
+        properties.getMicroBatch().setMaxItems(3);
+        meterRegistry = new SimpleMeterRegistry();
+        SummarizeMetrics metrics = new SummarizeMetrics(meterRegistry);
+        metrics.init();
+        batcher = new LlmMicroBatcher(promptService, properties, metrics);
+        calls = new CopyOnWriteArrayList<>();
+    }
+
+    /**
+     * One LLM call made by the batcher, answered by the test.
+     */
+    private record Call(String systemPrompt, String userPrompt, CompletableFuture<SummarizeService.LlmResult> result) {
+
+        void answer(String content) {
+            result.complete(new SummarizeService.LlmResult(content, new DefaultUsage(100, 20, 120), 1_000_000));
+        }
+    }
+
+    private CompletableFuture<SummarizeService.LlmResult> submit(String text, SummaryStyle style) {
+        return batcher.submit(text, style, null, SYSTEM_PROMPT, promptService.buildPrompt(text, style, null),
+                (systemPrompt, userPrompt) -> {
+                    Call call = new Call(systemPrompt, userPrompt, new CompletableFuture<>());
+                    calls.add(call);
+                    return call.result();
+                });
+    }
+
+    @Test
+    @DisplayName("Should pass calls straight through when disabled")
+    void shouldPassThroughWhenDisabled() {
+        properties.getMicroBatch().setEnabled(false);
+
+        CompletableFuture<SummarizeService.LlmResult> result = submit("Short text.", SummaryStyle.CONCISE);
+
+        assertThat(calls).hasSize(1);
+        assertThat(calls.get(0).systemPrompt()).isEqualTo(SYSTEM_PROMPT);
+        assertThat(calls.get(0).userPrompt()).isEqualTo(promptService.buildPrompt("Short text.", SummaryStyle.CONCISE, null));
+        calls.get(0).answer("Summary.");
+        assertThat(result.join().content()).isEqualTo("Summary.");
+    }
+
+    @Test
+    @DisplayName("Should send texts over the item length on their own, without waiting")
+    void shouldNotBatchLongTexts() {
+        submit("x".repeat(properties.getMicroBatch().getMaxItemLength() + 1), SummaryStyle.CONCISE);
+
+        assertThat(calls).hasSize(1);
+        assertThat(calls.get(0).userPrompt()).doesNotContain("[[TEXT");
+    }
+
+    @Test
+    @DisplayName("Should send one call once max-items requests have gathered and split the answer")
+    void shouldBatchUpToMaxItems() {
+        CompletableFuture<SummarizeService.LlmResult> first = submit("First text.", SummaryStyle.BULLET);
+        CompletableFuture<SummarizeService.LlmResult> second = submit("Second text, a little longer.", SummaryStyle.BULLET);
+        assertThat(calls).isEmpty();
+        CompletableFuture<SummarizeService.LlmResult> third = submit("Third text.", SummaryStyle.BULLET);
+
+        assertThat(calls).hasSize(1);
+        assertThat(calls.get(0).userPrompt()).contains("[[TEXT 1]]\nFirst text.", "[[TEXT 3]]\nThird text.");
+        calls.get(0).answer("[[SUMMARY 1]]\nOne.\n[[SUMMARY 2]]\nTwo.\n[[SUMMARY 3]]\nThree.");
+
+        assertThat(first.join().content()).isEqualTo("One.");
+        assertThat(second.join().content()).isEqualTo("Two.");
+        assertThat(third.join().content()).isEqualTo("Three.");
+        int promptTokens = first.join().usage().getPromptTokens() + second.join().usage().getPromptTokens()
+                + third.join().usage().getPromptTokens();
+        assertThat(promptTokens).isBetween(99, 101);
+        assertThat(second.join().usage().getPromptTokens()).isGreaterThan(first.join().usage().getPromptTokens());
+        assertThat(meterRegistry.find("summarize.llm.microbatch.fill").summary().max()).isEqualTo(1.0);
+        assertThat(meterRegistry.find("summarize.llm.microbatch.tokens.saved").counter().count()).isPositive();
+    }
+
+    @Test
+    @DisplayName("Should send a partly filled batch once max-wait has passed")
+    void shouldFlushAfterMaxWait() {
+        properties.getMicroBatch().setMaxWait(Duration.ofMillis(20));
+
+        CompletableFuture<SummarizeService.LlmResult> first = submit("First text.", SummaryStyle.CONCISE);
+        CompletableFuture<SummarizeService.LlmResult> second = submit("Second text.", SummaryStyle.CONCISE);
+
+        await().atMost(5, TimeUnit.SECONDS).until(() -> calls.size() == 1);
+        calls.get(0).answer("[[SUMMARY 1]]\nOne.\n[[SUMMARY 2]]\nTwo.");
+        assertThat(first.join().content()).isEqualTo("One.");
+        assertThat(second.join().content()).isEqualTo("Two.");
+        assertThat(meterRegistry.find("summarize.llm.microbatch.fill").summary().max()).isCloseTo(2.0 / 3, within(0.01));
+    }
+
+    @Test
+    @DisplayName("Should send a lone request with its own prompt")
+    void shouldSendLoneRequestAlone() {
+        properties.getMicroBatch().setMaxWait(Duration.ofMillis(10));
+
+        submit("Only text.", SummaryStyle.CONCISE);
+
+        await().atMost(5, TimeUnit.SECONDS).until(() -> calls.size() == 1);
+        assertThat(calls.get(0).userPrompt()).isEqualTo(promptService.buildPrompt("Only text.", SummaryStyle.CONCISE, null));
+    }
+
+    @Test
+    @DisplayName("Should only batch requests of the same style")
+    void shouldKeepStylesApart() {
+        for (int i = 0; i < 2; i++) {
+            submit("Bullet text " + i, SummaryStyle.BULLET);
+            submit("Concise text " + i, SummaryStyle.CONCISE);
+        }
+        submit("Bullet text 2", SummaryStyle.BULLET);
+
+        assertThat(calls).hasSize(1);
+        assertThat(calls.get(0).userPrompt()).contains("bullet style").doesNotContain("Concise text");
+    }
+
+    @Test
+    @DisplayName("Should start a new batch rather than exceed the token limit")
+    void shouldRespectTokenLimit() {
+        properties.getMicroBatch().setMaxBatchTokens(100);
+        String text = "y".repeat(240);
+
+        submit(text, SummaryStyle.CONCISE);
+        submit(text, SummaryStyle.CONCISE);
+
+        // 60 + 60 estimated tokens exceed the limit, so the first text went out alone
+        assertThat(calls).hasSize(1);
+        assertThat(calls.get(0).userPrompt()).doesNotContain("[[TEXT");
+    }
+
+    @Test
+    @DisplayName("Should resend each request on its own when the answer cannot be split")
+    void shouldFallBackWhenAnswerCannotBeSplit() {
+        CompletableFuture<SummarizeService.LlmResult> first = submit("First text.", SummaryStyle.CONCISE);
+        CompletableFuture<SummarizeService.LlmResult> second = submit("Second text.", SummaryStyle.CONCISE);
+        submit("Third text.", SummaryStyle.CONCISE);
+
+        calls.get(0).answer("Here is a summary of all three texts.");
+
+        assertThat(calls).hasSize(4);
+        assertThat(calls.get(1).userPrompt()).isEqualTo(promptService.buildPrompt("First text.", SummaryStyle.CONCISE, null));
+        calls.get(1).answer("One.");
+        calls.get(2).answer("Two.");
+        assertThat(first.join().content()).isEqualTo("One.");
+        assertThat(second.join().content()).isEqualTo("Two.");
+        assertThat(meterRegistry.find("summarize.llm.microbatch.fallback").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Should fail every request when the shared call fails")
+    void shouldFailAllWhenCallFails() {
+        CompletableFuture<SummarizeService.LlmResult> first = submit("First text.", SummaryStyle.CONCISE);
+        CompletableFuture<SummarizeService.LlmResult> second = submit("Second text.", SummaryStyle.CONCISE);
+        submit("Third text.", SummaryStyle.CONCISE);
+
+        calls.get(0).result().completeExceptionally(new LLMTimeoutException("LLM timed out"));
+
+        assertThat(first).isCompletedExceptionally();
+        assertThat(second).isCompletedExceptionally();
+        assertThat(calls).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("Should leave out requests cancelled while waiting")
+    void shouldSkipCancelledRequests() {
+        CompletableFuture<SummarizeService.LlmResult> first = submit("First text.", SummaryStyle.CONCISE);
+        submit("Second text.", SummaryStyle.CONCISE);
+        first.cancel(true);
+        CompletableFuture<SummarizeService.LlmResult> third = submit("Third text.", SummaryStyle.CONCISE);
+
+        assertThat(calls).hasSize(1);
+        assertThat(calls.get(0).userPrompt()).doesNotContain("First text.").contains("[[TEXT 2]]\nThird text.");
+        calls.get(0).result().complete(new SummarizeService.LlmResult(
+                "[[SUMMARY 1]]\nTwo.\n[[SUMMARY 2]]\nThree.", new EmptyUsage(), 0));
+        assertThat(third.join().content()).isEqualTo("Three.");
+    }
+}
@@ -0,0 +1,188 @@
+package com.azharkhalid.aitextsummarizer.service;
+
+import com.azharkhalid.aitextsummarizer.config.SummarizeProperties;
+import com.azharkhalid.aitextsummarizer.exception.RateLimitExceededException;
+import com.azharkhalid.aitextsummarizer.metrics.SummarizeMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("LlmPacer Tests")
+class LlmPacerTest {
+
+    private SummarizeProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+    private LlmPacer pacer;
+
+    @BeforeEach
+    void setUp() {
+        properties = new SummarizeProperties();
+        meterRegistry = new SimpleMeterRegistry();
+        SummarizeMetrics metrics = new SummarizeMetrics(meterRegistry);
+        metrics.init();
+        pacer = new LlmPacer(properties, metrics);
+    }
+
+    private static HttpHeaders limits(long remainingRequests, String resetRequests,
+                                      long remainingTokens, String resetTokens) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("x-ratelimit-limit-requests", "100");
+        headers.set("x-ratelimit-remaining-requests", String.valueOf(remainingRequests));
+        headers.set("x-ratelimit-reset-requests", resetRequests);
+        headers.set("x-ratelimit-limit-tokens", "10000");
+        headers.set("x-ratelimit-remaining-tokens", String.valueOf(remainingTokens));
+        headers.set("x-ratelimit-reset-tokens", resetTokens);
+        return headers;
+    }
+
+    private static long waitMillis(LlmPacer.Permit permit) {
+        return TimeUnit.NANOSECONDS.toMillis(Math.max(0, permit.notBeforeNanos() - System.nanoTime()));
+    }
+
+    private double gauge(String limit) {
+        return meterRegistry.find("summarize.llm.pacer.remaining").tag("limit", limit).gauge().value();
+    }
+
+    @Test
+    @DisplayName("Should let calls through at once until the provider reports its limits")
+    void shouldNotDelayWithoutLimits() {
+        for (int i = 0; i < 100; i++) {
+            assertThat(waitMillis(pacer.acquire(1000))).isZero();
+        }
+
+        assertThat(gauge("requests")).isNaN();
+        assertThat(meterRegistry.find("summarize.llm.pacer.delayed").counter().count()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should count calls against the reported remaining requests and tokens")
+    void shouldCountCallsAgainstRemaining() {
+        pacer.onResponse(HttpStatus.OK, limits(10, "6s", 5000, "1s"));
+
+        pacer.acquire(1000);
+        pacer.acquire(1000);
+
+        assertThat(gauge("requests")).isEqualTo(8.0);
+        assertThat(gauge("tokens")).isEqualTo(3000.0);
+    }
+
+    @Test
+    @DisplayName("Should delay calls until the request limit resets")
+    void shouldDelayUntilRequestsReset() {
+        pacer.onResponse(HttpStatus.OK, limits(1, "2s", 5000, "1ms"));
+
+        assertThat(waitMillis(pacer.acquire(100))).isZero();
+        assertThat(waitMillis(pacer.acquire(100))).isBetween(1000L, 2000L);
+        assertThat(meterRegistry.find("summarize.llm.pacer.delayed").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Should delay calls until enough tokens are available")
+    void shouldDelayUntilTokensReset() {
+        pacer.onResponse(HttpStatus.OK, limits(50, "1s", 500, "3s"));
+
+        assertThat(waitMillis(pacer.acquire(400))).isZero();
+        assertThat(waitMillis(pacer.acquire(400))).isBetween(2000L, 3000L);
+    }
+
+    @Test
+    @DisplayName("Should reject calls the provider would not accept within max-wait")
+    void shouldRejectBeyondMaxWait() {
+        properties.getPacer().setMaxWait(Duration.ofSeconds(1));
+        pacer.onResponse(HttpStatus.OK, limits(0, "1m0s", 5000, "1s"));
+
+        assertThatThrownBy(() -> pacer.acquire(100))
+                .isInstanceOf(RateLimitExceededException.class)
+                .satisfies(e -> assertThat(((RateLimitExceededException) e).getRetryAfter())
+                        .isBetween(Duration.ofSeconds(50), Duration.ofMinutes(1)));
+        assertThat(meterRegistry.find("summarize.llm.pacer.rejected").counter().count()).isEqualTo(1.0);
+        assertThat(gauge("requests")).isZero();
+    }
+
+    @Test
+    @DisplayName("Should pause all calls for the Retry-After of a 429 response")
+    void shouldPauseAfterTooManyRequests() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, "3");
+
+        pacer.onResponse(HttpStatus.TOO_MANY_REQUESTS, headers);
+
+        assertThat(waitMillis(pacer.acquire(100))).isBetween(2000L, 3000L);
+        assertThat(meterRegistry.find("summarize.llm.pacer.pause").timeGauge().value(TimeUnit.SECONDS))
+                .isBetween(2.0, 3.0);
+    }
+
+    @Test
+    @DisplayName("Should ignore Retry-After on responses that are not 429")
+    void shouldIgnoreRetryAfterOnSuccess() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, "30");
+
+        pacer.onResponse(HttpStatus.OK, headers);
+
+        assertThat(waitMillis(pacer.acquire(100))).isZero();
+    }
+
+    @Test
+    @DisplayName("Should charge calls held for a reset to the next window")
+    void shouldChargeOverdraftToNextWindow() throws InterruptedException {
+        pacer.onResponse(HttpStatus.OK, limits(0, "20ms", 5000, "1ms"));
+
+        LlmPacer.Permit held = pacer.acquire(100);
+        assertThat(held.notBeforeNanos()).isNotZero();
+        pacer.await(held);
+        pacer.acquire(100);
+
+        // The window restarted at the 100 request limit, less the held call and this one
+        assertThat(gauge("requests")).isEqualTo(98.0);
+    }
+
+    @Test
+    @DisplayName("Should pass calls straight through when disabled")
+    void shouldPassThroughWhenDisabled() {
+        properties.getPacer().setEnabled(false);
+        pacer.onResponse(HttpStatus.OK, limits(0, "1m0s", 0, "1m0s"));
+
+        assertThat(waitMillis(pacer.acquire(100))).isZero();
+    }
+
+    @Test
+    @DisplayName("Should parse the provider's reset durations")
+    void shouldParseResetDurations() {
+        assertThat(LlmPacer.parseDuration("1s")).isEqualTo(Duration.ofSeconds(1));
+        assertThat(LlmPacer.parseDuration("6m0s")).isEqualTo(Duration.ofMinutes(6));
+        assertThat(LlmPacer.parseDuration("1.5s")).isEqualTo(Duration.ofMillis(1500));
+        assertThat(LlmPacer.parseDuration("17ms")).isEqualTo(Duration.ofMillis(17));
+        assertThat(LlmPacer.parseDuration("1h2m3s")).isEqualTo(Duration.ofSeconds(3723));
+        assertThat(LlmPacer.parseDuration("soon")).isNull();
+        assertThat(LlmPacer.parseDuration("5s later")).isNull();
+        assertThat(LlmPacer.parseDuration(null)).isNull();
+    }
+
+    @Test
+    @DisplayName("Should read Retry-After as milliseconds, seconds or an HTTP date")
+    void shouldParseRetryAfter() {
+        HttpHeaders millis = new HttpHeaders();
+        millis.set("retry-after-ms", "250");
+        HttpHeaders seconds = new HttpHeaders();
+        seconds.set(HttpHeaders.RETRY_AFTER, "7");
+        HttpHeaders date = new HttpHeaders();
+        date.set(HttpHeaders.RETRY_AFTER,
+                DateTimeFormatter.RFC_1123_DATE_TIME.format(ZonedDateTime.now().plusSeconds(30)));
+
+        assertThat(LlmPacer.retryAfter(millis)).isEqualTo(Duration.ofMillis(250));
+        assertThat(LlmPacer.retryAfter(seconds)).isEqualTo(Duration.ofSeconds(7));
+        assertThat(LlmPacer.retryAfter(date)).isBetween(Duration.ofSeconds(25), Duration.ofSeconds(30));
+        assertThat(LlmPacer.retryAfter(new HttpHeaders())).isNull();
+    }
+}
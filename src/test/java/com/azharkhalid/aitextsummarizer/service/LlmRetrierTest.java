@@ -0,0 +1,217 @@
+package com.azharkhalid.aitextsummarizer.service;
+
+import com.azharkhalid.aitextsummarizer.config.SummarizeProperties;
+import com.azharkhalid.aitextsummarizer.exception.RateLimitExceededException;
+import com.azharkhalid.aitextsummarizer.exception.ServiceOverloadedException;
+import com.azharkhalid.aitextsummarizer.metrics.SummarizeMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.retry.NonTransientAiException;
+import org.springframework.ai.retry.TransientAiException;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.awaitility.Awaitility.await;
+
+@DisplayName("LlmRetrier Tests")
+class LlmRetrierTest {
+
+    private SummarizeProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+    private LlmRetrier retrier;
+    private List<CompletableFuture<String>> attempts;
+
+    @BeforeEach
+    void setUp() {
+        properties = new SummarizeProperties();
+        properties.getRetry().setBackoff(Duration.ZERO);
+        meterRegistry = new SimpleMeterRegistry();
+        SummarizeMetrics metrics = new SummarizeMetrics(meterRegistry);
+        metrics.init();
+        retrier = new LlmRetrier(properties, metrics);
+        attempts = new CopyOnWriteArrayList<>();
+    }
+
+    private CompletableFuture<String> call() {
+        CompletableFuture<String> attempt = new CompletableFuture<>();
+        attempts.add(attempt);
+        return attempt;
+    }
+
+    private double retries(String reason, String outcome) {
+        var counter = meterRegistry.find("summarize.llm.retries").tags("reason", reason, "outcome", outcome).counter();
+        return counter != null ? counter.count() : 0;
+    }
+
+    @Test
+    @DisplayName("Should retry a transient failure and return the retry's answer")
+    void shouldRetryTransientFailure() {
+        CompletableFuture<String> result = retrier.retry(this::call);
+
+        attempts.get(0).completeExceptionally(new TransientAiException("HTTP 503 - Service Unavailable"));
+        await().atMost(5, TimeUnit.SECONDS).until(() -> attempts.size() == 2);
+        attempts.get(1).complete("answer");
+
+        assertThat(result.join()).isEqualTo("answer");
+        assertThat(retries("server_error", "retried")).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Should stop after max-attempts and fail with the last error")
+    void shouldStopAfterMaxAttempts() {
+        CompletableFuture<String> result = retrier.retry(this::call);
+
+        for (int i = 0; i < 3; i++) {
+            int attempt = i;
+            await().atMost(5, TimeUnit.SECONDS).until(() -> attempts.size() == attempt + 1);
+            attempts.get(i).completeExceptionally(new TimeoutException("attempt " + (i + 1)));
+        }
+
+        assertThatThrownBy(result::join).isInstanceOf(CompletionException.class)
+                .hasCauseInstanceOf(TimeoutException.class)
+                .hasMessageContaining("attempt 3");
+        assertThat(attempts).hasSize(3);
+    }
+
+    @Test
+    @DisplayName("Should not retry permanent provider errors or calls shed locally")
+    void shouldNotRetryPermanentFailures() {
+        List<Throwable> failures = List.of(
+                new NonTransientAiException("HTTP 400 - Bad Request"),
+                new ServiceOverloadedException("LLM bulkhead full", Duration.ofSeconds(5)),
+                new RateLimitExceededException("Token budget exhausted"),
+                new IllegalStateException("bug"));
+
+        for (Throwable failure : failures) {
+            attempts.clear();
+            CompletableFuture<String> result = retrier.retry(this::call);
+            attempts.get(0).completeExceptionally(failure);
+
+            assertThat(result).isCompletedExceptionally();
+            assertThat(attempts).hasSize(1);
+        }
+    }
+
+    @Test
+    @DisplayName("Should classify provider failures by whether a retry can help")
+    void shouldClassifyFailures() {
+        assertThat(LlmRetrier.retryReason(new TimeoutException())).isEqualTo("timeout");
+        assertThat(LlmRetrier.retryReason(new CompletionException(new TimeoutException()))).isEqualTo("timeout");
+        assertThat(LlmRetrier.retryReason(new ResourceAccessException("Connection refused"))).isEqualTo("connection");
+        assertThat(LlmRetrier.retryReason(new TransientAiException("HTTP 502 - Bad Gateway"))).isEqualTo("server_error");
+        assertThat(LlmRetrier.retryReason(new NonTransientAiException("HTTP 429 - Too Many Requests")))
+                .isEqualTo("rate_limited");
+        assertThat(LlmRetrier.retryReason(new NonTransientAiException("429 - Too Many Requests")))
+                .isEqualTo("rate_limited");
+        assertThat(LlmRetrier.retryReason(HttpClientErrorException.create(HttpStatus.TOO_MANY_REQUESTS,
+                "Too Many Requests", null, null, null))).isEqualTo("rate_limited");
+        assertThat(LlmRetrier.retryReason(new NonTransientAiException("HTTP 401 - Unauthorized"))).isNull();
+        assertThat(LlmRetrier.retryReason(new RateLimitExceededException("Token budget exhausted"))).isNull();
+    }
+
+    @Test
+    @DisplayName("Should refuse retries once the retry budget is spent")
+    void shouldRefuseRetriesWithoutBudget() {
+        properties.getRetry().setMaxAttempts(2);
+        properties.getRetry().setBudgetPercent(0);
+
+        // The budget starts with 10 retries saved up
+        for (int i = 0; i < 11; i++) {
+            attempts.clear();
+            CompletableFuture<String> result = retrier.retry(this::call);
+            attempts.get(0).completeExceptionally(new TimeoutException());
+            if (i < 10) {
+                await().atMost(5, TimeUnit.SECONDS).until(() -> attempts.size() == 2);
+                attempts.get(1).complete("answer");
+                assertThat(result.join()).isEqualTo("answer");
+            } else {
+                assertThat(result).isCompletedExceptionally();
+                assertThat(attempts).hasSize(1);
+            }
+        }
+
+        assertThat(retries("timeout", "retried")).isEqualTo(10.0);
+        assertThat(retries("timeout", "budget_exhausted")).isEqualTo(1.0);
+        assertThat(retrier.getAvailableRetries()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should not retry when the retry could not finish before the deadline")
+    void shouldNotRetryPastDeadline() {
+        properties.getRetry().setBackoff(Duration.ofMillis(500));
+        properties.getRetry().setMinTimeLeft(Duration.ofSeconds(1));
+
+        CompletableFuture<String> tight = retrier.retry(this::call, Deadline.after(Duration.ofMillis(1200)));
+        attempts.get(0).completeExceptionally(new TimeoutException());
+
+        assertThat(tight).isCompletedExceptionally();
+        assertThat(attempts).hasSize(1);
+        assertThat(retries("timeout", "deadline")).isEqualTo(1.0);
+        assertThat(retrier.getAvailableRetries()).isEqualTo(10);
+
+        attempts.clear();
+        retrier.retry(this::call, Deadline.after(Duration.ofSeconds(30)));
+        attempts.get(0).completeExceptionally(new TimeoutException());
+
+        assertThat(retries("timeout", "retried")).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Should earn budget-percent percent of a retry per call")
+    void shouldEarnRetryBudgetPerCall() {
+        properties.getRetry().setBackoff(Duration.ofMinutes(1));
+        properties.getRetry().setBudgetPercent(0);
+        for (int i = 0; i < 10; i++) {
+            CompletableFuture<String> result = retrier.retry(this::call);
+            // The retry is paid for as soon as the attempt fails
+            attempts.get(attempts.size() - 1).completeExceptionally(new TimeoutException());
+            result.cancel(true);
+        }
+        assertThat(retrier.getAvailableRetries()).isZero();
+
+        properties.getRetry().setBudgetPercent(50);
+        for (int i = 0; i < 10; i++) {
+            retrier.retry(this::call).cancel(true);
+        }
+
+        assertThat(retrier.getAvailableRetries()).isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("Should cancel the attempt in flight and send no retry once cancelled")
+    void shouldCancelAttemptInFlight() {
+        properties.getRetry().setBackoff(Duration.ofMillis(50));
+        CompletableFuture<String> result = retrier.retry(this::call);
+        attempts.get(0).completeExceptionally(new TimeoutException());
+
+        result.cancel(true);
+
+        await().during(200, TimeUnit.MILLISECONDS).atMost(1, TimeUnit.SECONDS).until(() -> attempts.size() == 1);
+        CompletableFuture<String> second = retrier.retry(this::call);
+        second.cancel(true);
+        assertThat(attempts.get(1)).isCancelled();
+    }
+
+    @Test
+    @DisplayName("Should double the backoff per retry, with jitter, up to max-backoff")
+    void shouldBackOffExponentially() {
+        properties.getRetry().setBackoff(Duration.ofMillis(100));
+        properties.getRetry().setMaxBackoff(Duration.ofMillis(300));
+
+        assertThat(retrier.backoff(1)).isBetween(Duration.ofMillis(50), Duration.ofMillis(100));
+        assertThat(retrier.backoff(2)).isBetween(Duration.ofMillis(100), Duration.ofMillis(200));
+        assertThat(retrier.backoff(5)).isBetween(Duration.ofMillis(150), Duration.ofMillis(300));
+    }
+}
@@ -1,19 +1,97 @@
 package com.azharkhalid.aitextsummarizer.service;
 
+import com.azharkhalid.aitextsummarizer.config.SummarizeProperties;
+import com.azharkhalid.aitextsummarizer.exception.RateLimitExceededException;
+import com.azharkhalid.aitextsummarizer.metrics.SummarizeMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
 
 import static org.assertj.core.api.Assertions.*;
 
 @DisplayName("RateLimitingService Tests")
 class RateLimitingServiceTest {
 
+    private SummarizeProperties properties;
+    private SimpleMeterRegistry meterRegistry;
     private RateLimitingService rateLimitingService;
 
     @BeforeEach
     void setUp() {
-        rateLimitingService = new RateLimitingService();
+        properties = new SummarizeProperties();
+        properties.getRateLimit().getTiers().put("default", tier(3));
+        properties.getRateLimit().getTiers().put("premium", tier(5));
+        properties.getRateLimit().getApiKeys().put("premium-key", "premium");
+        meterRegistry = new SimpleMeterRegistry();
+        SummarizeMetrics metrics = new SummarizeMetrics(meterRegistry);
+        metrics.init();
+        rateLimitingService = new RateLimitingService(properties, metrics);
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    private static SummarizeProperties.TierConfig tier(int limit) {
+        return tier(limit, Duration.ofMinutes(1));
+    }
+
+    private static SummarizeProperties.TierConfig tier(int limit, Duration refreshPeriod) {
+        SummarizeProperties.TierConfig tier = new SummarizeProperties.TierConfig();
+        tier.setLimitForPeriod(limit);
+        tier.setRefreshPeriod(refreshPeriod);
+        return tier;
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("condition not met in time").isLessThan(deadline);
+            Thread.sleep(5);
+        }
+    }
+
+    /**
+     * Makes the given client the current HTTP request and returns its response.
+     */
+    private static MockHttpServletResponse asClient(String remoteAddr, String apiKey) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setRemoteAddr(remoteAddr);
+        if (apiKey != null) {
+            request.addHeader("X-API-Key", apiKey);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request, response));
+        return response;
+    }
+
+    private int allowedRequests(int attempts) {
+        int allowed = 0;
+        for (int i = 0; i < attempts; i++) {
+            try {
+                rateLimitingService.checkRateLimit();
+                allowed++;
+            } catch (RateLimitExceededException e) {
+                // counted as rejected
+            }
+        }
+        return allowed;
     }
 
     @Test
@@ -25,12 +103,154 @@ class RateLimitingServiceTest {
     }
 
     @Test
-    @DisplayName("Should have rate limit fallback method defined")
-    void shouldHaveRateLimitFallbackMethodDefined() {
-        // Verify the service has a fallback method
-        // (This is structural verification - actual rate limiting behavior
-        // would require integration testing with actual rate limiter config)
+    @DisplayName("Should reject requests once the client's quota is used up")
+    void shouldRejectRequestsOverLimit() {
+        asClient("10.0.0.1", null);
+        for (int i = 0; i < 3; i++) {
+            rateLimitingService.checkRateLimit();
+        }
+
+        assertThatThrownBy(() -> rateLimitingService.checkRateLimit())
+                .isInstanceOf(RateLimitExceededException.class)
+                .hasMessageContaining("Maximum 3 requests per minute");
+    }
+
+    @Test
+    @DisplayName("Should reject at once and report when the next request can succeed")
+    void shouldRejectImmediatelyWithRetryAfter() {
+        asClient("10.0.0.1", null);
+        allowedRequests(3);
+
+        long start = System.nanoTime();
+        assertThatThrownBy(() -> rateLimitingService.checkRateLimit())
+                .isInstanceOfSatisfying(RateLimitExceededException.class, e -> assertThat(e.getRetryAfter())
+                        .isPositive()
+                        .isLessThanOrEqualTo(Duration.ofSeconds(20)));
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(1));
+    }
+
+    @Test
+    @DisplayName("Should let a request wait for its token when max-wait allows it")
+    void shouldWaitForTokenWithinMaxWait() throws Exception {
+        properties.getRateLimit().getTiers().put("default", tier(1, Duration.ofMillis(300)));
+        properties.getRateLimit().setMaxWait(Duration.ofSeconds(1));
+        rateLimitingService.checkRateLimit();
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<?> waiting = executor.submit(() -> rateLimitingService.checkRateLimit());
+            await(() -> meterRegistry.get("summarize.ratelimit.waiting").gauge().value() == 1.0);
+
+            waiting.get();
+            assertThat(meterRegistry.get("summarize.ratelimit.waiting").gauge().value()).isZero();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Should reject when the next token is further away than max-wait")
+    void shouldRejectBeyondMaxWait() {
+        properties.getRateLimit().setMaxWait(Duration.ofMillis(100));
+        allowedRequests(3);
+
+        assertThatThrownBy(() -> rateLimitingService.checkRateLimit())
+                .isInstanceOf(RateLimitExceededException.class);
+        assertThat(meterRegistry.get("summarize.ratelimit.waiting").gauge().value()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should give each client IP its own quota")
+    void shouldLimitEachClientSeparately() {
+        asClient("10.0.0.1", null);
+        assertThat(allowedRequests(5)).isEqualTo(3);
+
+        asClient("10.0.0.2", null);
+        assertThat(allowedRequests(5)).isEqualTo(3);
+        assertThat(rateLimitingService.getTrackedClients()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should use the tier of a configured API key and ignore unknown keys")
+    void shouldApplyApiKeyTier() {
+        asClient("10.0.0.1", "premium-key");
+        assertThat(allowedRequests(10)).isEqualTo(5);
+
+        // Unknown keys fall back to the IP bucket, so made-up keys do not buy extra quota
+        asClient("10.0.0.1", "made-up-1");
+        assertThat(allowedRequests(2)).isEqualTo(2);
+        asClient("10.0.0.1", "made-up-2");
+        assertThat(allowedRequests(2)).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should report the remaining quota in X-RateLimit headers")
+    void shouldWriteRateLimitHeaders() {
+        MockHttpServletResponse response = asClient("10.0.0.1", null);
+        rateLimitingService.checkRateLimit();
+
+        assertThat(response.getHeader("X-RateLimit-Limit")).isEqualTo("3");
+        assertThat(response.getHeader("X-RateLimit-Remaining")).isEqualTo("2");
+        assertThat(Long.parseLong(response.getHeader("X-RateLimit-Reset"))).isBetween(1L, 20L);
+
+        MockHttpServletResponse rejected = asClient("10.0.0.1", null);
+        allowedRequests(3);
+        assertThat(rejected.getHeader("X-RateLimit-Remaining")).isEqualTo("0");
+    }
+
+    @Test
+    @DisplayName("Should evict buckets of idle clients")
+    void shouldEvictIdleBuckets() {
+        asClient("10.0.0.1", null);
+        rateLimitingService.checkRateLimit();
+
+        rateLimitingService.evictIdleBuckets();
+        assertThat(rateLimitingService.getTrackedClients()).isEqualTo(1);
+
+        properties.getRateLimit().setIdleTimeout(Duration.ZERO);
+        rateLimitingService.evictIdleBuckets();
+        assertThat(rateLimitingService.getTrackedClients()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should not limit anything when disabled")
+    void shouldNotLimitWhenDisabled() {
+        properties.getRateLimit().setEnabled(false);
+
+        assertThat(allowedRequests(10)).isEqualTo(10);
+        assertThat(rateLimitingService.getTrackedClients()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should never allow more than the quota under concurrent requests")
+    void shouldNotOverAdmitUnderConcurrency() throws Exception {
+        properties.getRateLimit().getTiers().put("default", tier(100));
+        AtomicInteger allowed = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                futures.add(executor.submit(() -> allowed.addAndGet(allowedRequests(50))));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // All threads share the "local" client; refill over the test run adds at most a few tokens
+        assertThat(allowed.get()).isBetween(100, 105);
+    }
+
+    @Test
+    @DisplayName("Should not charge work that was already admitted")
+    void shouldNotChargeAdmittedWork() {
+        asClient("10.0.0.1", null);
+
+        int allowed = rateLimitingService.runAdmitted(() -> allowedRequests(10));
 
-        assertThat(rateLimitingService).isNotNull();
+        assertThat(allowed).isEqualTo(10);
+        assertThat(allowedRequests(10)).isEqualTo(3);
     }
 }
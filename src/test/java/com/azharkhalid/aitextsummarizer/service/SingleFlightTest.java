@@ -0,0 +1,100 @@
+package com.azharkhalid.aitextsummarizer.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("SingleFlight Tests")
+class SingleFlightTest {
+
+    private final SingleFlight<String, String> singleFlight = new SingleFlight<>();
+    private final AtomicInteger calls = new AtomicInteger();
+
+    private SingleFlight.Joined<String> join(String key, CompletableFuture<String> call) {
+        return singleFlight.join(key, () -> {
+            calls.incrementAndGet();
+            return call;
+        });
+    }
+
+    @Test
+    @DisplayName("Should share one call between concurrent callers with the same key")
+    void shouldShareCallForSameKey() {
+        CompletableFuture<String> call = new CompletableFuture<>();
+
+        SingleFlight.Joined<String> first = join("a", call);
+        SingleFlight.Joined<String> second = join("a", new CompletableFuture<>());
+        call.complete("result");
+
+        assertThat(first.leader()).isTrue();
+        assertThat(second.leader()).isFalse();
+        assertThat(first.future().join()).isEqualTo("result");
+        assertThat(second.future().join()).isEqualTo("result");
+        assertThat(calls.get()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should not share calls between different keys")
+    void shouldNotShareAcrossKeys() {
+        assertThat(join("a", new CompletableFuture<>()).leader()).isTrue();
+        assertThat(join("b", new CompletableFuture<>()).leader()).isTrue();
+        assertThat(calls.get()).isEqualTo(2);
+        assertThat(singleFlight.size()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should start a new call once the previous one has completed")
+    void shouldForgetCompletedCalls() {
+        join("a", CompletableFuture.completedFuture("first"));
+
+        SingleFlight.Joined<String> next = join("a", CompletableFuture.completedFuture("second"));
+
+        assertThat(next.leader()).isTrue();
+        assertThat(next.future().join()).isEqualTo("second");
+        assertThat(singleFlight.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should keep the call running while any caller still waits for it")
+    void shouldCancelOnlyWhenEveryCallerGaveUp() {
+        CompletableFuture<String> call = new CompletableFuture<>();
+        SingleFlight.Joined<String> first = join("a", call);
+        SingleFlight.Joined<String> second = join("a", call);
+
+        first.future().cancel(true);
+        assertThat(call).isNotDone();
+        assertThat(second.future()).isNotDone();
+
+        second.future().cancel(true);
+        assertThat(call).isCancelled();
+        assertThat(singleFlight.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should pass failures to every caller")
+    void shouldPropagateFailures() {
+        CompletableFuture<String> call = new CompletableFuture<>();
+        SingleFlight.Joined<String> first = join("a", call);
+        SingleFlight.Joined<String> second = join("a", call);
+
+        call.completeExceptionally(new IllegalStateException("boom"));
+
+        assertThatThrownBy(() -> first.future().join()).hasRootCauseMessage("boom");
+        assertThatThrownBy(() -> second.future().join()).hasRootCauseMessage("boom");
+    }
+
+    @Test
+    @DisplayName("Should throw to the leader when starting the call fails, and forget the key")
+    void shouldRethrowWhenStartFails() {
+        assertThatThrownBy(() -> singleFlight.join("a", () -> {
+            throw new IllegalStateException("rejected");
+        })).isInstanceOf(IllegalStateException.class);
+
+        assertThat(singleFlight.size()).isZero();
+        assertThat(join("a", new CompletableFuture<>()).leader()).isTrue();
+    }
+}
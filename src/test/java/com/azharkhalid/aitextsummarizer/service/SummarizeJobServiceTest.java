@@ -0,0 +1,349 @@
+package com.azharkhalid.aitextsummarizer.service;
+
+import com.azharkhalid.aitextsummarizer.config.SummarizeProperties;
+import com.azharkhalid.aitextsummarizer.dto.request.DocumentSummarizeRequest;
+import com.azharkhalid.aitextsummarizer.dto.request.SummarizeJobRequest;
+import com.azharkhalid.aitextsummarizer.dto.request.SummarizeRequest;
+import com.azharkhalid.aitextsummarizer.dto.response.SummarizeJobResponse;
+import com.azharkhalid.aitextsummarizer.dto.response.SummarizeResponse;
+import com.azharkhalid.aitextsummarizer.enums.JobStatus;
+import com.azharkhalid.aitextsummarizer.exception.InvalidInputException;
+import com.azharkhalid.aitextsummarizer.exception.JobNotFoundException;
+import com.azharkhalid.aitextsummarizer.exception.LLMTimeoutException;
+import com.azharkhalid.aitextsummarizer.exception.RateLimitExceededException;
+import com.azharkhalid.aitextsummarizer.exception.ServiceOverloadedException;
+import com.azharkhalid.aitextsummarizer.metrics.SummarizeMetrics;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@DisplayName("SummarizeJobService Tests")
+class SummarizeJobServiceTest {
+
+    private static final String TEXT = "This is a test text that is long enough to pass validation. " +
+            "It contains more than one hundred characters to ensure it meets the minimum length requirement.";
+
+    private final ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules().build();
+
+    @TempDir
+    private Path tempDir;
+
+    private SummarizeService summarizeService;
+    private DocumentSummarizeService documentSummarizeService;
+    private RateLimitingService rateLimitingService;
+    private SummarizeProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+    private SummarizeMetrics metrics;
+    private List<Runnable> tasks;
+    private SummarizeJobService service;
+
+    @BeforeEach
+    void setUp() {
+        summarizeService = mock(SummarizeService.class);
+        documentSummarizeService = mock(DocumentSummarizeService.class);
+        rateLimitingService = mock(RateLimitingService.class);
+        when(rateLimitingService.runAdmitted(any())).thenAnswer(invocation ->
+                invocation.<Supplier<?>>getArgument(0).get());
+
+        properties = new SummarizeProperties();
+        properties.getJobs().setLogFile(tempDir.resolve("summarize-jobs.wal").toString());
+        properties.getJobs().setCallbackBackoff(Duration.ofMillis(10));
+        meterRegistry = new SimpleMeterRegistry();
+        metrics = new SummarizeMetrics(meterRegistry);
+        metrics.init();
+        tasks = new ArrayList<>();
+        service = newService();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        service.stop();
+    }
+
+    /**
+     * Starts a service whose workers only run when {@link #runTasks} is called.
+     */
+    private SummarizeJobService newService() {
+        SummarizeJobService jobService = new SummarizeJobService(summarizeService, documentSummarizeService,
+                rateLimitingService, properties, metrics,
+                new TaskExecutorAdapter(tasks::add), objectMapper);
+        jobService.start();
+        return jobService;
+    }
+
+    private void runTasks() {
+        List<Runnable> pending = new ArrayList<>(tasks);
+        tasks.clear();
+        pending.forEach(Runnable::run);
+    }
+
+    private static SummarizeJobRequest request(String text) {
+        return SummarizeJobRequest.builder().text(text).maxLength(100).build();
+    }
+
+    private static SummarizeResponse summary(String text) {
+        return SummarizeResponse.builder().summary(text).build();
+    }
+
+    private double gauge(String state) {
+        return meterRegistry.get("summarize.jobs").tag("state", state).gauge().value();
+    }
+
+    @Test
+    @DisplayName("Should queue a job and return its result once a worker has run it")
+    void shouldRunJob() {
+        when(summarizeService.summarize(any(SummarizeRequest.class)))
+                .thenReturn(CompletableFuture.completedFuture(summary("A summary")));
+
+        SummarizeJobResponse submitted = service.submit(request(TEXT));
+
+        assertThat(submitted.getStatus()).isEqualTo(JobStatus.QUEUED);
+        assertThat(submitted.getJobId()).isNotBlank();
+        assertThat(service.getJob(submitted.getJobId()).getStatus()).isEqualTo(JobStatus.QUEUED);
+        assertThat(gauge("queued")).isEqualTo(1);
+        verify(rateLimitingService).checkRateLimit();
+
+        runTasks();
+
+        SummarizeJobResponse job = service.getJob(submitted.getJobId());
+        assertThat(job.getStatus()).isEqualTo(JobStatus.SUCCEEDED);
+        assertThat(job.getResult().getSummary()).isEqualTo("A summary");
+        assertThat(job.getStartedAt()).isNotNull();
+        assertThat(job.getCompletedAt()).isNotNull();
+        assertThat(job.getError()).isNull();
+        assertThat(gauge("queued")).isZero();
+        assertThat(gauge("running")).isZero();
+        assertThat(meterRegistry.get("summarize.jobs.completed").tag("status", "succeeded").counter().count())
+                .isEqualTo(1);
+        assertThat(meterRegistry.get("summarize.jobs.age").tag("stage", "completed").timer().count())
+                .isEqualTo(1);
+        // The rate limit was charged at submit time, not again by the worker
+        verify(rateLimitingService).runAdmitted(any());
+    }
+
+    @Test
+    @DisplayName("Should summarize texts over the single-pass limit as documents")
+    void shouldSummarizeLongTextAsDocument() {
+        when(documentSummarizeService.summarizeDocument(any(DocumentSummarizeRequest.class)))
+                .thenReturn(CompletableFuture.completedFuture(summary("A document summary")));
+
+        String jobId = service.submit(request("x".repeat(properties.getMaxInputLength() + 1))).getJobId();
+        runTasks();
+
+        assertThat(service.getJob(jobId).getResult().getSummary()).isEqualTo("A document summary");
+        verify(summarizeService, never()).summarize(any(SummarizeRequest.class));
+    }
+
+    @Test
+    @DisplayName("Should fail the job with the error code of the failure")
+    void shouldFailJob() {
+        when(summarizeService.summarize(any(SummarizeRequest.class)))
+                .thenReturn(CompletableFuture.failedFuture(new LLMTimeoutException("LLM timed out")));
+
+        String jobId = service.submit(request(TEXT)).getJobId();
+        runTasks();
+
+        SummarizeJobResponse job = service.getJob(jobId);
+        assertThat(job.getStatus()).isEqualTo(JobStatus.FAILED);
+        assertThat(job.getResult()).isNull();
+        assertThat(job.getError().errorCode()).isEqualTo("LLM_TIMEOUT");
+        assertThat(job.getError().message()).isEqualTo("LLM timed out");
+    }
+
+    @Test
+    @DisplayName("Should reject jobs when the queue is full")
+    void shouldRejectWhenQueueIsFull() {
+        properties.getJobs().setQueueCapacity(1);
+        service.submit(request(TEXT));
+
+        assertThatThrownBy(() -> service.submit(request(TEXT)))
+                .isInstanceOf(ServiceOverloadedException.class)
+                .extracting(e -> ((ServiceOverloadedException) e).getRetryAfter())
+                .isEqualTo(properties.getJobs().getRetryAfter());
+        assertThat(tasks).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("Should not accept a job over the rate limit")
+    void shouldNotAcceptJobOverRateLimit() {
+        doThrow(new RateLimitExceededException("Rate limit exceeded")).when(rateLimitingService).checkRateLimit();
+
+        assertThatThrownBy(() -> service.submit(request(TEXT))).isInstanceOf(RateLimitExceededException.class);
+        assertThat(tasks).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should throw JobNotFoundException for unknown jobs")
+    void shouldThrowForUnknownJob() {
+        assertThatThrownBy(() -> service.getJob("missing"))
+                .isInstanceOf(JobNotFoundException.class)
+                .hasMessageContaining("missing");
+    }
+
+    @Test
+    @DisplayName("Should resume unfinished jobs and keep finished ones after a restart")
+    void shouldResumeJobsAfterRestart() throws IOException {
+        when(summarizeService.summarize(any(SummarizeRequest.class)))
+                .thenReturn(CompletableFuture.completedFuture(summary("A summary")));
+        String finished = service.submit(request(TEXT)).getJobId();
+        runTasks();
+        String unfinished = service.submit(request(TEXT)).getJobId();
+
+        // Restart before the second job has run
+        service.stop();
+        tasks.clear();
+        service = newService();
+
+        assertThat(service.getJob(finished).getStatus()).isEqualTo(JobStatus.SUCCEEDED);
+        assertThat(service.getJob(finished).getResult().getSummary()).isEqualTo("A summary");
+        assertThat(service.getJob(unfinished).getStatus()).isEqualTo(JobStatus.QUEUED);
+        assertThat(tasks).hasSize(1);
+
+        runTasks();
+
+        assertThat(service.getJob(unfinished).getStatus()).isEqualTo(JobStatus.SUCCEEDED);
+    }
+
+    @Test
+    @DisplayName("Should drop finished jobs after the retention")
+    void shouldRemoveExpiredJobs() throws IOException {
+        when(summarizeService.summarize(any(SummarizeRequest.class)))
+                .thenReturn(CompletableFuture.completedFuture(summary("A summary")));
+        String jobId = service.submit(request(TEXT)).getJobId();
+        runTasks();
+
+        properties.getJobs().setRetention(Duration.ZERO);
+        service.removeExpiredJobs();
+
+        assertThatThrownBy(() -> service.getJob(jobId)).isInstanceOf(JobNotFoundException.class);
+        service.stop();
+        service = newService();
+        assertThatThrownBy(() -> service.getJob(jobId)).isInstanceOf(JobNotFoundException.class);
+    }
+
+    @Test
+    @DisplayName("Should POST the finished job to its callback URL, retrying failed deliveries")
+    void shouldDeliverCallback() throws Exception {
+        BlockingQueue<String> bodies = new LinkedBlockingQueue<>();
+        AtomicInteger deliveries = new AtomicInteger();
+        HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/callback", exchange -> {
+            String body = new String(exchange.getRequestBody().readAllBytes());
+            // Fail the first delivery
+            exchange.sendResponseHeaders(deliveries.incrementAndGet() == 1 ? 500 : 204, -1);
+            bodies.add(body);
+            exchange.close();
+        });
+        server.start();
+        properties.getJobs().setCallbackAllowPrivateAddresses(true);
+        try {
+            when(summarizeService.summarize(any(SummarizeRequest.class)))
+                    .thenReturn(CompletableFuture.completedFuture(summary("A summary")));
+            SummarizeJobRequest request = request(TEXT);
+            request.setCallbackUrl("http://localhost:" + server.getAddress().getPort() + "/callback");
+
+            String jobId = service.submit(request).getJobId();
+            runTasks();
+
+            assertThat(bodies.poll(5, TimeUnit.SECONDS)).contains(jobId);
+            SummarizeJobResponse delivered = objectMapper.readValue(bodies.poll(5, TimeUnit.SECONDS),
+                    SummarizeJobResponse.class);
+            assertThat(delivered.getJobId()).isEqualTo(jobId);
+            assertThat(delivered.getStatus()).isEqualTo(JobStatus.SUCCEEDED);
+            assertThat(delivered.getResult().getSummary()).isEqualTo("A summary");
+            assertThat(deliveries).hasValue(2);
+        } finally {
+            server.stop(0);
+        }
+    }
+
+    @Test
+    @DisplayName("Should reject callback URLs that point to local or private addresses")
+    void shouldRejectPrivateCallbackUrls() {
+        properties.getJobs().setCallbackAllowedHosts(List.of("localhost", "127.0.0.1", "169.254.169.254",
+                "10.0.0.5", "192.168.1.1", "100.64.0.1", "0.0.0.0", "[::1]", "[fd00::1]", "example.com"));
+        List<String> urls = List.of("http://localhost:8080/callback", "http://127.0.0.1/callback",
+                "http://169.254.169.254/latest/meta-data", "http://10.0.0.5/callback", "http://192.168.1.1/callback",
+                "http://100.64.0.1/callback", "http://0.0.0.0/callback", "http://[::1]/callback",
+                "http://[fd00::1]/callback", "ftp://example.com/callback");
+
+        for (String url : urls) {
+            SummarizeJobRequest request = request(TEXT);
+            request.setCallbackUrl(url);
+
+            assertThatThrownBy(() -> service.submit(request))
+                    .as(url)
+                    .isInstanceOf(InvalidInputException.class)
+                    .hasMessageNotContaining("not allowed");
+        }
+        assertThat(tasks).isEmpty();
+        assertThat(gauge("queued")).isZero();
+    }
+
+    @Test
+    @DisplayName("Should refuse callbacks when no callback hosts are configured")
+    void shouldRequireCallbackAllowlist() {
+        SummarizeJobRequest request = request(TEXT);
+        request.setCallbackUrl("https://hooks.example.com/callback");
+
+        assertThatThrownBy(() -> service.submit(request))
+                .isInstanceOf(InvalidInputException.class)
+                .hasMessageContaining("callback-allowed-hosts");
+        assertThat(tasks).isEmpty();
+
+        // Jobs without a callback are unaffected
+        assertThat(service.submit(request(TEXT)).getStatus()).isEqualTo(JobStatus.QUEUED);
+    }
+
+    @Test
+    @DisplayName("Should only accept callback URLs for the allowed hosts when hosts are configured")
+    void shouldRestrictCallbackHosts() {
+        properties.getJobs().setCallbackAllowedHosts(List.of("hooks.example.com"));
+        // Skip resolving the hosts; only the allowlist is under test
+        properties.getJobs().setCallbackAllowPrivateAddresses(true);
+        SummarizeJobRequest rejected = request(TEXT);
+        rejected.setCallbackUrl("https://other.example.com/callback");
+        SummarizeJobRequest accepted = request(TEXT);
+        accepted.setCallbackUrl("https://HOOKS.example.com/callback");
+
+        assertThatThrownBy(() -> service.submit(rejected))
+                .isInstanceOf(InvalidInputException.class)
+                .hasMessageContaining("other.example.com");
+        assertThat(service.submit(accepted).getStatus()).isEqualTo(JobStatus.QUEUED);
+    }
+
+    @Test
+    @DisplayName("Should treat only public addresses as callback targets")
+    void shouldClassifyPrivateAddresses() throws Exception {
+        assertThat(SummarizeJobService.isPrivate(InetAddress.getByName("93.184.216.34"))).isFalse();
+        assertThat(SummarizeJobService.isPrivate(InetAddress.getByName("2606:2800:220:1::"))).isFalse();
+        assertThat(SummarizeJobService.isPrivate(InetAddress.getByName("172.16.0.1"))).isTrue();
+        assertThat(SummarizeJobService.isPrivate(InetAddress.getByName("fe80::1"))).isTrue();
+        assertThat(SummarizeJobService.isPrivate(InetAddress.getByName("::ffff:127.0.0.1"))).isTrue();
+    }
+}
@@ -0,0 +1,96 @@
+package com.azharkhalid.aitextsummarizer.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("TokenBucket Tests")
+class TokenBucketTest {
+
+    private static final long MINUTE = TimeUnit.MINUTES.toNanos(1);
+
+    @Test
+    @DisplayName("Should allow a burst of the full capacity, then reject")
+    void shouldAllowBurstThenReject() {
+        TokenBucket bucket = new TokenBucket(3, MINUTE, 0);
+
+        assertThat(bucket.tryConsume(0).remaining()).isEqualTo(2);
+        assertThat(bucket.tryConsume(0).remaining()).isEqualTo(1);
+        assertThat(bucket.tryConsume(0).consumed()).isTrue();
+
+        TokenBucket.Probe rejected = bucket.tryConsume(0);
+        assertThat(rejected.consumed()).isFalse();
+        assertThat(rejected.remaining()).isZero();
+        assertThat(rejected.nanosUntilNextToken()).isEqualTo(MINUTE / 3);
+        assertThat(rejected.nanosUntilFull()).isEqualTo(MINUTE);
+    }
+
+    @Test
+    @DisplayName("Should refill continuously at capacity per period")
+    void shouldRefillContinuously() {
+        TokenBucket bucket = new TokenBucket(6, MINUTE, 0);
+        for (int i = 0; i < 6; i++) {
+            bucket.tryConsume(0);
+        }
+
+        assertThat(bucket.tryConsume(MINUTE / 6 - 1).consumed()).isFalse();
+        assertThat(bucket.tryConsume(MINUTE / 6).consumed()).isTrue();
+        assertThat(bucket.tryConsume(MINUTE / 6).consumed()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should reserve a future token for a caller that can wait")
+    void shouldReserveFutureToken() {
+        TokenBucket bucket = new TokenBucket(2, MINUTE, 0);
+        bucket.tryConsume(0);
+        bucket.tryConsume(0);
+
+        TokenBucket.Probe first = bucket.tryConsume(0, MINUTE);
+        TokenBucket.Probe second = bucket.tryConsume(0, MINUTE);
+        TokenBucket.Probe third = bucket.tryConsume(0, MINUTE);
+
+        assertThat(first.consumed()).isTrue();
+        assertThat(first.waitNanos()).isEqualTo(MINUTE / 2);
+        assertThat(second.waitNanos()).isEqualTo(MINUTE);
+        assertThat(third.consumed()).isFalse();
+        assertThat(third.nanosUntilNextToken()).isEqualTo(3 * MINUTE / 2);
+        assertThat(third.remaining()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should take several tokens at once and take back refunds up to capacity")
+    void shouldConsumeAndRefundAmounts() {
+        TokenBucket bucket = new TokenBucket(1000, MINUTE, 0);
+
+        assertThat(bucket.tryConsume(0, 0, 600).remaining()).isEqualTo(400);
+        assertThat(bucket.tryConsume(0, 0, 600).consumed()).isFalse();
+
+        bucket.refund(0, 450);
+        assertThat(bucket.available(0)).isEqualTo(850);
+        bucket.refund(0, 450);
+        assertThat(bucket.available(0)).isEqualTo(1000);
+        bucket.refund(0, -200);
+        assertThat(bucket.available(0)).isEqualTo(800);
+    }
+
+    @Test
+    @DisplayName("Should not refill beyond capacity")
+    void shouldCapAtCapacity() {
+        TokenBucket bucket = new TokenBucket(2, MINUTE, 0);
+
+        TokenBucket.Probe probe = bucket.tryConsume(10 * MINUTE);
+
+        assertThat(probe.remaining()).isEqualTo(1);
+        assertThat(bucket.getLastAccessNanos()).isEqualTo(10 * MINUTE);
+    }
+
+    @Test
+    @DisplayName("Should reject a non-positive capacity or period")
+    void shouldRejectInvalidConfiguration() {
+        assertThatThrownBy(() -> new TokenBucket(0, MINUTE, 0)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new TokenBucket(1, 0, 0)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,117 @@
+package com.azharkhalid.aitextsummarizer.service;
+
+import com.azharkhalid.aitextsummarizer.config.SummarizeProperties;
+import com.azharkhalid.aitextsummarizer.exception.RateLimitExceededException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.chat.metadata.DefaultUsage;
+import org.springframework.ai.chat.metadata.EmptyUsage;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("TokenBudgetLimiter Tests")
+class TokenBudgetLimiterTest {
+
+    // 400 characters = 100 prompt tokens at 4 characters per token
+    private static final String PROMPT = "x".repeat(400);
+
+    private SummarizeProperties properties;
+    private TokenBudgetLimiter limiter;
+
+    @BeforeEach
+    void setUp() {
+        properties = new SummarizeProperties();
+        properties.setMaxTokens(400);
+        properties.getTokenBudget().setTokensPerMinute(1000);
+        properties.getTokenBudget().setMaxWait(Duration.ZERO);
+        limiter = new TokenBudgetLimiter(properties);
+    }
+
+    @Test
+    @DisplayName("Should estimate prompt tokens plus the completion allowance")
+    void shouldEstimatePromptPlusMaxTokens() {
+        assertThat(limiter.estimate("", PROMPT)).isEqualTo(500);
+        assertThat(limiter.estimate("abc", PROMPT)).isEqualTo(501);
+        assertThat(limiter.estimate(null, null)).isEqualTo(400);
+    }
+
+    @Test
+    @DisplayName("Should reserve the estimate and reject once the budget is spent")
+    void shouldRejectWhenBudgetExhausted() {
+        TokenBudgetLimiter.Reservation reservation = limiter.reserve("", PROMPT);
+        limiter.reserve("", PROMPT);
+
+        assertThat(reservation.tokens()).isEqualTo(500);
+        assertThat(reservation.waitNanos()).isZero();
+        assertThatThrownBy(() -> limiter.reserve("", PROMPT))
+                .isInstanceOfSatisfying(RateLimitExceededException.class, e -> assertThat(e.getRetryAfter())
+                        .isGreaterThan(Duration.ofSeconds(29))
+                        .isLessThanOrEqualTo(Duration.ofSeconds(30)));
+    }
+
+    @Test
+    @DisplayName("Should return unused tokens once the real usage is known")
+    void shouldReconcileWithReportedUsage() {
+        TokenBudgetLimiter.Reservation reservation = limiter.reserve("", PROMPT);
+        assertThat(limiter.getAvailableTokens()).isBetween(500, 501);
+
+        limiter.reconcile(reservation, new DefaultUsage(100, 50));
+
+        assertThat(limiter.getAvailableTokens()).isBetween(850, 851);
+    }
+
+    @Test
+    @DisplayName("Should keep the estimate when the provider reports no usage")
+    void shouldKeepEstimateWithoutUsage() {
+        TokenBudgetLimiter.Reservation reservation = limiter.reserve("", PROMPT);
+
+        limiter.reconcile(reservation, new EmptyUsage());
+
+        assertThat(limiter.getAvailableTokens()).isBetween(500, 501);
+    }
+
+    @Test
+    @DisplayName("Should give back the whole reservation for calls that were never made")
+    void shouldReleaseReservation() {
+        limiter.release(limiter.reserve("", PROMPT));
+
+        assertThat(limiter.getAvailableTokens()).isEqualTo(1000);
+    }
+
+    @Test
+    @DisplayName("Should let a call wait for budget within max-wait")
+    void shouldWaitWithinMaxWait() {
+        properties.getTokenBudget().setMaxWait(Duration.ofMinutes(1));
+        limiter.reserve("", PROMPT);
+        limiter.reserve("", PROMPT);
+
+        TokenBudgetLimiter.Reservation waiting = limiter.reserve("", PROMPT);
+
+        assertThat(Duration.ofNanos(waiting.waitNanos()))
+                .isGreaterThan(Duration.ofSeconds(29))
+                .isLessThanOrEqualTo(Duration.ofSeconds(30));
+        assertThat(limiter.getAvailableTokens()).isNegative();
+    }
+
+    @Test
+    @DisplayName("Should let a call larger than the whole budget through on a full budget")
+    void shouldCapEstimateAtBudget() {
+        TokenBudgetLimiter.Reservation reservation = limiter.reserve("", "x".repeat(40000));
+
+        assertThat(reservation.tokens()).isEqualTo(1000);
+    }
+
+    @Test
+    @DisplayName("Should not reserve anything when disabled")
+    void shouldNotReserveWhenDisabled() {
+        properties.getTokenBudget().setEnabled(false);
+
+        for (int i = 0; i < 10; i++) {
+            assertThat(limiter.reserve("", PROMPT).tokens()).isZero();
+        }
+        assertThat(limiter.getAvailableTokens()).isEqualTo(1000);
+    }
+}
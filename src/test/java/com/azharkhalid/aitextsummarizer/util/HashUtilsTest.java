@@ -0,0 +1,31 @@
+package com.azharkhalid.aitextsummarizer.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("HashUtils Tests")
+class HashUtilsTest {
+
+    @Test
+    @DisplayName("Should produce a stable 64-character hex digest")
+    void shouldProduceStableHexDigest() {
+        String hash = HashUtils.sha256Hex("some", "text");
+
+        assertThat(hash).hasSize(64).matches("[0-9a-f]+");
+        assertThat(HashUtils.sha256Hex("some", "text")).isEqualTo(hash);
+    }
+
+    @Test
+    @DisplayName("Should separate parts so boundaries affect the hash")
+    void shouldSeparateParts() {
+        assertThat(HashUtils.sha256Hex("ab", "c")).isNotEqualTo(HashUtils.sha256Hex("a", "bc"));
+    }
+
+    @Test
+    @DisplayName("Should treat null parts as empty strings")
+    void shouldTreatNullPartsAsEmpty() {
+        assertThat(HashUtils.sha256Hex("a", null)).isEqualTo(HashUtils.sha256Hex("a", ""));
+    }
+}
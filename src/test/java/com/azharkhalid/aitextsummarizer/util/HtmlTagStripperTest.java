@@ -0,0 +1,46 @@
+package com.azharkhalid.aitextsummarizer.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("HtmlTagStripper Tests")
+class HtmlTagStripperTest {
+
+    private static HtmlTagStripper strip(String text) {
+        HtmlTagStripper stripper = new HtmlTagStripper(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            stripper.accept(text.charAt(i));
+        }
+        return stripper;
+    }
+
+    @Test
+    @DisplayName("Should strip tags as the tag regex does, keeping unclosed '<'")
+    void shouldStripLikeRegex() {
+        for (String input : new String[] {"<p>a</p>", "a < b and c > d", "<<b>x", "x<y", "<a>b<c", "<>", "no tags"}) {
+            assertThat(strip(input).toString()).as(input).isEqualTo(input.replaceAll("<[^>]*>", ""));
+        }
+    }
+
+    @Test
+    @DisplayName("Should report whether any tag was removed")
+    void shouldReportStrippedTags() {
+        assertThat(strip("<b>bold</b>").hasStrippedTags()).isTrue();
+        assertThat(strip("1 < 2").hasStrippedTags()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should continue from copied text")
+    void shouldContinueFromCopiedText() {
+        String text = "plain <i>x</i>";
+        HtmlTagStripper stripper = new HtmlTagStripper(text.length());
+        stripper.copy(text, 0, 6);
+        for (int i = 6; i < text.length(); i++) {
+            stripper.accept(text.charAt(i));
+        }
+
+        assertThat(stripper.toString()).isEqualTo("plain x");
+    }
+}
@@ -4,7 +4,10 @@ import com.azharkhalid.aitextsummarizer.exception.InvalidInputException;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import java.time.Duration;
+
 import static org.assertj.core.api.Assertions.*;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
 
 @DisplayName("InputSanitizer Tests")
 class InputSanitizerTest {
@@ -64,6 +67,24 @@ class InputSanitizerTest {
         assertThat(result).isEqualTo("This is important text");
     }
 
+    @Test
+    @DisplayName("Should strip HTML tags as the tag regex does, keeping unclosed '<'")
+    void shouldStripHtmlTagsLikeRegex() {
+        for (String input : new String[] {"a < b and c > d", "<<b>x", "x<y", "<a>b<c", "1 < 2", "<>", "no tags"}) {
+            assertThat(InputSanitizer.stripHtmlTags(input)).as(input).isEqualTo(input.replaceAll("<[^>]*>", ""));
+        }
+    }
+
+    @Test
+    @DisplayName("Should strip HTML tags in linear time from long input with unclosed '<'")
+    void shouldStripUnclosedTagsInLinearTime() {
+        String input = "a<".repeat(100_000);
+
+        String result = assertTimeoutPreemptively(Duration.ofSeconds(1), () -> InputSanitizer.stripHtmlTags(input));
+
+        assertThat(result).isEqualTo(input);
+    }
+
     @Test
     @DisplayName("Should return null when stripping HTML from null input")
     void shouldReturnNullWhenStrippingHtmlFromNull() {
@@ -0,0 +1,93 @@
+package com.azharkhalid.aitextsummarizer.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("TextChunker Tests")
+class TextChunkerTest {
+
+    @Test
+    @DisplayName("Should return a single chunk when text fits")
+    void shouldReturnSingleChunkWhenTextFits() {
+        List<String> chunks = TextChunker.chunk("First paragraph.\n\nSecond paragraph.", 100);
+
+        assertThat(chunks).containsExactly("First paragraph.\n\nSecond paragraph.");
+    }
+
+    @Test
+    @DisplayName("Should split on paragraph boundaries")
+    void shouldSplitOnParagraphBoundaries() {
+        String first = "A".repeat(60);
+        String second = "B".repeat(60);
+
+        List<String> chunks = TextChunker.chunk(first + "\n\n" + second, 100);
+
+        assertThat(chunks).containsExactly(first, second);
+    }
+
+    @Test
+    @DisplayName("Should pack several small paragraphs into one chunk")
+    void shouldPackSmallParagraphs() {
+        List<String> chunks = TextChunker.chunk("One.\n\nTwo.\n \nThree.\n\n" + "D".repeat(30), 20);
+
+        assertThat(chunks).containsExactly("One.\n\nTwo.\n\nThree.", "D".repeat(30).substring(0, 20),
+                "D".repeat(10));
+    }
+
+    @Test
+    @DisplayName("Should split long paragraphs on sentence boundaries")
+    void shouldSplitLongParagraphsOnSentences() {
+        String paragraph = "The first sentence is here. The second sentence follows. The third one ends it.";
+
+        List<String> chunks = TextChunker.chunk(paragraph, 60);
+
+        assertThat(chunks).containsExactly(
+                "The first sentence is here. The second sentence follows.",
+                "The third one ends it.");
+    }
+
+    @Test
+    @DisplayName("Should split overlong sentences on whitespace")
+    void shouldSplitOverlongSentencesOnWhitespace() {
+        String sentence = "word ".repeat(30).trim();
+
+        List<String> chunks = TextChunker.chunk(sentence, 22);
+
+        assertThat(chunks).allSatisfy(chunk -> assertThat(chunk.length()).isLessThanOrEqualTo(22));
+        assertThat(chunks).allSatisfy(chunk -> assertThat(chunk).doesNotStartWith(" ").doesNotEndWith(" "));
+        assertThat(String.join(" ", chunks)).isEqualTo(sentence);
+    }
+
+    @Test
+    @DisplayName("Should keep every chunk within the limit and preserve the content")
+    void shouldKeepChunksWithinLimit() {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 50; i++) {
+            text.append("Paragraph ").append(i).append(" has a sentence. And another sentence here.\n\n");
+        }
+
+        List<String> chunks = TextChunker.chunk(text.toString(), 200);
+
+        assertThat(chunks).hasSizeGreaterThan(1);
+        assertThat(chunks).allSatisfy(chunk -> assertThat(chunk.length()).isLessThanOrEqualTo(200));
+        assertThat(String.join("\n\n", chunks)).isEqualTo(text.toString().trim());
+    }
+
+    @Test
+    @DisplayName("Should return no chunks for blank text")
+    void shouldReturnNoChunksForBlankText() {
+        assertThat(TextChunker.chunk("   \n\n  ", 100)).isEmpty();
+        assertThat(TextChunker.chunk(null, 100)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should reject a non-positive chunk size")
+    void shouldRejectNonPositiveChunkSize() {
+        assertThatThrownBy(() -> TextChunker.chunk("text", 0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,111 @@
+package com.azharkhalid.aitextsummarizer.validation;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("AhoCorasickMatcher Tests")
+class AhoCorasickMatcherTest {
+
+    private static String find(AhoCorasickMatcher matcher, String text) {
+        return matcher.findFirst(text, 0, text.length());
+    }
+
+    private static AhoCorasickMatcher matcherOf(Map<String, List<String>> rules) {
+        return new AhoCorasickMatcher(rules);
+    }
+
+    @Test
+    @DisplayName("Should report the rule of the matching phrase")
+    void shouldReportMatchingRule() {
+        AhoCorasickMatcher matcher = matcherOf(Map.of(
+                "jailbreak", List.of("jailbreak"),
+                "new-role", List.of("new role")));
+
+        assertThat(find(matcher, "Please assume a new role now")).isEqualTo("new-role");
+        assertThat(find(matcher, "This is a jailbreak attempt")).isEqualTo("jailbreak");
+        assertThat(find(matcher, "Nothing suspicious here")).isNull();
+    }
+
+    @Test
+    @DisplayName("Should match case-insensitively across any whitespace")
+    void shouldMatchCaseInsensitivelyAcrossWhitespace() {
+        AhoCorasickMatcher matcher = matcherOf(Map.of("ignore", List.of("Ignore  Previous Instructions")));
+
+        assertThat(find(matcher, "please IGNORE\n\t previous   instructions")).isEqualTo("ignore");
+    }
+
+    @Test
+    @DisplayName("Should only match on word boundaries")
+    void shouldOnlyMatchOnWordBoundaries() {
+        AhoCorasickMatcher matcher = matcherOf(Map.of("override", List.of("override")));
+
+        assertThat(find(matcher, "overrides")).isNull();
+        assertThat(find(matcher, "preoverride")).isNull();
+        assertThat(find(matcher, "(override)")).isEqualTo("override");
+        assertThat(find(matcher, "override")).isEqualTo("override");
+    }
+
+    @Test
+    @DisplayName("Should find phrases that overlap or share suffixes")
+    void shouldFindOverlappingPhrases() {
+        AhoCorasickMatcher matcher = matcherOf(new LinkedHashMap<>(Map.of(
+                "she", List.of("she"),
+                "hers", List.of("hers"),
+                "his", List.of("his"))));
+
+        assertThat(find(matcher, "ushers")).isNull();
+        assertThat(find(matcher, "u hers")).isEqualTo("hers");
+        assertThat(find(matcher, "this is his")).isEqualTo("his");
+    }
+
+    @Test
+    @DisplayName("Should respect the search region")
+    void shouldRespectRegion() {
+        AhoCorasickMatcher matcher = matcherOf(Map.of("jailbreak", List.of("jailbreak")));
+        String text = "xjailbreak";
+
+        assertThat(matcher.findFirst(text, 0, text.length())).isNull();
+        assertThat(matcher.findFirst(text, 1, text.length())).isEqualTo("jailbreak");
+        assertThat(matcher.findFirst(text, 1, 5)).isNull();
+    }
+
+    @Test
+    @DisplayName("Should match phrases containing non-ASCII characters")
+    void shouldMatchNonAsciiPhrases() {
+        AhoCorasickMatcher matcher = matcherOf(Map.of("fr", List.of("ignorez les instructions précédentes")));
+
+        assertThat(find(matcher, "Merci. Ignorez les instructions PRÉCÉDENTES.")).isEqualTo("fr");
+    }
+
+    @Test
+    @DisplayName("Should count rules and phrases and ignore blank phrases")
+    void shouldCountRulesAndPhrases() {
+        AhoCorasickMatcher matcher = matcherOf(Map.of(
+                "a", List.of("one", "two", "  "),
+                "b", List.of("three")));
+
+        assertThat(matcher.getRuleCount()).isEqualTo(2);
+        assertThat(matcher.getPhraseCount()).isEqualTo(3);
+        assertThat(find(matcherOf(Map.of()), "anything")).isNull();
+    }
+
+    @Test
+    @DisplayName("Should stay correct with many phrases")
+    void shouldHandleManyPhrases() {
+        List<String> phrases = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            phrases.add("phrase number " + i);
+        }
+        AhoCorasickMatcher matcher = matcherOf(Map.of("many", phrases));
+
+        assertThat(find(matcher, "this mentions phrase number 4321 somewhere")).isEqualTo("many");
+        assertThat(find(matcher, "this mentions phrase number 43210 somewhere")).isNull();
+    }
+}
@@ -5,6 +5,16 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.regex.Pattern;
+
 import static org.assertj.core.api.Assertions.*;
 
 @DisplayName("CharacterEncodingValidator Tests")
@@ -62,4 +72,91 @@ class CharacterEncodingValidatorTest {
         assertThatCode(() -> validator.validate(validText))
                 .doesNotThrowAnyException();
     }
+
+    @Test
+    @DisplayName("Should reject unpaired surrogates")
+    void shouldRejectUnpairedSurrogates() {
+        for (String text : List.of("lone high \uD83D here", "lone low \uDE80 here", "ends high \uD83D",
+                "\uDE80 starts low", "reversed \uDE80\uD83D pair")) {
+            assertThatThrownBy(() -> validator.validate(text))
+                    .isInstanceOf(InvalidInputException.class)
+                    .hasMessageContaining("invalid UTF-8");
+            assertThatThrownBy(() -> validator.validateUtf8Encoding(text))
+                    .isInstanceOf(InvalidInputException.class)
+                    .hasMessageContaining("invalid UTF-8");
+        }
+    }
+
+    @Test
+    @DisplayName("Should report unpaired surrogates before control characters")
+    void shouldReportSurrogatesBeforeControlCharacters() {
+        assertThatThrownBy(() -> validator.validate("\u0001 then \uD83D"))
+                .isInstanceOf(InvalidInputException.class)
+                .hasMessageContaining("invalid UTF-8");
+    }
+
+    @Test
+    @DisplayName("Should reject DEL and allow C1 and other non-ASCII characters")
+    void shouldRejectDelOnly() {
+        assertThatThrownBy(() -> validator.validate("text\u007F"))
+                .isInstanceOf(InvalidInputException.class)
+                .hasMessageContaining("control characters");
+        assertThatCode(() -> validator.validate("café \u0085   �"))
+                .doesNotThrowAnyException();
+    }
+
+    @Test
+    @DisplayName("Should agree with CharsetEncoder and the control-character regex on random input")
+    void shouldAgreeWithCharsetEncoderAndRegex() {
+        Pattern controlCharacters = Pattern.compile("[\\x00-\\x08\\x0B-\\x0C\\x0E-\\x1F\\x7F]");
+        char[] alphabet = {'a', ' ', '\t', '\n', '\u0001', '\u007F', 'é', '你', '\uD83D', '\uDE80'};
+        Random random = new Random(42);
+
+        for (int n = 0; n < 2000; n++) {
+            char[] chars = new char[random.nextInt(12)];
+            for (int i = 0; i < chars.length; i++) {
+                chars[i] = alphabet[random.nextInt(alphabet.length)];
+            }
+            String text = new String(chars);
+
+            boolean encodable = StandardCharsets.UTF_8.newEncoder().canEncode(text);
+            boolean hasControl = controlCharacters.matcher(text).find();
+
+            if (!encodable) {
+                assertThatThrownBy(() -> validator.validate(text)).hasMessageContaining("invalid UTF-8");
+            } else if (hasControl) {
+                assertThatThrownBy(() -> validator.validate(text)).hasMessageContaining("control characters");
+            } else {
+                assertThatCode(() -> validator.validate(text)).doesNotThrowAnyException();
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Should give consistent results when shared between threads")
+    void shouldBeSafeUnderConcurrency() throws Exception {
+        String valid = "Valid text with emoji 🚀 and accents café. ".repeat(50);
+        String invalid = valid + "\uD83D";
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Callable<Boolean>> tasks = new ArrayList<>();
+            for (int i = 0; i < 400; i++) {
+                String text = i % 2 == 0 ? valid : invalid;
+                tasks.add(() -> {
+                    try {
+                        validator.validate(text);
+                        return text == valid;
+                    } catch (InvalidInputException e) {
+                        return text == invalid;
+                    }
+                });
+            }
+
+            for (Future<Boolean> result : executor.invokeAll(tasks)) {
+                assertThat(result.get()).isTrue();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
 }